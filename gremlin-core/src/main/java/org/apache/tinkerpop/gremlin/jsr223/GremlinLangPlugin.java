@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.jsr223;
+
+import org.apache.tinkerpop.gremlin.language.grammar.GremlinFastPathParser;
+
+import java.util.Collections;
+
+/**
+ * A plugin that configures the {@link GremlinLangScriptEngine}. With {@code fastPath} enabled, scripts in the subset
+ * of the language understood by the {@link GremlinFastPathParser} skip the ANTLR parser, which is otherwise used for
+ * all scripts.
+ * <p/>
+ * This {@link GremlinPlugin} is not enabled for the {@code ServiceLoader}. It is designed to be instantiated manually
+ * or configured in Gremlin Server.
+ */
+public class GremlinLangPlugin extends AbstractGremlinPlugin {
+    private static final String NAME = "tinkerpop.gremlin-lang";
+
+    private GremlinLangPlugin(final Builder builder) {
+        super(NAME, Collections.singleton("gremlin-lang"), new GremlinLangCustomizer(builder.fastPath));
+    }
+
+    public static Builder build() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+
+        private boolean fastPath = false;
+
+        private Builder() {}
+
+        /**
+         * Determines if scripts are first given to the {@link GremlinFastPathParser}. Defaults to {@code false}.
+         */
+        public Builder fastPath(final boolean fastPath) {
+            this.fastPath = fastPath;
+            return this;
+        }
+
+        public GremlinLangPlugin create() {
+            return new GremlinLangPlugin(this);
+        }
+    }
+}
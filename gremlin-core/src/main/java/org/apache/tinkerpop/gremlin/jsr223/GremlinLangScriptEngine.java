@@ -19,7 +19,8 @@
 package org.apache.tinkerpop.gremlin.jsr223;
 
 import org.apache.tinkerpop.gremlin.language.grammar.GremlinAntlrToJava;
-import org.apache.tinkerpop.gremlin.language.grammar.GremlinQueryParser;
+import org.apache.tinkerpop.gremlin.language.grammar.GremlinFastPathParser;
+import org.apache.tinkerpop.gremlin.language.grammar.GremlinParseCache;
 import org.apache.tinkerpop.gremlin.language.grammar.VariableResolver;
 import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
@@ -33,6 +34,7 @@ import javax.script.ScriptException;
 import javax.script.SimpleBindings;
 import java.io.IOException;
 import java.io.Reader;
+import java.util.Arrays;
 import java.util.Map;
 
 /**
@@ -49,9 +51,21 @@ import java.util.Map;
  * implementation represents the first step to changes in what it means to have a {@link GremlinScriptEngine}. In some
  * sense, there is question why a {@link GremlinScriptEngine} approach is necessary at all except for easily plugging
  * into the existing internals of Gremlin Server or more specifically the {@code GremlinExecutor}.
+ * <p/>
+ * Parse trees are kept in a {@link GremlinParseCache} keyed by the script, much as the {@code GremlinGroovyScriptEngine}
+ * caches compiled classes, so parameterized scripts are parsed once and have their variables resolved from the
+ * bindings of each evaluation. When the {@link GremlinLangCustomizer} enables it, scripts are first given to the
+ * {@link GremlinFastPathParser} and only those outside of the subset it supports go to the grammar.
  */
 public class GremlinLangScriptEngine extends AbstractScriptEngine implements GremlinScriptEngine {
+    /**
+     * The number of parse trees kept in the cache of each engine.
+     */
+    public static final int DEFAULT_PARSE_CACHE_SIZE = 1000;
+
     private volatile GremlinScriptEngineFactory factory;
+    private final GremlinParseCache parseCache = new GremlinParseCache(DEFAULT_PARSE_CACHE_SIZE);
+    private final boolean fastPath;
 
     /**
      * Creates a new instance using no {@link Customizer}.
@@ -61,6 +75,12 @@ public class GremlinLangScriptEngine extends AbstractScriptEngine implements Gre
     }
 
     public GremlinLangScriptEngine(final Customizer... customizers) {
+        this.fastPath = Arrays.stream(customizers)
+                .filter(c -> c instanceof GremlinLangCustomizer)
+                .map(c -> (GremlinLangCustomizer) c)
+                .reduce((first, second) -> second)
+                .map(GremlinLangCustomizer::isFastPath)
+                .orElse(false);
     }
 
     @Override
@@ -107,16 +127,28 @@ public class GremlinLangScriptEngine extends AbstractScriptEngine implements Gre
             throw new IllegalArgumentException("g is of type " + o.getClass().getSimpleName() + " and is not an instance of TraversalSource");
 
         final Map<String, Object> m = context.getBindings(ScriptContext.ENGINE_SCOPE);
-        final GremlinAntlrToJava antlr = new GremlinAntlrToJava((GraphTraversalSource) o,
-                new VariableResolver.DefaultVariableResolver(m));
+        final VariableResolver resolver = new VariableResolver.DefaultVariableResolver(m);
+        if (fastPath) {
+            final Traversal.Admin<?, ?> traversal = GremlinFastPathParser.parse(script, (GraphTraversalSource) o, resolver);
+            if (traversal != null)
+                return traversal;
+        }
 
+        final GremlinAntlrToJava antlr = new GremlinAntlrToJava((GraphTraversalSource) o, resolver);
         try {
-            return GremlinQueryParser.parse(script, antlr);
+            return parseCache.parse(script, antlr);
         } catch (Exception ex) {
             throw new ScriptException(ex);
         }
     }
 
+    /**
+     * Gets the cache of parse trees, primarily for the purpose of reporting its metrics.
+     */
+    public GremlinParseCache getParseCache() {
+        return parseCache;
+    }
+
     @Override
     public Object eval(final Reader reader, final ScriptContext context) throws ScriptException {
         return eval(readFully(reader), context);
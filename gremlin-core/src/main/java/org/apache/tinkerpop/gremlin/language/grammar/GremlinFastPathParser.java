@@ -0,0 +1,404 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.language.grammar;
+
+import org.apache.tinkerpop.gremlin.jsr223.JavaTranslator;
+import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.apache.tinkerpop.gremlin.process.traversal.Operator;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Pop;
+import org.apache.tinkerpop.gremlin.process.traversal.Scope;
+import org.apache.tinkerpop.gremlin.process.traversal.TextP;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.Column;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.T;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A hand-written recursive descent parser for the subset of {@code gremlin-lang} that drivers commonly send, such as
+ * {@code g.V(x).has('person','age',gt(30)).out('knows').values('name')}. It reads the string in a single pass straight
+ * to {@link Bytecode}, which the {@link JavaTranslator} turns into the same traversal that the ANTLR parser and
+ * {@link GremlinAntlrToJava} would produce, without the cost of ANTLR's lexer, prediction and parse tree.
+ * <p/>
+ * The subset is a traversal spawned from {@code g}, optionally after {@code with()}, {@code withBulk()} or
+ * {@code withPath()}, followed by common steps whose arguments are strings without escapes, integers, booleans,
+ * qualified enums such as {@code T.id} or {@code Order.desc}, {@code P} and {@code TextP} predicates, anonymous
+ * traversals and, for steps like {@code V()}, {@code has()} and {@code property()}, variables. Anything else, including terminal methods, collections, floating point numbers, {@code null}
+ * and bare keywords like {@code desc}, makes {@link #parse(String, GraphTraversalSource, VariableResolver)} return
+ * {@code null} so that the caller can fall back to {@link GremlinQueryParser}, which also reports any errors. Variables
+ * are resolved with a {@code null} {@link GremlinParser.VariableContext} as there is no parse tree.
+ */
+public final class GremlinFastPathParser {
+
+    private static final Set<String> KEYWORDS = new HashSet<>();
+
+    private static final Set<String> SOURCE_METHODS = new HashSet<>(Arrays.asList("with", "withBulk", "withPath"));
+
+    private static final Set<String> SPAWN_METHODS = new HashSet<>(Arrays.asList("V", "E", "addV", "addE", "inject"));
+
+    private static final Set<String> STEPS = new HashSet<>(Arrays.asList(
+            "V", "addE", "addV", "aggregate", "and", "as", "barrier", "both", "bothE", "bothV", "by", "cap", "choose",
+            "coalesce", "constant", "count", "cyclicPath", "dedup", "drop", "elementMap", "emit", "fold", "from",
+            "group", "groupCount", "has", "hasId", "hasKey", "hasLabel", "hasNot", "hasValue", "id", "identity", "in",
+            "inE", "inV", "index", "inject", "is", "key", "label", "limit", "local", "loops", "max", "mean", "min",
+            "not", "optional", "or", "order", "otherV", "out", "outE", "outV", "path", "project", "properties",
+            "property", "range", "repeat", "sample", "select", "sideEffect", "simplePath", "skip", "sum", "tail",
+            "times", "to", "unfold", "union", "until", "value", "valueMap", "values", "where"));
+
+    /**
+     * Methods whose arguments the grammar takes as generic literals, so that a variable in them resolves the same
+     * whatever its value. Elsewhere, as in {@code by(c1)} or {@code to(v1)}, the grammar picks the overload by the
+     * type of the variable, so those strings are left to it.
+     */
+    private static final Set<String> VARIABLE_METHODS = new HashSet<>(Arrays.asList(
+            "with", "V", "E", "inject", "constant", "has", "hasId", "hasLabel", "hasValue", "is", "property", "values"));
+
+    private static final Set<String> P_PREDICATES = new HashSet<>(Arrays.asList(
+            "eq", "neq", "lt", "lte", "gt", "gte", "inside", "outside", "between", "within", "without"));
+
+    private static final Set<String> TEXT_P_PREDICATES = new HashSet<>(Arrays.asList(
+            "containing", "notContaining", "startingWith", "notStartingWith", "endingWith", "notEndingWith",
+            "regex", "notRegex"));
+
+    private static final Map<String, Class<? extends Enum>> ENUMS = new HashMap<>();
+
+    static {
+        for (int i = 1; i <= GremlinLexer.VOCABULARY.getMaxTokenType(); i++) {
+            final String literal = GremlinLexer.VOCABULARY.getLiteralName(i);
+            if (null != literal)
+                KEYWORDS.add(literal.substring(1, literal.length() - 1));
+        }
+
+        ENUMS.put("T", T.class);
+        ENUMS.put("Order", Order.class);
+        ENUMS.put("Scope", Scope.class);
+        ENUMS.put("Column", Column.class);
+        ENUMS.put("Direction", Direction.class);
+        ENUMS.put("Pop", Pop.class);
+        ENUMS.put("Operator", Operator.class);
+    }
+
+    /**
+     * Signals that the string is outside of the subset, without a stack trace as it is not an error.
+     */
+    private static final RuntimeException UNSUPPORTED = new RuntimeException("unsupported", null, false, false) {};
+
+    private final String query;
+    private final VariableResolver resolver;
+    private int position = 0;
+    private boolean variables = false;
+
+    private GremlinFastPathParser(final String query, final VariableResolver resolver) {
+        this.query = query;
+        this.resolver = resolver;
+    }
+
+    /**
+     * Parses the Gremlin string to a traversal spawned from the traversal source, or returns {@code null} if the
+     * string is outside of the supported subset or cannot be translated.
+     */
+    public static Traversal.Admin<?, ?> parse(final String query, final GraphTraversalSource g, final VariableResolver resolver) {
+        final Bytecode bytecode = parseBytecode(query, resolver);
+        if (null == bytecode)
+            return null;
+
+        try {
+            return JavaTranslator.of(g).translate(bytecode);
+        } catch (RuntimeException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Parses the Gremlin string to {@link Bytecode}, or returns {@code null} if the string is outside of the
+     * supported subset.
+     */
+    public static Bytecode parseBytecode(final String query, final VariableResolver resolver) {
+        try {
+            return new GremlinFastPathParser(query, resolver).query();
+        } catch (RuntimeException ex) {
+            return null;
+        }
+    }
+
+    private Bytecode query() {
+        if (!"g".equals(identifier()))
+            throw UNSUPPORTED;
+
+        final Bytecode bytecode = new Bytecode();
+        boolean spawned = false;
+        while (!atEnd()) {
+            expect('.');
+            final String name = identifier();
+            final Object[] arguments = arguments(name);
+            if (spawned && STEPS.contains(name))
+                bytecode.addStep(name, arguments);
+            else if (!spawned && SPAWN_METHODS.contains(name)) {
+                bytecode.addStep(name, arguments);
+                spawned = true;
+            } else if (!spawned && SOURCE_METHODS.contains(name))
+                bytecode.addSource(name, arguments);
+            else
+                throw UNSUPPORTED;
+        }
+
+        if (!spawned)
+            throw UNSUPPORTED;
+        return bytecode;
+    }
+
+    private Object[] arguments(final String method) {
+        final boolean variables = this.variables;
+        this.variables = VARIABLE_METHODS.contains(method) || isPredicate(method);
+        try {
+            return arguments();
+        } finally {
+            this.variables = variables;
+        }
+    }
+
+    private Object[] arguments() {
+        expect('(');
+        if (peek() == ')') {
+            this.position++;
+            return new Object[0];
+        }
+
+        final List<Object> arguments = new ArrayList<>(2);
+        while (true) {
+            arguments.add(argument());
+            final char c = peek();
+            this.position++;
+            if (c == ')')
+                return arguments.toArray();
+            if (c != ',')
+                throw UNSUPPORTED;
+        }
+    }
+
+    private Object argument() {
+        final char c = peek();
+        if (c == '\'' || c == '"')
+            return string(c);
+        if (c == '-' || c == '+' || (c >= '0' && c <= '9'))
+            return integer();
+        if (!Character.isJavaIdentifierStart(c))
+            throw UNSUPPORTED;
+
+        final String name = identifier();
+        final char next = peek();
+        if (next == '(') {
+            if (isPredicate(name))
+                return predicate(name);
+            return anonymousTraversal(name);
+        } else if (next == '.') {
+            this.position++;
+            if (name.equals("__"))
+                return anonymousTraversal(identifier());
+            if (name.equals("P") || name.equals("TextP")) {
+                final String predicate = identifier();
+                if (!(name.equals("P") ? P_PREDICATES : TEXT_P_PREDICATES).contains(predicate))
+                    throw UNSUPPORTED;
+                return predicate(predicate);
+            }
+            final Class<? extends Enum> type = ENUMS.get(name);
+            if (null == type)
+                throw UNSUPPORTED;
+            return Enum.valueOf(type, identifier());
+        } else if (name.equals("true") || name.equals("false")) {
+            return Boolean.valueOf(name);
+        } else if (!this.variables || KEYWORDS.contains(name)) {
+            throw UNSUPPORTED;
+        }
+
+        final Object value = this.resolver.apply(name, null);
+        if (null == value)
+            throw UNSUPPORTED;
+        return value;
+    }
+
+    private static boolean isPredicate(final String name) {
+        return P_PREDICATES.contains(name) || TEXT_P_PREDICATES.contains(name);
+    }
+
+    private P<?> predicate(final String name) {
+        final Object[] arguments = arguments(name);
+        if (peek() == '.')
+            throw UNSUPPORTED;
+
+        switch (name) {
+            case "within":
+            case "without":
+                final boolean within = name.equals("within");
+                if (arguments.length == 1 && arguments[0] instanceof Collection)
+                    return within ? P.within((Collection) arguments[0]) : P.without((Collection) arguments[0]);
+                return within ? P.within(arguments) : P.without(arguments);
+            case "inside":
+            case "outside":
+            case "between":
+                if (arguments.length != 2)
+                    throw UNSUPPORTED;
+                return name.equals("inside") ? P.inside(arguments[0], arguments[1]) :
+                        name.equals("outside") ? P.outside(arguments[0], arguments[1]) : P.between(arguments[0], arguments[1]);
+            default:
+                if (arguments.length != 1)
+                    throw UNSUPPORTED;
+                return predicate(name, arguments[0]);
+        }
+    }
+
+    private static P<?> predicate(final String name, final Object argument) {
+        switch (name) {
+            case "eq": return P.eq(argument);
+            case "neq": return P.neq(argument);
+            case "lt": return P.lt(argument);
+            case "lte": return P.lte(argument);
+            case "gt": return P.gt(argument);
+            case "gte": return P.gte(argument);
+        }
+
+        if (!(argument instanceof String))
+            throw UNSUPPORTED;
+        final String value = (String) argument;
+        switch (name) {
+            case "containing": return TextP.containing(value);
+            case "notContaining": return TextP.notContaining(value);
+            case "startingWith": return TextP.startingWith(value);
+            case "notStartingWith": return TextP.notStartingWith(value);
+            case "endingWith": return TextP.endingWith(value);
+            case "notEndingWith": return TextP.notEndingWith(value);
+            case "regex": return TextP.regex(value);
+            case "notRegex": return TextP.notRegex(value);
+            default: throw UNSUPPORTED;
+        }
+    }
+
+    /**
+     * Parses the steps of an anonymous traversal, the first of which has already been read, into {@link Bytecode}
+     * which the {@link JavaTranslator} spawns from {@code __}.
+     */
+    private Bytecode anonymousTraversal(final String first) {
+        final Bytecode bytecode = new Bytecode();
+        String name = first;
+        while (true) {
+            if (!STEPS.contains(name))
+                throw UNSUPPORTED;
+            bytecode.addStep(name, arguments(name));
+            if (peek() != '.')
+                return bytecode;
+            this.position++;
+            name = identifier();
+        }
+    }
+
+    private String string(final char quote) {
+        final int start = ++this.position;
+        final int end = this.query.indexOf(quote, start);
+        if (end < 0 || this.query.indexOf('\\', start) >= 0 && this.query.indexOf('\\', start) < end)
+            throw UNSUPPORTED;
+        this.position = end + 1;
+        return this.query.substring(start, end);
+    }
+
+    /**
+     * Reads a decimal integer that is an {@code Integer} if it fits and a {@code Long} otherwise or when it has the
+     * {@code L} suffix, as {@link GenericLiteralVisitor} does. Other radixes and suffixes are not supported.
+     */
+    private Number integer() {
+        final int start = this.position;
+        if (this.query.charAt(this.position) == '-' || this.query.charAt(this.position) == '+')
+            this.position++;
+        final int digits = this.position;
+        while (this.position < this.query.length() && Character.isDigit(this.query.charAt(this.position))) {
+            this.position++;
+        }
+        final int length = this.position - digits;
+        if (length == 0 || (length > 1 && this.query.charAt(digits) == '0'))
+            throw UNSUPPORTED;
+
+        final String literal = this.query.substring(start, this.position);
+        if (this.position < this.query.length()) {
+            final char suffix = this.query.charAt(this.position);
+            if (suffix == 'l' || suffix == 'L') {
+                this.position++;
+                return Long.parseLong(literal);
+            }
+            if (Character.isJavaIdentifierPart(suffix) || suffix == '.')
+                throw UNSUPPORTED;
+        }
+
+        return length < 10 ? (Number) Integer.parseInt(literal) : parseIntegerOrLong(literal);
+    }
+
+    private static Number parseIntegerOrLong(final String literal) {
+        try {
+            return Integer.parseInt(literal);
+        } catch (NumberFormatException ex) {
+            return Long.parseLong(literal);
+        }
+    }
+
+    private String identifier() {
+        skipWhitespace();
+        final int start = this.position;
+        if (start >= this.query.length() || !Character.isJavaIdentifierStart(this.query.charAt(start)))
+            throw UNSUPPORTED;
+        this.position++;
+        while (this.position < this.query.length() && Character.isJavaIdentifierPart(this.query.charAt(this.position))) {
+            this.position++;
+        }
+        return this.query.substring(start, this.position);
+    }
+
+    private void expect(final char c) {
+        if (peek() != c)
+            throw UNSUPPORTED;
+        this.position++;
+    }
+
+    /**
+     * Skips whitespace and returns the next character without consuming it, or {@code 0} at the end.
+     */
+    private char peek() {
+        skipWhitespace();
+        return this.position < this.query.length() ? this.query.charAt(this.position) : 0;
+    }
+
+    private boolean atEnd() {
+        skipWhitespace();
+        return this.position >= this.query.length();
+    }
+
+    private void skipWhitespace() {
+        while (this.position < this.query.length() && Character.isWhitespace(this.query.charAt(this.position))) {
+            this.position++;
+        }
+    }
+}
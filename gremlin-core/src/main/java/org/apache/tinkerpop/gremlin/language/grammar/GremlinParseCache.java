@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.language.grammar;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A least-recently-used cache of the parse trees of Gremlin strings, keyed by the exact text of the string, so that a
+ * string that is submitted repeatedly is lexed and parsed once rather than on every request. The trees are only read
+ * when visited and so may be shared between threads and visited by any number of {@link GremlinAntlrToJava}
+ * instances at once.
+ * <p/>
+ * Variables are not resolved during parsing but when the tree is visited, through the {@link VariableResolver} of the
+ * visitor, so a parameterized string like {@code g.V(x)} is parsed once no matter the value bound to {@code x}.
+ * Strings that fail to parse are not cached.
+ */
+public final class GremlinParseCache {
+
+    private final int maximumSize;
+    private final Map<String, GremlinParser.QueryListContext> trees;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public GremlinParseCache(final int maximumSize) {
+        if (maximumSize < 1)
+            throw new IllegalArgumentException("The maximum size of the parse cache must be at least 1: " + maximumSize);
+        this.maximumSize = maximumSize;
+        this.trees = new LinkedHashMap<String, GremlinParser.QueryListContext>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, GremlinParser.QueryListContext> eldest) {
+                if (size() > GremlinParseCache.this.maximumSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Parses the Gremlin string and visits its tree with the visitor, reusing the tree parsed earlier for the same
+     * string if there is one.
+     */
+    public Object parse(final String query, final GremlinVisitor<Object> visitor) {
+        return GremlinQueryParser.parse(this.parseQueryList(query), visitor);
+    }
+
+    /**
+     * Gets the parse tree of the Gremlin string, parsing it with {@link GremlinQueryParser#parseQueryList(String)}
+     * if it is not cached.
+     */
+    public GremlinParser.QueryListContext parseQueryList(final String query) {
+        GremlinParser.QueryListContext tree;
+        synchronized (this.trees) {
+            tree = this.trees.get(query);
+        }
+        if (null != tree) {
+            this.hits.incrementAndGet();
+            return tree;
+        }
+
+        this.misses.incrementAndGet();
+        tree = GremlinQueryParser.parseQueryList(query);
+        synchronized (this.trees) {
+            this.trees.putIfAbsent(query, tree);
+        }
+        return tree;
+    }
+
+    public long getHitCount() {
+        return this.hits.get();
+    }
+
+    public long getMissCount() {
+        return this.misses.get();
+    }
+
+    public long getEvictionCount() {
+        return this.evictions.get();
+    }
+
+    /**
+     * Gets the ratio of hits to all requests, or {@code 0} if there have been none.
+     */
+    public double getHitRate() {
+        final long hits = this.hits.get();
+        final long total = hits + this.misses.get();
+        return 0L == total ? 0d : (double) hits / total;
+    }
+
+    public int size() {
+        synchronized (this.trees) {
+            return this.trees.size();
+        }
+    }
+
+    public int getMaximumSize() {
+        return this.maximumSize;
+    }
+
+    public void clear() {
+        synchronized (this.trees) {
+            this.trees.clear();
+        }
+    }
+}
@@ -46,6 +46,14 @@ public class GremlinQueryParser {
      * Parse Gremlin string using a specified {@link GremlinAntlrToJava} object.
      */
     public static Object parse(final String query, final GremlinVisitor<Object> visitor)  {
+        return parse(parseQueryList(query), visitor);
+    }
+
+    /**
+     * Parse Gremlin string to its parse tree, which may be visited any number of times with
+     * {@link #parse(GremlinParser.QueryListContext, GremlinVisitor)}.
+     */
+    public static GremlinParser.QueryListContext parseQueryList(final String query) {
         final CharStream in = CharStreams.fromString(query);
         final GremlinLexer lexer = new GremlinLexer(in);
         lexer.removeErrorListeners();
@@ -81,6 +89,13 @@ public class GremlinQueryParser {
             }        
         }
 
+        return queryContext;
+    }
+
+    /**
+     * Visit the parse tree of a Gremlin string with a specified {@link GremlinAntlrToJava} object.
+     */
+    public static Object parse(final GremlinParser.QueryListContext queryContext, final GremlinVisitor<Object> visitor) {
         try {
             return visitor.visit(queryContext);
         } catch (ClassCastException ex) {
@@ -72,6 +72,15 @@ public class P<V> implements Predicate<V>, Serializable, Cloneable {
         this.value = value;
     }
 
+    /**
+     * Replaces the value of the {@code P} as though it had been constructed with it, so that unlike
+     * {@link #setValue(Object)} the {@link #getOriginalValue()} changes as well.
+     */
+    public void replaceValue(final V value) {
+        this.value = value;
+        this.originalValue = value;
+    }
+
     @Override
     public boolean test(final V testValue) {
         return this.biPredicate.test(testValue, this.value);
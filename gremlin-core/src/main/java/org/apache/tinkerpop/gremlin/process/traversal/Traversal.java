@@ -285,14 +285,13 @@ public interface Traversal<S, E> extends Iterator<E>, Serializable, Cloneable, A
     }
 
     /**
-     * Releases resources opened in any steps that implement {@link AutoCloseable}. If this method is overridden,the
-     * implementer should invoke {@link #notifyClose()}.
+     * Releases resources opened in any steps that implement {@link AutoCloseable}, including those of child
+     * traversals. If this method is overridden,the implementer should invoke {@link #notifyClose()}.
      */
     @Override
     public default void close() throws Exception {
-        for (final Step<?, ?> step : this.asAdmin().getSteps()) {
-            if (step instanceof AutoCloseable)
-                ((AutoCloseable) step).close();
+        for (final AutoCloseable step : TraversalHelper.getStepsOfAssignableClassRecursively(AutoCloseable.class, this.asAdmin())) {
+            step.close();
         }
 
         notifyClose();
@@ -24,6 +24,10 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ComputerAwareStep;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.VisitedSet;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
@@ -36,10 +40,25 @@ import java.util.NoSuchElementException;
 import java.util.Set;
 
 /**
+ * Loops traversers through the {@code repeat()} traversal until the {@code until()} condition holds, emitting those
+ * that satisfy the {@code emit()} condition along the way.
+ * <p/>
+ * With {@code g.with(RepeatStep.DEDUP_FRONTIER, true)} an OLTP traversal loops breadth-first instead. All traversers
+ * complete a loop before any begins the next, equal traversers of the next loop are merged into one with their bulks
+ * summed, and a traverser is dropped when its object was already visited by this step, whether as a start or in an
+ * earlier loop. Each element is therefore expanded at most once and at the shallowest depth it is reached, which makes
+ * reachability queries such as {@code repeat(out()).until(...)} linear in the size of the graph, but also means that a
+ * repeated object is emitted once rather than once per path to it. Visited objects are kept in a {@link VisitedSet}.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements TraversalParent {
 
+    /**
+     * The {@code OptionsStrategy} key which, set to {@code true}, makes {@code repeat()} visit each object once.
+     */
+    public static final String DEDUP_FRONTIER = "dedupFrontier";
+
     private Traversal.Admin<S, S> repeatTraversal = null;
     private Traversal.Admin<S, ?> untilTraversal = null;
     private Traversal.Admin<S, ?> emitTraversal = null;
@@ -47,6 +66,11 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
     public boolean untilFirst = false;
     public boolean emitFirst = false;
 
+    private Boolean dedupFrontier = null;
+    private VisitedSet visited = null;
+    private TraverserSet<S> frontier = null;
+    private TraverserSet<S> loop = null;
+
     public RepeatStep(final Traversal.Admin traversal) {
         super(traversal);
     }
@@ -142,6 +166,11 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
             this.untilTraversal.reset();
         if (null != this.repeatTraversal)
             this.repeatTraversal.reset();
+        if (null != this.visited) {
+            this.visited.clear();
+            this.frontier.clear();
+            this.loop.clear();
+        }
     }
 
     private final String untilString() {
@@ -162,6 +191,10 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
             clone.untilTraversal = this.untilTraversal.clone();
         if (null != this.emitTraversal)
             clone.emitTraversal = this.emitTraversal.clone();
+        clone.dedupFrontier = null;
+        clone.visited = null;
+        clone.frontier = null;
+        clone.loop = null;
         return clone;
     }
 
@@ -191,6 +224,8 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
     protected Iterator<Traverser.Admin<S>> standardAlgorithm() throws NoSuchElementException {
         if (null == this.repeatTraversal)
             throw new IllegalStateException("The repeat()-traversal was not defined: " + this);
+        if (this.isDedupFrontier())
+            return this.frontierAlgorithm();
 
         while (true) {
             if (this.repeatTraversal.getEndStep().hasNext()) {
@@ -212,6 +247,70 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
         }
     }
 
+    private boolean isDedupFrontier() {
+        if (null == this.dedupFrontier) {
+            this.dedupFrontier = Boolean.TRUE.equals(TraversalHelper.getRootOption(this.traversal, DEDUP_FRONTIER));
+            if (this.dedupFrontier) {
+                this.visited = new VisitedSet();
+                this.frontier = (TraverserSet<S>) this.traversal.getTraverserSetSupplier().get();
+                this.loop = (TraverserSet<S>) this.traversal.getTraverserSetSupplier().get();
+            }
+        }
+        return this.dedupFrontier;
+    }
+
+    /**
+     * Loops breadth-first. The {@link RepeatEndStep} collects the traversers that complete a loop in the frontier,
+     * which becomes the next loop once the current one is exhausted, and the starts form the first loop. Traversers
+     * are checked against the visited objects here, before the {@code until()} and {@code emit()} conditions that the
+     * {@link RepeatEndStep} would otherwise check.
+     */
+    private Iterator<Traverser.Admin<S>> frontierAlgorithm() {
+        while (true) {
+            if (this.repeatTraversal.getEndStep().hasNext())
+                return this.repeatTraversal.getEndStep();
+
+            if (this.loop.isEmpty()) {
+                if (!this.frontier.isEmpty()) {
+                    final TraverserSet<S> next = this.frontier;
+                    this.frontier = this.loop;
+                    this.loop = next;
+                } else if (this.starts.hasNext()) {
+                    while (this.starts.hasNext()) {
+                        final Traverser.Admin<S> start = this.starts.next();
+                        start.initialiseLoops(this.getId(), this.loopName);
+                        this.loop.add(start);
+                    }
+                } else
+                    throw FastNoSuchElementException.instance();
+            }
+
+            final Traverser.Admin<S> start = this.loop.remove();
+            if (!this.visited.add(start.get()))
+                continue;
+            final boolean looped = start.loops() > 0;
+            if (looped && doUntil(start, false)) {
+                start.resetLoops();
+                return IteratorUtils.of(start);
+            }
+            final Traverser.Admin<S> emitSplit = looped && doEmit(start, false) ? start.split() : null;
+            if (null != emitSplit)
+                emitSplit.resetLoops();
+            if (doUntil(start, true)) {
+                start.resetLoops();
+                return null == emitSplit ? IteratorUtils.of(start) : IteratorUtils.of(emitSplit, start);
+            }
+            this.repeatTraversal.addStart(start);
+            if (null != emitSplit)
+                return IteratorUtils.of(emitSplit);
+            if (doEmit(start, true)) {
+                final Traverser.Admin<S> split = start.split();
+                split.resetLoops();
+                return IteratorUtils.of(split);
+            }
+        }
+    }
+
     @Override
     protected Iterator<Traverser.Admin<S>> computerAlgorithm() throws NoSuchElementException {
         if (null == this.repeatTraversal)
@@ -295,6 +394,10 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
             while (true) {
                 final Traverser.Admin<S> start = this.starts.next();
                 start.incrLoops();
+                if (null != repeatStep.frontier) {
+                    repeatStep.frontier.add(start);
+                    continue;
+                }
                 if (repeatStep.doUntil(start, false)) {
                     start.resetLoops();
                     return IteratorUtils.of(start);
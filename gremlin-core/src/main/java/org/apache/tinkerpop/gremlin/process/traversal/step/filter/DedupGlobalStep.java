@@ -30,7 +30,10 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.PathProcessor;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Scoping;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.SpillableSet;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSpill;
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalProduct;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
 import org.apache.tinkerpop.gremlin.structure.Property;
@@ -51,12 +54,26 @@ import java.util.Set;
 import java.util.function.BinaryOperator;
 
 /**
+ * Filters traversers whose object, or {@code by()} projection, was already seen. The seen objects are held in memory
+ * unless the traversal is configured with {@link TraverserSpill#SPILL_THRESHOLD}, in which case objects beyond that
+ * threshold are kept in files, or with {@link #FALSE_POSITIVE_RATE}, in which case they are kept in a Bloom filter
+ * and a distinct object is filtered as a duplicate at no more than the given rate.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public final class DedupGlobalStep<S> extends FilterStep<S> implements TraversalParent, Scoping, GraphComputing, Barrier<Map<Object, Traverser.Admin<S>>>, ByModulating, PathProcessor {
+public final class DedupGlobalStep<S> extends FilterStep<S> implements TraversalParent, Scoping, GraphComputing, Barrier<Map<Object, Traverser.Admin<S>>>, ByModulating, PathProcessor, AutoCloseable {
+
+    /**
+     * The {@code OptionsStrategy} key for the rate at which an approximate {@code dedup()} may filter a distinct
+     * object. Objects up to the {@link TraverserSpill#SPILL_THRESHOLD}, or none if it is not set, are still
+     * deduplicated exactly.
+     */
+    public static final String FALSE_POSITIVE_RATE = "dedupFalsePositiveRate";
 
     private Traversal.Admin<S, Object> dedupTraversal = null;
     private Set<Object> duplicateSet = new HashSet<>();
+    private SpillableSet<Object> spillableSet = null;
+    private boolean spillableSetResolved = false;
     private boolean onGraphComputer = false;
     private final Set<String> dedupLabels;
     private Set<String> keepLabels;
@@ -75,7 +92,7 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
         traverser.setBulk(1L);
         if (null == this.dedupLabels) {
             final TraversalProduct product = TraversalUtil.produce(traverser, this.dedupTraversal);
-            return product.isProductive() && this.duplicateSet.add(product.get());
+            return product.isProductive() && this.addDuplicate(product.get());
         } else {
             final List<Object> objects = new ArrayList<>(this.dedupLabels.size());
             for (String label : dedupLabels) {
@@ -85,8 +102,27 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
             }
 
             // the object sizes must be equal or else it means a by() wasn't productive and that path will be filtered
-            return objects.size() == dedupLabels.size() && duplicateSet.add(objects);
+            return objects.size() == dedupLabels.size() && this.addDuplicate(objects);
+        }
+    }
+
+    private boolean addDuplicate(final Object object) {
+        if (!this.spillableSetResolved) {
+            this.spillableSetResolved = true;
+            this.spillableSet = this.onGraphComputer ? null : createSpillableSet(this.traversal);
         }
+        return null == this.spillableSet ? this.duplicateSet.add(object) : this.spillableSet.add(object);
+    }
+
+    private static SpillableSet<Object> createSpillableSet(final Traversal.Admin<?, ?> traversal) {
+        final Object threshold = TraversalHelper.getRootOption(traversal, TraverserSpill.SPILL_THRESHOLD);
+        final Object falsePositiveRate = TraversalHelper.getRootOption(traversal, FALSE_POSITIVE_RATE);
+        final boolean spill = threshold instanceof Number && ((Number) threshold).longValue() > 0L;
+        final boolean approximate = falsePositiveRate instanceof Number && ((Number) falsePositiveRate).doubleValue() > 0d;
+        if (!spill && !approximate)
+            return null;
+        return new SpillableSet<>(traversal, spill ? ((Number) threshold).longValue() : 0L,
+                approximate ? ((Number) falsePositiveRate).doubleValue() : 0d);
     }
 
     @Override
@@ -135,6 +171,8 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
     public DedupGlobalStep<S> clone() {
         final DedupGlobalStep<S> clone = (DedupGlobalStep<S>) super.clone();
         clone.duplicateSet = new HashSet<>();
+        clone.spillableSet = null;
+        clone.spillableSetResolved = false;
         if (null != this.dedupTraversal)
             clone.dedupTraversal = this.dedupTraversal.clone();
         return clone;
@@ -160,10 +198,21 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
     public void reset() {
         super.reset();
         this.duplicateSet.clear();
+        if (null != this.spillableSet)
+            this.spillableSet.clear();
         this.barrier = null;
         this.barrierIterator = null;
     }
 
+    /**
+     * Deletes any files holding seen objects.
+     */
+    @Override
+    public void close() {
+        if (null != this.spillableSet)
+            this.spillableSet.close();
+    }
+
     @Override
     public String toString() {
         return StringFactory.stepString(this, this.dedupLabels, this.dedupTraversal);
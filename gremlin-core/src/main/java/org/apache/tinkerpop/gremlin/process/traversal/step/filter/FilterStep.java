@@ -24,6 +24,8 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
 
+import java.util.NoSuchElementException;
+
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
@@ -41,19 +43,47 @@ public abstract class FilterStep<S> extends AbstractStep<S, S> {
                 if (this.filter(traverser))
                     return traverser;
             } catch (GremlinTypeErrorException ex) {
-                if (this instanceof BinaryReductionStep || getTraversal().isRoot() || !(getTraversal().getParent() instanceof FilterStep)) {
-                    /*
-                     * Either we are at a known reduction point (TraversalFilterStep, WhereTraversalStep), we
-                     * are at the top level of the query, or our parent query is not a FilterStep and thus cannot handle
-                     * a GremlinTypeErrorException. In any of these cases we do a binary reduction from
-                     * ERROR -> FALSE and filter the solution quietly.
-                     */
-                } else {
-                    // not a ternary -> binary reducer, pass the ERROR on
+                if (!this.reducesTypeErrors())
                     throw ex;
+            }
+        }
+    }
+
+    @Override
+    protected int processNextBatch(final Traverser.Admin<S>[] batch) {
+        final int size = this.starts.nextBatch(batch);
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            final Traverser.Admin<S> traverser = batch[i];
+            batch[i] = null;
+            try {
+                if (this.filter(traverser))
+                    batch[kept++] = traverser;
+            } catch (GremlinTypeErrorException ex) {
+                if (!this.reducesTypeErrors())
+                    throw ex;
+            } catch (NoSuchElementException ex) {
+                // the filter has ended the step, as range() does, so hand back what was not yet seen and stop here
+                for (int j = i + 1; j < size; j++) {
+                    this.starts.add(batch[j]);
+                    batch[j] = null;
                 }
+                if (0 == kept)
+                    throw ex;
+                break;
             }
         }
+        return kept;
+    }
+
+    /**
+     * Either we are at a known reduction point (TraversalFilterStep, WhereTraversalStep), we are at the top level of
+     * the query, or our parent query is not a FilterStep and thus cannot handle a GremlinTypeErrorException. In any of
+     * these cases we do a binary reduction from ERROR -> FALSE and filter the solution quietly. Otherwise this is not
+     * a ternary -> binary reducer and the ERROR is passed on.
+     */
+    private boolean reducesTypeErrors() {
+        return this instanceof BinaryReductionStep || getTraversal().isRoot() || !(getTraversal().getParent() instanceof FilterStep);
     }
 
     protected abstract boolean filter(final Traverser.Admin<S> traverser);
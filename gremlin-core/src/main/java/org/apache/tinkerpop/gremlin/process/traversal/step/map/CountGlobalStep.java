@@ -36,6 +36,12 @@ public final class CountGlobalStep<S> extends ReducingBarrierStep<S, Long> {
 
     private static final Set<TraverserRequirement> REQUIREMENTS = EnumSet.of(TraverserRequirement.BULK);
 
+    /**
+     * Running total of bulks folded since the last {@link #finishReduction(Long)} which avoids boxing a {@code Long}
+     * for every traverser.
+     */
+    private transient long count = 0L;
+
     public CountGlobalStep(final Traversal.Admin traversal) {
         super(traversal);
         this.setSeedSupplier(new ConstantSupplier<>(0L));
@@ -47,6 +53,32 @@ public final class CountGlobalStep<S> extends ReducingBarrierStep<S, Long> {
         return traverser.bulk();
     }
 
+    @Override
+    protected Long reduceTraverser(final Long seed, final Traverser.Admin<S> traverser) {
+        this.count += traverser.bulk();
+        return seed;
+    }
+
+    @Override
+    protected Long finishReduction(final Long seed) {
+        final long total = this.count;
+        this.count = 0L;
+        return 0L == total ? seed : seed + total;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.count = 0L;
+    }
+
+    @Override
+    public CountGlobalStep<S> clone() {
+        final CountGlobalStep<S> clone = (CountGlobalStep<S>) super.clone();
+        clone.count = 0L;
+        return clone;
+    }
+
     @Override
     public Set<TraverserRequirement> getRequirements() {
         return REQUIREMENTS;
@@ -24,7 +24,9 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
 import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.apache.tinkerpop.gremlin.util.iterator.EmptyIterator;
 
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -33,6 +35,9 @@ public abstract class FlatMapStep<S, E> extends AbstractStep<S, E> {
 
     private Traverser.Admin<S> head = null;
     private Iterator<E> iterator = EmptyIterator.instance();
+    private Traverser.Admin<S>[] heads = null;
+    private int headIndex = 0;
+    private int headCount = 0;
 
     public FlatMapStep(final Traversal.Admin traversal) {
         super(traversal);
@@ -51,6 +56,35 @@ public abstract class FlatMapStep<S, E> extends AbstractStep<S, E> {
         }
     }
 
+    @Override
+    protected int processNextBatch(final Traverser.Admin<E>[] batch) {
+        int size = 0;
+        while (size < batch.length) {
+            if (this.iterator.hasNext()) {
+                batch[size++] = this.head.split(this.iterator.next(), this);
+            } else {
+                closeIterator();
+                if (this.headIndex == this.headCount) {
+                    if (null == this.heads)
+                        this.heads = new Traverser.Admin[batch.length];
+                    this.headIndex = 0;
+                    this.headCount = 0;
+                    try {
+                        this.headCount = this.starts.nextBatch(this.heads);
+                    } catch (final NoSuchElementException e) {
+                        if (0 == size)
+                            throw e;
+                        break;
+                    }
+                }
+                this.head = this.heads[this.headIndex];
+                this.heads[this.headIndex++] = null;
+                this.iterator = this.flatMap(this.head);
+            }
+        }
+        return size;
+    }
+
     protected abstract Iterator<E> flatMap(final Traverser.Admin<S> traverser);
 
     @Override
@@ -58,6 +92,17 @@ public abstract class FlatMapStep<S, E> extends AbstractStep<S, E> {
         super.reset();
         closeIterator();
         this.iterator = EmptyIterator.instance();
+        if (null != this.heads)
+            Arrays.fill(this.heads, this.headIndex, this.headCount, null);
+        this.headIndex = 0;
+        this.headCount = 0;
+    }
+
+    @Override
+    public FlatMapStep<S, E> clone() {
+        final FlatMapStep<S, E> clone = (FlatMapStep<S, E>) super.clone();
+        clone.heads = null;
+        return clone;
     }
 
     protected void closeIterator() {
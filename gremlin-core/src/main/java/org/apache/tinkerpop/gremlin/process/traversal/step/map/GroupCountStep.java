@@ -19,6 +19,8 @@
 
 package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 
+import com.carrotsearch.hppc.ObjectLongHashMap;
+import com.carrotsearch.hppc.cursors.ObjectLongCursor;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.ByModulating;
@@ -26,6 +28,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.MapHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ReducingBarrierStep;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalProduct;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.function.HashMapSupplier;
@@ -45,6 +48,13 @@ public class GroupCountStep<S, E> extends ReducingBarrierStep<S, Map<E, Long>> i
 
     private Traversal.Admin<S, E> keyTraversal = null;
 
+    /**
+     * Primitive counters that traversers are folded into during OLTP reduction so that neither a projection map nor a
+     * boxed {@code Long} is created per traverser. The counters are written back to the seed by
+     * {@link #finishReduction(Map)}.
+     */
+    private transient ObjectLongHashMap<E> counts;
+
     public GroupCountStep(final Traversal.Admin traversal) {
         super(traversal);
         this.setSeedSupplier(HashMapSupplier.instance());
@@ -58,6 +68,35 @@ public class GroupCountStep<S, E> extends ReducingBarrierStep<S, Map<E, Long>> i
         return map;
     }
 
+    @Override
+    protected Map<E, Long> reduceTraverser(final Map<E, Long> seed, final Traverser.Admin<S> traverser) {
+        if (null == this.keyTraversal) {
+            this.count((E) traverser.get(), traverser.bulk());
+        } else {
+            final TraversalProduct product = TraversalUtil.produce(traverser, this.keyTraversal);
+            if (product.isProductive())
+                this.count((E) product.get(), traverser.bulk());
+        }
+        return seed;
+    }
+
+    @Override
+    protected Map<E, Long> finishReduction(final Map<E, Long> seed) {
+        if (null != this.counts && !this.counts.isEmpty()) {
+            for (final ObjectLongCursor<E> cursor : this.counts) {
+                MapHelper.incr(seed, cursor.key, cursor.value);
+            }
+            this.counts.clear();
+        }
+        return seed;
+    }
+
+    private void count(final E key, final long bulk) {
+        if (null == this.counts)
+            this.counts = new ObjectLongHashMap<>();
+        this.counts.addTo(key, bulk);
+    }
+
     @Override
     public void addLocalChild(final Traversal.Admin<?, ?> groupTraversal) {
         this.keyTraversal = this.integrateChild(groupTraversal);
@@ -89,9 +128,17 @@ public class GroupCountStep<S, E> extends ReducingBarrierStep<S, Map<E, Long>> i
         final GroupCountStep<S, E> clone = (GroupCountStep<S, E>) super.clone();
         if (null != this.keyTraversal)
             clone.keyTraversal = this.keyTraversal.clone();
+        clone.counts = null;
         return clone;
     }
 
+    @Override
+    public void reset() {
+        super.reset();
+        if (null != this.counts)
+            this.counts.clear();
+    }
+
     @Override
     public void setTraversal(final Traversal.Admin<?, ?> parentTraversal) {
         super.setTraversal(parentTraversal);
@@ -19,6 +19,8 @@
 
 package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 
+import com.carrotsearch.hppc.ObjectLongHashMap;
+import com.carrotsearch.hppc.cursors.ObjectLongCursor;
 import org.apache.tinkerpop.gremlin.process.traversal.Operator;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
@@ -31,6 +33,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ProfileStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ReducingBarrierStep;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalProduct;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.function.HashMapSupplier;
@@ -55,6 +58,13 @@ public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>>
     private Barrier barrierStep;
     private boolean resetBarrierForProfiling = false;
 
+    /**
+     * Primitive per-key counters used when the value traversal is a lone {@code count()} so that such groups can be
+     * reduced without executing the value traversal for each traverser. Flushed to the seed by
+     * {@link #finishReduction(Map)}.
+     */
+    private transient ObjectLongHashMap<K> counts;
+
     public GroupStep(final Traversal.Admin traversal) {
         super(traversal);
         this.valueTraversal = this.integrateChild(__.fold().asAdmin());
@@ -112,6 +122,53 @@ public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>>
     @Override
     public Map<K, V> projectTraverser(final Traverser.Admin<S> traverser) {
         final Map<K, V> map = new HashMap<>(1);
+        this.project(traverser, map);
+        return map;
+    }
+
+    @Override
+    protected Map<K, V> reduceTraverser(final Map<K, V> seed, final Traverser.Admin<S> traverser) {
+        if (!(this.reducingBiOperator instanceof GroupBiOperator))
+            return super.reduceTraverser(seed, traverser);
+
+        if (this.isCountOnly()) {
+            final TraversalProduct product = TraversalUtil.produce(traverser, this.keyTraversal);
+            if (product.isProductive()) {
+                if (null == this.counts)
+                    this.counts = new ObjectLongHashMap<>();
+                this.counts.addTo((K) product.get(), traverser.bulk());
+            }
+        } else {
+            this.project(traverser, seed);
+        }
+        return seed;
+    }
+
+    @Override
+    protected Map<K, V> finishReduction(final Map<K, V> seed) {
+        if (null != this.counts && !this.counts.isEmpty()) {
+            final GroupBiOperator<K, V> operator = (GroupBiOperator<K, V>) this.reducingBiOperator;
+            for (final ObjectLongCursor<K> cursor : this.counts) {
+                operator.accumulate(seed, cursor.key, (V) Long.valueOf(cursor.value));
+            }
+            this.counts.clear();
+        }
+        return seed;
+    }
+
+    /**
+     * Determines if the value traversal is nothing more than a {@code count()}, in which case the count for a
+     * traverser is simply its bulk. This is checked on each use as strategies and profiling may alter the steps of
+     * the value traversal after it is set.
+     */
+    private boolean isCountOnly() {
+        return this.valueTraversal.getSteps().size() == 1 && this.valueTraversal.getStartStep() instanceof CountGlobalStep;
+    }
+
+    /**
+     * Pushes the traverser through the key and value traversals and merges the result into the supplied map.
+     */
+    private void project(final Traverser.Admin<S> traverser, final Map<K, V> map) {
         this.valueTraversal.reset();
         this.valueTraversal.addStart(traverser);
 
@@ -124,16 +181,16 @@ public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>>
             resetBarrierForProfiling = false;
         }
 
-        TraversalUtil.produce(traverser, this.keyTraversal).ifProductive(p -> {
-            if (null == this.barrierStep) {
-                if (this.valueTraversal.hasNext()) {
-                    map.put((K) p, (V) this.valueTraversal.next());
-                }
-            } else if (this.barrierStep.hasNextBarrier())
-                map.put((K) p, (V) this.barrierStep.nextBarrier());
-        });
+        final TraversalProduct product = TraversalUtil.produce(traverser, this.keyTraversal);
+        if (!product.isProductive())
+            return;
 
-        return map;
+        final K key = (K) product.get();
+        if (null == this.barrierStep) {
+            if (this.valueTraversal.hasNext())
+                ((GroupBiOperator<K, V>) this.reducingBiOperator).accumulate(map, key, (V) this.valueTraversal.next());
+        } else if (this.barrierStep.hasNextBarrier())
+            ((GroupBiOperator<K, V>) this.reducingBiOperator).accumulate(map, key, (V) this.barrierStep.nextBarrier());
     }
 
     @Override
@@ -162,9 +219,17 @@ public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>>
             clone.keyTraversal = this.keyTraversal.clone();
         clone.valueTraversal = this.valueTraversal.clone();
         clone.barrierStep = determineBarrierStep(clone.valueTraversal);
+        clone.counts = null;
         return clone;
     }
 
+    @Override
+    public void reset() {
+        super.reset();
+        if (null != this.counts)
+            this.counts.clear();
+    }
+
     @Override
     public void setTraversal(final Traversal.Admin<?, ?> parentTraversal) {
         super.setTraversal(parentTraversal);
@@ -201,16 +266,22 @@ public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>>
 
         @Override
         public Map<K, V> apply(final Map<K, V> mapA, final Map<K, V> mapB) {
-            for (final K key : mapB.keySet()) {
-                V objectA = mapA.get(key);
-                final V objectB = mapB.get(key);
-                if (null == objectA)
-                    objectA = objectB;
-                else if (null != objectB)
-                    objectA = this.barrierAggregator.apply(objectA, objectB);
-                mapA.put(key, objectA);
+            for (final Map.Entry<K, V> entry : mapB.entrySet()) {
+                this.accumulate(mapA, entry.getKey(), entry.getValue());
             }
             return mapA;
         }
+
+        /**
+         * Merges a single value into the mutating map, aggregating with any value already held for the key.
+         */
+        void accumulate(final Map<K, V> mapA, final K key, final V objectB) {
+            V objectA = mapA.get(key);
+            if (null == objectA)
+                objectA = objectB;
+            else if (null != objectB)
+                objectA = this.barrierAggregator.apply(objectA, objectB);
+            mapA.put(key, objectA);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.map;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Pop;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Scoping;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Joins the incoming traversers with the results of a traversal that does not depend on them, such as
+ * {@code V().has('name','josh')} in {@code match(as('a').V().has('name','josh').as('b'))}. The join traversal is
+ * iterated once and its results are kept in a hash table with their bulks, which the incoming traversers then probe
+ * by the value bound to the join key. A traverser whose join key is bound continues with that value if the table holds
+ * it and is filtered otherwise, while a traverser without a binding continues with every result, just as if the join
+ * traversal had been evaluated for it.
+ * <p/>
+ * The table is kept when the step is {@link #reset()}, as the child traversals of {@code where()} and {@code match()}
+ * are reset for every traverser and must not scan the graph again, and is built again once the parent step is reset
+ * with its own traversal, as when the root traversal is reset, through {@link #resetTables(Traversal.Admin)}. It is
+ * added by {@link org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.MatchAlgorithmStrategy}.
+ */
+public final class HashJoinStep<S, E> extends AbstractStep<S, E> implements TraversalParent, Scoping {
+
+    private Traversal.Admin<S, E> joinTraversal;
+    private final String joinKey;
+    private final Set<String> joinKeys;
+    private Map<E, Long> table = null;
+    private Traverser.Admin<S> head = null;
+    private Iterator<Map.Entry<E, Long>> iterator = Collections.emptyIterator();
+
+    public HashJoinStep(final Traversal.Admin traversal, final Traversal.Admin<S, E> joinTraversal, final String joinKey) {
+        super(traversal);
+        this.joinTraversal = this.integrateChild(joinTraversal);
+        this.joinKey = joinKey;
+        this.joinKeys = null == joinKey ? Collections.emptySet() : Collections.singleton(joinKey);
+    }
+
+    public String getJoinKey() {
+        return this.joinKey;
+    }
+
+    @Override
+    protected Traverser.Admin<E> processNextStart() throws NoSuchElementException {
+        while (true) {
+            if (this.iterator.hasNext()) {
+                final Map.Entry<E, Long> entry = this.iterator.next();
+                return this.split(this.head, entry.getKey(), entry.getValue());
+            }
+
+            final Traverser.Admin<S> start = this.starts.next();
+            final Map<E, Long> table = this.getTable(start);
+            final Object bound = null == this.joinKey ? null : this.getNullableScopeValue(Pop.last, this.joinKey, start);
+            if (null == bound) {
+                this.head = start;
+                this.iterator = table.entrySet().iterator();
+            } else {
+                final Long bulk = table.get(bound);
+                if (null != bulk)
+                    return this.split(start, (E) bound, bulk);
+            }
+        }
+    }
+
+    private Traverser.Admin<E> split(final Traverser.Admin<S> start, final E result, final long bulk) {
+        final Traverser.Admin<E> split = start.split(result, this);
+        split.setBulk(start.bulk() * bulk);
+        return split;
+    }
+
+    /**
+     * Builds the table from the join traversal the first time it is needed, seeding it with the first traverser
+     * as its steps, like a mid-traversal {@code V()}, need a start even though they ignore it.
+     */
+    private Map<E, Long> getTable(final Traverser.Admin<S> start) {
+        if (null == this.table) {
+            final Map<E, Long> table = new LinkedHashMap<>();
+            final Traverser.Admin<S> seed = start.split();
+            seed.setBulk(1l);
+            this.joinTraversal.addStart(seed);
+            while (this.joinTraversal.hasNext()) {
+                final Traverser.Admin<E> traverser = this.joinTraversal.nextTraverser();
+                table.merge(traverser.get(), traverser.bulk(), Long::sum);
+            }
+            this.table = table;
+        }
+        return this.table;
+    }
+
+    @Override
+    public List<Traversal.Admin<S, E>> getLocalChildren() {
+        return Collections.singletonList(this.joinTraversal);
+    }
+
+    @Override
+    public Set<String> getScopeKeys() {
+        return this.joinKeys;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.head = null;
+        this.iterator = Collections.emptyIterator();
+    }
+
+    /**
+     * Drops the tables of the {@link HashJoinStep} instances of a child traversal so that they are built again from
+     * the join traversal, which parent steps call when they are reset themselves.
+     */
+    public static void resetTables(final Traversal.Admin<?, ?> traversal) {
+        for (final Step<?, ?> step : traversal.getSteps()) {
+            if (step instanceof HashJoinStep) {
+                final HashJoinStep<?, ?> hashJoinStep = (HashJoinStep<?, ?>) step;
+                hashJoinStep.table = null;
+                hashJoinStep.joinTraversal.reset();
+            }
+        }
+    }
+
+    @Override
+    public HashJoinStep<S, E> clone() {
+        final HashJoinStep<S, E> clone = (HashJoinStep<S, E>) super.clone();
+        clone.joinTraversal = this.joinTraversal.clone();
+        clone.table = null;
+        clone.head = null;
+        clone.iterator = Collections.emptyIterator();
+        return clone;
+    }
+
+    @Override
+    public void setTraversal(final Traversal.Admin<?, ?> parentTraversal) {
+        super.setTraversal(parentTraversal);
+        this.integrateChild(this.joinTraversal);
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.stepString(this, this.joinKey, this.joinTraversal);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode() ^ this.joinTraversal.hashCode() ^ (null == this.joinKey ? "null".hashCode() : this.joinKey.hashCode());
+    }
+
+    @Override
+    public Set<TraverserRequirement> getRequirements() {
+        return null == this.joinKey ?
+                this.getSelfAndChildRequirements() :
+                this.getSelfAndChildRequirements(TraverserRequirement.LABELED_PATH);
+    }
+}
@@ -18,12 +18,15 @@
  */
 package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
 import org.apache.tinkerpop.gremlin.process.traversal.Path;
 import org.apache.tinkerpop.gremlin.process.traversal.Pop;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
+import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
 import org.apache.tinkerpop.gremlin.process.traversal.step.PathProcessor;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Scoping;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
@@ -35,6 +38,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.filter.WhereTraversal
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.StartStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ComputerAwareStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ProfileStep;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.ConnectiveStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.PathRetractionStrategy;
@@ -43,12 +47,20 @@ import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSe
 import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.util.PathUtil;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.GraphStatistics;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.io.Serializable;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -227,6 +239,7 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
     public void reset() {
         super.reset();
         this.first = true;
+        this.matchTraversals.forEach(HashJoinStep::resetTables);
     }
 
     public void setMatchAlgorithm(final Class<? extends MatchAlgorithm> matchAlgorithmClass) {
@@ -801,6 +814,8 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
             public long startsCount;
             public long endsCount;
             public double multiplicity;
+            public double estimatedMultiplicity; // an estimate that counts as estimateWeight starts of the pattern
+            public long estimateWeight;
 
             public Bundle(final Traversal.Admin<Object, Object> traversal) {
                 this.traversal = traversal;
@@ -808,11 +823,129 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
                 this.startsCount = 0l;
                 this.endsCount = 0l;
                 this.multiplicity = 0.0d;
+                this.estimatedMultiplicity = 0.0d;
+                this.estimateWeight = 0l;
             }
 
             public final void incrementEndCount() {
-                this.multiplicity = (double) ++this.endsCount / (double) this.startsCount;
+                this.multiplicity = ((double) ++this.endsCount + this.estimateWeight * this.estimatedMultiplicity) /
+                        (double) (this.startsCount + this.estimateWeight);
             }
         }
     }
+
+    /**
+     * A {@link CountMatchAlgorithm} that orders the patterns before any traverser has gone through them, estimating
+     * how many results each pattern produces per start from the {@link GraphStatistics} of the graph. Filters are
+     * estimated from label and property value counts and {@link VertexStep} fan-out from edge label counts, so a
+     * selective pattern is tried before a pattern that expands. Each estimate counts as {@link #ESTIMATE_WEIGHT}
+     * starts of its pattern so the counts recorded at runtime take over as they accumulate. Graphs without statistics
+     * are matched exactly as with {@link CountMatchAlgorithm}.
+     */
+    public static class CostMatchAlgorithm extends CountMatchAlgorithm {
+
+        public static final long ESTIMATE_WEIGHT = 100l;
+
+        @Override
+        public void initialize(final boolean onComputer, final List<Traversal.Admin<Object, Object>> traversals) {
+            super.initialize(onComputer, traversals);
+            if (traversals.isEmpty())
+                return;
+            final GraphStatistics statistics = traversals.get(0).getGraph().map(Graph::getStatistics).orElse(GraphStatistics.EMPTY);
+            final long vertexCount = statistics.count(Vertex.class);
+            if (vertexCount <= 0)
+                return;
+
+            for (final Bundle bundle : this.bundles) {
+                bundle.estimatedMultiplicity = estimate(statistics, vertexCount, bundle.traversal);
+                bundle.estimateWeight = ESTIMATE_WEIGHT;
+                bundle.multiplicity = bundle.estimatedMultiplicity;
+            }
+            Collections.sort(this.bundles, Comparator.<Bundle>comparingInt(b -> b.traversalType.ordinal()).thenComparingDouble(b -> b.multiplicity));
+        }
+
+        /**
+         * Estimates the number of results per start of the pattern. Steps that cannot be estimated count as
+         * producing one result per start.
+         */
+        protected double estimate(final GraphStatistics statistics, final long vertexCount, final Traversal.Admin<Object, Object> traversal) {
+            double multiplicity = 1.0d;
+            Class<? extends Element> elementClass = Vertex.class;
+            for (final Step<?, ?> step : traversal.getSteps()) {
+                if (step instanceof HashJoinStep) {
+                    multiplicity *= estimate(statistics, vertexCount, ((HashJoinStep<Object, Object>) step).getLocalChildren().get(0));
+                    continue;
+                }
+                if (step instanceof GraphStep) {
+                    elementClass = ((GraphStep<?, ?>) step).returnsVertex() ? Vertex.class : Edge.class;
+                    final long count = ((GraphStep<?, ?>) step).getIds().length > 0 ?
+                            ((GraphStep<?, ?>) step).getIds().length : statistics.count(elementClass);
+                    if (count >= 0)
+                        multiplicity *= count;
+                } else if (step instanceof VertexStep) {
+                    final VertexStep<?> vertexStep = (VertexStep<?>) step;
+                    multiplicity *= fanOut(statistics, vertexCount, vertexStep.getEdgeLabels()) *
+                            (vertexStep.getDirection() == Direction.BOTH ? 2 : 1);
+                    elementClass = vertexStep.returnsEdge() ? Edge.class : Vertex.class;
+                } else if (step instanceof EdgeVertexStep) {
+                    multiplicity *= ((EdgeVertexStep) step).getDirection() == Direction.BOTH ? 2 : 1;
+                    elementClass = Vertex.class;
+                } else if (step instanceof EdgeOtherVertexStep) {
+                    elementClass = Vertex.class;
+                }
+
+                if (step instanceof HasContainerHolder) {
+                    for (final HasContainer hasContainer : ((HasContainerHolder) step).getHasContainers()) {
+                        multiplicity *= selectivity(statistics, elementClass, hasContainer);
+                    }
+                }
+            }
+            return multiplicity;
+        }
+
+        private static double fanOut(final GraphStatistics statistics, final long vertexCount, final String[] edgeLabels) {
+            long edgeCount = 0l;
+            if (edgeLabels.length == 0)
+                edgeCount = statistics.count(Edge.class);
+            else {
+                for (final String edgeLabel : edgeLabels) {
+                    final long count = statistics.count(Edge.class, edgeLabel);
+                    if (count < 0)
+                        return 1.0d;
+                    edgeCount += count;
+                }
+            }
+            return edgeCount < 0 ? 1.0d : (double) edgeCount / vertexCount;
+        }
+
+        private static double selectivity(final GraphStatistics statistics, final Class<? extends Element> elementClass,
+                                          final HasContainer hasContainer) {
+            final long total = statistics.count(elementClass);
+            if (total <= 0)
+                return 1.0d;
+
+            final Collection<?> values;
+            if (hasContainer.getBiPredicate() == Compare.eq)
+                values = Collections.singletonList(hasContainer.getValue());
+            else if (hasContainer.getBiPredicate() == Contains.within && hasContainer.getValue() instanceof Collection)
+                values = (Collection<?>) hasContainer.getValue();
+            else
+                return 1.0d;
+
+            long count = 0l;
+            for (final Object value : values) {
+                final long valueCount;
+                if (hasContainer.getKey().equals(T.id.getAccessor()))
+                    valueCount = 1l;
+                else if (hasContainer.getKey().equals(T.label.getAccessor()))
+                    valueCount = value instanceof String ? statistics.count(elementClass, (String) value) : GraphStatistics.UNKNOWN;
+                else
+                    valueCount = statistics.count(elementClass, hasContainer.getKey(), value);
+                if (valueCount < 0)
+                    return 1.0d;
+                count += valueCount;
+            }
+            return Math.min(1.0d, (double) count / total);
+        }
+    }
 }
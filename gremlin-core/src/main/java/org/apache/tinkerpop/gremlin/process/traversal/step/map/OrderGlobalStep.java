@@ -30,7 +30,9 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.CollectingBarrierStep;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.ProjectedTraverser;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.SpillingTraverserSorter;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSpill;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalProduct;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
@@ -50,15 +52,26 @@ import java.util.function.BinaryOperator;
 import java.util.stream.Collectors;
 
 /**
+ * Sorts all traversers in memory, unless the traversal is configured with {@link TraverserSpill#SPILL_THRESHOLD} in
+ * which case sorted runs are spilled to disk whenever the threshold is reached and merged as the step is iterated.
+ * Spilling is skipped when the step has a limit from {@code OrderLimitStrategy}, as that limit already bounds memory.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBarrierStep<S> implements ComparatorHolder<S, C>, TraversalParent, ByModulating, Seedable {
+public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBarrierStep<S> implements ComparatorHolder<S, C>, TraversalParent, ByModulating, Seedable, AutoCloseable {
 
     private List<Pair<Traversal.Admin<S, C>, Comparator<C>>> comparators = new ArrayList<>();
     private MultiComparator<C> multiComparator = null;
     private long limit = Long.MAX_VALUE;
     private final Random random = new Random();
 
+    /**
+     * The spill threshold, which is {@code 0} until resolved on the first start and {@code -1} if spilling is off.
+     */
+    private long spillThreshold = 0L;
+    private SpillingTraverserSorter<S> sorter = null;
+    private Iterator<Traverser.Admin<S>> merged = null;
+
     public OrderGlobalStep(final Traversal.Admin traversal) {
         super(traversal);
     }
@@ -80,10 +93,46 @@ public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBa
 
     @Override
     public void processAllStarts() {
+        if (0L == this.spillThreshold && this.starts.hasNext())
+            this.spillThreshold = this.resolveSpillThreshold();
+
         while (this.starts.hasNext()) {
             // only add the traverser if the comparator traversal was productive
             this.createProjectedTraverser(this.starts.next()).ifPresent(traverserSet::add);
+            if (this.spillThreshold > 0L && this.traverserSet.size() >= this.spillThreshold) {
+                if (null == this.sorter)
+                    this.sorter = new SpillingTraverserSorter<>(this.traversal, (Comparator) this.multiComparator);
+                this.sorter.spill(this.traverserSet);
+            }
+        }
+    }
+
+    @Override
+    public Traverser.Admin<S> processNextStart() {
+        if (0L == this.spillThreshold)
+            this.spillThreshold = this.resolveSpillThreshold();
+        if (-1L == this.spillThreshold)
+            return super.processNextStart();
+
+        if (null == this.merged && this.traverserSet.isEmpty() && this.starts.hasNext()) {
+            this.processAllStarts();
+            if (null != this.sorter && this.sorter.hasSpilled())
+                this.merged = this.sorter.merge(this.traverserSet);
+            else
+                this.barrierConsumer(this.traverserSet);
+        }
+
+        if (null != this.merged) {
+            if (this.merged.hasNext())
+                return ProjectedTraverser.tryUnwrap(this.merged.next());
+            this.merged = null;
         }
+        return ProjectedTraverser.tryUnwrap(this.traverserSet.remove());
+    }
+
+    private long resolveSpillThreshold() {
+        if (null == this.multiComparator) this.multiComparator = this.createMultiComparator();
+        return this.limit != Long.MAX_VALUE || this.multiComparator.isShuffle() ? -1L : TraverserSpill.getThreshold(this.traversal);
     }
 
     public void setLimit(final long limit) {
@@ -158,9 +207,28 @@ public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBa
         for (final Pair<Traversal.Admin<S, C>, Comparator<C>> comparator : this.comparators) {
             clone.comparators.add(new Pair<>(comparator.getValue0().clone(), comparator.getValue1()));
         }
+        clone.spillThreshold = 0L;
+        clone.sorter = null;
+        clone.merged = null;
         return clone;
     }
 
+    @Override
+    public void reset() {
+        super.reset();
+        this.close();
+    }
+
+    /**
+     * Deletes any runs that were spilled and not yet fully iterated.
+     */
+    @Override
+    public void close() {
+        this.merged = null;
+        if (null != this.sorter)
+            this.sorter.close();
+    }
+
     @Override
     public void setTraversal(final Traversal.Admin<?, ?> parentTraversal) {
         super.setTraversal(parentTraversal);
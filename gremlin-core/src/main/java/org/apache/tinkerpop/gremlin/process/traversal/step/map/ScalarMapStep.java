@@ -21,6 +21,8 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 
+import java.util.NoSuchElementException;
+
 /**
  * A type of {@link MapStep} class which will transform the object of one {@link Traverser} into another. This class
  * simply requires the implementation of the {@link #map(Traverser.Admin)} method to extract the object of the given
@@ -40,5 +42,28 @@ public abstract class ScalarMapStep<S, E> extends MapStep<S,E> {
         return traverser.split(this.map(traverser), this);
     }
 
+    @Override
+    protected int processNextBatch(final Traverser.Admin<E>[] batch) {
+        // the starts are read from the same array that the ends are written to
+        final Traverser.Admin<S>[] starts = (Traverser.Admin[]) batch;
+        final int size = this.starts.nextBatch(starts);
+        for (int i = 0; i < size; i++) {
+            try {
+                batch[i] = starts[i].split(this.map(starts[i]), this);
+            } catch (final NoSuchElementException ex) {
+                // the traverser produced nothing, so hand back what was not yet seen and stop here
+                for (int j = i + 1; j < size; j++) {
+                    this.starts.add(starts[j]);
+                    starts[j] = null;
+                }
+                batch[i] = null;
+                if (0 == i)
+                    throw ex;
+                return i;
+            }
+        }
+        return size;
+    }
+
     protected abstract E map(final Traverser.Admin<S> traverser);
 }
@@ -27,8 +27,10 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.SideEffectCapable;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.BulkSet;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.ProjectedTraverser;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSpill;
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
 import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
@@ -43,14 +45,27 @@ import java.util.Set;
 import java.util.function.Supplier;
 
 /**
+ * Collects objects into a side-effect, holding back all traversers until every start has been aggregated. When the
+ * traversal is configured with {@link TraverserSpill#SPILL_THRESHOLD}, held traversers beyond that threshold are
+ * written to disk and replayed once aggregation is done. The side-effect itself is always an in-memory
+ * {@link BulkSet} as later steps and users read it directly.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public final class AggregateGlobalStep<S> extends AbstractStep<S, S> implements SideEffectCapable<Collection, Collection>, TraversalParent, ByModulating, LocalBarrier<S> {
+public final class AggregateGlobalStep<S> extends AbstractStep<S, S> implements SideEffectCapable<Collection, Collection>, TraversalParent, ByModulating, LocalBarrier<S>, AutoCloseable {
 
     private Traversal.Admin<S, Object> aggregateTraversal = null;
     private String sideEffectKey;
     private TraverserSet<S> barrier;
 
+    /**
+     * The spill threshold, which is {@code 0} until resolved on the first start and {@code -1} if spilling is off.
+     */
+    private long spillThreshold = 0L;
+    private TraverserSpill spill = null;
+    private Traverser.Admin<S> prototype = null;
+    private CloseableIterator<Traverser.Admin<S>> spilled = null;
+
     public AggregateGlobalStep(final Traversal.Admin traversal, final String sideEffectKey) {
         super(traversal);
         this.sideEffectKey = sideEffectKey;
@@ -93,6 +108,10 @@ public final class AggregateGlobalStep<S> extends AbstractStep<S, S> implements
     public AggregateGlobalStep<S> clone() {
         final AggregateGlobalStep<S> clone = (AggregateGlobalStep<S>) super.clone();
         clone.barrier = (TraverserSet<S>) this.traversal.getTraverserSetSupplier().get();
+        clone.spillThreshold = 0L;
+        clone.spill = null;
+        clone.prototype = null;
+        clone.spilled = null;
         if (null != this.aggregateTraversal)
             clone.aggregateTraversal = this.aggregateTraversal.clone();
         return clone;
@@ -114,8 +133,17 @@ public final class AggregateGlobalStep<S> extends AbstractStep<S, S> implements
 
     @Override
     protected Traverser.Admin<S> processNextStart() {
-        if (this.barrier.isEmpty()) {
+        if (null == this.spilled && this.barrier.isEmpty()) {
             this.processAllStarts();
+            if (null != this.spill)
+                this.spilled = this.spill.read(this.prototype);
+        }
+
+        // spilled traversers were aggregated before those still in the barrier so they go first
+        if (null != this.spilled) {
+            if (this.spilled.hasNext())
+                return this.spilled.next();
+            this.close();
         }
         return this.barrier.remove();
     }
@@ -123,6 +151,9 @@ public final class AggregateGlobalStep<S> extends AbstractStep<S, S> implements
     @Override
     public void processAllStarts() {
         if (this.starts.hasNext()) {
+            if (0L == this.spillThreshold)
+                this.spillThreshold = TraverserSpill.getThreshold(this.traversal);
+
             final BulkSet<Object> bulkSet = new BulkSet<>();
             while (this.starts.hasNext()) {
                 final Traverser.Admin<S> traverser = this.starts.next();
@@ -132,17 +163,30 @@ public final class AggregateGlobalStep<S> extends AbstractStep<S, S> implements
 
                 // when barrier is reloaded, the traversers should be at the next step
                 this.barrier.add(traverser);
+                if (this.spillThreshold > 0L && this.barrier.size() >= this.spillThreshold)
+                    this.spillBarrier();
             }
             this.getTraversal().getSideEffects().add(this.sideEffectKey, bulkSet);
         }
     }
 
+    private void spillBarrier() {
+        if (null == this.spill) {
+            this.spill = TraverserSpill.open(this.traversal);
+            this.prototype = ProjectedTraverser.tryUnwrap(this.barrier.peek()).split();
+        }
+        for (final Traverser.Admin<S> traverser : this.barrier) {
+            this.spill.write(traverser);
+        }
+        this.barrier.clear();
+    }
+
     @Override
     public boolean hasNextBarrier() {
         if (this.barrier.isEmpty()) {
             this.processAllStarts();
         }
-        return !this.barrier.isEmpty();
+        return !this.barrier.isEmpty() || null != this.spill;
     }
 
     @Override
@@ -150,6 +194,11 @@ public final class AggregateGlobalStep<S> extends AbstractStep<S, S> implements
         if (this.barrier.isEmpty()) {
             this.processAllStarts();
         }
+        if (null != this.spill) {
+            final CloseableIterator<Traverser.Admin<S>> replay = null == this.spilled ? this.spill.read(this.prototype) : this.spilled;
+            replay.forEachRemaining(this.barrier::add);
+            this.close();
+        }
         if (this.barrier.isEmpty())
             throw FastNoSuchElementException.instance();
         else {
@@ -168,5 +217,22 @@ public final class AggregateGlobalStep<S> extends AbstractStep<S, S> implements
     public void reset() {
         super.reset();
         this.barrier.clear();
+        this.close();
+    }
+
+    /**
+     * Deletes any spilled traversers that were not yet replayed.
+     */
+    @Override
+    public void close() {
+        if (null != this.spilled) {
+            this.spilled.close();
+            this.spilled = null;
+        }
+        if (null != this.spill) {
+            this.spill.close();
+            this.spill = null;
+        }
+        this.prototype = null;
     }
 }
@@ -27,6 +27,8 @@ import org.apache.tinkerpop.gremlin.process.traversal.util.EmptyTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalInterruptedException;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 
+import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
@@ -39,6 +41,26 @@ import java.util.Set;
  */
 public abstract class AbstractStep<S, E> implements Step<S, E> {
 
+    /**
+     * Whether a step class implements {@link #processNextBatch(Traverser.Admin[])} for itself rather than inheriting
+     * an implementation that would bypass its own {@link #processNextStart()}, {@link #next()} or {@link #hasNext()}.
+     */
+    private static final ClassValue<Boolean> BATCH_NATIVE = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(final Class<?> type) {
+            boolean batchNative = false;
+            for (Class<?> c = type; c != AbstractStep.class && c != null; c = c.getSuperclass()) {
+                if (declares(c, "next") || declares(c, "hasNext"))
+                    return false;
+                if (declares(c, "processNextBatch", Traverser.Admin[].class))
+                    batchNative = true;
+                else if (!batchNative && declares(c, "processNextStart"))
+                    return false;
+            }
+            return batchNative;
+        }
+    };
+
     protected Set<String> labels = new LinkedHashSet<>();
     protected String id = Traverser.Admin.HALT;
     protected Traversal.Admin traversal;
@@ -49,6 +71,11 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
     protected Step<?, S> previousStep = EmptyStep.instance();
     protected Step<E, ?> nextStep = EmptyStep.instance();
 
+    protected int batchSize = 0;
+    private Traverser.Admin<E>[] batch = null;
+    private int batchIndex = 0;
+    private int batchLength = 0;
+
     public AbstractStep(final Traversal.Admin traversal) {
         this.traversal = traversal;
         this.starts = new ExpandableStepIterator<>(this, (TraverserSet<S>) traversal.getTraverserSetSupplier().get());
@@ -89,6 +116,10 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
     public void reset() {
         this.starts.clear();
         this.nextEnd = EmptyTraverser.instance();
+        if (null != this.batch)
+            Arrays.fill(this.batch, this.batchIndex, this.batchLength, null);
+        this.batchIndex = 0;
+        this.batchLength = 0;
     }
 
     @Override
@@ -128,7 +159,13 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
 
     @Override
     public Traverser.Admin<E> next() {
-        if (EmptyTraverser.instance() != this.nextEnd) {
+        if (this.batchSize > 0) {
+            if (this.batchIndex == this.batchLength)
+                this.fillBatch();
+            final Traverser.Admin<E> traverser = this.batch[this.batchIndex];
+            this.batch[this.batchIndex++] = null;
+            return this.prepareTraversalForNextStep(traverser);
+        } else if (EmptyTraverser.instance() != this.nextEnd) {
             try {
                 return this.prepareTraversalForNextStep(this.nextEnd);
             } finally {
@@ -146,7 +183,16 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
 
     @Override
     public boolean hasNext() {
-        if (EmptyTraverser.instance() != this.nextEnd)
+        if (this.batchSize > 0) {
+            if (this.batchIndex < this.batchLength)
+                return true;
+            try {
+                this.fillBatch();
+                return true;
+            } catch (final NoSuchElementException e) {
+                return false;
+            }
+        } else if (EmptyTraverser.instance() != this.nextEnd)
             return true;
         else {
             try {
@@ -176,6 +222,111 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
 
     protected abstract Traverser.Admin<E> processNextStart() throws NoSuchElementException;
 
+    /**
+     * Writes up to {@code batch.length} traversers produced by this step into the array and returns how many were
+     * written, throwing {@link NoSuchElementException} if there were none to produce. Traversers with a bulk of zero
+     * may be written and are dropped by the caller. Steps that override this method should pull their starts with
+     * {@link ExpandableStepIterator#nextBatch(Traverser.Admin[])} so that whole arrays move between steps. It is only
+     * called when a batch size is set and is ignored for a step whose class overrides {@link #processNextStart()}
+     * below the class that overrides this method, in which case {@link #processNextStart()} is called repeatedly.
+     */
+    protected int processNextBatch(final Traverser.Admin<E>[] batch) throws NoSuchElementException {
+        return this.processNextStarts(batch);
+    }
+
+    /**
+     * Sets the number of traversers this step produces at a time when iterated. A size of zero, the default, has the
+     * step produce one traverser at a time through {@link #processNextStart()}.
+     */
+    public void setBatchSize(final int batchSize) {
+        if (batchSize < 0)
+            throw new IllegalArgumentException("The batch size must be zero or greater: " + batchSize);
+        this.batchSize = batchSize;
+        this.batch = null;
+        this.batchIndex = 0;
+        this.batchLength = 0;
+    }
+
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    /**
+     * Determines if this step has its own implementation of {@link #processNextBatch(Traverser.Admin[])} as opposed
+     * to one that adapts {@link #processNextStart()}.
+     */
+    public boolean isBatchNative() {
+        return BATCH_NATIVE.get(this.getClass());
+    }
+
+    /**
+     * Writes up to {@code batch.length} traversers ready for the next step into the array and returns how many were
+     * written, throwing {@link NoSuchElementException} if there are no more. This is how a step in batch mode pulls
+     * from the step before it, in place of calls to {@link #next()}.
+     */
+    public int nextBatch(final Traverser.Admin<E>[] batch) throws NoSuchElementException {
+        int size = 0;
+        if (EmptyTraverser.instance() != this.nextEnd) {
+            batch[size++] = this.prepareTraversalForNextStep(this.nextEnd);
+            this.nextEnd = EmptyTraverser.instance();
+        }
+        while (size < batch.length && this.batchIndex < this.batchLength) {
+            batch[size++] = this.prepareTraversalForNextStep(this.batch[this.batchIndex]);
+            this.batch[this.batchIndex++] = null;
+        }
+        if (size > 0)
+            return size;
+
+        size = this.produceBatch(batch);
+        for (int i = 0; i < size; i++) {
+            this.prepareTraversalForNextStep(batch[i]);
+        }
+        return size;
+    }
+
+    private void fillBatch() {
+        if (null == this.batch)
+            this.batch = new Traverser.Admin[this.batchSize];
+        this.batchIndex = 0;
+        this.batchLength = 0;
+        this.batchLength = this.produceBatch(this.batch);
+    }
+
+    /**
+     * Produces a batch with at least one traverser that has a bulk, compacting away those that do not.
+     */
+    private int produceBatch(final Traverser.Admin<E>[] batch) {
+        final boolean batchNative = this.batchSize > 0 && this.isBatchNative();
+        while (true) {
+            if (Thread.interrupted()) throw new TraversalInterruptedException();
+            final int produced = batchNative ? this.processNextBatch(batch) : this.processNextStarts(batch);
+            int size = 0;
+            for (int i = 0; i < produced; i++) {
+                final Traverser.Admin<E> traverser = batch[i];
+                batch[i] = null;
+                if (traverser.bulk() > 0)
+                    batch[size++] = traverser;
+            }
+            if (size > 0)
+                return size;
+        }
+    }
+
+    private int processNextStarts(final Traverser.Admin<E>[] batch) {
+        int size = 0;
+        try {
+            while (size < batch.length) {
+                final Traverser.Admin<E> traverser = this.processNextStart();
+                if (traverser.bulk() > 0)
+                    batch[size++] = traverser;
+            }
+        } catch (final NoSuchElementException e) {
+            if (0 == size)
+                throw e;
+        }
+        return size;
+    }
+
     @Override
     public String toString() {
         return StringFactory.stepString(this);
@@ -190,6 +341,7 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
             clone.previousStep = EmptyStep.instance();
             clone.nextStep = EmptyStep.instance();
             clone.nextEnd = EmptyTraverser.instance();
+            clone.batch = null;
             clone.traversal = EmptyTraversal.instance();
             clone.labels = new LinkedHashSet<>(this.labels);
             clone.reset();
@@ -229,4 +381,12 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
         return traverser;
     }
 
+    private static boolean declares(final Class<?> type, final String name, final Class<?>... parameterTypes) {
+        for (final Method method : type.getDeclaredMethods()) {
+            if (method.getName().equals(name) && Arrays.equals(method.getParameterTypes(), parameterTypes))
+                return true;
+        }
+        return false;
+    }
+
 }
@@ -21,17 +21,26 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.util;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.UnsynchronizedTraverserSet;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 
 import java.io.Serializable;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 /**
+ * Feeds a {@link Step} with the traversers of its previous step along with any that were added to it directly. When
+ * the host step is not executing on a {@code GraphComputer} and was given the default {@link TraverserSet}, that set
+ * is replaced by an {@link UnsynchronizedTraverserSet} the first time a traverser is added.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class ExpandableStepIterator<S> implements Iterator<Traverser.Admin<S>>, Serializable {
 
     private TraverserSet<S> traverserSet;
     private final Step<S, ?> hostStep;
+    private boolean resolved = false;
 
     public ExpandableStepIterator(final Step<S, ?> hostStep) {
         this(hostStep, new TraverserSet<>());
@@ -58,11 +67,38 @@ public final class ExpandableStepIterator<S> implements Iterator<Traverser.Admin
         return this.traverserSet.remove();
     }
 
+    /**
+     * Writes up to {@code batch.length} traversers into the array and returns how many were written, throwing
+     * {@link NoSuchElementException} if there are none. Traversers added to this iterator come first, as with
+     * {@link #next()}. Otherwise the batch is pulled from the previous step as a whole if it is in batch mode and
+     * by iterating it if it is not.
+     */
+    public int nextBatch(final Traverser.Admin<S>[] batch) {
+        int size = 0;
+        while (size < batch.length && !this.traverserSet.isEmpty()) {
+            batch[size++] = this.traverserSet.remove();
+        }
+        if (size > 0)
+            return size;
+        /////////////
+        final Step<?, S> previousStep = this.hostStep.getPreviousStep();
+        if (previousStep instanceof AbstractStep && ((AbstractStep<?, S>) previousStep).getBatchSize() > 0)
+            return ((AbstractStep<?, S>) previousStep).nextBatch(batch);
+        while (size < batch.length && previousStep.hasNext()) {
+            batch[size++] = previousStep.next();
+        }
+        if (0 == size)
+            throw FastNoSuchElementException.instance();
+        return size;
+    }
+
     public void add(final Iterator<Traverser.Admin<S>> iterator) {
+        if (!this.resolved) this.resolveTraverserSet();
         iterator.forEachRemaining(this.traverserSet::add);
     }
 
     public void add(final Traverser.Admin<S> traverser) {
+        if (!this.resolved) this.resolveTraverserSet();
         this.traverserSet.add(traverser);
     }
 
@@ -74,4 +110,16 @@ public final class ExpandableStepIterator<S> implements Iterator<Traverser.Admin
     public void clear() {
         this.traverserSet.clear();
     }
+
+    /**
+     * The host step is only attached to its final traversal once strategies are applied, so whether it runs on a
+     * {@code GraphComputer} is decided when the first traverser arrives rather than at construction. Workers there
+     * keep the synchronized {@link TraverserSet}, as does any implementation supplied by the traversal.
+     */
+    private void resolveTraverserSet() {
+        this.resolved = true;
+        if (this.traverserSet.getClass() == TraverserSet.class && this.traverserSet.isEmpty() &&
+                !TraversalHelper.onGraphComputer(this.hostStep.getTraversal()))
+            this.traverserSet = new UnsynchronizedTraverserSet<>();
+    }
 }
@@ -77,6 +77,24 @@ public abstract class ReducingBarrierStep<S, E> extends AbstractStep<S, E> imple
 
     public abstract E projectTraverser(final Traverser.Admin<S> traverser);
 
+    /**
+     * Folds a single traverser into the current seed. The default implementation projects the traverser and merges
+     * the projection with the {@code reducingBiOperator}. Steps that can update their seed in place (or accumulate
+     * into primitive state that is flushed by {@link #finishReduction(Object)}) should override this method to avoid
+     * allocating a projection per traverser.
+     */
+    protected E reduceTraverser(final E seed, final Traverser.Admin<S> traverser) {
+        return this.reducingBiOperator.apply(seed, this.projectTraverser(traverser));
+    }
+
+    /**
+     * Called after all available starts have been folded by {@link #reduceTraverser(Object, Traverser.Admin)} so that
+     * any state held outside of the seed can be written back into it. The default implementation returns the seed.
+     */
+    protected E finishReduction(final E seed) {
+        return seed;
+    }
+
     public void setReducingBiOperator(final BinaryOperator<E> reducingBiOperator) {
         this.reducingBiOperator = reducingBiOperator;
     }
@@ -108,7 +126,8 @@ public abstract class ReducingBarrierStep<S, E> extends AbstractStep<S, E> imple
         }
 
         while (this.starts.hasNext())
-            this.seed = this.reducingBiOperator.apply(this.seed, this.projectTraverser(this.starts.next()));
+            this.seed = this.reduceTraverser(this.seed, this.starts.next());
+        this.seed = this.finishReduction(this.seed);
     }
 
     @Override
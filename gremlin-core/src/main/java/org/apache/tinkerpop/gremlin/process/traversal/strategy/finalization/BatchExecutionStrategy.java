@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.MapConfiguration;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.FilterStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.FlatMapStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.ScalarMapStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An OLTP-only strategy that has steps exchange arrays of traversers rather than pulling them one at a time. Every
+ * step that implements its own batch processing, which includes {@link FilterStep}, {@link ScalarMapStep} and
+ * {@link FlatMapStep} and their subclasses that do not override how they process a single start, is given the
+ * configured {@code batchSize}. Such a step pulls a whole batch from the step before it, where a step without batch
+ * processing fills the batch by producing traversers one at a time. Steps read ahead by up to a batch, so
+ * side-effects of a step may be visible to later steps in a different order than they are without this strategy.
+ *
+ * @example <pre>
+ * g.withStrategies(new BatchExecutionStrategy(1024)).V().out().out().has("name").values("name")
+ * </pre>
+ */
+public final class BatchExecutionStrategy extends AbstractTraversalStrategy<TraversalStrategy.FinalizationStrategy>
+        implements TraversalStrategy.FinalizationStrategy {
+
+    public static final String BATCH_SIZE = "batchSize";
+    public static final int DEFAULT_BATCH_SIZE = 1024;
+
+    private static final Set<Class<? extends FinalizationStrategy>> PRIORS = new HashSet<>(Arrays.asList(
+            ProfileStrategy.class,
+            ReferenceElementStrategy.class));
+
+    private final int batchSize;
+
+    public BatchExecutionStrategy() {
+        this(DEFAULT_BATCH_SIZE);
+    }
+
+    public BatchExecutionStrategy(final int batchSize) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("BatchExecutionStrategy requires a batchSize of at least 1: " + batchSize);
+        this.batchSize = batchSize;
+    }
+
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (TraversalHelper.onGraphComputer(traversal))
+            return;
+
+        for (final Step<?, ?> step : traversal.getSteps()) {
+            if (step instanceof AbstractStep && ((AbstractStep) step).isBatchNative())
+                ((AbstractStep) step).setBatchSize(this.batchSize);
+        }
+    }
+
+    @Override
+    public Set<Class<? extends FinalizationStrategy>> applyPrior() {
+        return PRIORS;
+    }
+
+    public static BatchExecutionStrategy create(final Configuration configuration) {
+        return new BatchExecutionStrategy(configuration.getInt(BATCH_SIZE, DEFAULT_BATCH_SIZE));
+    }
+
+    @Override
+    public Configuration getConfiguration() {
+        final Map<String, Object> map = new HashMap<>();
+        map.put(STRATEGY, BatchExecutionStrategy.class.getCanonicalName());
+        map.put(BATCH_SIZE, this.batchSize);
+        return new MapConfiguration(map);
+    }
+}
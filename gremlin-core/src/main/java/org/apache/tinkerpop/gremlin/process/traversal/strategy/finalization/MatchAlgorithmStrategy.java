@@ -23,26 +23,62 @@ import org.apache.commons.configuration2.MapConfiguration;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.WhereTraversalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.EdgeVertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.HashJoinStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.IdStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.LabelStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.MatchStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.PropertiesStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.IdentityStep;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
+ * Sets the {@link MatchStep.MatchAlgorithm} of {@code match()} and, unless disabled with
+ * {@link Builder#hashJoin(boolean)}, replaces patterns of {@code match()} and traversals of {@code where()} that
+ * start with a mid-traversal {@code V()} or {@code E()} and so do not depend on the traverser with a
+ * {@link HashJoinStep}. Such a pattern is then scanned once and joined with the traversers on its end label,
+ * rather than scanned again for every traverser. Only patterns made of steps that neither label, reference labels,
+ * touch side-effects nor behave differently when evaluated once are joined, and none are joined on a
+ * {@code GraphComputer} or when the traversal requires paths, as the path of a joined traverser does not include the
+ * elements the pattern passed through.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class MatchAlgorithmStrategy extends AbstractTraversalStrategy<TraversalStrategy.FinalizationStrategy> implements TraversalStrategy.FinalizationStrategy {
 
     private static final String MATCH_ALGORITHM = "matchAlgorithm";
+    private static final String HASH_JOIN = "hashJoin";
+    private static final Set<Class<? extends Step>> JOINABLE_STEPS = new HashSet<>(Arrays.asList(
+            GraphStep.class, VertexStep.class, EdgeVertexStep.class, HasStep.class, PropertiesStep.class,
+            IdStep.class, LabelStep.class, IdentityStep.class, NoOpBarrierStep.class));
+
     private Class<? extends MatchStep.MatchAlgorithm> matchAlgorithmClass;
+    private boolean hashJoin = true;
 
     private MatchAlgorithmStrategy() {
         // for serialization
     }
 
-    private MatchAlgorithmStrategy(final Class<? extends MatchStep.MatchAlgorithm> matchAlgorithmClass) {
+    private MatchAlgorithmStrategy(final Class<? extends MatchStep.MatchAlgorithm> matchAlgorithmClass, final boolean hashJoin) {
         this.matchAlgorithmClass = matchAlgorithmClass;
+        this.hashJoin = hashJoin;
     }
 
     @Override
@@ -52,11 +88,56 @@ public final class MatchAlgorithmStrategy extends AbstractTraversalStrategy<Trav
                 ((MatchStep) step).setMatchAlgorithm(this.matchAlgorithmClass);
             }
         }
+
+        if (!this.hashJoin || !TraversalHelper.hasStepOfClass(traversal, MatchStep.class, WhereTraversalStep.class) ||
+                TraversalHelper.onGraphComputer(traversal) || requiresPath(traversal))
+            return;
+
+        for (final Step<?, ?> step : traversal.getSteps()) {
+            if (step instanceof MatchStep) {
+                for (final Traversal.Admin<?, ?> pattern : ((MatchStep<?, ?>) step).getGlobalChildren()) {
+                    if (pattern.getEndStep() instanceof MatchStep.MatchEndStep)
+                        join(pattern, ((MatchStep.MatchEndStep) pattern.getEndStep()).getMatchKey().orElse(null));
+                }
+            } else if (step instanceof WhereTraversalStep) {
+                final Traversal.Admin<?, ?> whereTraversal = ((WhereTraversalStep<?>) step).getLocalChildren().get(0);
+                if (whereTraversal.getEndStep() instanceof WhereTraversalStep.WhereEndStep) {
+                    final Set<String> keys = ((WhereTraversalStep.WhereEndStep) whereTraversal.getEndStep()).getScopeKeys();
+                    join(whereTraversal, keys.isEmpty() ? null : keys.iterator().next());
+                }
+            }
+        }
+    }
+
+    private static boolean requiresPath(final Traversal.Admin<?, ?> traversal) {
+        return TraversalHelper.anyStepRecursively(s -> s.getRequirements().contains(TraverserRequirement.PATH),
+                TraversalHelper.getRootTraversal(traversal));
+    }
+
+    /**
+     * Moves the steps between the start and end step of the traversal into a {@link HashJoinStep} if the first of
+     * them is a mid-traversal {@link GraphStep} and all of them can be evaluated once for all traversers.
+     */
+    private static void join(final Traversal.Admin<?, ?> traversal, final String joinKey) {
+        final List<Step> steps = traversal.getSteps();
+        if (steps.size() < 3 || !(steps.get(1) instanceof GraphStep) || ((GraphStep) steps.get(1)).isStartStep())
+            return;
+        for (int i = 1; i < steps.size() - 1; i++) {
+            final Step<?, ?> step = steps.get(i);
+            if (!JOINABLE_STEPS.stream().anyMatch(c -> c.isInstance(step)) || !step.getLabels().isEmpty() ||
+                    step.getRequirements().contains(TraverserRequirement.PATH))
+                return;
+        }
+
+        final Traversal.Admin joinTraversal = new DefaultTraversal<>();
+        TraversalHelper.removeToTraversal(steps.get(1), traversal.getEndStep(), joinTraversal);
+        TraversalHelper.insertAfterStep(new HashJoinStep<>(traversal, joinTraversal, joinKey), traversal.getStartStep(), traversal);
     }
 
     public static MatchAlgorithmStrategy create(final Configuration configuration) {
         try {
-            return new MatchAlgorithmStrategy((Class) Class.forName(configuration.getString(MATCH_ALGORITHM)));
+            return new MatchAlgorithmStrategy((Class) Class.forName(configuration.getString(MATCH_ALGORITHM)),
+                    configuration.getBoolean(HASH_JOIN, true));
         } catch (final ClassNotFoundException e) {
             throw new IllegalArgumentException(e.getMessage(), e);
         }
@@ -64,9 +145,13 @@ public final class MatchAlgorithmStrategy extends AbstractTraversalStrategy<Trav
 
     @Override
     public Configuration getConfiguration() {
-        return new MapConfiguration(Collections.singletonMap(MATCH_ALGORITHM, null != this.matchAlgorithmClass.getDeclaringClass() ?
+        final Map<String, Object> map = new HashMap<>();
+        map.put(MATCH_ALGORITHM, null != this.matchAlgorithmClass.getDeclaringClass() ?
                 this.matchAlgorithmClass.getCanonicalName().replace("." + this.matchAlgorithmClass.getSimpleName(), "$" + this.matchAlgorithmClass.getSimpleName()) :
-                this.matchAlgorithmClass.getCanonicalName()));
+                this.matchAlgorithmClass.getCanonicalName());
+        if (!this.hashJoin)
+            map.put(HASH_JOIN, false);
+        return new MapConfiguration(map);
     }
 
     public static Builder build() {
@@ -81,6 +166,7 @@ public final class MatchAlgorithmStrategy extends AbstractTraversalStrategy<Trav
     public final static class Builder {
 
         private Class<? extends MatchStep.MatchAlgorithm> matchAlgorithmClass = MatchStep.CountMatchAlgorithm.class;
+        private boolean hashJoin = true;
 
         private Builder() {
         }
@@ -90,9 +176,17 @@ public final class MatchAlgorithmStrategy extends AbstractTraversalStrategy<Trav
             return this;
         }
 
+        /**
+         * Determines if patterns that do not depend on the traverser are evaluated once and hash joined, which is the
+         * default.
+         */
+        public Builder hashJoin(final boolean hashJoin) {
+            this.hashJoin = hashJoin;
+            return this;
+        }
 
         public MatchAlgorithmStrategy create() {
-            return new MatchAlgorithmStrategy(this.matchAlgorithmClass);
+            return new MatchAlgorithmStrategy(this.matchAlgorithmClass, this.hashJoin);
         }
     }
 }
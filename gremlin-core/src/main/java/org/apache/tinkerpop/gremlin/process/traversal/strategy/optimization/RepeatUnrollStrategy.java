@@ -47,6 +47,8 @@ import java.util.Set;
  *     <li>{@link LoopsStep}</li>
  *     <li>{@link LambdaHolder}</li>
  * </ul>
+ * <p/>
+ * Nor is it applied when {@link RepeatStep#DEDUP_FRONTIER} is set, as unrolled loops do not track visited objects.
  *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  * @example <pre>
@@ -64,7 +66,8 @@ public final class RepeatUnrollStrategy extends AbstractTraversalStrategy<Traver
 
     @Override
     public void apply(final Traversal.Admin<?, ?> traversal) {
-        if (TraversalHelper.onGraphComputer(traversal))
+        if (TraversalHelper.onGraphComputer(traversal) ||
+                Boolean.TRUE.equals(TraversalHelper.getRootOption(traversal, RepeatStep.DEDUP_FRONTIER)))
             return;
 
         final boolean lazyBarrierStrategyInstalled = TraversalHelper.getRootTraversal(traversal).
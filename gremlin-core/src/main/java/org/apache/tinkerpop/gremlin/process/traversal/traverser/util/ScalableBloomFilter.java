@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A Bloom filter that grows as keys are added so that the number of keys need not be known in advance. Keys go into
+ * the newest filter until it holds as many keys as it was sized for, at which point a filter twice as large with half
+ * the false positive rate is added. The false positive rates of the filters therefore sum to less than the rate the
+ * filter was created with. Keys are given as two independent 64-bit hashes which are combined to choose the bits.
+ */
+final class ScalableBloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final List<Stage> stages = new ArrayList<>();
+    private final double falsePositiveRate;
+    private final long initialCapacity;
+
+    ScalableBloomFilter(final long initialCapacity, final double falsePositiveRate) {
+        this.initialCapacity = Math.max(initialCapacity, 1024L);
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    /**
+     * Records a key unless it may already have been recorded.
+     *
+     * @return {@code true} if the key was definitely not recorded before
+     */
+    boolean add(final long hash1, final long hash2) {
+        if (this.mightContain(hash1, hash2))
+            return false;
+
+        Stage stage = this.stages.isEmpty() ? null : this.stages.get(this.stages.size() - 1);
+        if (null == stage || stage.size >= stage.capacity) {
+            stage = null == stage ?
+                    new Stage(this.initialCapacity, this.falsePositiveRate / 2) :
+                    new Stage(stage.capacity << 1, stage.falsePositiveRate / 2);
+            this.stages.add(stage);
+        }
+        stage.add(hash1, hash2);
+        return true;
+    }
+
+    boolean mightContain(final long hash1, final long hash2) {
+        for (final Stage stage : this.stages) {
+            if (stage.mightContain(hash1, hash2))
+                return true;
+        }
+        return false;
+    }
+
+    void clear() {
+        this.stages.clear();
+    }
+
+    private static final class Stage {
+        private final long capacity;
+        private final double falsePositiveRate;
+        private final long[] bits;
+        private final long bitCount;
+        private final int hashCount;
+        private long size = 0L;
+
+        private Stage(final long capacity, final double falsePositiveRate) {
+            this.capacity = capacity;
+            this.falsePositiveRate = falsePositiveRate;
+            final long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (LN2 * LN2));
+            this.bits = new long[(int) Math.min(Integer.MAX_VALUE - 8, (optimalBits + 63) >>> 6)];
+            this.bitCount = (long) this.bits.length << 6;
+            this.hashCount = Math.max(1, (int) Math.round((double) this.bitCount / capacity * LN2));
+        }
+
+        private void add(final long hash1, final long hash2) {
+            long combined = hash1;
+            for (int i = 0; i < this.hashCount; i++) {
+                final long bit = (combined & Long.MAX_VALUE) % this.bitCount;
+                this.bits[(int) (bit >>> 6)] |= 1L << bit;
+                combined += hash2;
+            }
+            this.size++;
+        }
+
+        private boolean mightContain(final long hash1, final long hash2) {
+            long combined = hash1;
+            for (int i = 0; i < this.hashCount; i++) {
+                final long bit = (combined & Long.MAX_VALUE) % this.bitCount;
+                if (0L == (this.bits[(int) (bit >>> 6)] & (1L << bit)))
+                    return false;
+                combined += hash2;
+            }
+            return true;
+        }
+    }
+}
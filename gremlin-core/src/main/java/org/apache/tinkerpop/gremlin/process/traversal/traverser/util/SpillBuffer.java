@@ -0,0 +1,313 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
+
+import org.apache.tinkerpop.gremlin.structure.io.Buffer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * A big-endian {@link Buffer} over a growable heap array that {@link TraverserSpill} uses to encode and decode a
+ * single record with GraphBinary. It is not reference counted and does not expose NIO views of itself.
+ */
+final class SpillBuffer implements Buffer {
+
+    private byte[] array;
+    private int readerIndex = 0;
+    private int writerIndex = 0;
+    private int markedWriterIndex = 0;
+
+    SpillBuffer(final int initialCapacity) {
+        this.array = new byte[initialCapacity];
+    }
+
+    /**
+     * Gets the backing array, which holds {@link #writerIndex()} written bytes.
+     */
+    byte[] array() {
+        return this.array;
+    }
+
+    /**
+     * Makes sure {@code length} bytes can be written from index zero and rewinds both indices so that the backing
+     * array can be filled directly.
+     */
+    void reset(final int length) {
+        if (this.array.length < length)
+            this.array = new byte[Math.max(length, this.array.length << 1)];
+        this.readerIndex = 0;
+        this.writerIndex = 0;
+        this.markedWriterIndex = 0;
+    }
+
+    private void ensureWritable(final int length) {
+        final int required = this.writerIndex + length;
+        if (required > this.array.length)
+            this.array = Arrays.copyOf(this.array, Math.max(required, this.array.length << 1));
+    }
+
+    private int checkReadable(final int length) {
+        if (this.readerIndex + length > this.writerIndex)
+            throw new IndexOutOfBoundsException(String.format("readerIndex(%s) + length(%s) exceeds writerIndex(%s)",
+                    this.readerIndex, length, this.writerIndex));
+        final int index = this.readerIndex;
+        this.readerIndex += length;
+        return index;
+    }
+
+    @Override
+    public int readableBytes() {
+        return this.writerIndex - this.readerIndex;
+    }
+
+    @Override
+    public int readerIndex() {
+        return this.readerIndex;
+    }
+
+    @Override
+    public Buffer readerIndex(final int readerIndex) {
+        if (readerIndex < 0 || readerIndex > this.writerIndex)
+            throw new IndexOutOfBoundsException(String.format("readerIndex: %s (expected: 0 <= readerIndex <= writerIndex(%s))",
+                    readerIndex, this.writerIndex));
+        this.readerIndex = readerIndex;
+        return this;
+    }
+
+    @Override
+    public int writerIndex() {
+        return this.writerIndex;
+    }
+
+    @Override
+    public Buffer writerIndex(final int writerIndex) {
+        if (writerIndex < this.readerIndex)
+            throw new IndexOutOfBoundsException(String.format("writerIndex: %s (expected: readerIndex(%s) <= writerIndex)",
+                    writerIndex, this.readerIndex));
+        if (writerIndex > this.array.length)
+            this.array = Arrays.copyOf(this.array, writerIndex);
+        this.writerIndex = writerIndex;
+        return this;
+    }
+
+    @Override
+    public Buffer markWriterIndex() {
+        this.markedWriterIndex = this.writerIndex;
+        return this;
+    }
+
+    @Override
+    public Buffer resetWriterIndex() {
+        this.writerIndex = this.markedWriterIndex;
+        return this;
+    }
+
+    @Override
+    public int capacity() {
+        return this.array.length;
+    }
+
+    @Override
+    public boolean isDirect() {
+        return false;
+    }
+
+    @Override
+    public boolean readBoolean() {
+        return this.readByte() != 0;
+    }
+
+    @Override
+    public byte readByte() {
+        return this.array[this.checkReadable(1)];
+    }
+
+    @Override
+    public short readShort() {
+        final int i = this.checkReadable(2);
+        return (short) ((this.array[i] << 8) | (this.array[i + 1] & 0xff));
+    }
+
+    @Override
+    public int readInt() {
+        final int i = this.checkReadable(4);
+        return (this.array[i] << 24) |
+                ((this.array[i + 1] & 0xff) << 16) |
+                ((this.array[i + 2] & 0xff) << 8) |
+                (this.array[i + 3] & 0xff);
+    }
+
+    @Override
+    public long readLong() {
+        final long high = this.readInt();
+        final long low = this.readInt();
+        return (high << 32) | (low & 0xffffffffL);
+    }
+
+    @Override
+    public float readFloat() {
+        return Float.intBitsToFloat(this.readInt());
+    }
+
+    @Override
+    public double readDouble() {
+        return Double.longBitsToDouble(this.readLong());
+    }
+
+    @Override
+    public Buffer readBytes(final byte[] destination) {
+        return this.readBytes(destination, 0, destination.length);
+    }
+
+    @Override
+    public Buffer readBytes(final byte[] destination, final int dstIndex, final int length) {
+        System.arraycopy(this.array, this.checkReadable(length), destination, dstIndex, length);
+        return this;
+    }
+
+    @Override
+    public Buffer readBytes(final ByteBuffer dst) {
+        final int length = dst.remaining();
+        dst.put(this.array, this.checkReadable(length), length);
+        return this;
+    }
+
+    @Override
+    public Buffer readBytes(final OutputStream out, final int length) throws IOException {
+        out.write(this.array, this.checkReadable(length), length);
+        return this;
+    }
+
+    @Override
+    public Buffer writeBoolean(final boolean value) {
+        return this.writeByte(value ? 1 : 0);
+    }
+
+    @Override
+    public Buffer writeByte(final int value) {
+        this.ensureWritable(1);
+        this.array[this.writerIndex++] = (byte) value;
+        return this;
+    }
+
+    @Override
+    public Buffer writeShort(final int value) {
+        this.ensureWritable(2);
+        this.array[this.writerIndex++] = (byte) (value >>> 8);
+        this.array[this.writerIndex++] = (byte) value;
+        return this;
+    }
+
+    @Override
+    public Buffer writeInt(final int value) {
+        this.ensureWritable(4);
+        this.array[this.writerIndex++] = (byte) (value >>> 24);
+        this.array[this.writerIndex++] = (byte) (value >>> 16);
+        this.array[this.writerIndex++] = (byte) (value >>> 8);
+        this.array[this.writerIndex++] = (byte) value;
+        return this;
+    }
+
+    @Override
+    public Buffer writeLong(final long value) {
+        this.writeInt((int) (value >>> 32));
+        return this.writeInt((int) value);
+    }
+
+    @Override
+    public Buffer writeFloat(final float value) {
+        return this.writeInt(Float.floatToRawIntBits(value));
+    }
+
+    @Override
+    public Buffer writeDouble(final double value) {
+        return this.writeLong(Double.doubleToRawLongBits(value));
+    }
+
+    @Override
+    public Buffer writeBytes(final byte[] src) {
+        return this.writeBytes(src, 0, src.length);
+    }
+
+    @Override
+    public Buffer writeBytes(final ByteBuffer src) {
+        final int length = src.remaining();
+        this.ensureWritable(length);
+        src.get(this.array, this.writerIndex, length);
+        this.writerIndex += length;
+        return this;
+    }
+
+    @Override
+    public Buffer writeBytes(final byte[] src, final int srcIndex, final int length) {
+        this.ensureWritable(length);
+        System.arraycopy(src, srcIndex, this.array, this.writerIndex, length);
+        this.writerIndex += length;
+        return this;
+    }
+
+    @Override
+    public boolean release() {
+        return false;
+    }
+
+    @Override
+    public Buffer retain() {
+        return this;
+    }
+
+    @Override
+    public int referenceCount() {
+        return 1;
+    }
+
+    @Override
+    public int nioBufferCount() {
+        return 1;
+    }
+
+    @Override
+    public ByteBuffer[] nioBuffers() {
+        return new ByteBuffer[]{this.nioBuffer()};
+    }
+
+    @Override
+    public ByteBuffer[] nioBuffers(final int index, final int length) {
+        return new ByteBuffer[]{this.nioBuffer(index, length)};
+    }
+
+    @Override
+    public ByteBuffer nioBuffer() {
+        return this.nioBuffer(this.readerIndex, this.readableBytes());
+    }
+
+    @Override
+    public ByteBuffer nioBuffer(final int index, final int length) {
+        return ByteBuffer.wrap(this.array, index, length).slice();
+    }
+
+    @Override
+    public Buffer getBytes(final int index, final byte[] dst) {
+        System.arraycopy(this.array, index, dst, 0, dst.length);
+        return this;
+    }
+}
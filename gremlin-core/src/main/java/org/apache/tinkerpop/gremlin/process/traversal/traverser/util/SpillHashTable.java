@@ -0,0 +1,246 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * An open-addressing hash set of byte strings that lives in two temporary files rather than on the heap. The keys
+ * are appended to a data file and a memory-mapped index of fixed size slots, each holding the offset, length and
+ * hash of a key, is probed linearly. Keys are only read back from the data file when the hash and length of a slot
+ * match, so a lookup usually touches just the mapped index, which the operating system pages in and out as needed.
+ */
+final class SpillHashTable implements Closeable {
+
+    private static final int SLOT_BYTES = 16;
+    private static final int SEGMENT_SHIFT = 26;
+    private static final long SEGMENT_SLOTS = 1L << SEGMENT_SHIFT;
+    private static final int INITIAL_CAPACITY = 1 << 16;
+    private static final int WRITE_BUFFER_BYTES = 1 << 16;
+
+    private final Path directory;
+    private final Path dataFile;
+    private final FileChannel data;
+    private final ByteBuffer writeBuffer = ByteBuffer.allocate(WRITE_BUFFER_BYTES);
+    private long flushed = 0L;
+    private byte[] compareBytes = new byte[256];
+
+    private Path indexFile;
+    private MappedByteBuffer[] segments;
+    private long capacity;
+    private long size = 0L;
+
+    SpillHashTable(final Path directory) {
+        this.directory = directory;
+        try {
+            this.dataFile = Files.createTempFile(directory, "gremlin-spill-", ".keys");
+            this.data = FileChannel.open(this.dataFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.indexFile = createIndexFile(directory);
+            this.segments = map(this.indexFile, INITIAL_CAPACITY);
+            this.capacity = INITIAL_CAPACITY;
+        } catch (IOException ioe) {
+            throw new UncheckedIOException("Could not create spill files in " + directory, ioe);
+        }
+    }
+
+    long size() {
+        return this.size;
+    }
+
+    /**
+     * Adds the first {@code length} bytes of the key if they are not already present.
+     *
+     * @return {@code true} if the key was added
+     */
+    boolean add(final byte[] key, final int length, final int hash) {
+        long slot = this.findSlot(key, length, hash);
+        if (slot < 0)
+            return false;
+
+        if ((this.size + 1) << 1 > this.capacity) {
+            this.resize(this.capacity << 1);
+            slot = this.findSlot(key, length, hash);
+        }
+        this.writeSlot(this.segments, slot, this.append(key, length) + 1, hash, length);
+        this.size++;
+        return true;
+    }
+
+    /**
+     * Determines if the first {@code length} bytes of the key are present.
+     */
+    boolean contains(final byte[] key, final int length, final int hash) {
+        return this.findSlot(key, length, hash) < 0;
+    }
+
+    /**
+     * Deletes the files of the table.
+     */
+    @Override
+    public void close() {
+        this.segments = null;
+        try {
+            this.data.close();
+            Files.deleteIfExists(this.dataFile);
+            Files.deleteIfExists(this.indexFile);
+        } catch (IOException ioe) {
+            throw new UncheckedIOException("Could not delete spill files in " + this.directory, ioe);
+        }
+    }
+
+    /**
+     * Finds the empty slot the key would be stored in, or returns a negative number if the key is already present.
+     */
+    private long findSlot(final byte[] key, final int length, final int hash) {
+        final long mask = this.capacity - 1;
+        long slot = spread(hash) & mask;
+        while (true) {
+            final ByteBuffer segment = this.segments[(int) (slot >>> SEGMENT_SHIFT)];
+            final int position = (int) (slot & (SEGMENT_SLOTS - 1)) * SLOT_BYTES;
+            final long offset = segment.getLong(position);
+            if (0L == offset)
+                return slot;
+            if (segment.getInt(position + 8) == hash && segment.getInt(position + 12) == length &&
+                    this.equalsStored(key, length, offset - 1))
+                return -1L;
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private boolean equalsStored(final byte[] key, final int length, final long offset) {
+        if (this.compareBytes.length < length)
+            this.compareBytes = new byte[Math.max(length, this.compareBytes.length << 1)];
+
+        if (offset >= this.flushed) {
+            System.arraycopy(this.writeBuffer.array(), (int) (offset - this.flushed), this.compareBytes, 0, length);
+        } else {
+            try {
+                final ByteBuffer target = ByteBuffer.wrap(this.compareBytes, 0, length);
+                while (target.hasRemaining()) {
+                    if (this.data.read(target, offset + target.position()) < 0)
+                        throw new IOException("Unexpected end of " + this.dataFile);
+                }
+            } catch (IOException ioe) {
+                throw new UncheckedIOException("Could not read spill file " + this.dataFile, ioe);
+            }
+        }
+        for (int i = 0; i < length; i++) {
+            if (key[i] != this.compareBytes[i])
+                return false;
+        }
+        return true;
+    }
+
+    private long append(final byte[] key, final int length) {
+        final long offset = this.flushed + this.writeBuffer.position();
+        try {
+            if (length > this.writeBuffer.remaining()) {
+                this.flush();
+                if (length > this.writeBuffer.capacity()) {
+                    final ByteBuffer source = ByteBuffer.wrap(key, 0, length);
+                    while (source.hasRemaining()) {
+                        this.data.write(source, this.flushed + source.position());
+                    }
+                    this.flushed += length;
+                    return offset;
+                }
+            }
+        } catch (IOException ioe) {
+            throw new UncheckedIOException("Could not write spill file " + this.dataFile, ioe);
+        }
+        this.writeBuffer.put(key, 0, length);
+        return offset;
+    }
+
+    private void flush() throws IOException {
+        this.writeBuffer.flip();
+        while (this.writeBuffer.hasRemaining()) {
+            this.data.write(this.writeBuffer, this.flushed + this.writeBuffer.position());
+        }
+        this.flushed += this.writeBuffer.limit();
+        this.writeBuffer.clear();
+    }
+
+    private void resize(final long newCapacity) {
+        try {
+            final Path newFile = createIndexFile(this.directory);
+            final MappedByteBuffer[] newSegments = map(newFile, newCapacity);
+            final long mask = newCapacity - 1;
+            for (long slot = 0; slot < this.capacity; slot++) {
+                final ByteBuffer segment = this.segments[(int) (slot >>> SEGMENT_SHIFT)];
+                final int position = (int) (slot & (SEGMENT_SLOTS - 1)) * SLOT_BYTES;
+                final long offset = segment.getLong(position);
+                if (0L == offset)
+                    continue;
+
+                final int hash = segment.getInt(position + 8);
+                long target = spread(hash) & mask;
+                while (0L != newSegments[(int) (target >>> SEGMENT_SHIFT)].getLong((int) (target & (SEGMENT_SLOTS - 1)) * SLOT_BYTES)) {
+                    target = (target + 1) & mask;
+                }
+                this.writeSlot(newSegments, target, offset, hash, segment.getInt(position + 12));
+            }
+            Files.deleteIfExists(this.indexFile);
+            this.indexFile = newFile;
+            this.segments = newSegments;
+            this.capacity = newCapacity;
+        } catch (IOException ioe) {
+            throw new UncheckedIOException("Could not grow spill index in " + this.directory, ioe);
+        }
+    }
+
+    private void writeSlot(final MappedByteBuffer[] segments, final long slot, final long offset, final int hash, final int length) {
+        final ByteBuffer segment = segments[(int) (slot >>> SEGMENT_SHIFT)];
+        final int position = (int) (slot & (SEGMENT_SLOTS - 1)) * SLOT_BYTES;
+        segment.putLong(position, offset);
+        segment.putInt(position + 8, hash);
+        segment.putInt(position + 12, length);
+    }
+
+    private static long spread(final int hash) {
+        return (hash ^ (hash >>> 16)) & 0xffffffffL;
+    }
+
+    private static Path createIndexFile(final Path directory) throws IOException {
+        return Files.createTempFile(directory, "gremlin-spill-", ".index");
+    }
+
+    private static MappedByteBuffer[] map(final Path file, final long slots) throws IOException {
+        final int count = (int) Math.max(1L, slots >>> SEGMENT_SHIFT);
+        final long segmentSlots = Math.min(slots, SEGMENT_SLOTS);
+        final MappedByteBuffer[] segments = new MappedByteBuffer[count];
+        try (final RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.setLength(slots * SLOT_BYTES);
+            for (int i = 0; i < count; i++) {
+                segments[i] = raf.getChannel().map(FileChannel.MapMode.READ_WRITE,
+                        i * segmentSlots * SLOT_BYTES, segmentSlots * SLOT_BYTES);
+            }
+        }
+        return segments;
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryWriter;
+import org.apache.tinkerpop.gremlin.structure.util.reference.ReferenceFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A set used to remember which objects have been seen, for instance by {@code dedup()}, whose heap usage is bounded.
+ * Up to {@code threshold} objects are held in a {@link HashSet}. Further objects are written with GraphBinary, graph
+ * elements as references, and their bytes are kept either in a file-backed hash table, which is exact, or, when a
+ * false positive rate is given, in a Bloom filter. A Bloom filter never reports an unseen object as seen more often
+ * than that rate but does mean that a small fraction of distinct objects are treated as duplicates.
+ * <p/>
+ * Objects beyond the threshold are compared by their serialized form, so only objects whose serialized form is the
+ * same exactly when they are {@code equals()} are spilled: strings, numbers, booleans, characters, UUIDs, elements and
+ * lists of those. Maps, sets, paths and every other object, whose serialized form may depend on iteration order or
+ * on parts that {@code equals()} ignores, are kept on the heap, as are objects that GraphBinary cannot write.
+ */
+public final class SpillableSet<E> implements AutoCloseable {
+
+    private final long threshold;
+    private final double falsePositiveRate;
+    private final Path directory;
+    private final Set<E> heap = new HashSet<>();
+    private final GraphBinaryWriter writer = new GraphBinaryWriter();
+    private final SpillBuffer buffer = new SpillBuffer(256);
+    private SpillHashTable table = null;
+    private ScalableBloomFilter bloomFilter = null;
+
+    /**
+     * Creates a set that spills to the {@link TraverserSpill#SPILL_DIRECTORY} of the traversal.
+     *
+     * @param threshold the number of objects to hold on the heap
+     * @param falsePositiveRate the rate at which unseen objects beyond the threshold may be reported as seen, or
+     *                          {@code 0} to keep them exactly on disk
+     */
+    public SpillableSet(final Traversal.Admin<?, ?> traversal, final long threshold, final double falsePositiveRate) {
+        if (threshold < 0L)
+            throw new IllegalArgumentException("The threshold must be zero or greater: " + threshold);
+        if (falsePositiveRate < 0d || falsePositiveRate >= 1d)
+            throw new IllegalArgumentException("The false positive rate must be at least 0 and less than 1: " + falsePositiveRate);
+        this.threshold = threshold;
+        this.falsePositiveRate = falsePositiveRate;
+        this.directory = TraverserSpill.getDirectory(traversal);
+    }
+
+    /**
+     * Adds the object if it has not been seen.
+     *
+     * @return {@code true} if the object was not seen before
+     */
+    public boolean add(final E object) {
+        if (this.heap.size() < this.threshold || !isCanonical(object) || !this.serialize(object))
+            return !this.contains(object) && this.heap.add(object);
+        if (this.heap.contains(object))
+            return false;
+
+        final long hash = hash(this.buffer.array(), this.buffer.writerIndex());
+        if (this.falsePositiveRate > 0d) {
+            if (null == this.bloomFilter)
+                this.bloomFilter = new ScalableBloomFilter(this.threshold, this.falsePositiveRate);
+            return this.bloomFilter.add(hash, mix(hash ^ 0x9e3779b97f4a7c15L));
+        } else {
+            if (null == this.table)
+                this.table = new SpillHashTable(this.directory);
+            return this.table.add(this.buffer.array(), this.buffer.writerIndex(), (int) (hash ^ (hash >>> 32)));
+        }
+    }
+
+    /**
+     * Determines if the object has been seen.
+     */
+    public boolean contains(final E object) {
+        if (this.heap.contains(object))
+            return true;
+        if ((null == this.table && null == this.bloomFilter) || !isCanonical(object) || !this.serialize(object))
+            return false;
+
+        final long hash = hash(this.buffer.array(), this.buffer.writerIndex());
+        return null != this.bloomFilter ?
+                this.bloomFilter.mightContain(hash, mix(hash ^ 0x9e3779b97f4a7c15L)) :
+                this.table.contains(this.buffer.array(), this.buffer.writerIndex(), (int) (hash ^ (hash >>> 32)));
+    }
+
+    /**
+     * Determines if objects have been moved off the heap.
+     */
+    public boolean hasSpilled() {
+        return null != this.table || null != this.bloomFilter;
+    }
+
+    /**
+     * Forgets all objects and deletes any files.
+     */
+    public void clear() {
+        this.heap.clear();
+        this.close();
+    }
+
+    /**
+     * Deletes any files, leaving the objects on the heap in place.
+     */
+    @Override
+    public void close() {
+        if (null != this.table) {
+            this.table.close();
+            this.table = null;
+        }
+        this.bloomFilter = null;
+    }
+
+    /**
+     * Writes the object to the buffer and returns {@code true}, or returns {@code false} if GraphBinary could not
+     * write it.
+     */
+    private boolean serialize(final E object) {
+        try {
+            this.buffer.reset(0);
+            this.writer.write(ReferenceFactory.detach(object), this.buffer);
+            return true;
+        } catch (IOException | RuntimeException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Determines if the serialized form of the object is the same as that of another object exactly when the two are
+     * {@code equals()}.
+     */
+    private static boolean isCanonical(final Object object) {
+        if (null == object || object instanceof String || object instanceof Number || object instanceof Boolean ||
+                object instanceof Character || object instanceof UUID || object instanceof Element)
+            return true;
+        if (object instanceof List) {
+            for (final Object item : (List<?>) object) {
+                if (!isCanonical(item)) return false;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * A 64-bit MurmurHash3 style hash of the first {@code length} bytes.
+     */
+    private static long hash(final byte[] bytes, final int length) {
+        long h = 0x9368e53c2f6af274L ^ (length * 0xc6a4a7935bd1e995L);
+        int i = 0;
+        for (; i + 8 <= length; i += 8) {
+            long k = (bytes[i] & 0xffL) | (bytes[i + 1] & 0xffL) << 8 | (bytes[i + 2] & 0xffL) << 16 |
+                    (bytes[i + 3] & 0xffL) << 24 | (bytes[i + 4] & 0xffL) << 32 | (bytes[i + 5] & 0xffL) << 40 |
+                    (bytes[i + 6] & 0xffL) << 48 | (bytes[i + 7] & 0xffL) << 56;
+            k *= 0x87c37b91114253d5L;
+            k = Long.rotateLeft(k, 31);
+            k *= 0x4cf5ad432745937fL;
+            h ^= k;
+            h = Long.rotateLeft(h, 27) * 5 + 0x52dce729;
+        }
+        long tail = 0L;
+        for (int shift = 0; i < length; i++, shift += 8) {
+            tail |= (bytes[i] & 0xffL) << shift;
+        }
+        return mix(h ^ mix(tail));
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.ProjectedTraverser;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * An external merge sort over {@link TraverserSet} instances. Each call to {@link #spill(TraverserSet)} sorts the set
+ * and writes it to its own {@link TraverserSpill} as a sorted run. {@link #merge(TraverserSet)} then lazily k-way
+ * merges those runs with the traversers still in memory, so only one traverser per run is held on the heap while
+ * the result is iterated. Traversers that compare as equal are returned in the order they were spilled, which gives
+ * the same order as a stable sort of all the traversers at once.
+ */
+public final class SpillingTraverserSorter<S> implements AutoCloseable {
+
+    private final Traversal.Admin<?, ?> traversal;
+    private final Comparator<Traverser<S>> comparator;
+    private final List<TraverserSpill> runs = new ArrayList<>();
+    private final List<CloseableIterator<Traverser.Admin<S>>> readers = new ArrayList<>();
+    private Traverser.Admin<S> prototype;
+
+    public SpillingTraverserSorter(final Traversal.Admin<?, ?> traversal, final Comparator<Traverser<S>> comparator) {
+        this.traversal = traversal;
+        this.comparator = comparator;
+    }
+
+    /**
+     * Determines if any traversers have been spilled since this sorter was created or last closed.
+     */
+    public boolean hasSpilled() {
+        return !this.runs.isEmpty();
+    }
+
+    /**
+     * Sorts the traversers in the set, writes them to a new run and clears the set.
+     */
+    public void spill(final TraverserSet<S> traverserSet) {
+        if (traverserSet.isEmpty())
+            return;
+
+        traverserSet.sort(this.comparator);
+        if (null == this.prototype)
+            this.prototype = ProjectedTraverser.tryUnwrap(traverserSet.peek()).split();
+
+        final TraverserSpill run = TraverserSpill.open(this.traversal);
+        this.runs.add(run);
+        for (final Traverser.Admin<S> traverser : traverserSet) {
+            run.write(traverser);
+        }
+        traverserSet.clear();
+    }
+
+    /**
+     * Sorts the traversers remaining in the set and returns an iterator that merges them with all spilled runs. The
+     * set is drained as the iterator advances and the runs are closed once it is exhausted.
+     */
+    public Iterator<Traverser.Admin<S>> merge(final TraverserSet<S> traverserSet) {
+        traverserSet.sort(this.comparator);
+
+        final PriorityQueue<Run<S>> queue = new PriorityQueue<>(this.runs.size() + 1, (a, b) -> {
+            final int comparison = this.comparator.compare(a.head, b.head);
+            return 0 == comparison ? Integer.compare(a.index, b.index) : comparison;
+        });
+        for (final TraverserSpill spill : this.runs) {
+            final CloseableIterator<Traverser.Admin<S>> reader = spill.read(this.prototype);
+            this.readers.add(reader);
+            this.offer(queue, reader, this.readers.size() - 1);
+        }
+        this.offer(queue, IteratorUtils.removeOnNext(traverserSet.iterator()), this.runs.size());
+
+        return new Iterator<Traverser.Admin<S>>() {
+            @Override
+            public boolean hasNext() {
+                if (queue.isEmpty()) {
+                    close();
+                    return false;
+                }
+                return true;
+            }
+
+            @Override
+            public Traverser.Admin<S> next() {
+                final Run<S> run = queue.poll();
+                if (null == run)
+                    throw FastNoSuchElementException.instance();
+                final Traverser.Admin<S> traverser = run.head;
+                if (run.source.hasNext()) {
+                    run.head = run.source.next();
+                    queue.offer(run);
+                }
+                return traverser;
+            }
+        };
+    }
+
+    /**
+     * Closes any open readers and deletes all runs.
+     */
+    @Override
+    public void close() {
+        this.readers.forEach(CloseableIterator::close);
+        this.readers.clear();
+        this.runs.forEach(TraverserSpill::close);
+        this.runs.clear();
+        this.prototype = null;
+    }
+
+    private void offer(final PriorityQueue<Run<S>> queue, final Iterator<Traverser.Admin<S>> source, final int index) {
+        if (source.hasNext())
+            queue.offer(new Run<>(source, source.next(), index));
+    }
+
+    private static final class Run<S> {
+        private final Iterator<Traverser.Admin<S>> source;
+        private final int index;
+        private Traverser.Admin<S> head;
+
+        private Run(final Iterator<Traverser.Admin<S>> source, final Traverser.Admin<S> head, final int index) {
+            this.source = source;
+            this.head = head;
+            this.index = index;
+        }
+    }
+}
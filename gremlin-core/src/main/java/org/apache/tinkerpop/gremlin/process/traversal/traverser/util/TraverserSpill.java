@@ -0,0 +1,300 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.BulkSet;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.OptionsStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.ProjectedTraverser;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryReader;
+import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryWriter;
+import org.apache.tinkerpop.gremlin.structure.util.Attachable;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
+import org.apache.tinkerpop.gremlin.structure.util.reference.ReferenceFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A temporary file of traversers written with GraphBinary, used by barrier steps that move part of their state out of
+ * the heap once the threshold given with {@code g.with(TraverserSpill.SPILL_THRESHOLD, n)} is exceeded. Each record
+ * holds the bulk, the projections of a {@link ProjectedTraverser} (if any) and the object of the traverser. Graph
+ * elements are written as references and re-attached to the graph of the traversal when they are read back, so only
+ * traversals whose traversers carry nothing beyond their object, bulk and side-effects may be spilled. Values are
+ * limited to the types GraphBinary can write.
+ * <p/>
+ * The file is deleted when the spill is closed.
+ */
+public final class TraverserSpill implements Closeable {
+
+    /**
+     * The {@link OptionsStrategy} key for the number of traversers a step may hold in memory before spilling.
+     */
+    public static final String SPILL_THRESHOLD = "spillThreshold";
+
+    /**
+     * The {@link OptionsStrategy} key for the directory spill files are written to. When not set the spill files are
+     * written to the directory given by the {@code java.io.tmpdir} system property.
+     */
+    public static final String SPILL_DIRECTORY = "spillDirectory";
+
+    private static final Set<TraverserRequirement> UNSPILLABLE_REQUIREMENTS = EnumSet.of(
+            TraverserRequirement.PATH, TraverserRequirement.LABELED_PATH, TraverserRequirement.SACK,
+            TraverserRequirement.SINGLE_LOOP, TraverserRequirement.NESTED_LOOP);
+
+    private final Path file;
+    private final Graph graph;
+    private final GraphBinaryWriter writer = new GraphBinaryWriter();
+    private final GraphBinaryReader reader = new GraphBinaryReader();
+    private final SpillBuffer buffer = new SpillBuffer(256);
+    private DataOutputStream output;
+    private long size = 0L;
+
+    private TraverserSpill(final Path file, final Graph graph) throws IOException {
+        this.file = file;
+        this.graph = graph;
+        this.output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+    }
+
+    /**
+     * Gets the number of traversers a step of the traversal may hold in memory before spilling, or {@code -1} if the
+     * step may not spill. Spilling requires a positive {@link #SPILL_THRESHOLD}, traversers that need no paths,
+     * sacks or loop counters and a root traversal, which rules out local children and traversals executing on a
+     * {@code GraphComputer}.
+     */
+    public static long getThreshold(final Traversal.Admin<?, ?> traversal) {
+        if (!traversal.isRoot())
+            return -1L;
+
+        final Object threshold = TraversalHelper.getRootOption(traversal, SPILL_THRESHOLD);
+        if (!(threshold instanceof Number) || ((Number) threshold).longValue() <= 0L)
+            return -1L;
+
+        for (final TraverserRequirement requirement : traversal.getTraverserRequirements()) {
+            if (UNSPILLABLE_REQUIREMENTS.contains(requirement))
+                return -1L;
+        }
+        return ((Number) threshold).longValue();
+    }
+
+    /**
+     * Gets the {@link #SPILL_DIRECTORY} configured for the traversal.
+     */
+    static Path getDirectory(final Traversal.Admin<?, ?> traversal) {
+        final Object directory = TraversalHelper.getRootOption(traversal, SPILL_DIRECTORY);
+        return null == directory ? Paths.get(System.getProperty("java.io.tmpdir")) : Paths.get(directory.toString());
+    }
+
+    /**
+     * Creates an empty spill file in the {@link #SPILL_DIRECTORY} configured for the traversal.
+     */
+    public static TraverserSpill open(final Traversal.Admin<?, ?> traversal) {
+        try {
+            return new TraverserSpill(Files.createTempFile(getDirectory(traversal), "gremlin-spill-", ".bin"),
+                    traversal.getGraph().orElse(null));
+        } catch (IOException ioe) {
+            throw new UncheckedIOException("Could not create a spill file for " + traversal, ioe);
+        }
+    }
+
+    /**
+     * Gets the number of traversers written to the spill.
+     */
+    public long size() {
+        return this.size;
+    }
+
+    /**
+     * Appends a traverser to the spill. The projections of a {@link ProjectedTraverser} are written with it.
+     */
+    public void write(final Traverser.Admin<?> traverser) {
+        try {
+            this.buffer.reset(0);
+            this.buffer.writeLong(traverser.bulk());
+            if (traverser instanceof ProjectedTraverser) {
+                final List<?> projections = ((ProjectedTraverser<?, ?>) traverser).getProjections();
+                this.buffer.writeInt(projections.size());
+                for (final Object projection : projections) {
+                    this.writer.write(ReferenceFactory.detach(projection), this.buffer);
+                }
+            } else {
+                this.buffer.writeInt(-1);
+            }
+            this.writer.write(ReferenceFactory.detach(traverser.get()), this.buffer);
+
+            this.output.writeInt(this.buffer.writerIndex());
+            this.output.write(this.buffer.array(), 0, this.buffer.writerIndex());
+            this.size++;
+        } catch (IOException ioe) {
+            throw new UncheckedIOException("Could not spill " + traverser + " to " + this.file, ioe);
+        }
+    }
+
+    /**
+     * Completes the spill and iterates the traversers that were written to it in the order they were written. Each
+     * traverser is split from the {@code prototype} and is a {@link ProjectedTraverser} if it was written as
+     * one. No more traversers may be written once the spill is read.
+     */
+    public <S> CloseableIterator<Traverser.Admin<S>> read(final Traverser.Admin<S> prototype) {
+        try {
+            if (null != this.output) {
+                this.output.close();
+                this.output = null;
+            }
+            return new SpillIterator<>(new DataInputStream(new BufferedInputStream(Files.newInputStream(this.file))),
+                    ProjectedTraverser.tryUnwrap(prototype));
+        } catch (IOException ioe) {
+            throw new UncheckedIOException("Could not read spill file " + this.file, ioe);
+        }
+    }
+
+    /**
+     * Closes the spill and deletes its file.
+     */
+    @Override
+    public void close() {
+        try {
+            if (null != this.output) {
+                this.output.close();
+                this.output = null;
+            }
+            Files.deleteIfExists(this.file);
+        } catch (IOException ioe) {
+            throw new UncheckedIOException("Could not delete spill file " + this.file, ioe);
+        }
+    }
+
+    /**
+     * Re-attaches the references in a value that was read back to the graph of the traversal, descending into the
+     * collections that were freshly deserialized with it.
+     */
+    private Object attach(final Object object) {
+        if (null == this.graph)
+            return object;
+
+        if (object instanceof Attachable) {
+            return ((Attachable<?>) object).attach(Attachable.Method.get(this.graph));
+        } else if (object instanceof List) {
+            final ListIterator<Object> items = ((List<Object>) object).listIterator();
+            while (items.hasNext()) {
+                items.set(this.attach(items.next()));
+            }
+            return object;
+        } else if (object instanceof BulkSet) {
+            final BulkSet<Object> set = new BulkSet<>();
+            ((BulkSet<Object>) object).forEach((item, bulk) -> set.add(this.attach(item), bulk));
+            return set;
+        } else if (object instanceof Set) {
+            final Set<Object> set = new LinkedHashSet<>(((Set<?>) object).size());
+            for (final Object item : (Set<?>) object) {
+                set.add(this.attach(item));
+            }
+            return set;
+        } else if (object instanceof Map) {
+            final Map<Object, Object> map = new LinkedHashMap<>(((Map<?, ?>) object).size());
+            for (final Map.Entry<?, ?> entry : ((Map<?, ?>) object).entrySet()) {
+                map.put(this.attach(entry.getKey()), this.attach(entry.getValue()));
+            }
+            return map;
+        }
+        return object;
+    }
+
+    private final class SpillIterator<S> implements CloseableIterator<Traverser.Admin<S>> {
+
+        private final DataInputStream input;
+        private final Traverser.Admin<S> prototype;
+        private final SpillBuffer readBuffer = new SpillBuffer(256);
+        private long remaining = TraverserSpill.this.size;
+
+        private SpillIterator(final DataInputStream input, final Traverser.Admin<S> prototype) {
+            this.input = input;
+            this.prototype = prototype;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.remaining > 0;
+        }
+
+        @Override
+        public Traverser.Admin<S> next() {
+            if (this.remaining <= 0)
+                throw FastNoSuchElementException.instance();
+            try {
+                final int length = this.input.readInt();
+                this.readBuffer.reset(length);
+                this.input.readFully(this.readBuffer.array(), 0, length);
+                this.readBuffer.writerIndex(length);
+
+                final long bulk = this.readBuffer.readLong();
+                final int projectionCount = this.readBuffer.readInt();
+                final List<Object> projections = projectionCount <= 0 ? Collections.emptyList() : new ArrayList<>(projectionCount);
+                for (int i = 0; i < projectionCount; i++) {
+                    projections.add(attach(reader.read(this.readBuffer)));
+                }
+                final S object = (S) attach(reader.read(this.readBuffer));
+
+                final Traverser.Admin<S> traverser = this.prototype.split();
+                traverser.set(object);
+                traverser.setBulk(bulk);
+                if (--this.remaining == 0)
+                    this.close();
+                return projectionCount < 0 ? traverser : new ProjectedTraverser<>(traverser, projections);
+            } catch (EOFException eof) {
+                throw new IllegalStateException("Spill file " + file + " ended before all traversers were read", eof);
+            } catch (IOException ioe) {
+                throw new UncheckedIOException("Could not read spill file " + file, ioe);
+            }
+        }
+
+        @Override
+        public void close() {
+            this.remaining = 0;
+            try {
+                this.input.close();
+            } catch (IOException ioe) {
+                throw new UncheckedIOException("Could not close spill file " + file, ioe);
+            }
+        }
+    }
+}
@@ -0,0 +1,350 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.StringJoiner;
+
+/**
+ * A {@link TraverserSet} for the single-threaded pipelines of an OLTP traversal. Traversers are held in insertion
+ * order in an array-backed FIFO and found through an open-addressed index into that array, so adding a traverser
+ * merges its bulk into an equal one and popping the head neither takes a monitor nor allocates a map entry. This
+ * implementation is not safe for concurrent use and its iterators are not fail-fast. Iteration order is the same as
+ * {@link TraverserSet}.
+ */
+public class UnsynchronizedTraverserSet<S> extends TraverserSet<S> {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    /**
+     * Traversers in insertion order between {@link #head} and {@link #tail} where {@code null} marks a traverser
+     * that was removed out of order.
+     */
+    private Traverser.Admin<S>[] queue;
+
+    private int[] hashes;
+
+    /**
+     * Linear probing table holding a position in {@link #queue} plus one, where zero marks an empty slot. It is
+     * always twice the length of the queue so that it is never more than half full.
+     */
+    private int[] index;
+
+    private int head = 0;
+    private int tail = 0;
+    private int size = 0;
+
+    public UnsynchronizedTraverserSet() {
+        super((Map<Traverser.Admin<S>, Traverser.Admin<S>>) null);
+        this.queue = new Traverser.Admin[INITIAL_CAPACITY];
+        this.hashes = new int[INITIAL_CAPACITY];
+        this.index = new int[INITIAL_CAPACITY << 1];
+    }
+
+    public UnsynchronizedTraverserSet(final Traverser.Admin<S> traverser) {
+        this();
+        if (traverser != null)
+            this.add(traverser);
+    }
+
+    @Override
+    public Iterator<Traverser.Admin<S>> iterator() {
+        return new Iterator<Traverser.Admin<S>>() {
+            private int position = head;
+            private int last = -1;
+
+            @Override
+            public boolean hasNext() {
+                while (this.position < tail && null == queue[this.position]) {
+                    this.position++;
+                }
+                return this.position < tail;
+            }
+
+            @Override
+            public Traverser.Admin<S> next() {
+                if (!this.hasNext())
+                    throw FastNoSuchElementException.instance();
+                this.last = this.position++;
+                return queue[this.last];
+            }
+
+            @Override
+            public void remove() {
+                if (this.last < 0)
+                    throw new IllegalStateException();
+                removeAt(this.last);
+                this.last = -1;
+            }
+        };
+    }
+
+    @Override
+    public Traverser.Admin<S> get(final Traverser.Admin<S> traverser) {
+        if (null == traverser)
+            return null;
+        final int slot = this.probe(traverser, hash(traverser));
+        return 0 == this.index[slot] ? null : this.queue[this.index[slot] - 1];
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public long bulkSize() {
+        long bulk = 0L;
+        for (int i = this.head; i < this.tail; i++) {
+            if (null != this.queue[i])
+                bulk = bulk + this.queue[i].bulk();
+        }
+        return bulk;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return 0 == this.size;
+    }
+
+    @Override
+    public boolean contains(final Object traverser) {
+        return null != traverser && 0 != this.index[this.probe(traverser, hash(traverser))];
+    }
+
+    @Override
+    public boolean add(final Traverser.Admin<S> traverser) {
+        final int hash = hash(traverser);
+        int slot = this.probe(traverser, hash);
+        if (0 != this.index[slot]) {
+            this.queue[this.index[slot] - 1].merge(traverser);
+            return false;
+        }
+
+        if (this.tail == this.queue.length) {
+            this.makeRoom();
+            slot = this.probe(traverser, hash);
+        }
+        this.queue[this.tail] = traverser;
+        this.hashes[this.tail] = hash;
+        this.index[slot] = ++this.tail;
+        this.size++;
+        return true;
+    }
+
+    @Override
+    public boolean offer(final Traverser.Admin<S> traverser) {
+        return this.add(traverser);
+    }
+
+    @Override
+    public Traverser.Admin<S> remove() {  // pop, exception if empty
+        if (0 == this.size)
+            throw FastNoSuchElementException.instance();
+        return this.removeAt(this.first());
+    }
+
+    @Override
+    public Traverser.Admin<S> poll() {  // pop, null if empty
+        return 0 == this.size ? null : this.removeAt(this.first());
+    }
+
+    @Override
+    public Traverser.Admin<S> element() { // peek, exception if empty
+        if (0 == this.size)
+            throw FastNoSuchElementException.instance();
+        return this.queue[this.first()];
+    }
+
+    @Override
+    public Traverser.Admin<S> peek() { // peek, null if empty
+        return 0 == this.size ? null : this.queue[this.first()];
+    }
+
+    @Override
+    public boolean remove(final Object traverser) {
+        if (null == traverser)
+            return false;
+        final int slot = this.probe(traverser, hash(traverser));
+        if (0 == this.index[slot])
+            return false;
+        this.removeSlot(slot);
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(this.queue, this.head, this.tail, null);
+        Arrays.fill(this.index, 0);
+        this.head = 0;
+        this.tail = 0;
+        this.size = 0;
+    }
+
+    @Override
+    public Spliterator<Traverser.Admin<S>> spliterator() {
+        return Spliterators.spliterator(this, Spliterator.DISTINCT | Spliterator.ORDERED);
+    }
+
+    @Override
+    public String toString() {
+        final StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        for (final Traverser.Admin<S> traverser : this) {
+            joiner.add(String.valueOf(traverser));
+        }
+        return joiner.toString();
+    }
+
+    @Override
+    public void sort(final Comparator<Traverser<S>> comparator) {
+        final List<Traverser.Admin<S>> list = new ArrayList<>(this);
+        Collections.sort(list, comparator);
+        this.clear();
+        list.forEach(this::add);
+    }
+
+    @Override
+    public void shuffle(final Random random) {
+        final List<Traverser.Admin<S>> list = new ArrayList<>(this);
+        Collections.shuffle(list, random);
+        this.clear();
+        list.forEach(this::add);
+    }
+
+    /**
+     * Moves the head past traversers that were removed out of order and returns its position.
+     */
+    private int first() {
+        while (null == this.queue[this.head]) {
+            this.head++;
+        }
+        return this.head;
+    }
+
+    /**
+     * Finds the slot of the index that holds a traverser equal to the one given or else the empty slot where it
+     * would be placed.
+     */
+    private int probe(final Object traverser, final int hash) {
+        final int mask = this.index.length - 1;
+        int slot = hash & mask;
+        int position;
+        while (0 != (position = this.index[slot])) {
+            if (this.hashes[position - 1] == hash) {
+                final Traverser.Admin<S> existing = this.queue[position - 1];
+                if (traverser == existing || traverser.equals(existing))
+                    return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private Traverser.Admin<S> removeAt(final int position) {
+        final int mask = this.index.length - 1;
+        int slot = this.hashes[position] & mask;
+        while (this.index[slot] != position + 1) {
+            slot = (slot + 1) & mask;
+        }
+        return this.removeSlot(slot);
+    }
+
+    private Traverser.Admin<S> removeSlot(final int slot) {
+        final int position = this.index[slot] - 1;
+        final Traverser.Admin<S> traverser = this.queue[position];
+        this.queue[position] = null;
+
+        // shift back any entry whose probe sequence ran through the freed slot so that lookups never need tombstones
+        final int mask = this.index.length - 1;
+        int gap = slot;
+        int next = slot;
+        int entry;
+        while (0 != (entry = this.index[next = (next + 1) & mask])) {
+            final int home = this.hashes[entry - 1] & mask;
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                this.index[gap] = entry;
+                gap = next;
+            }
+        }
+        this.index[gap] = 0;
+
+        if (0 == --this.size) {
+            this.head = 0;
+            this.tail = 0;
+        } else if (position == this.head) {
+            this.head++;
+        }
+        return traverser;
+    }
+
+    /**
+     * Called when the tail reaches the end of the queue. The live traversers are compacted to the front of the queue
+     * if at least half of it was freed by removals, otherwise the queue and index are doubled, and the index is then
+     * rebuilt for the new positions.
+     */
+    private void makeRoom() {
+        final boolean grow = this.size > (this.queue.length >> 1);
+        final Traverser.Admin<S>[] queue = grow ? new Traverser.Admin[this.queue.length << 1] : this.queue;
+        final int[] hashes = grow ? new int[queue.length] : this.hashes;
+        int live = 0;
+        for (int i = this.head; i < this.tail; i++) {
+            if (null != this.queue[i]) {
+                queue[live] = this.queue[i];
+                hashes[live] = this.hashes[i];
+                live++;
+            }
+        }
+        if (grow)
+            this.index = new int[queue.length << 1];
+        else {
+            Arrays.fill(queue, live, this.tail, null);
+            Arrays.fill(this.index, 0);
+        }
+        this.queue = queue;
+        this.hashes = hashes;
+        this.head = 0;
+        this.tail = live;
+
+        final int mask = this.index.length - 1;
+        for (int i = 0; i < live; i++) {
+            int slot = hashes[i] & mask;
+            while (0 != this.index[slot]) {
+                slot = (slot + 1) & mask;
+            }
+            this.index[slot] = i + 1;
+        }
+    }
+
+    private static int hash(final Object traverser) {
+        final int h = traverser.hashCode();
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Remembers which objects a traversal has visited, as {@code repeat()} does when expanding each element once.
+ * Vertices and edges whose ids are {@code Long}, {@code Integer}, {@code Short} or {@code Byte}, and numbers of those
+ * types, are kept in compressed bitmaps in the manner of a roaring bitmap: the high 48 bits of a value select a
+ * container for the low 16 bits, which is a sorted array while it holds at most 4096 values and a 65536 bit bitmap
+ * beyond that. This takes a few bits per element for the dense numeric ids most graphs assign, rather than the dozens
+ * of bytes of a boxed entry in a {@link HashSet}. Such ids are compared by value, so an {@code Integer} id and a
+ * {@code Long} id that are equal are the same. Any other object is kept in a {@link HashSet}.
+ */
+public final class VisitedSet {
+
+    private final Map<Long, Container> vertices = new HashMap<>();
+    private final Map<Long, Container> edges = new HashMap<>();
+    private final Map<Long, Container> numbers = new HashMap<>();
+    private final Set<Object> others = new HashSet<>();
+    private long size = 0L;
+
+    /**
+     * Records the object.
+     *
+     * @return {@code true} if it was not visited before
+     */
+    public boolean add(final Object object) {
+        final boolean added;
+        if (object instanceof Vertex)
+            added = add(this.vertices, ((Vertex) object).id(), object);
+        else if (object instanceof Edge)
+            added = add(this.edges, ((Edge) object).id(), object);
+        else
+            added = add(this.numbers, object, object);
+        if (added)
+            this.size++;
+        return added;
+    }
+
+    private boolean add(final Map<Long, Container> containers, final Object key, final Object object) {
+        if (key instanceof Long || key instanceof Integer || key instanceof Short || key instanceof Byte) {
+            final long value = ((Number) key).longValue();
+            return containers.computeIfAbsent(value >>> 16, k -> new Container()).add((char) value);
+        }
+        return this.others.add(object);
+    }
+
+    public long size() {
+        return this.size;
+    }
+
+    public void clear() {
+        this.vertices.clear();
+        this.edges.clear();
+        this.numbers.clear();
+        this.others.clear();
+        this.size = 0L;
+    }
+
+    /**
+     * The low 16 bits of the ids that share their high bits.
+     */
+    private static final class Container {
+
+        private static final int MAX_ARRAY_SIZE = 4096;
+
+        private char[] values = new char[4];
+        private int cardinality = 0;
+        private long[] bits = null;
+
+        private boolean add(final char value) {
+            if (null != this.bits) {
+                final long word = this.bits[value >>> 6];
+                final long bit = 1L << value;
+                if (0L != (word & bit))
+                    return false;
+                this.bits[value >>> 6] = word | bit;
+                this.cardinality++;
+                return true;
+            }
+
+            final int index = Arrays.binarySearch(this.values, 0, this.cardinality, value);
+            if (index >= 0)
+                return false;
+            if (this.cardinality == MAX_ARRAY_SIZE) {
+                this.toBitmap();
+                return this.add(value);
+            }
+
+            final int insertion = -index - 1;
+            if (this.cardinality == this.values.length)
+                this.values = Arrays.copyOf(this.values, Math.min(MAX_ARRAY_SIZE, this.values.length << 1));
+            System.arraycopy(this.values, insertion, this.values, insertion + 1, this.cardinality - insertion);
+            this.values[insertion] = value;
+            this.cardinality++;
+            return true;
+        }
+
+        private void toBitmap() {
+            this.bits = new long[1024];
+            for (int i = 0; i < this.cardinality; i++) {
+                this.bits[this.values[i] >>> 6] |= 1L << this.values[i];
+            }
+            this.values = null;
+        }
+    }
+}
@@ -24,28 +24,55 @@ import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
+ * The default {@link TraversalStrategies} implementation. Sources are typically spawned per request with strategies
+ * added or removed through {@code with()}, {@code withStrategies()} and {@code withoutStrategies()}, so two costs are
+ * kept off that path. The order computed by {@link TraversalStrategies#sortStrategies(Set)} is remembered for each
+ * set of strategy classes, which relies on {@link TraversalStrategy#applyPrior()},
+ * {@link TraversalStrategy#applyPost()} and {@link TraversalStrategy#getTraversalCategory()} depending only on the
+ * class of a strategy. A {@link #clone()} shares the sorted strategies with the original until either of them is
+ * changed, at which point the changed one takes its own copy.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class DefaultTraversalStrategies implements TraversalStrategies {
 
+    private static final int MAX_SORTED_ORDERS = 1024;
+
+    /**
+     * The sorted order of strategy classes keyed by the set of classes it was computed for.
+     */
+    private static final Map<Set<Class<?>>, List<Class<?>>> SORTED_ORDERS = new ConcurrentHashMap<>();
+
+    /**
+     * The strategies in the order they apply, which may be shared with clones and must therefore be replaced rather
+     * than modified in place once {@link #clone()} has been called.
+     */
     protected Set<TraversalStrategy<?>> traversalStrategies = new LinkedHashSet<>();
 
+    private transient boolean shared = false;
+    private transient List<TraversalStrategy<?>> list = null;
+
     @Override
     @SuppressWarnings({"unchecked", "varargs"})
     public TraversalStrategies addStrategies(final TraversalStrategy<?>... strategies) {
+        this.beforeChange();
         for (final TraversalStrategy<?> addStrategy : strategies) {
             // search by class to prevent strategies from being added more than once
             getStrategy(addStrategy.getClass()).ifPresent(s -> this.traversalStrategies.remove(s));
         }
         Collections.addAll(this.traversalStrategies, strategies);
-        this.traversalStrategies = TraversalStrategies.sortStrategies(this.traversalStrategies);
+        this.traversalStrategies = sort(this.traversalStrategies);
         return this;
     }
 
@@ -56,18 +83,25 @@ public class DefaultTraversalStrategies implements TraversalStrategies {
         for (final Class<? extends TraversalStrategy> strategyClass : strategyClasses) {
             final Optional<TraversalStrategy<?>> strategy = this.traversalStrategies.stream().filter(s -> s.getClass().equals(strategyClass)).findAny();
             if (strategy.isPresent()) {
+                if (!removed)
+                    this.beforeChange();
                 this.traversalStrategies.remove(strategy.get());
                 removed = true;
             }
         }
         if (removed)
-            this.traversalStrategies = TraversalStrategies.sortStrategies(this.traversalStrategies);
+            this.traversalStrategies = sort(this.traversalStrategies);
         return this;
     }
 
     @Override
     public List<TraversalStrategy<?>> toList() {
-        return Collections.unmodifiableList(new ArrayList<>(this.traversalStrategies));
+        List<TraversalStrategy<?>> list = this.list;
+        if (null == list) {
+            list = Collections.unmodifiableList(new ArrayList<>(this.traversalStrategies));
+            this.list = list;
+        }
+        return list;
     }
 
     @Override
@@ -87,15 +121,58 @@ public class DefaultTraversalStrategies implements TraversalStrategies {
     @Override
     public DefaultTraversalStrategies clone() {
         try {
-            final DefaultTraversalStrategies clone = (DefaultTraversalStrategies) super.clone();
-            clone.traversalStrategies = new LinkedHashSet<>(this.traversalStrategies.size());
-            clone.traversalStrategies.addAll(this.traversalStrategies);
-            return clone;
+            // both copies take their own set of strategies on their next change
+            this.shared = true;
+            return (DefaultTraversalStrategies) super.clone();
         } catch (final CloneNotSupportedException e) {
             throw new IllegalStateException(e.getMessage(), e);
         }
     }
 
+    /**
+     * Takes a private copy of the strategies if they are shared with a clone and forgets the cached list.
+     */
+    private void beforeChange() {
+        if (this.shared) {
+            this.traversalStrategies = new LinkedHashSet<>(this.traversalStrategies);
+            this.shared = false;
+        }
+        this.list = null;
+    }
+
+    /**
+     * Sorts the strategies with {@link TraversalStrategies#sortStrategies(Set)} or with the order it produced before
+     * for the same strategy classes.
+     */
+    private static Set<TraversalStrategy<?>> sort(final Set<TraversalStrategy<?>> strategies) {
+        if (strategies.size() < 2)
+            return strategies;
+
+        final Map<Class<?>, TraversalStrategy<?>> byClass = new HashMap<>(strategies.size() * 2);
+        for (final TraversalStrategy<?> strategy : strategies) {
+            // several instances of one class can only be added together, so leave them to the full sort
+            if (null != byClass.put(strategy.getClass(), strategy))
+                return TraversalStrategies.sortStrategies(strategies);
+        }
+
+        final List<Class<?>> order = SORTED_ORDERS.get(byClass.keySet());
+        if (null == order) {
+            final Set<TraversalStrategy<?>> sorted = TraversalStrategies.sortStrategies(strategies);
+            final List<Class<?>> sortedOrder = new ArrayList<>(sorted.size());
+            sorted.forEach(s -> sortedOrder.add(s.getClass()));
+            if (SORTED_ORDERS.size() >= MAX_SORTED_ORDERS)
+                SORTED_ORDERS.clear();
+            SORTED_ORDERS.put(new HashSet<>(byClass.keySet()), sortedOrder);
+            return sorted;
+        }
+
+        final Set<TraversalStrategy<?>> sorted = new LinkedHashSet<>(strategies.size() * 2);
+        for (final Class<?> strategyClass : order) {
+            sorted.add(byClass.get(strategyClass));
+        }
+        return sorted;
+    }
+
     @Override
     public String toString() {
         return StringFactory.traversalStrategiesString(this);
@@ -48,6 +48,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.StartStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.BulkSet;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.OptionsStrategy;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
@@ -622,6 +623,15 @@ public final class TraversalHelper {
         return traversal;
     }
 
+    /**
+     * Gets an option given to the root of the traversal with {@link OptionsStrategy}, or {@code null} if it was not
+     * set.
+     */
+    public static Object getRootOption(final Traversal.Admin<?, ?> traversal, final String key) {
+        return getRootTraversal(traversal).getStrategies().getStrategy(OptionsStrategy.class).
+                map(options -> options.getOptions().get(key)).orElse(null);
+    }
+
     public static boolean hasLabels(final Traversal.Admin<?, ?> traversal) {
         for (final Step<?, ?> step : traversal.getSteps()) {
             for (final String label : step.getLabels()) {
@@ -0,0 +1,600 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.util;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.tinkerpop.gremlin.jsr223.JavaTranslator;
+import org.apache.tinkerpop.gremlin.process.computer.traversal.strategy.decoration.VertexProgramStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.TraversalStrategyProxy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A least-recently-used cache of traversals that have had their strategies applied, keyed by the shape of the
+ * {@link Bytecode} that produced them and the {@link TraversalSource} it was translated against. A hit returns a
+ * clone of the cached plan so that the strategy chain runs once per distinct traversal rather than once per request.
+ * <p/>
+ * A {@link Bytecode.Binding} given as the value of {@code has(key, value)} or as an id of {@code V()} or {@code E()}
+ * is a parameter: it is left out of the key by name and value type, and a hit substitutes its value into the clone
+ * wherever the plan holds it as a predicate value or an element id. A parameter is only substituted if the plan
+ * holds its value in as many such places before strategies are applied as after, so strategies that fold or move
+ * these filters are taken into account, but a strategy that branches on such a value rather than its type sees the
+ * value of the request that compiled the plan. All other arguments are part of the key, with bindings reduced to
+ * their values, because strategies such as {@code CountStrategy} or {@code InlineFilterStrategy} make their
+ * decisions from them, and so are parameters of a traversal whose plan did not pass that check. Strategies given to
+ * {@code withStrategies()} are part of the key by their class and configuration. Bytecode with
+ * lambdas, with source instructions that create mutable per-traversal state such as {@code withSideEffect()} and
+ * {@code withSack()}, or that compiles for a {@code GraphComputer} is translated and compiled without caching and is
+ * not counted as a hit or a miss.
+ * <p/>
+ * Plans are cloned with {@link Traversal.Admin#clone()}, so steps added by strategies must clone correctly once
+ * strategies have been applied, as they must already for {@code GraphComputer} workers.
+ */
+public final class TraversalPlanCache {
+
+    private static final Set<String> CACHEABLE_SOURCE_INSTRUCTIONS = new HashSet<>(Arrays.asList(
+            TraversalSource.Symbols.with, TraversalSource.Symbols.withStrategies,
+            TraversalSource.Symbols.withoutStrategies, GraphTraversalSource.Symbols.withBulk,
+            GraphTraversalSource.Symbols.withPath));
+
+    private final int maximumSize;
+    private final Map<Key, Plan> plans;
+    private final Map<Key, Boolean> unparameterized;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public TraversalPlanCache(final int maximumSize) {
+        if (maximumSize < 1)
+            throw new IllegalArgumentException("The maximum size of the plan cache must be at least 1: " + maximumSize);
+        this.maximumSize = maximumSize;
+        this.plans = new LinkedHashMap<Key, Plan>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Key, Plan> eldest) {
+                if (size() > TraversalPlanCache.this.maximumSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+        // shapes whose parameters could not be substituted and are therefore keyed by value
+        this.unparameterized = new LinkedHashMap<Key, Boolean>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Key, Boolean> eldest) {
+                return size() > TraversalPlanCache.this.maximumSize;
+            }
+        };
+    }
+
+    /**
+     * Translates the bytecode against the traversal source and applies strategies, or returns a clone of the plan
+     * already compiled for bytecode of the same shape and the same source.
+     */
+    public <S, E> Traversal.Admin<S, E> compile(final TraversalSource source, final Bytecode bytecode) {
+        final Traversal.Admin<S, E> traversal = this.translate(source, bytecode);
+        this.applyStrategies(source, bytecode, traversal);
+        return traversal;
+    }
+
+    /**
+     * Returns a clone of the plan compiled for bytecode of the same shape and the same source, which already has its
+     * strategies applied and the parameters of this bytecode substituted, or else translates the bytecode with the
+     * {@link JavaTranslator}. This allows translation errors to be handled separately from those raised by
+     * strategies in {@link #applyStrategies(TraversalSource, Bytecode, Traversal.Admin)}.
+     */
+    public <S, E> Traversal.Admin<S, E> translate(final TraversalSource source, final Bytecode bytecode) {
+        if (!isCacheable(bytecode))
+            return (Traversal.Admin<S, E>) JavaTranslator.of(source).translate(bytecode);
+
+        final Key shape = new Key(source, bytecode, true);
+        final Plan plan;
+        synchronized (this.plans) {
+            plan = this.plans.get(this.unparameterized.containsKey(shape) ? new Key(source, bytecode, false) : shape);
+        }
+        if (null != plan) {
+            this.hits.incrementAndGet();
+            return (Traversal.Admin<S, E>) plan.instantiate(bytecode);
+        }
+
+        this.misses.incrementAndGet();
+        return (Traversal.Admin<S, E>) JavaTranslator.of(source).translate(bytecode);
+    }
+
+    /**
+     * Applies strategies to a traversal returned by {@link #translate(TraversalSource, Bytecode)} unless it came from
+     * the cache, in which case they are already applied, and caches the resulting plan.
+     */
+    public void applyStrategies(final TraversalSource source, final Bytecode bytecode, final Traversal.Admin<?, ?> traversal) {
+        if (traversal.isLocked())
+            return;
+
+        final boolean cacheable = isCacheable(bytecode);
+        final Map<String, Integer> parameters = cacheable ? getParameters(bytecode) : Collections.emptyMap();
+        final Map<String, Object> values = parameters.isEmpty() ? Collections.emptyMap() : bytecode.getBindings();
+        final boolean translatedAsExpected = parameters.isEmpty() ||
+                matchSlots(collectSlots(traversal), parameters, values).isPresent();
+
+        traversal.applyStrategies();
+        if (!cacheable || traversal.getStrategies().getStrategy(VertexProgramStrategy.class).isPresent())
+            return;
+
+        // the cached plan is never iterated itself and is only ever the source of clones
+        final Traversal.Admin<?, ?> template = traversal.clone();
+        final Map<Integer, String> slots = translatedAsExpected && !parameters.isEmpty() ?
+                matchSlots(collectSlots(template), parameters, values).filter(s -> isSubstitutable(template, s)).orElse(null) :
+                null;
+        final Key shape = new Key(source, bytecode, true);
+        synchronized (this.plans) {
+            if (parameters.isEmpty())
+                this.plans.putIfAbsent(shape, new Plan(template, Collections.emptyMap()));
+            else if (null != slots && !this.unparameterized.containsKey(shape))
+                this.plans.putIfAbsent(shape, new Plan(template, slots));
+            else {
+                this.unparameterized.put(shape, Boolean.TRUE);
+                this.plans.putIfAbsent(new Key(source, bytecode, false), new Plan(template, Collections.emptyMap()));
+            }
+        }
+    }
+
+    public long getHitCount() {
+        return this.hits.get();
+    }
+
+    public long getMissCount() {
+        return this.misses.get();
+    }
+
+    public long getEvictionCount() {
+        return this.evictions.get();
+    }
+
+    /**
+     * Gets the ratio of hits to all requests, or {@code 0} if there have been none.
+     */
+    public double getHitRate() {
+        final long hits = this.hits.get();
+        final long total = hits + this.misses.get();
+        return 0L == total ? 0d : (double) hits / total;
+    }
+
+    public int size() {
+        synchronized (this.plans) {
+            return this.plans.size();
+        }
+    }
+
+    public int getMaximumSize() {
+        return this.maximumSize;
+    }
+
+    /**
+     * Removes all plans. Nothing calls this when the graph changes, so plans compiled by strategies that look at
+     * indices or schema remain until they are evicted or this is called.
+     */
+    public void clear() {
+        synchronized (this.plans) {
+            this.plans.clear();
+            this.unparameterized.clear();
+        }
+    }
+
+    private static boolean isCacheable(final Bytecode bytecode) {
+        if (BytecodeHelper.getLambdaLanguage(bytecode).isPresent())
+            return false;
+        for (final Bytecode.Instruction instruction : bytecode.getSourceInstructions()) {
+            if (!CACHEABLE_SOURCE_INSTRUCTIONS.contains(instruction.getOperator()))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Determines if a binding value can be left out of the key and substituted into a plan. Collections are excluded
+     * as the steps spread them out, and other types may be something that strategies dispatch on.
+     */
+    private static boolean isParameterValue(final Object value) {
+        return value instanceof String || value instanceof Number || value instanceof UUID;
+    }
+
+    /**
+     * Determines if the argument at the given index of a step instruction is a parameter position, which are the
+     * value of {@code has(key, value)} and {@code has(label, key, value)} and the ids of {@code V()} and {@code E()}.
+     */
+    private static boolean isParameter(final Bytecode.Instruction instruction, final int index) {
+        final Object argument = instruction.getArguments()[index];
+        if (!(argument instanceof Bytecode.Binding) || !isParameterValue(((Bytecode.Binding) argument).value()))
+            return false;
+        final String operator = instruction.getOperator();
+        final int length = instruction.getArguments().length;
+        return operator.equals(GraphTraversal.Symbols.V) || operator.equals(GraphTraversal.Symbols.E) ||
+                (operator.equals(GraphTraversal.Symbols.has) && (2 == length || 3 == length) && index == length - 1);
+    }
+
+    /**
+     * Counts the parameter positions of each binding name in the bytecode and its child traversals.
+     */
+    private static Map<String, Integer> getParameters(final Bytecode bytecode) {
+        final Map<String, Integer> parameters = new HashMap<>();
+        addParameters(bytecode, parameters);
+        return parameters;
+    }
+
+    private static void addParameters(final Bytecode bytecode, final Map<String, Integer> parameters) {
+        for (final Bytecode.Instruction instruction : bytecode.getStepInstructions()) {
+            final Object[] arguments = instruction.getArguments();
+            for (int i = 0; i < arguments.length; i++) {
+                if (isParameter(instruction, i))
+                    parameters.merge(((Bytecode.Binding) arguments[i]).variable(), 1, Integer::sum);
+                else if (arguments[i] instanceof Bytecode)
+                    addParameters((Bytecode) arguments[i], parameters);
+            }
+        }
+    }
+
+    /**
+     * Finds the slots of the plan that hold the value of each parameter, which must be exactly as many as the
+     * parameter positions of the binding in the bytecode, and returns them by slot index.
+     */
+    private static Optional<Map<Integer, String>> matchSlots(final List<Slot> slots, final Map<String, Integer> parameters,
+                                                             final Map<String, Object> values) {
+        final Map<Integer, String> matched = new HashMap<>();
+        for (final Map.Entry<String, Integer> parameter : parameters.entrySet()) {
+            final Object value = values.get(parameter.getKey());
+            int count = 0;
+            for (int i = 0; i < slots.size(); i++) {
+                final Object held = slots.get(i).get();
+                if (null != held && held.getClass() == value.getClass() && held.equals(value)) {
+                    if (null != matched.put(i, parameter.getKey()))
+                        return Optional.empty();
+                    count++;
+                }
+            }
+            if (count != parameter.getValue())
+                return Optional.empty();
+        }
+        return Optional.of(matched);
+    }
+
+    /**
+     * Determines if the matched slots of the template belong to objects its clones do not share, as substituting
+     * into a shared predicate would change the template.
+     */
+    private static boolean isSubstitutable(final Traversal.Admin<?, ?> template, final Map<Integer, String> matched) {
+        final List<Slot> slots = collectSlots(template);
+        final List<Slot> cloned = collectSlots(template.clone());
+        if (slots.size() != cloned.size())
+            return false;
+        for (final Integer index : matched.keySet()) {
+            if (slots.get(index).owner() == cloned.get(index).owner())
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Lists the element ids of {@link GraphStep} instances and the values of the predicates of
+     * {@link HasContainerHolder} steps, in step order and depth first through child traversals, so that a plan and
+     * its clones list them in the same order.
+     */
+    private static List<Slot> collectSlots(final Traversal.Admin<?, ?> traversal) {
+        final List<Slot> slots = new ArrayList<>();
+        addSlots(traversal, slots);
+        return slots;
+    }
+
+    private static void addSlots(final Traversal.Admin<?, ?> traversal, final List<Slot> slots) {
+        for (final Step<?, ?> step : traversal.getSteps()) {
+            if (step instanceof GraphStep) {
+                final Object[] ids = ((GraphStep<?, ?>) step).getIds();
+                for (int i = 0; null != ids && i < ids.length; i++) {
+                    slots.add(new IdSlot((GraphStep<?, ?>) step, i));
+                }
+            }
+            if (step instanceof HasContainerHolder) {
+                for (final HasContainer hasContainer : ((HasContainerHolder) step).getHasContainers()) {
+                    addSlots(hasContainer.getPredicate(), slots);
+                }
+            }
+            if (step instanceof TraversalParent) {
+                for (final Traversal.Admin<?, ?> child : ((TraversalParent) step).getLocalChildren()) {
+                    addSlots(child, slots);
+                }
+                for (final Traversal.Admin<?, ?> child : ((TraversalParent) step).getGlobalChildren()) {
+                    addSlots(child, slots);
+                }
+            }
+        }
+    }
+
+    private static void addSlots(final P<?> predicate, final List<Slot> slots) {
+        if (predicate instanceof ConnectiveP) {
+            for (final P<?> child : ((ConnectiveP<?>) predicate).getPredicates()) {
+                addSlots(child, slots);
+            }
+        } else if (null != predicate && predicate.getClass() == P.class)
+            slots.add(new PredicateSlot(predicate));
+    }
+
+    /**
+     * Copies the bytecode with the {@link Bytecode.Binding} arguments at parameter positions replaced by their name
+     * and value type, if parameterized, and all others replaced by their values.
+     */
+    private static Bytecode normalize(final Bytecode bytecode, final boolean parameterized) {
+        final Bytecode normalized = new Bytecode();
+        for (final Bytecode.Instruction instruction : bytecode.getSourceInstructions()) {
+            normalized.addSource(instruction.getOperator(), normalize(instruction, false));
+        }
+        for (final Bytecode.Instruction instruction : bytecode.getStepInstructions()) {
+            normalized.addStep(instruction.getOperator(), normalize(instruction, parameterized));
+        }
+        return normalized;
+    }
+
+    private static Object[] normalize(final Bytecode.Instruction instruction, final boolean parameterized) {
+        final Object[] arguments = instruction.getArguments();
+        final Object[] normalized = new Object[arguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            if (parameterized && isParameter(instruction, i))
+                normalized[i] = new Parameter((Bytecode.Binding<?>) arguments[i]);
+            else if (arguments[i] instanceof Bytecode.Binding)
+                normalized[i] = ((Bytecode.Binding) arguments[i]).value();
+            else if (arguments[i] instanceof Bytecode)
+                normalized[i] = normalize((Bytecode) arguments[i], parameterized);
+            else if (arguments[i] instanceof TraversalStrategy)
+                normalized[i] = StrategyArgument.of((TraversalStrategy<?>) arguments[i]);
+            else
+                normalized[i] = arguments[i];
+        }
+        return normalized;
+    }
+
+    /**
+     * A compiled traversal and the bindings whose values are substituted into each of its slots.
+     */
+    private static final class Plan {
+        private final Traversal.Admin<?, ?> traversal;
+        private final Map<Integer, String> slots;
+
+        private Plan(final Traversal.Admin<?, ?> traversal, final Map<Integer, String> slots) {
+            this.traversal = traversal;
+            this.slots = slots;
+        }
+
+        private Traversal.Admin<?, ?> instantiate(final Bytecode bytecode) {
+            final Traversal.Admin<?, ?> clone = this.traversal.clone();
+            if (clone instanceof DefaultTraversal)
+                ((DefaultTraversal<?, ?>) clone).bytecode = bytecode;
+            if (this.slots.isEmpty())
+                return clone;
+
+            final Map<String, Object> values = bytecode.getBindings();
+            final List<Slot> slots = collectSlots(clone);
+            for (final Map.Entry<Integer, String> slot : this.slots.entrySet()) {
+                slots.get(slot.getKey()).set(values.get(slot.getValue()));
+            }
+            return clone;
+        }
+    }
+
+    private interface Slot {
+        Object owner();
+
+        Object get();
+
+        void set(final Object value);
+    }
+
+    private static final class PredicateSlot implements Slot {
+        private final P predicate;
+
+        private PredicateSlot(final P<?> predicate) {
+            this.predicate = predicate;
+        }
+
+        @Override
+        public Object owner() {
+            return this.predicate;
+        }
+
+        @Override
+        public Object get() {
+            return this.predicate.getValue();
+        }
+
+        @Override
+        public void set(final Object value) {
+            this.predicate.replaceValue(value);
+        }
+    }
+
+    private static final class IdSlot implements Slot {
+        private final GraphStep<?, ?> step;
+        private final int index;
+
+        private IdSlot(final GraphStep<?, ?> step, final int index) {
+            this.step = step;
+            this.index = index;
+        }
+
+        @Override
+        public Object owner() {
+            return this.step;
+        }
+
+        @Override
+        public Object get() {
+            return this.step.getIds()[this.index];
+        }
+
+        @Override
+        public void set(final Object value) {
+            // clones of a GraphStep share the ids array so it is copied rather than written to
+            final Object[] ids = this.step.getIds().clone();
+            ids[this.index] = value;
+            this.step.clearIds();
+            this.step.addIds(ids);
+        }
+    }
+
+    private static final class Parameter {
+        private final String variable;
+        private final Class<?> type;
+
+        private Parameter(final Bytecode.Binding<?> binding) {
+            this.variable = binding.variable();
+            this.type = binding.value().getClass();
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (this == other) return true;
+            if (!(other instanceof Parameter)) return false;
+            final Parameter parameter = (Parameter) other;
+            return this.variable.equals(parameter.variable) && this.type == parameter.type;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.variable, this.type);
+        }
+
+        @Override
+        public String toString() {
+            return this.variable + ":" + this.type.getSimpleName();
+        }
+    }
+
+    /**
+     * A strategy given to {@code withStrategies()}, which is compared by its class and configuration because
+     * strategies only compare their class. A strategy with nothing in its configuration but its name may still hold
+     * state set through its constructor, so it is compared by identity, unless it is a {@link TraversalStrategyProxy},
+     * which is nothing more than its class and configuration.
+     */
+    private static final class StrategyArgument {
+        private final Class<?> strategyClass;
+        private final Map<String, Object> configuration;
+
+        private StrategyArgument(final Class<?> strategyClass, final Map<String, Object> configuration) {
+            this.strategyClass = strategyClass;
+            this.configuration = configuration;
+        }
+
+        private static Object of(final TraversalStrategy<?> strategy) {
+            final Map<String, Object> configuration = new HashMap<>();
+            final Configuration conf = strategy.getConfiguration();
+            conf.getKeys().forEachRemaining(k -> {
+                // traversals compare by identity so their bytecode is compared in their place
+                final Object value = conf.getProperty(k);
+                configuration.put(k, value instanceof Traversal ? ((Traversal<?, ?>) value).asAdmin().getBytecode() : value);
+            });
+            configuration.remove(TraversalStrategy.STRATEGY);
+
+            if (strategy instanceof TraversalStrategyProxy)
+                return new StrategyArgument(((TraversalStrategyProxy<?>) strategy).getStrategyClass(), configuration);
+            return configuration.isEmpty() ? new IdentityArgument(strategy) : new StrategyArgument(strategy.getClass(), configuration);
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (this == other) return true;
+            if (!(other instanceof StrategyArgument)) return false;
+            final StrategyArgument argument = (StrategyArgument) other;
+            return this.strategyClass == argument.strategyClass && this.configuration.equals(argument.configuration);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.strategyClass, this.configuration);
+        }
+    }
+
+    private static final class IdentityArgument {
+        private final Object argument;
+
+        private IdentityArgument(final Object argument) {
+            this.argument = argument;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof IdentityArgument && this.argument == ((IdentityArgument) other).argument;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this.argument);
+        }
+    }
+
+    private static final class Key {
+        private final Class<?> sourceClass;
+        private final Object graph;
+        private final Object strategies;
+        private final Bytecode bytecode;
+        private final int hashCode;
+
+        private Key(final TraversalSource source, final Bytecode bytecode, final boolean parameterized) {
+            this.sourceClass = source.getClass();
+            this.graph = source.getGraph();
+            this.strategies = source.getStrategies();
+            this.bytecode = normalize(bytecode, parameterized);
+            this.hashCode = Objects.hash(this.sourceClass, System.identityHashCode(this.graph),
+                    System.identityHashCode(this.strategies), this.bytecode);
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (this == other) return true;
+            if (!(other instanceof Key)) return false;
+            final Key key = (Key) other;
+            return this.sourceClass == key.sourceClass && this.graph == key.graph &&
+                    this.strategies == key.strategies && this.bytecode.equals(key.bytecode);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+    }
+}
@@ -345,6 +345,13 @@ public interface Graph extends AutoCloseable, Host {
      */
     default ServiceRegistry getServiceRegistry() { return ServiceRegistry.EMPTY; }
 
+    /**
+     * Get the {@link GraphStatistics} that traversal planners use to estimate the cost of alternative plans.
+     *
+     * @return The statistics of the graph, which cannot estimate anything by default
+     */
+    default GraphStatistics getStatistics() { return GraphStatistics.EMPTY; }
+
     /**
      * Graph variables are a set of key/value pairs associated with the graph. The keys are String and the values
      * are Objects.
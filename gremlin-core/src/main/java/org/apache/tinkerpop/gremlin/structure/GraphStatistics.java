@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.structure;
+
+/**
+ * Estimates of the number of elements in a {@link Graph} that traversal planners use to choose between equivalent
+ * orders of evaluation, such as the order in which {@code match()} patterns are tried by the
+ * {@code MatchStep.CostMatchAlgorithm}. Estimates need not be exact or current, so providers may answer from index
+ * sizes or from statistics gathered periodically, and return {@link #UNKNOWN} for anything they cannot estimate
+ * cheaply. Planners must produce the same results whatever the estimates are.
+ */
+public interface GraphStatistics {
+
+    /**
+     * Returned for counts that cannot be estimated.
+     */
+    public static final long UNKNOWN = -1L;
+
+    /**
+     * Statistics that cannot estimate anything, which is the default for a {@link Graph}.
+     */
+    public static final GraphStatistics EMPTY = elementClass -> UNKNOWN;
+
+    /**
+     * Estimates the number of vertices or edges in the graph.
+     *
+     * @param elementClass either {@link Vertex} or {@link Edge}
+     * @return the estimated count or {@link #UNKNOWN}
+     */
+    public long count(final Class<? extends Element> elementClass);
+
+    /**
+     * Estimates the number of vertices or edges in the graph with the specified label.
+     *
+     * @param elementClass either {@link Vertex} or {@link Edge}
+     * @return the estimated count or {@link #UNKNOWN}
+     */
+    public default long count(final Class<? extends Element> elementClass, final String label) {
+        return UNKNOWN;
+    }
+
+    /**
+     * Estimates the number of vertices or edges in the graph that have a property with the specified value, which
+     * is typically only known for keys that are indexed.
+     *
+     * @param elementClass either {@link Vertex} or {@link Edge}
+     * @return the estimated count or {@link #UNKNOWN}
+     */
+    public default long count(final Class<? extends Element> elementClass, final String key, final Object value) {
+        return UNKNOWN;
+    }
+}
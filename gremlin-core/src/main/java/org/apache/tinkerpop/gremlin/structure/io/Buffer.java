@@ -21,6 +21,7 @@ package org.apache.tinkerpop.gremlin.structure.io;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Represents an abstract view for one or more primitive byte arrays and NIO buffers.
@@ -198,6 +199,16 @@ public interface Buffer {
      */
     Buffer writeBytes(final byte[] src, final int srcIndex, final int length);
 
+    /**
+     * Writes the number of bytes in the UTF-8 encoding of the string as an {@code int} followed by the encoding,
+     * starting at the current writer index and advancing the index. Implementations may encode straight into the
+     * buffer instead of through an intermediate array.
+     */
+    default Buffer writeLengthPrefixedUtf8(final String value) {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        return writeInt(bytes.length).writeBytes(bytes);
+    }
+
     /**
      * Decreases the reference count by {@code 1} and deallocates this object if the reference count reaches at
      * {@code 0}.
@@ -130,7 +130,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 public class TypeSerializerRegistry {
@@ -337,10 +336,15 @@ public class TypeSerializerRegistry {
     private Function<Class<?>, TypeSerializer<?>> fallbackResolver;
 
     /**
-     * Stores serializers by class, where the class resolution involved a lookup or special conditions.
-     * This is used for interface implementations and enums.
+     * Stores the serializer resolved for each class, whether by a direct match, an interface implementation, an enum
+     * or the fallback resolver, so that writers look a class up once rather than walking its hierarchy on every value.
      */
-    private final ConcurrentHashMap<Class<?>, TypeSerializer<?>> serializersByImplementation = new ConcurrentHashMap<>();
+    private final ClassValue<TypeSerializer<?>> serializersByClass = new ClassValue<TypeSerializer<?>>() {
+        @Override
+        protected TypeSerializer<?> computeValue(final Class<?> type) {
+            return resolve(type);
+        }
+    };
 
     private TypeSerializerRegistry(final Collection<RegistryEntry> entries,
                                    final Function<Class<?>, TypeSerializer<?>> fallbackResolver) {
@@ -390,21 +394,19 @@ public class TypeSerializerRegistry {
     }
 
     public <DT> TypeSerializer<DT> getSerializer(final Class<DT> type) throws IOException {
-        TypeSerializer<?> serializer = serializers.get(type);
-
+        final TypeSerializer<?> serializer = serializersByClass.get(type);
         if (null == serializer) {
-            // Try to obtain the serializer by the type interface implementation or superclass,
-            // when previously accessed.
-            serializer = serializersByImplementation.get(type);
+            // don't remember the miss so that a class which can't be serialized is looked up again like before
+            serializersByClass.remove(type);
         }
 
-        if (serializer != null) {
-            return (TypeSerializer) serializer;
-        }
+        return validateInstance(serializer, type.getTypeName());
+    }
 
-        // Use different lookup techniques and cache the lookup result when successful
+    private TypeSerializer<?> resolve(final Class<?> type) {
+        TypeSerializer<?> serializer = serializers.get(type);
 
-        if (Enum.class.isAssignableFrom(type)) {
+        if (null == serializer && Enum.class.isAssignableFrom(type)) {
             // maybe it's a enum - enums with bodies are weird in java, they are subclasses of themselves, so
             // Columns.values will be of type Column$2.
             serializer = serializers.get(type.getSuperclass());
@@ -424,12 +426,7 @@ public class TypeSerializerRegistry {
             serializer = fallbackResolver.apply(type);
         }
 
-        validateInstance(serializer, type.getTypeName());
-
-        // Store the lookup match to avoid looking it up in the future
-        serializersByImplementation.put(type, serializer);
-
-        return (TypeSerializer<DT>) serializer;
+        return serializer;
     }
 
     public <DT> TypeSerializer<DT> getSerializer(final DataType dataType) throws IOException {
@@ -26,6 +26,7 @@ import org.apache.tinkerpop.gremlin.structure.io.Buffer;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 
 class CollectionSerializer extends SimpleTypeSerializer<Collection> {
     public CollectionSerializer(final DataType dataType) {
@@ -52,4 +53,24 @@ class CollectionSerializer extends SimpleTypeSerializer<Collection> {
             context.write(item, buffer);
         }
     }
+
+    /**
+     * Writes the items in the fully-qualified format of a {@code List} without first copying them into one, going back
+     * to fill in the length once all of them are written.
+     */
+    static void writeList(final Iterator<?> items, final Buffer buffer, final GraphBinaryWriter context) throws IOException {
+        buffer.writeByte(DataType.LIST.getCodeByte());
+        context.writeValueFlagNone(buffer);
+
+        final int lengthIndex = buffer.writerIndex();
+        buffer.writeInt(0);
+        int length = 0;
+        while (items.hasNext()) {
+            context.write(items.next(), buffer);
+            length++;
+        }
+
+        final int end = buffer.writerIndex();
+        buffer.writerIndex(lengthIndex).writeInt(length).writerIndex(end);
+    }
 }
@@ -18,7 +18,6 @@
  */
 package org.apache.tinkerpop.gremlin.structure.io.binary.types;
 
-import org.apache.commons.collections4.IteratorUtils;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.io.Buffer;
@@ -29,6 +28,7 @@ import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedEdge;
 import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedVertex;
 
 import java.io.IOException;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -81,12 +81,12 @@ public class EdgeSerializer extends SimpleTypeSerializer<Edge> {
 
         // we don't serialize the parent Vertex for edges.
         context.write(null, buffer);
-        if (value.properties() == null) {
+        final Iterator<?> properties = value.properties();
+        if (properties == null) {
             context.write(null, buffer);
         }
         else {
-            final List<?> asList = IteratorUtils.toList(value.properties());
-            context.write(asList, buffer);
+            CollectionSerializer.writeList(properties, buffer, context);
         }
     }
 }
@@ -30,11 +30,9 @@ import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -155,13 +153,13 @@ public class PSerializer<T extends P> extends SimpleTypeSerializer<T> {
         final String predicateName = value.getPredicateName();
         final Object args = isConnectedP ? ((ConnectiveP<?>) value).getPredicates() : value.getValue();
 
-        final List<Object> argsAsList = args instanceof Collection ? new ArrayList<>((Collection) args) : Collections.singletonList(args);
-        final int length = argsAsList.size();
+        final Collection<?> argsAsCollection = args instanceof Collection ? (Collection<?>) args : Collections.singletonList(args);
+        final int length = argsAsCollection.size();
 
         context.writeValue(predicateName, buffer, false);
         context.writeValue(length, buffer, false);
 
-        for (Object o : argsAsList) {
+        for (Object o : argsAsCollection) {
             context.write(o, buffer);
         }
     }
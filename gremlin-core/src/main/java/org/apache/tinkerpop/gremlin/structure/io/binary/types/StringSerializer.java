@@ -40,7 +40,6 @@ public class StringSerializer extends SimpleTypeSerializer<String> {
 
     @Override
     protected void writeValue(final String value, final Buffer buffer, final GraphBinaryWriter context) {
-        final byte[] stringBytes = value.getBytes(StandardCharsets.UTF_8);
-        buffer.writeInt(stringBytes.length).writeBytes(stringBytes);
+        buffer.writeLengthPrefixedUtf8(value);
     }
 }
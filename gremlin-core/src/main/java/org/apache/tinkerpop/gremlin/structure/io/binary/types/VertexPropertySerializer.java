@@ -18,7 +18,6 @@
  */
 package org.apache.tinkerpop.gremlin.structure.io.binary.types;
 
-import org.apache.commons.collections4.IteratorUtils;
 import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.io.binary.DataType;
 import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryReader;
@@ -29,6 +28,7 @@ import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedVertexProper
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -67,9 +67,9 @@ public class VertexPropertySerializer extends SimpleTypeSerializer<VertexPropert
         // we don't serialize the parent vertex, let's hold a place for it
         context.write(null, buffer);
 
-        final List<?> asList = value.graph().features().vertex().supportsMetaProperties() ?
-                IteratorUtils.toList(value.properties()) :
-                Collections.emptyList();
-        context.write(asList, buffer);
+        final Iterator<?> properties = value.graph().features().vertex().supportsMetaProperties() ?
+                value.properties() :
+                Collections.emptyIterator();
+        CollectionSerializer.writeList(properties, buffer, context);
     }
 }
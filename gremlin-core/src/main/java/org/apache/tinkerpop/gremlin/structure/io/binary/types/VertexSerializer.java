@@ -18,7 +18,6 @@
  */
 package org.apache.tinkerpop.gremlin.structure.io.binary.types;
 
-import org.apache.commons.collections4.IteratorUtils;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.io.Buffer;
 import org.apache.tinkerpop.gremlin.structure.io.binary.DataType;
@@ -28,6 +27,7 @@ import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedVertex;
 import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedVertexProperty;
 
 import java.io.IOException;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -59,12 +59,12 @@ public class VertexSerializer extends SimpleTypeSerializer<Vertex> {
     protected void writeValue(final Vertex value, final Buffer buffer, final GraphBinaryWriter context) throws IOException {
         context.write(value.id(), buffer);
         context.writeValue(value.label(), buffer, false);
-        if (value.properties() == null) {
+        final Iterator<?> properties = value.properties();
+        if (properties == null) {
             context.write(null, buffer);
         }
         else {
-            final List<?> asList = IteratorUtils.toList(value.properties());
-            context.write(asList, buffer);
+            CollectionSerializer.writeList(properties, buffer, context);
         }
     }
 }
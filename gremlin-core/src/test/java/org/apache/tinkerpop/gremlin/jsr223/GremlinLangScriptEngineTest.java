@@ -18,6 +18,7 @@
  */
 package org.apache.tinkerpop.gremlin.jsr223;
 
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
@@ -63,6 +64,39 @@ public class GremlinLangScriptEngineTest {
         assertEquals(g.V(100, 1000, 10000).asAdmin().getBytecode(), ((Traversal.Admin) result).getBytecode());
     }
 
+    @Test
+    public void shouldReuseParseTreeAndResolveParametersOnEachEval() throws ScriptException {
+        final GremlinLangScriptEngine engine = new GremlinLangScriptEngine();
+        for (int i = 0; i < 3; i++) {
+            final Bindings b = new SimpleBindings();
+            b.put("g", g);
+            b.put("x", i);
+
+            final Object result = engine.eval("g.V(x).out('knows')", b);
+            assertEquals(g.V(i).out("knows").asAdmin().getBytecode(), ((Traversal.Admin) result).getBytecode());
+        }
+
+        assertEquals(1, engine.getParseCache().size());
+        assertEquals(1, engine.getParseCache().getMissCount());
+        assertEquals(2, engine.getParseCache().getHitCount());
+    }
+
+    @Test
+    public void shouldEvalWithFastPathAndFallBackToGrammar() throws ScriptException {
+        final GremlinLangScriptEngine engine = new GremlinLangScriptEngine(new GremlinLangCustomizer(true));
+        final Bindings b = new SimpleBindings();
+        b.put("g", g);
+        b.put("x", 100);
+
+        final Object fast = engine.eval("g.V(x).has('age', gt(30)).values('name')", b);
+        assertEquals(g.V(100).has("age", P.gt(30)).values("name").asAdmin().getBytecode(), ((Traversal.Admin) fast).getBytecode());
+        assertEquals(0, engine.getParseCache().getMissCount());
+
+        final Object grammar = engine.eval("g.V(x).has('weight', 0.5d).values('name')", b);
+        assertEquals(g.V(100).has("weight", 0.5d).values("name").asAdmin().getBytecode(), ((Traversal.Admin) grammar).getBytecode());
+        assertEquals(1, engine.getParseCache().getMissCount());
+    }
+
     @Test
     public void shouldEvalGremlinBytecode() throws ScriptException {
         final Object result = scriptEngine.eval(g.V().asAdmin().getBytecode(), "g");
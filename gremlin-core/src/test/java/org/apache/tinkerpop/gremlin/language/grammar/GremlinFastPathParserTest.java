@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.language.grammar;
+
+import org.apache.tinkerpop.gremlin.language.corpus.FeatureReader;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.TextP;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.junit.Test;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class GremlinFastPathParserTest {
+
+    private static final GraphTraversalSource g = EmptyGraph.instance().traversal();
+
+    private static final String featureDir = Paths.get("..", "gremlin-test", "src", "main", "resources", "org", "apache", "tinkerpop", "gremlin", "test", "features").toString();
+
+    private static final VariableResolver resolver = new VariableResolver.DefaultVariableResolver(
+            ElementHelper.asMap("x", 100, "y", "marko", "z", Arrays.asList(1, 2)));
+
+    @Test
+    public void shouldParseCommonTraversals() {
+        assertParsed(g.V(), "g.V()");
+        assertParsed(g.V(100).out("knows").values("name"), "g.V(x).out('knows').values(\"name\")");
+        assertParsed(g.V().has("person", "name", "marko").outE().inV().path(), "g.V().has('person', 'name', y).outE().inV().path()");
+        assertParsed(g.V().has("age", P.gt(30)).count(), "g.V().has('age',gt(30)).count()");
+        assertParsed(g.V().has("age", P.between(-1, 3000000000L)), "g.V().has('age',P.between(-1,3000000000))");
+        assertParsed(g.V().has("age", P.within(1, 2)).has("code", P.within(Arrays.asList(1, 2))), "g.V().has('age',within(1,2)).has('code',within(z))");
+        assertParsed(g.V().has("name", TextP.startingWith("ma")), "g.V().has('name',TextP.startingWith('ma'))");
+        assertParsed(g.V().order().by("age", Order.desc).limit(2L), "g.V().order().by('age', Order.desc).limit(2)");
+        assertParsed(g.V().as("a").out().as("b").select("a", "b").by(T.id).by(__.values("name")),
+                "g.V().as('a').out().as('b').select('a','b').by(T.id).by(__.values('name'))");
+        assertParsed(g.V().repeat(__.out().simplePath()).times(2).until(__.hasLabel("software")),
+                "g.V().repeat(out().simplePath()).times(2).until(hasLabel('software'))");
+        assertParsed(g.with("evaluationTimeout", 1000L).V(1L).valueMap(true), "g.with('evaluationTimeout', 1000L).V(1L).valueMap(true)");
+        assertParsed(g.addV("person").property("name", "stephen").property(T.id, 1), "g.addV('person').property('name','stephen').property(T.id, 1)");
+    }
+
+    @Test
+    public void shouldNotParseOutsideOfSubset() {
+        assertNull(GremlinFastPathParser.parse("g.V().toList()", g, resolver));
+        assertNull(GremlinFastPathParser.parse("g.V().order().by('age', desc)", g, resolver));
+        assertNull(GremlinFastPathParser.parse("g.V().has('age', 1.5)", g, resolver));
+        assertNull(GremlinFastPathParser.parse("g.V().has('age', 010)", g, resolver));
+        assertNull(GremlinFastPathParser.parse("g.V([1,2])", g, resolver));
+        assertNull(GremlinFastPathParser.parse("g.V().has('name', 'ma\\'rko')", g, resolver));
+        assertNull(GremlinFastPathParser.parse("g.V().has('name', null)", g, resolver));
+        assertNull(GremlinFastPathParser.parse("g.V().has('age', gt(1).and(lt(5)))", g, resolver));
+        assertNull(GremlinFastPathParser.parse("g.withSack(1).V()", g, resolver));
+        assertNull(GremlinFastPathParser.parse("g.V(); g.E()", g, resolver));
+        assertNull(GremlinFastPathParser.parse("g", g, resolver));
+        assertNull(GremlinFastPathParser.parse("g.V(", g, resolver));
+        assertNull(GremlinFastPathParser.parse("g.V(w)", g, resolver));
+        assertNull(GremlinFastPathParser.parse("g.V().order().by(y)", g, resolver));
+    }
+
+    @Test
+    public void shouldProduceSameTraversalAsGrammarForFeatureCorpus() throws Exception {
+        // every variable is bound to its own name which gives the traversals something to hold where a string is
+        // allowed. where the grammar then fails on the type the fast path must decline as well.
+        final VariableResolver names = (name, ctx) -> name;
+        final List<String> mismatches = new ArrayList<>();
+        int parsed = 0;
+        int total = 0;
+        for (final String gremlin : FeatureReader.parseFlat(featureDir)) {
+            total++;
+            final Traversal.Admin<?, ?> fast = GremlinFastPathParser.parse(gremlin, g, names);
+            if (null == fast)
+                continue;
+
+            parsed++;
+            try {
+                final Object expected = GremlinQueryParser.parse(gremlin, new GremlinAntlrToJava(g, names));
+                if (!(expected instanceof Traversal) || !((Traversal) expected).asAdmin().getBytecode().equals(fast.getBytecode()))
+                    mismatches.add(gremlin);
+            } catch (Exception ex) {
+                mismatches.add(gremlin);
+            }
+        }
+
+        assertTrue("The fast path differs from the grammar for: " + mismatches, mismatches.isEmpty());
+        assertThat(parsed, greaterThan(total / 4));
+    }
+
+    private static void assertParsed(final Traversal<?, ?> expected, final String gremlin) {
+        final Traversal.Admin<?, ?> traversal = GremlinFastPathParser.parse(gremlin, g, resolver);
+        assertEquals(expected.asAdmin().getBytecode(), traversal.getBytecode());
+        assertEquals(expected.asAdmin().getBytecode(),
+                ((Traversal) GremlinQueryParser.parse(gremlin, new GremlinAntlrToJava(g, resolver))).asAdmin().getBytecode());
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.language.grammar;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class GremlinParseCacheTest {
+
+    private static final GraphTraversalSource g = EmptyGraph.instance().traversal();
+
+    @Test
+    public void shouldVisitCachedTreeWithEachVisitor() {
+        final GremlinParseCache cache = new GremlinParseCache(10);
+        final Object first = cache.parse("g.V(x)", new GremlinAntlrToJava(g,
+                new VariableResolver.DefaultVariableResolver(Collections.singletonMap("x", 1))));
+        final Object second = cache.parse("g.V(x)", new GremlinAntlrToJava(g,
+                new VariableResolver.DefaultVariableResolver(Collections.singletonMap("x", 2))));
+
+        assertEquals(g.V(1).asAdmin().getBytecode(), ((Traversal) first).asAdmin().getBytecode());
+        assertEquals(g.V(2).asAdmin().getBytecode(), ((Traversal) second).asAdmin().getBytecode());
+        assertSame(cache.parseQueryList("g.V(x)"), cache.parseQueryList("g.V(x)"));
+        assertEquals(1, cache.getMissCount());
+        assertEquals(3, cache.getHitCount());
+        assertEquals(0.75d, cache.getHitRate(), 0.0001d);
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsed() {
+        final GremlinParseCache cache = new GremlinParseCache(2);
+        cache.parseQueryList("g.V()");
+        cache.parseQueryList("g.E()");
+        cache.parseQueryList("g.V()");
+        cache.parseQueryList("g.V().count()");
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(3, cache.getMissCount());
+
+        // g.E() was least recently used so it is parsed again while g.V() is still cached
+        cache.parseQueryList("g.V()");
+        assertEquals(2, cache.getHitCount());
+        cache.parseQueryList("g.E()");
+        assertEquals(4, cache.getMissCount());
+    }
+
+    @Test
+    public void shouldNotCacheQueriesThatFailToParse() {
+        final GremlinParseCache cache = new GremlinParseCache(10);
+        try {
+            cache.parseQueryList("g.V(");
+            fail("The query should not have parsed");
+        } catch (GremlinParserException ignored) {
+            // expected
+        }
+        assertEquals(0, cache.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRequirePositiveMaximumSize() {
+        new GremlinParseCache(0);
+    }
+}
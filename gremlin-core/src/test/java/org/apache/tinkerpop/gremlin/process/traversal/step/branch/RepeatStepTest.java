@@ -19,14 +19,22 @@
 package org.apache.tinkerpop.gremlin.process.traversal.step.branch;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.step.StepTest;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.junit.Test;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.constant;
 import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.hasLabel;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.identity;
 import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.union;
+import static org.junit.Assert.assertEquals;
 
 /**
  * @author Daniel Kuppitz (http://gremlin.guru)
@@ -44,4 +52,18 @@ public class RepeatStepTest extends StepTest {
                 __.repeat(out().repeat(out()).times(1)).times(1).limit(1)
         );
     }
+
+    @Test
+    public void shouldVisitEachObjectOnceWithDedupFrontier() {
+        final GraphTraversalSource g = EmptyGraph.instance().traversal();
+        assertEquals(8L, g.inject(0).repeat(union(identity(), constant(1))).times(3).count().next().longValue());
+        assertEquals(14L, g.inject(0).repeat(union(identity(), constant(1))).emit().times(3).count().next().longValue());
+
+        // 0 is not expanded again once visited and the two 1s of the second loop are merged and then dropped as visited
+        final GraphTraversalSource gFrontier = g.with(RepeatStep.DEDUP_FRONTIER, true);
+        assertEquals(Collections.singletonList(1), gFrontier.inject(0).repeat(union(identity(), constant(1))).emit().toList());
+        assertEquals(Arrays.asList(0, 1), gFrontier.inject(0).emit().repeat(union(identity(), constant(1))).times(1).toList());
+        assertEquals(Arrays.asList(2, 2, 2, 3, 3, 3, 4, 4, 4), gFrontier.inject(0, 0, 1).repeat(union(constant(2), constant(3), constant(4))).times(1).toList());
+        assertEquals(0L, gFrontier.inject(0).repeat(union(identity(), constant(1))).times(3).count().next().longValue());
+    }
 }
@@ -19,11 +19,25 @@
 package org.apache.tinkerpop.gremlin.process.traversal.step.filter;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.step.StepTest;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSpill;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author Daniel Kuppitz (http://gremlin.guru)
@@ -37,4 +51,79 @@ public class DedupGlobalStepTest extends StepTest {
                 __.dedup().by("name")
         );
     }
+
+    @Rule
+    public TemporaryFolder spillFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldDedupTheSameWhenSpilling() throws Exception {
+        final Object[] objects = randomObjects();
+        final GraphTraversalSource g = EmptyGraph.instance().traversal();
+        final GraphTraversalSource spilling = g.with(TraverserSpill.SPILL_THRESHOLD, 16).
+                with(TraverserSpill.SPILL_DIRECTORY, spillFolder.getRoot().getAbsolutePath());
+
+        assertEquals(g.inject(objects).dedup().toList(), spilling.inject(objects).dedup().toList());
+        assertEquals(g.inject(objects).dedup().by(__.math("_ % 100")).toList(),
+                spilling.inject(objects).dedup().by(__.math("_ % 100")).toList());
+        assertEquals(0, spillFolder.getRoot().list().length);
+    }
+
+    @Test
+    public void shouldDedupMapsWithDifferentOrderWhenSpilling() {
+        final List<Object> objects = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            final Map<String, Object> ab = new LinkedHashMap<>();
+            ab.put("a", i);
+            ab.put("b", i);
+            final Map<String, Object> ba = new LinkedHashMap<>();
+            ba.put("b", i);
+            ba.put("a", i);
+            objects.add(ab);
+            objects.add(ba);
+        }
+
+        final long count = EmptyGraph.instance().traversal().
+                with(TraverserSpill.SPILL_THRESHOLD, 16).
+                with(TraverserSpill.SPILL_DIRECTORY, spillFolder.getRoot().getAbsolutePath()).
+                inject(objects.toArray()).dedup().count().next();
+        assertEquals(100L, count);
+    }
+
+    @Test
+    public void shouldDeleteSpillFilesWhenClosedEarly() throws Exception {
+        final GraphTraversal<Object, Object> t = EmptyGraph.instance().traversal().
+                with(TraverserSpill.SPILL_THRESHOLD, 4).
+                with(TraverserSpill.SPILL_DIRECTORY, spillFolder.getRoot().getAbsolutePath()).
+                inject(randomObjects()).dedup();
+        for (int i = 0; i < 10; i++) {
+            t.next();
+        }
+        assertEquals(2, spillFolder.getRoot().list().length);
+
+        t.close();
+        assertEquals(0, spillFolder.getRoot().list().length);
+    }
+
+    @Test
+    public void shouldDedupApproximatelyWithFalsePositiveRate() {
+        final List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            list.add(i % 5000);
+        }
+
+        final long count = EmptyGraph.instance().traversal().
+                with(DedupGlobalStep.FALSE_POSITIVE_RATE, 0.01d).
+                inject(list.toArray()).dedup().count().next();
+        assertTrue(count <= 5000L);
+        assertTrue(count >= 4950L);
+    }
+
+    private static Object[] randomObjects() {
+        final Random random = new Random(12345L);
+        final Object[] objects = new Object[1000];
+        for (int i = 0; i < objects.length; i++) {
+            objects[i] = random.nextInt(300);
+        }
+        return objects;
+    }
 }
@@ -23,8 +23,14 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.step.StepTest;
 
+import org.junit.Test;
+
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -39,4 +45,39 @@ public class GroupCountStepTest extends StepTest {
                 __.groupCount().by("age")
         );
     }
+
+    @Test
+    public void shouldCountWithBulkAndNullKeys() {
+        final Map<Object, Long> expected = new HashMap<>();
+        expected.put("a", 3L);
+        expected.put("b", 1L);
+        expected.put(null, 2L);
+        assertEquals(expected, __.inject("a", "b", null, "a", null, "a").groupCount().next());
+    }
+
+    @Test
+    public void shouldCountByKeyTraversalAndSkipUnproductiveKeys() {
+        final Map<Object, Long> expected = new HashMap<>();
+        expected.put(1, 2L);
+        expected.put(3, 1L);
+        final Traversal<Map<Object, Object>, Map<Object, Long>> t =
+                __.<Map<Object, Object>>inject(map("x", 1), map("x", 3), map("y", 2), map("x", 1)).groupCount().by(__.select("x"));
+        assertEquals(expected, t.next());
+    }
+
+    @Test
+    public void shouldCountIndependentlyInClones() {
+        final Traversal.Admin<String, Map<Object, Long>> t = __.inject("a", "a", "b").groupCount().asAdmin();
+        final Map<Object, Long> expected = new HashMap<>();
+        expected.put("a", 2L);
+        expected.put("b", 1L);
+        assertEquals(expected, t.clone().next());
+        assertEquals(expected, t.clone().next());
+    }
+
+    private static Map<Object, Object> map(final Object k, final Object v) {
+        final Map<Object, Object> m = new HashMap<>();
+        m.put(k, v);
+        return m;
+    }
 }
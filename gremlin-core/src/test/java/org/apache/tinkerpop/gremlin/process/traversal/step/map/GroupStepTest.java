@@ -19,13 +19,20 @@
 
 package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.step.StepTest;
 import org.apache.tinkerpop.gremlin.structure.T;
 
+import org.junit.Test;
+
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -40,4 +47,32 @@ public class GroupStepTest extends StepTest {
                 __.group().by(T.label).by(__.values("name").count())
         );
     }
+
+    @Test
+    public void shouldGroupWithCountValues() {
+        final Map<Object, Long> expected = new HashMap<>();
+        expected.put("lo", 3L);
+        expected.put("hi", 2L);
+        assertEquals(expected, __.inject(1L, 2L, 3L, 4L, 5L).group().by(bucket()).by(__.count()).next());
+    }
+
+    @Test
+    public void shouldGroupWithFoldedValues() {
+        final Map<Object, List<Object>> expected = new HashMap<>();
+        expected.put("a", Arrays.asList("a", "a"));
+        expected.put("b", Arrays.asList("b"));
+        assertEquals(expected, __.inject("a", "b", "a").group().next());
+    }
+
+    @Test
+    public void shouldGroupWithSummedValues() {
+        final Map<Object, Object> expected = new HashMap<>();
+        expected.put("lo", 6L);
+        expected.put("hi", 9L);
+        assertEquals(expected, __.inject(1L, 2L, 3L, 4L, 5L).group().by(bucket()).by(__.sum()).next());
+    }
+
+    private static Traversal<?, ?> bucket() {
+        return __.choose(__.is(P.gt(3L)), __.constant("hi"), __.constant("lo"));
+    }
 }
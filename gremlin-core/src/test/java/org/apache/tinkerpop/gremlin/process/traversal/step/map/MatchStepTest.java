@@ -30,7 +30,12 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.filter.WhereTraversal
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_LP_O_P_S_SE_SL_TraverserGenerator;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.EmptyTraverser;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.GraphStatistics;
 import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
 import org.junit.Test;
 
 import java.util.Arrays;
@@ -50,6 +55,8 @@ import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.where;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -319,6 +326,71 @@ public class MatchStepTest extends StepTest {
         assertEquals(secondPattern, countMatchAlgorithm.bundles.get(2).traversal);
     }
 
+    @Test
+    public void testCostMatchAlgorithm() {
+        final GraphStatistics statistics = new GraphStatistics() {
+            @Override
+            public long count(final Class<? extends Element> elementClass) {
+                return Vertex.class.equals(elementClass) ? 100l : 1000l;
+            }
+
+            @Override
+            public long count(final Class<? extends Element> elementClass, final String label) {
+                return label.equals("knows") ? 50l : label.equals("person") ? 40l : UNKNOWN;
+            }
+
+            @Override
+            public long count(final Class<? extends Element> elementClass, final String key, final Object value) {
+                return key.equals("name") ? 1l : UNKNOWN;
+            }
+        };
+        final Graph graph = mock(Graph.class);
+        when(graph.getStatistics()).thenReturn(statistics);
+
+        final Traversal.Admin<?, ?> traversal = __.match(
+                as("a").out().as("b"),
+                as("a").out("knows").as("c"),
+                as("a").has("name", "marko"),
+                as("a").hasLabel("person"),
+                as("a").has("age", 29)).asAdmin();
+        traversal.setGraph(graph);
+        final List<Traversal.Admin<Object, Object>> patterns = ((MatchStep<?, ?>) traversal.getStartStep()).getGlobalChildren();
+        final MatchStep.CostMatchAlgorithm costMatchAlgorithm = new MatchStep.CostMatchAlgorithm();
+        costMatchAlgorithm.initialize(false, patterns);
+
+        // SELECTIVE FILTERS BEFORE UNKNOWN FILTERS BEFORE EXPANSIONS
+        assertEquals(10.0d, costMatchAlgorithm.getBundle(patterns.get(0)).multiplicity, 0.01d);
+        assertEquals(0.5d, costMatchAlgorithm.getBundle(patterns.get(1)).multiplicity, 0.01d);
+        assertEquals(0.01d, costMatchAlgorithm.getBundle(patterns.get(2)).multiplicity, 0.001d);
+        assertEquals(0.4d, costMatchAlgorithm.getBundle(patterns.get(3)).multiplicity, 0.01d);
+        assertEquals(1.0d, costMatchAlgorithm.getBundle(patterns.get(4)).multiplicity, 0.01d);
+        assertEquals(patterns.get(2), costMatchAlgorithm.bundles.get(0).traversal);
+        assertEquals(patterns.get(3), costMatchAlgorithm.bundles.get(1).traversal);
+        assertEquals(patterns.get(1), costMatchAlgorithm.bundles.get(2).traversal);
+        assertEquals(patterns.get(4), costMatchAlgorithm.bundles.get(3).traversal);
+        assertEquals(patterns.get(0), costMatchAlgorithm.bundles.get(4).traversal);
+
+        // RUNTIME COUNTS TAKE OVER FROM THE ESTIMATES AS THEY ACCUMULATE
+        for (int i = 0; i < 100; i++) {
+            costMatchAlgorithm.recordStart(EmptyTraverser.instance(), patterns.get(2));
+        }
+        for (int i = 0; i < 300; i++) {
+            costMatchAlgorithm.recordEnd(EmptyTraverser.instance(), patterns.get(2));
+        }
+        assertEquals(1.505d, costMatchAlgorithm.getBundle(patterns.get(2)).multiplicity, 0.001d);
+        assertEquals(patterns.get(2), costMatchAlgorithm.bundles.get(3).traversal);
+        assertEquals(patterns.get(0), costMatchAlgorithm.bundles.get(4).traversal);
+
+        // WITHOUT STATISTICS THE ORDER IS THAT OF THE COUNT MATCH ALGORITHM
+        traversal.setGraph(EmptyGraph.instance());
+        final MatchStep.CostMatchAlgorithm withoutStatistics = new MatchStep.CostMatchAlgorithm();
+        withoutStatistics.initialize(false, patterns);
+        for (int i = 0; i < patterns.size(); i++) {
+            assertEquals(patterns.get(i), withoutStatistics.bundles.get(i).traversal);
+            assertEquals(0.0d, withoutStatistics.bundles.get(i).multiplicity, 0.0d);
+        }
+    }
+
     @Test
     public void testComputerAwareCountMatchAlgorithm() {
         // MAKE SURE OLAP JOBS ARE BIASED TOWARDS STAR GRAPH DATA
@@ -19,16 +19,25 @@
 package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.step.StepTest;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSpill;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.outE;
+import static org.junit.Assert.assertEquals;
 
 /**
  * @author Daniel Kuppitz (http://gremlin.guru)
@@ -64,4 +73,55 @@ public class OrderGlobalStepTest extends StepTest {
             __.inject(list).unfold().order().by(__.identity(), Order.shuffle).by().iterate();
         }
     }
+
+    @Rule
+    public TemporaryFolder spillFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldSortTheSameWhenSpilling() throws Exception {
+        final Random random = new Random(12345L);
+        final List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            list.add(random.nextInt(500));
+        }
+
+        final GraphTraversalSource g = EmptyGraph.instance().traversal();
+        final GraphTraversalSource spilling = g.with(TraverserSpill.SPILL_THRESHOLD, 64).
+                with(TraverserSpill.SPILL_DIRECTORY, spillFolder.getRoot().getAbsolutePath());
+
+        assertEquals(g.inject(list.toArray()).order().toList(),
+                spilling.inject(list.toArray()).order().toList());
+        assertEquals(g.inject(list.toArray()).order().by(Order.desc).toList(),
+                spilling.inject(list.toArray()).order().by(Order.desc).toList());
+        assertEquals(g.inject(list.toArray()).order().by(__.is(P.gt(250)).count()).by(Order.desc).toList(),
+                spilling.inject(list.toArray()).order().by(__.is(P.gt(250)).count()).by(Order.desc).toList());
+        assertEquals(0, spillFolder.getRoot().list().length);
+    }
+
+    @Test
+    public void shouldKeepBulkWhenSpilling() {
+        final GraphTraversalSource g = EmptyGraph.instance().traversal().with(TraverserSpill.SPILL_THRESHOLD, 2).
+                with(TraverserSpill.SPILL_DIRECTORY, spillFolder.getRoot().getAbsolutePath());
+        assertEquals(Arrays.asList("a", "a", "a", "b", "b", "c", "d"),
+                g.inject("d", "b", "a", "c", "a", "b", "a").order().toList());
+        assertEquals(7L, g.inject("d", "b", "a", "c", "a", "b", "a").barrier().order().count().next().longValue());
+    }
+
+    @Test
+    public void shouldDeleteSpillFilesWhenClosedEarly() throws Exception {
+        final List<Integer> list = new ArrayList<>();
+        for (int i = 100; i > 0; i--) {
+            list.add(i);
+        }
+
+        final GraphTraversal<Integer, Integer> t = EmptyGraph.instance().traversal().
+                with(TraverserSpill.SPILL_THRESHOLD, 10).
+                with(TraverserSpill.SPILL_DIRECTORY, spillFolder.getRoot().getAbsolutePath()).
+                inject(list.toArray(new Integer[0])).order();
+        assertEquals(Arrays.asList(1, 2, 3), Arrays.asList(t.next(), t.next(), t.next()));
+        assertEquals(10, spillFolder.getRoot().list().length);
+
+        t.close();
+        assertEquals(0, spillFolder.getRoot().list().length);
+    }
 }
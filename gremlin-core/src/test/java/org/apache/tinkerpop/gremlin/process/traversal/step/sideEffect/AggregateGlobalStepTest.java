@@ -19,12 +19,22 @@
 package org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.step.StepTest;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSpill;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import java.util.Arrays;
 import java.util.List;
 
+import static org.apache.tinkerpop.gremlin.process.traversal.P.within;
+import static org.junit.Assert.assertEquals;
+
 /**
  * @author Daniel Kuppitz (http://gremlin.guru)
  */
@@ -37,4 +47,33 @@ public class AggregateGlobalStepTest extends StepTest {
                 __.aggregate("x").by("name"),
                 __.aggregate("x").by("age"));
     }
+
+    @Rule
+    public TemporaryFolder spillFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldAggregateTheSameWhenSpilling() {
+        final GraphTraversalSource g = EmptyGraph.instance().traversal().with(TraverserSpill.SPILL_THRESHOLD, 2).
+                with(TraverserSpill.SPILL_DIRECTORY, spillFolder.getRoot().getAbsolutePath());
+        assertEquals(Arrays.asList("a", "a", "b", "c", "d"),
+                g.inject("d", "b", "a", "c", "a").aggregate("x").order().toList());
+        assertEquals(5L, g.inject("d", "b", "a", "c", "a").aggregate("x").cap("x").unfold().count().next().longValue());
+        assertEquals(Arrays.asList("a", "a"),
+                g.inject("d", "b", "a", "c", "a").aggregate("x").by(__.constant("a")).
+                        where(within("x")).toList());
+        assertEquals(0, spillFolder.getRoot().list().length);
+    }
+
+    @Test
+    public void shouldDeleteSpillFilesWhenClosedEarly() throws Exception {
+        final GraphTraversal<String, String> t = EmptyGraph.instance().traversal().
+                with(TraverserSpill.SPILL_THRESHOLD, 2).
+                with(TraverserSpill.SPILL_DIRECTORY, spillFolder.getRoot().getAbsolutePath()).
+                inject("d", "b", "a", "c", "a").aggregate("x");
+        assertEquals("d", t.next());
+        assertEquals(1, spillFolder.getRoot().list().length);
+
+        t.close();
+        assertEquals(0, spillFolder.getRoot().list().length);
+    }
 }
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.DedupGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.IdStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.AnonymousTraversalSource.traversal;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertEquals;
+
+public class BatchExecutionStrategyTest {
+
+    private static final GraphTraversalSource g = traversal().withEmbedded(EmptyGraph.instance());
+
+    @Test
+    public void shouldOnlySetBatchSizeOnBatchNativeSteps() {
+        final Traversal.Admin<?, ?> t = g.withStrategies(new BatchExecutionStrategy(256)).
+                V().out().has("name", "marko").id().dedup().asAdmin();
+        t.applyStrategies();
+
+        assertEquals(0, batchSizeOf(GraphStep.class, t));
+        assertEquals(256, batchSizeOf(VertexStep.class, t));
+        assertEquals(256, batchSizeOf(HasStep.class, t));
+        assertEquals(256, batchSizeOf(IdStep.class, t));
+        assertEquals(0, batchSizeOf(DedupGlobalStep.class, t));
+    }
+
+    @Test
+    public void shouldProduceSameResultsAcrossBatches() {
+        for (final int batchSize : Arrays.asList(1, 2, 3, 7, 1024)) {
+            assertEquals(Arrays.asList(8, 8, 10, 10, 12),
+                    g.withStrategies(new BatchExecutionStrategy(batchSize)).
+                            inject(1, 2, 3, 4, 5, 6, 7, 8, 9, 10).
+                            is(P.gt(3)).
+                            map(x -> x.get() * 2).
+                            flatMap(x -> Arrays.asList(x.get(), x.get()).iterator()).
+                            limit(5).toList());
+        }
+    }
+
+    @Test
+    public void shouldRoundTripConfiguration() {
+        final BatchExecutionStrategy strategy = BatchExecutionStrategy.create(new BatchExecutionStrategy(512).getConfiguration());
+        assertEquals(512, strategy.getBatchSize());
+        assertThat(BatchExecutionStrategy.create(new BatchExecutionStrategy().getConfiguration()).getBatchSize(),
+                is(BatchExecutionStrategy.DEFAULT_BATCH_SIZE));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAllowBatchSizeLessThanOne() {
+        new BatchExecutionStrategy(0);
+    }
+
+    private static int batchSizeOf(final Class<?> stepClass, final Traversal.Admin<?, ?> traversal) {
+        return ((AbstractStep<?, ?>) TraversalHelper.getFirstStepOfAssignableClass(stepClass, traversal).get()).getBatchSize();
+    }
+}
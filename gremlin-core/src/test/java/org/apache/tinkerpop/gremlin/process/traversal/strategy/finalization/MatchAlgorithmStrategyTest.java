@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.commons.configuration2.MapConfiguration;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.HashJoinStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.MatchStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.AnonymousTraversalSource.traversal;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.V;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.as;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MatchAlgorithmStrategyTest {
+
+    private static final GraphTraversalSource g = traversal().withEmbedded(EmptyGraph.instance()).
+            withStrategies(MatchAlgorithmStrategy.build().create());
+
+    @Test
+    public void shouldHashJoinPatternsThatDoNotDependOnTheStart() {
+        final Traversal.Admin<?, ?> traversal = g.V().match(
+                as("a").out("created").as("b"),
+                as("a").V().has("name", "josh").out("created").as("b")).select("a", "b").asAdmin();
+        traversal.applyStrategies();
+
+        final List<HashJoinStep> joins = TraversalHelper.getStepsOfAssignableClassRecursively(HashJoinStep.class, traversal);
+        assertEquals(1, joins.size());
+        assertEquals("b", joins.get(0).getJoinKey());
+        assertTrue(joins.get(0).getPreviousStep() instanceof MatchStep.MatchStartStep);
+        assertTrue(joins.get(0).getNextStep() instanceof MatchStep.MatchEndStep);
+    }
+
+    @Test
+    public void shouldHashJoinWhereTraversalsThatDoNotDependOnTheStart() {
+        final Traversal.Admin<?, ?> traversal = g.V().as("a").out().as("b").
+                where(as("a").V().has("name", "josh").as("b")).asAdmin();
+        traversal.applyStrategies();
+
+        final List<HashJoinStep> joins = TraversalHelper.getStepsOfAssignableClassRecursively(HashJoinStep.class, traversal);
+        assertEquals(1, joins.size());
+        assertEquals("b", joins.get(0).getJoinKey());
+    }
+
+    @Test
+    public void shouldNotHashJoinPatternsThatDependOnTheStartOrOnState() {
+        assertNotJoined(g.V().match(as("a").out().as("b"), as("b").in().as("c")));
+        assertNotJoined(g.V().match(as("a").out().as("b"), as("a").V().out().as("c").in().as("b")));
+        assertNotJoined(g.V().match(as("a").out().as("b"), as("a").V().dedup().as("b")));
+        assertNotJoined(g.V().match(as("a").out().as("b"), as("a").V().where(as("a").out()).as("b")));
+        assertNotJoined(g.V().match(as("a").out().as("b"), as("a").V().has("name", "josh").as("b")).path());
+        assertNotJoined(g.withStrategies(MatchAlgorithmStrategy.build().hashJoin(false).create()).
+                V().match(as("a").out().as("b"), as("a").V().has("name", "josh").as("b")));
+    }
+
+    @Test
+    public void shouldRoundTripConfiguration() {
+        final MatchAlgorithmStrategy strategy = MatchAlgorithmStrategy.build().algorithm(MatchStep.GreedyMatchAlgorithm.class).create();
+        assertFalse(strategy.getConfiguration().containsKey("hashJoin"));
+
+        final MatchAlgorithmStrategy withoutJoins = MatchAlgorithmStrategy.build().hashJoin(false).create();
+        final Map<String, Object> configuration = (Map) ((MapConfiguration) withoutJoins.getConfiguration()).getMap();
+        assertEquals(false, configuration.get("hashJoin"));
+        assertEquals(withoutJoins.getConfiguration().getString("matchAlgorithm"),
+                MatchAlgorithmStrategy.create(withoutJoins.getConfiguration()).getConfiguration().getString("matchAlgorithm"));
+        assertFalse(MatchAlgorithmStrategy.create(withoutJoins.getConfiguration()).getConfiguration().getBoolean("hashJoin"));
+    }
+
+    private static void assertNotJoined(final Traversal<?, ?> traversal) {
+        traversal.asAdmin().applyStrategies();
+        assertFalse(TraversalHelper.hasStepOfAssignableClassRecursively(HashJoinStep.class, traversal.asAdmin()));
+    }
+}
@@ -27,6 +27,8 @@ import org.junit.runners.Parameterized;
 
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.function.Supplier;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -43,7 +45,8 @@ public class TraverserSetImplementationTest {
     public static Iterable<Object[]> data() {
         return Arrays.asList(new Object[][]{
                 {TraverserSet.class.getSimpleName(), (Supplier) TraverserSet::new},
-                {IndexedTraverserSet.class.getSimpleName(), (Supplier) () -> new IndexedTraverserSet<String,String>(x -> x.substring(0,1))}});
+                {IndexedTraverserSet.class.getSimpleName(), (Supplier) () -> new IndexedTraverserSet<String,String>(x -> x.substring(0,1))},
+                {UnsynchronizedTraverserSet.class.getSimpleName(), (Supplier) UnsynchronizedTraverserSet::new}});
     }
 
     @Parameterized.Parameter(value = 0)
@@ -191,6 +194,47 @@ public class TraverserSetImplementationTest {
         assertEquals(3, ts.bulkSize());
     }
 
+    @Test
+    public void shouldRemoveSpecificTraverser() {
+        final TraverserSet<String> ts = makeStringTraversers();
+        assertThat(ts.remove(makeTraverser("b1", 1)), is(true));
+        assertThat(ts.remove(makeTraverser("b1", 1)), is(false));
+        assertThat(ts.contains(makeTraverser("b1", 1)), is(false));
+        assertEquals(3, ts.size());
+        assertEquals(4, ts.bulkSize());
+
+        assertEquals("a", ts.remove().get());
+        assertEquals("b2", ts.remove().get());
+        assertEquals("c", ts.remove().get());
+        assertThat(ts.isEmpty(), is(true));
+    }
+
+    @Test
+    public void shouldKeepInsertionOrderAsTraversersComeAndGo() {
+        final TraverserSet<String> ts = traverserSetMaker.get();
+        final List<String> expected = new LinkedList<>();
+        for (int i = 0; i < 1000; i++) {
+            ts.add(makeTraverser("x" + i, 1));
+            ts.add(makeTraverser("x" + i, 1));
+            expected.add("x" + i);
+            if (i % 3 == 0)
+                assertEquals(expected.remove(0), ts.remove().get());
+            if (i % 7 == 1) {
+                assertThat(ts.remove(makeTraverser("x" + i, 1)), is(true));
+                expected.remove("x" + i);
+            }
+        }
+
+        assertEquals(expected.size(), ts.size());
+        assertEquals(expected.size() * 2, ts.bulkSize());
+        for (final String value : expected) {
+            final Traverser.Admin<String> t = ts.remove();
+            assertEquals(value, t.get());
+            assertEquals(2, t.bulk());
+        }
+        assertThat(ts.isEmpty(), is(true));
+    }
+
     private TraverserSet<String> makeStringTraversers() {
         final TraverserSet<String> ts = traverserSetMaker.get();
         ts.add(makeTraverser("a", 1));
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
+
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedEdge;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedVertex;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class VisitedSetTest {
+
+    @Test
+    public void shouldRememberNumericIdsAcrossContainers() {
+        final VisitedSet visited = new VisitedSet();
+        final Random random = new Random(42);
+        final Set<Long> expected = new HashSet<>();
+        for (int i = 0; i < 50000; i++) {
+            // a dense range that turns its containers into bitmaps and a sparse one that keeps them as arrays
+            final long id = i % 2 == 0 ? random.nextInt(70000) : random.nextLong();
+            assertEquals(expected.add(id), visited.add(id));
+        }
+        for (final long id : expected) {
+            assertFalse(visited.add(id));
+        }
+        assertEquals(expected.size(), visited.size());
+    }
+
+    @Test
+    public void shouldKeepVerticesEdgesAndOtherObjectsApart() {
+        final VisitedSet visited = new VisitedSet();
+        assertTrue(visited.add(new DetachedVertex(1L, "person", Collections.emptyMap())));
+        assertFalse(visited.add(new DetachedVertex(1, "software", Collections.emptyMap())));
+        assertTrue(visited.add(new DetachedEdge(1L, "knows", Collections.emptyMap(), 1L, "person", 2L, "person")));
+        assertTrue(visited.add(1L));
+        assertFalse(visited.add(1));
+        assertTrue(visited.add("1"));
+        assertTrue(visited.add(new DetachedVertex("1", "person", Collections.emptyMap())));
+        assertFalse(visited.add(new DetachedVertex("1", "person", Collections.emptyMap())));
+        assertEquals(5, visited.size());
+
+        visited.clear();
+        assertEquals(0, visited.size());
+        assertTrue(visited.add(1L));
+    }
+}
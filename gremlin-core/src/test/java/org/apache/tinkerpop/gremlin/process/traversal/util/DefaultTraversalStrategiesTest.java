@@ -25,6 +25,9 @@ import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SideEffectStrategy;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.List;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
@@ -216,5 +219,36 @@ public class DefaultTraversalStrategiesTest {
         assertSame(forthTraversal.getStrategies(), thirdTraversal.getStrategies());
         assertSame(fifthTraversal.getStrategies(), firstTraversal.getStrategies());
     }
-}
 
+    @Test
+    public void shouldNotShareChangesBetweenClones() {
+        final TraversalStrategies original = new DefaultTraversalStrategies();
+        original.addStrategies(b, a, c);
+        final List<TraversalStrategy<?>> sorted = original.toList();
+        final TraversalStrategies clone = original.clone();
+        assertSame(sorted, clone.toList());
+
+        clone.addStrategies(d);
+        assertEquals(Arrays.asList(a, b, c), original.toList());
+        assertEquals(Arrays.asList(a, b, d, c), clone.toList());
+
+        original.removeStrategies(TraversalStrategiesTest.StrategyA.class);
+        assertEquals(Arrays.asList(b, c), original.toList());
+        assertEquals(Arrays.asList(a, b, d, c), clone.toList());
+    }
+
+    @Test
+    public void shouldSortReplacedStrategiesLikeTheOnesTheyReplace() {
+        final TraversalStrategies s = new DefaultTraversalStrategies();
+        s.addStrategies(d, c, a, e, b);
+        final TraversalStrategies clone = s.clone();
+        final TraversalStrategy<?> otherD = new TraversalStrategiesTest.StrategyD();
+        clone.addStrategies(otherD);
+        assertEquals(Arrays.asList(a, b, otherD, c, e), clone.toList());
+        assertEquals(Arrays.asList(a, b, d, c, e), s.toList());
+
+        final TraversalStrategies fresh = new DefaultTraversalStrategies();
+        fresh.addStrategies(e, b, otherD, c, a);
+        assertEquals(clone.toList(), fresh.toList());
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.TraversalStrategyProxy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.OptionsStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.PartitionStrategy;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.apache.tinkerpop.gremlin.util.function.Lambda;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+public class TraversalPlanCacheTest {
+    private static final GraphTraversalSource g = EmptyGraph.instance().traversal();
+
+    @Test
+    public void shouldReuseCompiledPlanForSameBytecode() {
+        final TraversalPlanCache cache = new TraversalPlanCache(10);
+        final Bytecode bytecode = g.inject(1, 2, 3, 2).dedup().is(2).count().asAdmin().getBytecode();
+
+        final Traversal.Admin<?, ?> first = cache.compile(g, bytecode);
+        final Traversal.Admin<?, ?> second = cache.compile(g, bytecode);
+        assertNotSame(first, second);
+        assertTrue(second.isLocked());
+        assertEquals(first.getSteps().toString(), second.getSteps().toString());
+        assertEquals(1L, first.next());
+        assertEquals(1L, second.next());
+        assertEquals(1L, cache.getHitCount());
+        assertEquals(1L, cache.getMissCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void shouldIterateClonesIndependently() {
+        final TraversalPlanCache cache = new TraversalPlanCache(10);
+        final Bytecode bytecode = g.inject(1, 2, 3).map(__.constant("x")).fold().asAdmin().getBytecode();
+
+        cache.compile(g, bytecode).iterate();
+        final Traversal.Admin<?, ?> a = cache.compile(g, bytecode);
+        final Traversal.Admin<?, ?> b = cache.compile(g, bytecode);
+        assertEquals(Arrays.asList("x", "x", "x"), a.next());
+        assertEquals(Arrays.asList("x", "x", "x"), b.next());
+        assertFalse(a.hasNext());
+        assertFalse(b.hasNext());
+    }
+
+    @Test
+    public void shouldKeyOnArgumentsAndSource() {
+        final TraversalPlanCache cache = new TraversalPlanCache(10);
+        assertEquals(1, cache.compile(g, g.inject(1).asAdmin().getBytecode()).next());
+        assertEquals(2, cache.compile(g, g.inject(2).asAdmin().getBytecode()).next());
+        assertEquals(1, cache.compile(g, g.with("x").inject(1).asAdmin().getBytecode()).next());
+        assertEquals(0L, cache.getHitCount());
+        assertEquals(3, cache.size());
+
+        assertEquals(2, cache.compile(g, g.inject(2).asAdmin().getBytecode()).next());
+        assertEquals(1L, cache.getHitCount());
+    }
+
+    @Test
+    public void shouldKeyOnStrategyConfiguration() {
+        final TraversalPlanCache cache = new TraversalPlanCache(10);
+        final Traversal.Admin<?, ?> a = cache.compile(g, g.withStrategies(partition("a")).V().values("name").asAdmin().getBytecode());
+        final Traversal.Admin<?, ?> b = cache.compile(g, g.withStrategies(partition("b")).V().values("name").asAdmin().getBytecode());
+        assertThat(a.getSteps().toString(), containsString("[a]"));
+        assertThat(b.getSteps().toString(), containsString("[b]"));
+        assertEquals(0L, cache.getHitCount());
+        assertEquals(2, cache.size());
+
+        final Traversal.Admin<?, ?> again = cache.compile(g, g.withStrategies(partition("b")).V().values("name").asAdmin().getBytecode());
+        assertEquals(b.getSteps().toString(), again.getSteps().toString());
+        assertEquals(1L, cache.getHitCount());
+
+        // a proxy, as deserialized on the server, is the strategy it stands for
+        final Traversal.Admin<?, ?> proxied = cache.compile(g, g.withStrategies(new TraversalStrategyProxy<>(partition("b"))).V().values("name").asAdmin().getBytecode());
+        assertEquals(b.getSteps().toString(), proxied.getSteps().toString());
+        assertEquals(2L, cache.getHitCount());
+        assertEquals(2, cache.size());
+    }
+
+    private static PartitionStrategy partition(final String read) {
+        return PartitionStrategy.build().partitionKey("_partition").writePartition(read).readPartitions(read).create();
+    }
+
+    @Test
+    public void shouldReduceBindingsToTheirValues() {
+        final TraversalPlanCache cache = new TraversalPlanCache(10);
+        final Bytecode bound = new Bytecode();
+        bound.addStep("inject", new Bytecode.Binding<>("x", 1));
+        cache.compile(g, bound).iterate();
+
+        final Bytecode literal = new Bytecode();
+        literal.addStep("inject", 1);
+        assertEquals(1, cache.compile(g, literal).next());
+        assertEquals(1L, cache.getHitCount());
+    }
+
+    @Test
+    public void shouldSubstituteParametersIntoCachedPlan() {
+        final TraversalPlanCache cache = new TraversalPlanCache(10);
+        final Traversal.Admin<?, ?> first = cache.compile(g, hasName(1, "marko"));
+        final Traversal.Admin<?, ?> second = cache.compile(g, hasName(2, "vadas"));
+        assertEquals(1L, cache.getHitCount());
+        assertEquals(1, cache.size());
+        assertEquals(first.getSteps().toString().replace("1", "2").replace("marko", "vadas"), second.getSteps().toString());
+        assertEquals(hasName(2, "vadas"), second.getBytecode());
+
+        // the cached plan is not changed by the substitution
+        assertEquals(first.getSteps().toString(), cache.compile(g, hasName(1, "marko")).getSteps().toString());
+        assertEquals(2L, cache.getHitCount());
+    }
+
+    @Test
+    public void shouldKeyOnBindingsOutsideOfParameterPositions() {
+        final TraversalPlanCache cache = new TraversalPlanCache(10);
+        final Bytecode one = new Bytecode();
+        one.addStep("inject", 1, 2, 3);
+        one.addStep("limit", new Bytecode.Binding<>("x", 1L));
+        final Bytecode two = new Bytecode();
+        two.addStep("inject", 1, 2, 3);
+        two.addStep("limit", new Bytecode.Binding<>("x", 2L));
+        assertEquals(Collections.singletonList(1), cache.compile(g, one).toList());
+        assertEquals(Arrays.asList(1, 2), cache.compile(g, two).toList());
+        assertEquals(0L, cache.getHitCount());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void shouldKeyOnParametersThatCannotBeSubstituted() {
+        final TraversalPlanCache cache = new TraversalPlanCache(10);
+        // the value of "y" is also held by the literal filter so its slots in the plan are ambiguous
+        final Bytecode bytecode = hasName(1, "marko");
+        bytecode.addStep("has", "name", "marko");
+        cache.compile(g, bytecode);
+
+        final Bytecode other = hasName(1, "vadas");
+        other.addStep("has", "name", "marko");
+        assertTrue(cache.compile(g, other).getSteps().toString().contains("vadas"));
+        assertEquals(0L, cache.getHitCount());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedPlan() {
+        final TraversalPlanCache cache = new TraversalPlanCache(2);
+        final Bytecode one = g.inject(1).asAdmin().getBytecode();
+        final Bytecode two = g.inject(2).asAdmin().getBytecode();
+        final Bytecode three = g.inject(3).asAdmin().getBytecode();
+        cache.compile(g, one);
+        cache.compile(g, two);
+        cache.compile(g, one);
+        cache.compile(g, three);
+        assertEquals(2, cache.size());
+        assertEquals(1L, cache.getEvictionCount());
+
+        cache.compile(g, one);
+        assertEquals(2L, cache.getHitCount());
+        cache.compile(g, two);
+        assertEquals(2L, cache.getHitCount());
+    }
+
+    @Test
+    public void shouldNotCacheMutableOrLambdaTraversals() {
+        final TraversalPlanCache cache = new TraversalPlanCache(10);
+        cache.compile(g, g.withSideEffect("a", new ArrayList<>()).inject(1).aggregate("a").asAdmin().getBytecode());
+        cache.compile(g, g.withSack(1).inject(1).sack().asAdmin().getBytecode());
+        cache.compile(g, g.inject(1).map(Lambda.function("it.get()")).asAdmin().getBytecode());
+        assertEquals(0, cache.size());
+        assertEquals(0L, cache.getHitCount());
+        assertEquals(0L, cache.getMissCount());
+        assertEquals(0d, cache.getHitRate(), 0d);
+    }
+
+    @Test
+    public void shouldKeepOptionsOfCachedPlan() {
+        final TraversalPlanCache cache = new TraversalPlanCache(10);
+        final GraphTraversalSource withOption = g.with("a", 1);
+        final Bytecode bytecode = withOption.inject(1).asAdmin().getBytecode();
+        cache.compile(g, bytecode).iterate();
+        final Traversal.Admin<?, ?> plan = cache.compile(g, bytecode);
+        assertEquals(1, plan.getStrategies().getStrategy(OptionsStrategy.class).get().getOptions().get("a"));
+    }
+
+    private static Bytecode hasName(final Object id, final String name) {
+        final Bytecode bytecode = new Bytecode();
+        bytecode.addStep("V", new Bytecode.Binding<>("x", id));
+        bytecode.addStep("has", "name", new Bytecode.Binding<>("y", name));
+        return bytecode;
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRequirePositiveSize() {
+        new TraversalPlanCache(0);
+    }
+}
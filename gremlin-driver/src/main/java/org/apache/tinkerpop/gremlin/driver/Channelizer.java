@@ -163,7 +163,7 @@ public interface Channelizer extends ChannelHandler {
         public void init(final Connection connection) {
             super.init(connection);
             gremlinRequestEncoder = new WebSocketGremlinRequestEncoder(true, cluster.getSerializer());
-            gremlinResponseDecoder = new WebSocketGremlinResponseDecoder(cluster.getSerializer());
+            gremlinResponseDecoder = new WebSocketGremlinResponseDecoder(cluster.getSerializer(), cluster.isLazyResultsEnabled());
         }
 
         /**
@@ -269,7 +269,7 @@ public interface Channelizer extends ChannelHandler {
                 throw new IllegalStateException(String.format("Cannot use sessions or tx() with %s", HttpChannelizer.class.getSimpleName()));
 
             gremlinRequestEncoder = new HttpGremlinRequestEncoder(cluster.getSerializer(), cluster.getRequestInterceptor(), cluster.isUserAgentOnConnectEnabled());
-            gremlinResponseDecoder = new HttpGremlinResponseDecoder(cluster.getSerializer());
+            gremlinResponseDecoder = new HttpGremlinResponseDecoder(cluster.getSerializer(), cluster.isLazyResultsEnabled());
         }
 
         @Override
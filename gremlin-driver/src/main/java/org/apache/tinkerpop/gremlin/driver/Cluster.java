@@ -210,6 +210,7 @@ public final class Cluster {
                 .minConnectionPoolSize(settings.connectionPool.minSize)
                 .connectionSetupTimeoutMillis(settings.connectionPool.connectionSetupTimeoutMillis)
                 .enableUserAgentOnConnect(settings.enableUserAgentOnConnect)
+                .enableLazyResults(settings.enableLazyResults)
                 .validationRequest(settings.connectionPool.validationRequest);
 
         if (settings.username != null && settings.password != null)
@@ -578,6 +579,13 @@ public final class Cluster {
         return manager.isUserAgentOnConnectEnabled();
     }
 
+    /**
+     * Checks if results are decoded when they are read rather than when they arrive.
+     */
+    public boolean isLazyResultsEnabled() {
+        return manager.isLazyResultsEnabled();
+    }
+
     public final static class Builder {
         private List<InetAddress> addresses = new ArrayList<>();
         private int port = 8182;
@@ -615,6 +623,7 @@ public final class Cluster {
         private AuthProperties authProps = new AuthProperties();
         private long connectionSetupTimeoutMillis = Connection.CONNECTION_SETUP_TIMEOUT_MILLIS;
         private boolean enableUserAgentOnConnect = true;
+        private boolean enableLazyResults = false;
 
         private Builder() {
             // empty to prevent direct instantiation
@@ -1031,6 +1040,17 @@ public final class Cluster {
             return this;
         }
 
+        /**
+         * Configures whether the items of a GraphBinary response are left undecoded until each {@link Result} is
+         * read, so that results which are never read are never decoded. The bytes of a {@link Result} are released
+         * once it is read or when {@link Result#release()} is called. Other serializers always decode eagerly. The
+         * default is {@code false}.
+         */
+        public Builder enableLazyResults(final boolean enableLazyResults) {
+            this.enableLazyResults = enableLazyResults;
+            return this;
+        }
+
         List<InetSocketAddress> getContactPoints() {
             return addresses.stream().map(addy -> new InetSocketAddress(addy, port)).collect(Collectors.toList());
         }
@@ -1100,6 +1120,7 @@ public final class Cluster {
         private final int port;
         private final String path;
         private final boolean enableUserAgentOnConnect;
+        private final boolean enableLazyResults;
 
         private final AtomicReference<CompletableFuture<Void>> closeFuture = new AtomicReference<>();
 
@@ -1113,6 +1134,7 @@ public final class Cluster {
             this.contactPoints = builder.getContactPoints();
             this.interceptor = builder.interceptor;
             this.enableUserAgentOnConnect = builder.enableUserAgentOnConnect;
+            this.enableLazyResults = builder.enableLazyResults;
 
             connectionPoolSettings = new Settings.ConnectionPoolSettings();
             connectionPoolSettings.maxInProcessPerConnection = builder.maxInProcessPerConnection;
@@ -1307,5 +1329,9 @@ public final class Cluster {
         public boolean isUserAgentOnConnectEnabled() {
             return enableUserAgentOnConnect;
         }
+
+        public boolean isLazyResultsEnabled() {
+            return enableLazyResults;
+        }
     }
 }
@@ -25,6 +25,7 @@ import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.util.ser.binary.LazyGraphBinaryValue;
 
 import java.util.Iterator;
 
@@ -32,11 +33,17 @@ import java.util.Iterator;
  * A {@code Result} represents a result value from the server-side {@link Iterator} of results.  This would be
  * one item from that result set.  This class provides methods for coercing the result {@link Object} to an
  * expected type.
+ * <p/>
+ * When the driver is configured with {@link Cluster.Builder#enableLazyResults(boolean)} the item may still be in its
+ * serialized form, in which case it is decoded the first time one of the getters is called. The serialized form is
+ * a slice of the buffer the response was received in, which is only freed once all of its items have been read, so
+ * an item that will not be read should be discarded with {@link #release()}. Items that were not yet retrieved from
+ * their {@link ResultSet} are released by closing it, and are released by the driver if the request fails.
  *
  * @author Stephen Mallette (http://stephen.genoprime.com)
  */
 public final class Result {
-    final Object resultObject;
+    private final Object resultObject;
 
     /**
      * Constructs a "result" from data found in {@link ResponseResult#getData()}.
@@ -45,11 +52,20 @@ public final class Result {
         this.resultObject = responseData;
     }
 
+    /**
+     * Releases the serialized form of a lazily deserialized result item that has not been read, after which it can
+     * no longer be read. Returns {@code false} if there was nothing to release, as is always the case for items that
+     * were deserialized eagerly.
+     */
+    public boolean release() {
+        return resultObject instanceof LazyGraphBinaryValue && ((LazyGraphBinaryValue) resultObject).release();
+    }
+
     /**
      * Gets the result item by coercing it to a {@code String} via {@code toString()}.
      */
     public String getString() {
-        return resultObject.toString();
+        return value().toString();
     }
 
     /**
@@ -58,7 +74,7 @@ public final class Result {
      * @throws NumberFormatException if the value is not parsable as an {@code int}.
      */
     public int getInt() {
-        return Integer.parseInt(resultObject.toString());
+        return Integer.parseInt(value().toString());
     }
 
     /**
@@ -67,7 +83,7 @@ public final class Result {
      * @throws NumberFormatException if the value is not parsable as an {@code byte}.
      */
     public byte getByte() {
-        return Byte.parseByte(resultObject.toString());
+        return Byte.parseByte(value().toString());
     }
 
     /**
@@ -76,7 +92,7 @@ public final class Result {
      * @throws NumberFormatException if the value is not parsable as an {@code short}.
      */
     public short getShort() {
-        return Short.parseShort(resultObject.toString());
+        return Short.parseShort(value().toString());
     }
 
     /**
@@ -85,7 +101,7 @@ public final class Result {
      * @throws NumberFormatException if the value is not parsable as an {@code long}.
      */
     public long getLong() {
-        return Long.parseLong(resultObject.toString());
+        return Long.parseLong(value().toString());
     }
 
     /**
@@ -94,7 +110,7 @@ public final class Result {
      * @throws NumberFormatException if the value is not parsable as an {@code float}.
      */
     public float getFloat() {
-        return Float.parseFloat(resultObject.toString());
+        return Float.parseFloat(value().toString());
     }
 
     /**
@@ -103,7 +119,7 @@ public final class Result {
      * @throws NumberFormatException if the value is not parsable as an {@code double}.
      */
     public double getDouble() {
-        return Double.parseDouble(resultObject.toString());
+        return Double.parseDouble(value().toString());
     }
 
     /**
@@ -112,7 +128,7 @@ public final class Result {
      * @throws NumberFormatException if the value is not parsable as an {@code boolean}.
      */
     public boolean getBoolean() {
-        return Boolean.parseBoolean(resultObject.toString());
+        return Boolean.parseBoolean(value().toString());
     }
 
     /**
@@ -121,69 +137,74 @@ public final class Result {
      * {@code null}.
      */
     public boolean isNull() {
-        return null == resultObject;
+        return null == value();
     }
 
     /**
      * Gets the result item by casting it to a {@link Vertex}.
      */
     public Vertex getVertex() {
-        return (Vertex) resultObject;
+        return (Vertex) value();
     }
     /**
      * Gets the result item by casting it to an {@link Edge}.
      */
     public Edge getEdge() {
-        return (Edge) resultObject;
+        return (Edge) value();
     }
     /**
      * Gets the result item by casting it to an {@link Element}.
      */
     public Element getElement() {
-        return (Element) resultObject;
+        return (Element) value();
     }
 
     /**
      * Gets the result item by casting it to a {@link Path}.
      */
     public Path getPath() {
-        return (Path) resultObject;
+        return (Path) value();
     }
 
     /**
      * Gets the result item by casting it to a {@link Property}.
      */
     public <V> Property<V> getProperty() {
-        return (Property<V>) resultObject;
+        return (Property<V>) value();
     }
 
     /**
      * Gets the result item by casting it to a {@link VertexProperty}.
      */
     public <V> VertexProperty<V> getVertexProperty() {
-        return (VertexProperty<V>) resultObject;
+        return (VertexProperty<V>) value();
     }
 
     /**
      * Gets the result item by casting it to the specified {@link Class}.
      */
     public <T> T get(final Class<? extends T> clazz) {
-        return clazz.cast(this.resultObject);
+        return clazz.cast(value());
     }
 
     /**
      * Gets the result item.
      */
     public Object getObject() {
-        return this.resultObject;
+        return value();
     }
 
     @Override
     public String toString() {
-        final String c = resultObject != null ? resultObject.getClass().getCanonicalName() : "null";
+        final Object o = value();
+        final String c = o != null ? o.getClass().getCanonicalName() : "null";
         return "result{" +
-                "object=" + resultObject + " " +
+                "object=" + o + " " +
                 "class=" + c +
                 '}';
     }
+
+    private Object value() {
+        return resultObject instanceof LazyGraphBinaryValue ? ((LazyGraphBinaryValue) resultObject).get() : resultObject;
+    }
 }
@@ -53,6 +53,8 @@ final class ResultQueue {
 
     private Map<String,Object> statusAttributes = null;
 
+    private volatile boolean released = false;
+
     public ResultQueue(final LinkedBlockingQueue<Result> resultLinkedBlockingQueue, final CompletableFuture<Void> readComplete) {
         this.resultLinkedBlockingQueue = resultLinkedBlockingQueue;
         this.readComplete = readComplete;
@@ -65,7 +67,12 @@ final class ResultQueue {
      */
     public void add(final Result result) {
         this.resultLinkedBlockingQueue.offer(result);
-        tryDrainNextWaiting(false);
+
+        // results that arrive once the queue was released will never be read
+        if (released)
+            releaseQueued();
+        else
+            tryDrainNextWaiting(false);
     }
 
     private <V> V validate(final String aggregateTo, final Class<?> expected) {
@@ -121,6 +128,25 @@ final class ResultQueue {
         error.set(throwable);
         this.readComplete.completeExceptionally(throwable);
         this.drainAllWaiting();
+
+        // the results that were received before the error can no longer be read
+        releaseQueued();
+    }
+
+    /**
+     * Releases the results that were not taken from the queue, along with any that arrive afterwards, so that the
+     * serialized form of lazily deserialized items does not outlive the queue.
+     */
+    void release() {
+        released = true;
+        releaseQueued();
+    }
+
+    private void releaseQueued() {
+        Result result;
+        while ((result = resultLinkedBlockingQueue.poll()) != null) {
+            result.release();
+        }
     }
 
     Map<String,Object> getStatusAttributes() {
@@ -145,8 +171,10 @@ final class ResultQueue {
             // exceptionally otherwise it will look like success.
             if (null == error.get())
                 future.complete(results);
-            else
+            else {
+                results.forEach(Result::release);
                 future.completeExceptionally(error.get());
+            }
 
             waiting.remove(nextWaiting);
         }
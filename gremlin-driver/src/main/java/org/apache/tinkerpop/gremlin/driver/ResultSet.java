@@ -46,11 +46,15 @@ import java.util.stream.StreamSupport;
  * by {@link #all()} will make it so that the {@link List} of results returned from {@link #all()} have one
  * {@link Result} missing from the total set as it was already retrieved by {@link #one}.
  * <p/>
+ * When the driver is configured with {@link Cluster.Builder#enableLazyResults(boolean)}, items that are not read
+ * hold on to the buffer the response was received in, so a {@code ResultSet} that is not read to the end should be
+ * closed, which releases the items that were not retrieved from it along with any that are still to arrive.
+ * <p/>
  * This class is not thread-safe.
  *
  * @author Stephen Mallette (http://stephen.genoprime.com)
  */
-public final class ResultSet implements Iterable<Result> {
+public final class ResultSet implements Iterable<Result>, AutoCloseable {
     private final ResultQueue resultQueue;
     private final ExecutorService executor;
     private final RequestMessage originalRequestMessage;
@@ -193,4 +197,14 @@ public final class ResultSet implements Iterable<Result> {
             }
         };
     }
+
+    /**
+     * Releases the items that were not retrieved from this {@code ResultSet}, including those that have yet to
+     * arrive from the server, after which the remaining items can no longer be read. Items that were already
+     * retrieved are left alone and can be released individually with {@link Result#release()}.
+     */
+    @Override
+    public void close() {
+        resultQueue.release();
+    }
 }
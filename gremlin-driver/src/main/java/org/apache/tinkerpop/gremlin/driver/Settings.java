@@ -105,6 +105,11 @@ final class Settings {
      */
     public boolean enableUserAgentOnConnect = true;
 
+    /**
+     * Toggles if the items of GraphBinary responses are decoded when they are read rather than when they arrive.
+     */
+    public boolean enableLazyResults = false;
+
     /**
      * Read configuration from a file into a new {@link Settings} object.
      *
@@ -154,6 +159,9 @@ final class Settings {
         if (conf.containsKey("enableUserAgentOnConnect"))
             settings.enableUserAgentOnConnect = conf.getBoolean("enableUserAgentOnConnect");
 
+        if (conf.containsKey("enableLazyResults"))
+            settings.enableLazyResults = conf.getBoolean("enableLazyResults");
+
         if (conf.containsKey("hosts"))
             settings.hosts = conf.getList("hosts").stream().map(Object::toString).collect(Collectors.toList());
 
@@ -28,6 +28,7 @@ import org.apache.tinkerpop.gremlin.util.MessageSerializer;
 import org.apache.tinkerpop.gremlin.util.Tokens;
 import org.apache.tinkerpop.gremlin.util.message.ResponseMessage;
 import org.apache.tinkerpop.gremlin.util.message.ResponseStatusCode;
+import org.apache.tinkerpop.gremlin.util.ser.GraphBinaryMessageSerializerV1;
 import org.apache.tinkerpop.gremlin.util.ser.SerTokens;
 import org.apache.tinkerpop.shaded.jackson.databind.JsonNode;
 import org.apache.tinkerpop.shaded.jackson.databind.ObjectMapper;
@@ -41,16 +42,28 @@ import java.util.UUID;
 @ChannelHandler.Sharable
 public final class HttpGremlinResponseDecoder extends MessageToMessageDecoder<FullHttpResponse> {
     private final MessageSerializer<?> serializer;
+    private final boolean lazy;
     private final ObjectMapper mapper = new ObjectMapper();
 
     public HttpGremlinResponseDecoder(final MessageSerializer<?> serializer) {
+        this(serializer, false);
+    }
+
+    /**
+     * Creates a decoder that, when {@code lazy} is {@code true} and the serializer is GraphBinary, leaves the items
+     * of a result undecoded until they are read.
+     */
+    public HttpGremlinResponseDecoder(final MessageSerializer<?> serializer, final boolean lazy) {
         this.serializer = serializer;
+        this.lazy = lazy && serializer instanceof GraphBinaryMessageSerializerV1;
     }
 
     @Override
     protected void decode(final ChannelHandlerContext channelHandlerContext, final FullHttpResponse httpResponse, final List<Object> objects) throws Exception {
         if (httpResponse.status() == HttpResponseStatus.OK) {
-            objects.add(serializer.deserializeResponse(httpResponse.content()));
+            objects.add(lazy ?
+                    ((GraphBinaryMessageSerializerV1) serializer).deserializeResponseLazily(httpResponse.content()) :
+                    serializer.deserializeResponse(httpResponse.content()));
         } else {
             final JsonNode root = mapper.readTree(new ByteBufInputStream(httpResponse.content()));
             objects.add(ResponseMessage.build(UUID.fromString(root.get(Tokens.REQUEST_ID).asText()))
@@ -19,6 +19,7 @@
 package org.apache.tinkerpop.gremlin.driver.handler;
 
 import org.apache.tinkerpop.gremlin.util.MessageSerializer;
+import org.apache.tinkerpop.gremlin.util.ser.GraphBinaryMessageSerializerV1;
 import org.apache.tinkerpop.gremlin.util.ser.MessageTextSerializer;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
@@ -35,16 +36,28 @@ import java.util.List;
 @ChannelHandler.Sharable
 public final class WebSocketGremlinResponseDecoder extends MessageToMessageDecoder<WebSocketFrame> {
     private final MessageSerializer<?> serializer;
+    private final boolean lazy;
 
     public WebSocketGremlinResponseDecoder(final MessageSerializer<?> serializer) {
+        this(serializer, false);
+    }
+
+    /**
+     * Creates a decoder that, when {@code lazy} is {@code true} and the serializer is GraphBinary, leaves the items
+     * of a result in a binary frame undecoded until they are read.
+     */
+    public WebSocketGremlinResponseDecoder(final MessageSerializer<?> serializer, final boolean lazy) {
         this.serializer = serializer;
+        this.lazy = lazy && serializer instanceof GraphBinaryMessageSerializerV1;
     }
 
     @Override
     protected void decode(final ChannelHandlerContext channelHandlerContext, final WebSocketFrame webSocketFrame, final List<Object> objects) throws Exception {
         if (webSocketFrame instanceof BinaryWebSocketFrame) {
             final BinaryWebSocketFrame tf = (BinaryWebSocketFrame) webSocketFrame;
-            objects.add(serializer.deserializeResponse(tf.content()));
+            objects.add(lazy ?
+                    ((GraphBinaryMessageSerializerV1) serializer).deserializeResponseLazily(tf.content()) :
+                    serializer.deserializeResponse(tf.content()));
         } else if (webSocketFrame instanceof TextWebSocketFrame) {
             final TextWebSocketFrame tf = (TextWebSocketFrame) webSocketFrame;
             final MessageTextSerializer<?> textSerializer = (MessageTextSerializer<?>) serializer;
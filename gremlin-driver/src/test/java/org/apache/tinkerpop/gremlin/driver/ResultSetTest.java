@@ -18,15 +18,25 @@
  */
 package org.apache.tinkerpop.gremlin.driver;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.util.ResourceLeakDetector;
+import nl.altindag.log.LogCaptor;
 import org.apache.tinkerpop.gremlin.util.message.RequestMessage;
+import org.apache.tinkerpop.gremlin.util.message.ResponseMessage;
+import org.apache.tinkerpop.gremlin.util.message.ResponseStatusCode;
+import org.apache.tinkerpop.gremlin.util.ser.GraphBinaryMessageSerializerV1;
 import org.junit.Before;
 import org.junit.Test;
+import org.junit.function.ThrowingRunnable;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -274,4 +284,75 @@ public class ResultSetTest extends AbstractResultQueueTest {
 
         assertEquals(100, counter.get());
     }
+
+    @Test
+    public void shouldReleaseUnreadLazyResultsOnClose() throws Throwable {
+        assertNoLeaks(() -> {
+            final ByteBuf response = addLazyResults("marko", "vadas", "josh");
+            assertEquals("marko", resultSet.one().getString());
+            assertThat(response.refCnt() > 0, is(true));
+
+            resultSet.close();
+            assertEquals(0, response.refCnt());
+
+            // items that arrive after the set was closed are released as well
+            final ByteBuf late = addLazyResults("peter");
+            assertEquals(0, late.refCnt());
+        });
+    }
+
+    @Test
+    public void shouldReleaseUnreadLazyResultsOnError() throws Throwable {
+        assertNoLeaks(() -> {
+            final ByteBuf response = addLazyResults("marko", "vadas", "josh");
+            final CompletableFuture<List<Result>> waiting = resultSet.some(5);
+            assertThat(waiting.isDone(), is(false));
+
+            resultQueue.markError(new RuntimeException("connection lost"));
+            assertThat(waiting.isCompletedExceptionally(), is(true));
+            assertEquals(0, response.refCnt());
+        });
+    }
+
+    /**
+     * Adds the items of a response that is received in a pooled buffer to the queue as lazy results, returning that
+     * buffer once the reference held by the reader of the response was released.
+     */
+    private ByteBuf addLazyResults(final Object... items) throws Exception {
+        final GraphBinaryMessageSerializerV1 serializer = new GraphBinaryMessageSerializerV1();
+        final ResponseMessage response = ResponseMessage.build(UUID.randomUUID()).
+                code(ResponseStatusCode.PARTIAL_CONTENT).result(Arrays.asList(items)).create();
+        final ByteBuf bytes = serializer.serializeResponseAsBinary(response, PooledByteBufAllocator.DEFAULT);
+        try {
+            for (Object item : (List<?>) serializer.deserializeResponseLazily(bytes).getResult().getData()) {
+                resultQueue.add(new Result(item));
+            }
+        } finally {
+            bytes.release();
+        }
+        return bytes;
+    }
+
+    /**
+     * Runs the test with Netty's paranoid leak detector, which only reports a leaked buffer once it was collected, the
+     * next time a buffer is allocated, so the buffers of the test must no longer be referenced when checking.
+     */
+    private void assertNoLeaks(final ThrowingRunnable test) throws Throwable {
+        final ResourceLeakDetector.Level level = ResourceLeakDetector.getLevel();
+        ResourceLeakDetector.setLevel(ResourceLeakDetector.Level.PARANOID);
+        try (LogCaptor logCaptor = LogCaptor.forClass(ResourceLeakDetector.class)) {
+            test.run();
+            resultSet = null;
+            resultQueue = null;
+
+            for (int i = 0; i < 5; i++) {
+                System.gc();
+                TimeUnit.MILLISECONDS.sleep(50);
+                PooledByteBufAllocator.DEFAULT.buffer().release();
+            }
+            assertThat(logCaptor.getErrorLogs().isEmpty(), is(true));
+        } finally {
+            ResourceLeakDetector.setLevel(level);
+        }
+    }
 }
@@ -18,6 +18,8 @@
  */
 package org.apache.tinkerpop.gremlin.driver;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.UnpooledByteBufAllocator;
 import org.apache.tinkerpop.gremlin.process.traversal.Path;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
@@ -26,9 +28,18 @@ import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.apache.tinkerpop.gremlin.util.message.ResponseMessage;
+import org.apache.tinkerpop.gremlin.util.message.ResponseStatusCode;
+import org.apache.tinkerpop.gremlin.util.ser.GraphBinaryMessageSerializerV1;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author Stephen Mallette (http://stephen.genoprime.com)
@@ -150,4 +161,44 @@ public class ResultTest {
         assertEquals(p, result.getPath());
         assertEquals(p, result.get(Path.class));
     }
+
+    @Test
+    public void shouldGetLazyResult() throws Exception {
+        final List<Object> items = lazyItems(Arrays.asList("string", 100));
+        final Result string = new Result(items.get(0));
+        final Result number = new Result(items.get(1));
+
+        assertEquals("string", string.getString());
+        assertEquals(100, number.getInt());
+        assertEquals(100, number.get(Integer.class).intValue());
+        assertFalse(number.release());
+    }
+
+    @Test
+    public void shouldReleaseLazyResult() throws Exception {
+        final Result result = new Result(lazyItems(Arrays.asList("string")).get(0));
+
+        assertTrue(result.release());
+        assertFalse(result.release());
+        assertFalse(new Result("string").release());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotGetReleasedLazyResult() throws Exception {
+        final Result result = new Result(lazyItems(Arrays.asList("string")).get(0));
+        result.release();
+        result.getString();
+    }
+
+    private static List<Object> lazyItems(final List<Object> data) throws Exception {
+        final GraphBinaryMessageSerializerV1 serializer = new GraphBinaryMessageSerializerV1();
+        final ResponseMessage response = ResponseMessage.build(UUID.randomUUID()).
+                code(ResponseStatusCode.SUCCESS).result(data).create();
+        final ByteBuf bytes = serializer.serializeResponseAsBinary(response, UnpooledByteBufAllocator.DEFAULT);
+        try {
+            return (List<Object>) serializer.deserializeResponseLazily(bytes).getResult().getData();
+        } finally {
+            bytes.release();
+        }
+    }
 }
@@ -255,6 +255,13 @@ public class Settings {
      */
     public boolean useCommonEngineForSessions = true;
 
+    /**
+     * The number of traversal plans, which are traversals translated from bytecode with their strategies applied, to
+     * keep so that later requests with the same bytecode can reuse them rather than apply strategies
+     * again. Plans are evicted least recently used first. The default of {@code 0} disables the cache.
+     */
+    public int traversalPlanCacheSize = 0;
+
     /**
      * Configured metrics for Gremlin Server.
      */
@@ -41,6 +41,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.TraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.VerificationException;
 import org.apache.tinkerpop.gremlin.process.traversal.util.BytecodeHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalInterruptedException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalPlanCache;
 import org.apache.tinkerpop.gremlin.server.GraphManager;
 import org.apache.tinkerpop.gremlin.server.GremlinServer;
 import org.apache.tinkerpop.gremlin.server.Settings;
@@ -451,9 +452,10 @@ public abstract class AbstractSession implements Session, AutoCloseable {
             return Optional.empty();
         } else {
 
+            final TraversalPlanCache planCache = sessionTask.getTraversalPlanCache();
             final Optional<String> lambdaLanguage = BytecodeHelper.getLambdaLanguage(bytecode);
             if (!lambdaLanguage.isPresent())
-                traversal = JavaTranslator.of(g).translate(bytecode);
+                traversal = null == planCache ? JavaTranslator.of(g).translate(bytecode) : planCache.translate(g, bytecode);
             else {
                 final SimpleBindings bindings = new SimpleBindings();
                 bindings.put(traversalSourceName, g);
@@ -462,7 +464,10 @@ public abstract class AbstractSession implements Session, AutoCloseable {
             }
 
             // compile the traversal - without it getEndStep() has nothing in it
-            traversal.applyStrategies();
+            if (null == planCache)
+                traversal.applyStrategies();
+            else
+                planCache.applyStrategies(g, bytecode, traversal);
 
             return Optional.of(new TraverserIterator(traversal));
         }
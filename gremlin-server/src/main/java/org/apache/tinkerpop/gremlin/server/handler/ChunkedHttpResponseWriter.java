@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.handler;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelException;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.LastHttpContent;
+import org.apache.tinkerpop.gremlin.util.MessageSerializer;
+import org.apache.tinkerpop.gremlin.util.message.ResponseMessage;
+import org.apache.tinkerpop.gremlin.util.message.ResponseStatusCode;
+import org.apache.tinkerpop.gremlin.util.ser.SerializationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static io.netty.handler.codec.http.HttpResponseStatus.OK;
+import static io.netty.handler.codec.http.HttpVersion.HTTP_1_1;
+
+/**
+ * Writes a successful HTTP response with {@code Transfer-Encoding: chunked}, one chunk per page of results, so that
+ * neither the whole result nor its serialized form has to be held in memory and the client receives the first page
+ * while later ones are still being computed. Each page is serialized as it is produced with
+ * {@link MessageSerializer#serializeResponseChunkAsBinary}, between the header and footer of the response from the
+ * same serializer, so that the body is the same as a buffered response would have. The serializer must be one that
+ * {@link MessageSerializer#isResponseChunkable() can write a response in parts}.
+ */
+final class ChunkedHttpResponseWriter {
+    private static final Logger logger = LoggerFactory.getLogger(ChunkedHttpResponseWriter.class);
+
+    private final ChannelHandlerContext ctx;
+    private final MessageSerializer<?> serializer;
+    private final ResponseMessage responseMessage;
+    private boolean started = false;
+    private boolean first = true;
+    private boolean warnOnce = false;
+
+    ChunkedHttpResponseWriter(final ChannelHandlerContext ctx, final MessageSerializer<?> serializer,
+                              final UUID requestId) {
+        this.ctx = ctx;
+        this.serializer = serializer;
+        this.responseMessage = ResponseMessage.build(requestId).code(ResponseStatusCode.SUCCESS).create();
+    }
+
+    /**
+     * Determines if the response has begun, after which errors can only be signalled by closing the connection.
+     */
+    boolean isStarted() {
+        return this.started;
+    }
+
+    /**
+     * Writes the head of the response followed by the header the serializer writes before the results.
+     */
+    void start(final String contentType, final String origin, final boolean keepAlive) throws SerializationException {
+        final ByteBuf header = this.serializer.serializeResponseHeaderAsBinary(this.responseMessage, this.ctx.alloc());
+
+        final HttpResponse response = new DefaultHttpResponse(HTTP_1_1, OK);
+        response.headers().set(HttpHeaderNames.CONTENT_TYPE, contentType);
+        if (origin != null) response.headers().set(HttpHeaderNames.ACCESS_CONTROL_ALLOW_ORIGIN, origin);
+        HttpUtil.setTransferEncodingChunked(response, true);
+        HttpUtil.setKeepAlive(response, keepAlive);
+
+        this.started = true;
+        this.ctx.write(response);
+        if (header.isReadable())
+            this.ctx.write(new DefaultHttpContent(header));
+        else
+            header.release();
+        this.ctx.flush();
+    }
+
+    /**
+     * Serializes the page and writes it as a chunk once the channel is writable, waiting for slow clients to catch
+     * up as {@code TraversalOpProcessor} does for WebSocket responses.
+     */
+    void write(final List<Object> page) throws SerializationException, InterruptedException {
+        if (page.isEmpty())
+            return;
+
+        final ByteBuf chunk = this.serializer.serializeResponseChunkAsBinary(this.responseMessage, page, this.first, this.ctx.alloc());
+        this.first = false;
+
+        while (!this.ctx.channel().isActive() || !this.ctx.channel().isWritable()) {
+            if (!this.ctx.channel().isActive()) {
+                chunk.release();
+                throw new ChannelException("Channel is not active - cannot write any more results");
+            }
+            if (Thread.interrupted()) {
+                chunk.release();
+                throw new InterruptedException();
+            }
+            if (!this.warnOnce) {
+                logger.warn("Pausing response writing as writeBufferHighWaterMark exceeded on request {} - writing will continue once client has caught up", this.responseMessage.getRequestId());
+                this.warnOnce = true;
+            }
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+
+        this.ctx.writeAndFlush(new DefaultHttpContent(chunk));
+    }
+
+    /**
+     * Writes the footer the serializer writes after the results and ends the response.
+     */
+    void end(final boolean keepAlive) throws SerializationException {
+        final ByteBuf footer = this.serializer.serializeResponseFooterAsBinary(this.responseMessage, this.ctx.alloc());
+        if (footer.isReadable())
+            this.ctx.write(new DefaultHttpContent(footer));
+        else
+            footer.release();
+
+        if (keepAlive)
+            this.ctx.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT);
+        else
+            this.ctx.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT).addListener(ChannelFutureListener.CLOSE);
+    }
+
+    /**
+     * Closes the connection without ending the response, so that the client sees the body is incomplete.
+     */
+    void abort() {
+        this.ctx.close();
+    }
+}
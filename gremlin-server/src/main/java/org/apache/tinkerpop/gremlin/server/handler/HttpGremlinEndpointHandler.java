@@ -65,8 +65,10 @@ import javax.script.Bindings;
 import javax.script.SimpleBindings;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -190,10 +192,11 @@ public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
                 }
                 final ChannelPromise promise = ctx.channel().newPromise();
                 final AtomicReference<Object> resultHolder = new AtomicReference<>();
+                final AtomicReference<ChunkedHttpResponseWriter> chunkedWriter = new AtomicReference<>();
                 promise.addListener(future -> {
                     // if failed then the error was already written back to the client as part of the eval future
-                    // processing of the exception
-                    if (future.isSuccess()) {
+                    // processing of the exception and if written in chunks then the response is already complete
+                    if (future.isSuccess() && null == chunkedWriter.get()) {
                         logger.debug("Preparing HTTP response for request with script [{}] and bindings of [{}] with result of [{}] on [{}]",
                                 requestMessage.getArgOrDefault(Tokens.ARGS_GREMLIN, ""),
                                 requestMessage.getArgOrDefault(Tokens.ARGS_BINDINGS, Collections.emptyMap()),
@@ -222,7 +225,9 @@ public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
 
                 // provide a transform function to serialize to message - this will force serialization to occur
                 // in the same thread as the eval. after the CompletableFuture is returned from the eval the result
-                // is ready to be written as a ByteBuf directly to the response.  nothing should be blocking here.
+                // is ready to be written as a ByteBuf directly to the response. a result written in chunks is
+                // written from here instead, which blocks while the client is slow to read so that it runs on the
+                // executor of the eval rather than the event loop.
                 final CompletableFuture<Object> evalFuture = gremlinExecutor.eval(
                         requestMessage.getArg(Tokens.ARGS_GREMLIN), requestMessage.getArg(Tokens.ARGS_LANGUAGE), bindings,
                         requestMessage.getArgOrDefault(Tokens.ARGS_EVAL_TIMEOUT, null),
@@ -239,23 +244,33 @@ public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
                                     ? GremlinScriptChecker.parse(requestMessage.getArg(Tokens.ARGS_GREMLIN)).getMaterializeProperties()
                                     : Optional.empty();
 
-                            // need to replicate what TraversalOpProcessor does with the bytecode op. it converts
-                            // results to Traverser so that GLVs can handle the results. don't quite get the same
-                            // benefit here because the bulk has to be 1 since we've already resolved the result,
-                            // but at least http is compatible
-                            final List<Object> results = requestMessage.getOp().equals(Tokens.OPS_BYTECODE) ?
-                                    (List<Object>) IteratorUtils.asList(o).stream().map(r -> new DefaultRemoteTraverser<Object>(r, 1)).collect(Collectors.toList()) :
-                                    IteratorUtils.asList(o);
-
-                            if (mp.isPresent() && mp.get().equals(Tokens.MATERIALIZE_PROPERTIES_TOKENS)) {
-                                final Object firstElement = results.get(0);
-
-                                if (firstElement instanceof Element) {
-                                    for (int i = 0; i < results.size(); i++)
-                                        results.set(i, ReferenceFactory.detach((Element) results.get(i)));
-                                } else if (firstElement instanceof AbstractTraverser) {
-                                    for (final Object item : results)
-                                        ((AbstractTraverser) item).detach();
+                            final boolean bytecode = requestMessage.getOp().equals(Tokens.OPS_BYTECODE);
+                            final boolean detach = mp.isPresent() && mp.get().equals(Tokens.MATERIALIZE_PROPERTIES_TOKENS);
+                            final int resultIterationBatchSize = (Integer) requestMessage.optionalArgs(Tokens.ARGS_BATCH_SIZE)
+                                    .orElse(settings.resultIterationBatchSize);
+                            final Iterator<?> itty = IteratorUtils.asIterator(o);
+                            final List<Object> results = nextPage(itty, resultIterationBatchSize, bytecode, detach);
+
+                            // a result that fills more than one page is written in chunks as it is iterated, so that
+                            // it never has to be held in memory as a whole. serializers that can't write a response
+                            // in parts get the rest of the result gathered up as before.
+                            if (itty.hasNext()) {
+                                if (serializer.getValue1().isResponseChunkable()) {
+                                    final ChunkedHttpResponseWriter writer = new ChunkedHttpResponseWriter(ctx, serializer.getValue1(), requestId);
+                                    chunkedWriter.set(writer);
+                                    writer.start(serializer.getValue0(), origin, keepAlive);
+                                    writer.write(results);
+                                    while (itty.hasNext()) {
+                                        writer.write(nextPage(itty, resultIterationBatchSize, bytecode, detach));
+                                    }
+
+                                    attemptCommit(requestMessage.getArg(Tokens.ARGS_ALIASES), graphManager, settings.strictTransactionManagement);
+                                    writer.end(keepAlive);
+                                    return null;
+                                }
+
+                                while (itty.hasNext()) {
+                                    results.addAll(nextPage(itty, resultIterationBatchSize, bytecode, detach));
                                 }
                             }
 
@@ -290,7 +305,12 @@ public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
                         }));
 
                 evalFuture.exceptionally(t -> {
-                    if (t.getMessage() != null)
+                    // once the head of a chunked response is written the status can't change, so all that can be
+                    // done is to cut the response short which tells the client that it failed
+                    if (chunkedWriter.get() != null && chunkedWriter.get().isStarted()) {
+                        logger.warn(String.format("Error while writing chunked response for request %s", requestId), t);
+                        chunkedWriter.get().abort();
+                    } else if (t.getMessage() != null)
                         HttpHandlerUtil.sendError(ctx, INTERNAL_SERVER_ERROR, requestId, t.getMessage(), Optional.of(t), keepAlive);
                     else
                         HttpHandlerUtil.sendError(ctx, INTERNAL_SERVER_ERROR, requestId, String.format("Error encountered evaluating script: %s",
@@ -387,6 +407,33 @@ public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
         return null;
     }
 
+    /**
+     * Gets up to a batch of results from the iterator. Like {@code TraversalOpProcessor} does with the bytecode op, it
+     * converts results to {@code Traverser} so that GLVs can handle them, though the bulk has to be 1 since the result
+     * has already been resolved.
+     */
+    private static List<Object> nextPage(final Iterator<?> itty, final int resultIterationBatchSize,
+                                         final boolean bytecode, final boolean detach) {
+        final List<Object> page = new ArrayList<>(resultIterationBatchSize);
+        while (page.size() < resultIterationBatchSize && itty.hasNext()) {
+            final Object result = itty.next();
+            page.add(bytecode ? new DefaultRemoteTraverser<>(result, 1) : result);
+        }
+
+        if (detach && !page.isEmpty()) {
+            final Object firstElement = page.get(0);
+
+            if (firstElement instanceof Element) {
+                for (int i = 0; i < page.size(); i++)
+                    page.set(i, ReferenceFactory.detach((Element) page.get(i)));
+            } else if (firstElement instanceof AbstractTraverser) {
+                for (final Object item : page)
+                    ((AbstractTraverser) item).detach();
+            }
+        }
+        return page;
+    }
+
     private static void attemptCommit(final Map<String, String> aliases, final GraphManager graphManager, final boolean strict) {
         if (strict)
             graphManager.commit(new HashSet<>(aliases.values()));
@@ -199,6 +199,12 @@ public class HttpHandlerUtil {
             final JsonNode opNode = body.get("op");
             final String op = null == opNode ? "" : opNode.asText();
 
+            final JsonNode batchSizeNode = body.get(Tokens.ARGS_BATCH_SIZE);
+            if (batchSizeNode != null && (!batchSizeNode.canConvertToInt() || batchSizeNode.asInt() < 1))
+                throw new IllegalArgumentException("batchSize must be a positive integer");
+            if (batchSizeNode != null)
+                msgBuilder.addArg(Tokens.ARGS_BATCH_SIZE, batchSizeNode.asInt());
+
             return msgBuilder.overrideRequestId(requestId).processor(op)
                     .addArg(Tokens.ARGS_GREMLIN, scriptNode.asText()).addArg(Tokens.ARGS_LANGUAGE, language)
                     .addArg(Tokens.ARGS_BINDINGS, bindings).addArg(Tokens.ARGS_ALIASES, aliases).create();
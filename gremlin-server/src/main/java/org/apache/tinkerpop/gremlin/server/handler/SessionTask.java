@@ -19,6 +19,7 @@
 package org.apache.tinkerpop.gremlin.server.handler;
 
 import io.netty.channel.ChannelHandlerContext;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalPlanCache;
 import org.apache.tinkerpop.gremlin.util.message.RequestMessage;
 import org.apache.tinkerpop.gremlin.groovy.engine.GremlinExecutor;
 import org.apache.tinkerpop.gremlin.server.Context;
@@ -33,10 +34,29 @@ import java.util.concurrent.ScheduledExecutorService;
  * a {@link Context} in the {@link OpProcessor} approach to handling requests to the server.
  */
 public class SessionTask extends Context {
+    private final TraversalPlanCache traversalPlanCache;
+
     public SessionTask(final RequestMessage requestMessage, final ChannelHandlerContext ctx,
                        final Settings settings, final GraphManager graphManager,
                        final GremlinExecutor gremlinExecutor,
                        final ScheduledExecutorService scheduledExecutorService) {
+        this(requestMessage, ctx, settings, graphManager, gremlinExecutor, scheduledExecutorService, null);
+    }
+
+    public SessionTask(final RequestMessage requestMessage, final ChannelHandlerContext ctx,
+                       final Settings settings, final GraphManager graphManager,
+                       final GremlinExecutor gremlinExecutor,
+                       final ScheduledExecutorService scheduledExecutorService,
+                       final TraversalPlanCache traversalPlanCache) {
         super(requestMessage, ctx, settings, graphManager, gremlinExecutor, scheduledExecutorService);
+        this.traversalPlanCache = traversalPlanCache;
+    }
+
+    /**
+     * Gets the cache of compiled bytecode traversals or {@code null} if {@link Settings#traversalPlanCacheSize} does
+     * not enable it.
+     */
+    public TraversalPlanCache getTraversalPlanCache() {
+        return traversalPlanCache;
     }
 }
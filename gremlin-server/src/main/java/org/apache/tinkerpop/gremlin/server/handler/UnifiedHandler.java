@@ -34,10 +34,12 @@ import org.apache.tinkerpop.gremlin.process.traversal.Operator;
 import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.process.traversal.Pop;
 import org.apache.tinkerpop.gremlin.process.traversal.Scope;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalPlanCache;
 import org.apache.tinkerpop.gremlin.server.Channelizer;
 import org.apache.tinkerpop.gremlin.server.GraphManager;
 import org.apache.tinkerpop.gremlin.server.Settings;
 import org.apache.tinkerpop.gremlin.server.channel.UnifiedChannelizer;
+import org.apache.tinkerpop.gremlin.server.util.MetricManager;
 import org.apache.tinkerpop.gremlin.structure.Column;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
@@ -71,6 +73,7 @@ public class UnifiedHandler extends SimpleChannelInboundHandler<RequestMessage>
     protected final ScheduledExecutorService scheduledExecutorService;
     protected final ExecutorService sessionExecutor;
     protected final Channelizer channelizer;
+    protected final TraversalPlanCache traversalPlanCache;
 
     protected final ConcurrentMap<String, Session> sessions = new ConcurrentHashMap<>();
 
@@ -124,6 +127,13 @@ public class UnifiedHandler extends SimpleChannelInboundHandler<RequestMessage>
         this.scheduledExecutorService = scheduledExecutorService;
         this.channelizer = channelizer;
         this.sessionExecutor = gremlinExecutor.getExecutorService();
+
+        if (settings.traversalPlanCacheSize > 0) {
+            this.traversalPlanCache = new TraversalPlanCache(settings.traversalPlanCacheSize);
+            MetricManager.INSTANCE.registerTraversalPlanCacheMetrics(traversalPlanCache, "sessionless", "plan-cache");
+        } else {
+            this.traversalPlanCache = null;
+        }
     }
 
     @Override
@@ -154,7 +164,7 @@ public class UnifiedHandler extends SimpleChannelInboundHandler<RequestMessage>
             // we have here. when we drop OpProcessor stuff and rid ourselves of GremlinExecutor then we can probably
             // pare down the constructor for SessionTask further.
             final SessionTask sessionTask = new SessionTask(msg, ctx, settings, graphManager,
-                    gremlinExecutor, scheduledExecutorService);
+                    gremlinExecutor, scheduledExecutorService, traversalPlanCache);
 
             if (sessions.containsKey(sessionId)) {
                 final Session session = sessions.get(sessionId);
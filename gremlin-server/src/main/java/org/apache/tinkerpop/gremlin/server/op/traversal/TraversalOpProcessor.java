@@ -33,6 +33,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.util.BytecodeHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalInterruptedException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalPlanCache;
 import org.apache.tinkerpop.gremlin.server.Context;
 import org.apache.tinkerpop.gremlin.server.GraphManager;
 import org.apache.tinkerpop.gremlin.server.GremlinServer;
@@ -81,10 +82,20 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
 
     private static final Bindings EMPTY_BINDINGS = new SimpleBindings();
 
+    private TraversalPlanCache planCache = null;
+
     public TraversalOpProcessor() {
         super(false);
     }
 
+    @Override
+    public void init(final Settings settings) {
+        if (settings.traversalPlanCacheSize > 0) {
+            planCache = new TraversalPlanCache(settings.traversalPlanCacheSize);
+            MetricManager.INSTANCE.registerTraversalPlanCacheMetrics(planCache, "op", "traversal", "plan-cache");
+        }
+    }
+
     @Override
     public String getName() {
         return OP_PROCESSOR_NAME;
@@ -183,7 +194,7 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
         try {
             final Optional<String> lambdaLanguage = BytecodeHelper.getLambdaLanguage(bytecode);
             if (!lambdaLanguage.isPresent())
-                traversal = JavaTranslator.of(g).translate(bytecode);
+                traversal = null == planCache ? JavaTranslator.of(g).translate(bytecode) : planCache.translate(g, bytecode);
             else
                 traversal = context.getGremlinExecutor().eval(bytecode, EMPTY_BINDINGS, lambdaLanguage.get(), traversalSourceName);
         } catch (ScriptException ex) {
@@ -219,7 +230,10 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
 
                 try {
                     // compile the traversal - without it getEndStep() has nothing in it
-                    traversal.applyStrategies();
+                    if (null == planCache)
+                        traversal.applyStrategies();
+                    else
+                        planCache.applyStrategies(g, bytecode, traversal);
                     handleIterator(context, new TraverserIterator(traversal), graph);
                 } catch (Exception ex) {
                     Throwable t = ex;
@@ -35,7 +35,10 @@ import com.codahale.metrics.graphite.GraphiteReporter;
 import info.ganglia.gmetric4j.gmetric.GMetric;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.tinkerpop.gremlin.groovy.jsr223.GremlinGroovyScriptEngine;
+import org.apache.tinkerpop.gremlin.jsr223.GremlinLangScriptEngine;
+import org.apache.tinkerpop.gremlin.language.grammar.GremlinParseCache;
 import org.apache.tinkerpop.gremlin.jsr223.GremlinScriptEngine;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalPlanCache;
 import org.apache.tinkerpop.gremlin.server.GremlinServer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -45,7 +48,9 @@ import javax.management.MBeanServerFactory;
 import java.io.File;
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
@@ -440,10 +445,47 @@ public enum MetricManager {
         return getRegistry().histogram(MetricRegistry.name(prefix, names));
     }
 
+    /**
+     * Registers metrics from a {@link TraversalPlanCache}, replacing those of any cache registered earlier with the
+     * same prefix.
+     */
+    public void registerTraversalPlanCacheMetrics(final TraversalPlanCache cache, final String... prefix) {
+        final Map<String, Gauge<?>> gauges = new LinkedHashMap<>();
+        gauges.put("hit-count", (Gauge<Long>) cache::getHitCount);
+        gauges.put("miss-count", (Gauge<Long>) cache::getMissCount);
+        gauges.put("hit-rate", (Gauge<Double>) cache::getHitRate);
+        gauges.put("eviction-count", (Gauge<Long>) cache::getEvictionCount);
+        gauges.put("estimated-size", (Gauge<Integer>) cache::size);
+        gauges.forEach((metric, gauge) -> {
+            final String name = MetricRegistry.name(GremlinServer.class, ArrayUtils.add(prefix, metric));
+            getRegistry().remove(name);
+            getRegistry().register(name, gauge);
+        });
+    }
+
+    /**
+     * Registers metrics from a {@link GremlinParseCache}, replacing those of any cache registered earlier with the
+     * same prefix.
+     */
+    public void registerGremlinParseCacheMetrics(final GremlinParseCache cache, final String... prefix) {
+        final Map<String, Gauge<?>> gauges = new LinkedHashMap<>();
+        gauges.put("hit-count", (Gauge<Long>) cache::getHitCount);
+        gauges.put("miss-count", (Gauge<Long>) cache::getMissCount);
+        gauges.put("hit-rate", (Gauge<Double>) cache::getHitRate);
+        gauges.put("eviction-count", (Gauge<Long>) cache::getEvictionCount);
+        gauges.put("estimated-size", (Gauge<Integer>) cache::size);
+        gauges.forEach((metric, gauge) -> {
+            final String name = MetricRegistry.name(GremlinServer.class, ArrayUtils.add(prefix, metric));
+            getRegistry().remove(name);
+            getRegistry().register(name, gauge);
+        });
+    }
+
     /**
      * Registers metrics from a {@link GremlinScriptEngine}. At this point, this only works for the
-     * {@link GremlinGroovyScriptEngine} as it is the only one that collects metrics at this point. As the
-     * {@link GremlinScriptEngine} implementations achieve greater parity these metrics will get expanded.
+     * {@link GremlinGroovyScriptEngine}, which reports on its class cache, and the {@link GremlinLangScriptEngine},
+     * which reports on its parse cache. As the {@link GremlinScriptEngine} implementations achieve greater parity
+     * these metrics will get expanded.
      */
     public void registerGremlinScriptEngineMetrics(final GremlinScriptEngine engine, final String... prefix) {
         // only register if metrics aren't already registered. typically only happens in testing where two gremlin
@@ -496,6 +538,8 @@ public enum MetricManager {
             getRegistry().register(
                     MetricRegistry.name(GremlinServer.class, ArrayUtils.add(prefix, "total-load-time")),
                     (Gauge<Long>) gremlinGroovyScriptEngine::getClassCacheTotalLoadTime);
+        } else if (engine instanceof GremlinLangScriptEngine) {
+            registerGremlinParseCacheMetrics(((GremlinLangScriptEngine) engine).getParseCache(), prefix);
         }
     }
 }
@@ -184,7 +184,8 @@ public class ServerGremlinExecutor {
 
     private void registerMetrics(final String engineName) {
         final GremlinScriptEngine engine = gremlinExecutor.getScriptEngineManager().getEngineByName(engineName);
-        MetricManager.INSTANCE.registerGremlinScriptEngineMetrics(engine, engineName, "sessionless", "class-cache");
+        MetricManager.INSTANCE.registerGremlinScriptEngineMetrics(engine, engineName, "sessionless",
+                engine instanceof GremlinLangScriptEngine ? "parse-cache" : "class-cache");
     }
 
     public void addHostOption(final String key, final Object value) {
@@ -50,6 +50,32 @@ public class TextPlainMessageSerializer implements MessageTextSerializer<Functio
         return encodedMessage;
     }
 
+    @Override
+    public boolean isResponseChunkable() {
+        return true;
+    }
+
+    @Override
+    public ByteBuf serializeResponseHeaderAsBinary(final ResponseMessage responseMessage, final ByteBufAllocator allocator) throws SerializationException {
+        return allocator.buffer(0);
+    }
+
+    @Override
+    public ByteBuf serializeResponseChunkAsBinary(final ResponseMessage responseMessage, final List<Object> results,
+                                                  final boolean first, final ByteBufAllocator allocator) throws SerializationException {
+        final String payload = (first ? "" : System.lineSeparator()) +
+                serializeResponseAsString(ResponseMessage.build(responseMessage.getRequestId()).result(results).create(), allocator);
+        final ByteBuf encodedMessage = allocator.buffer(payload.length());
+        encodedMessage.writeCharSequence(payload, CharsetUtil.UTF_8);
+
+        return encodedMessage;
+    }
+
+    @Override
+    public ByteBuf serializeResponseFooterAsBinary(final ResponseMessage responseMessage, final ByteBufAllocator allocator) throws SerializationException {
+        return allocator.buffer(0);
+    }
+
     @Override
     public ByteBuf serializeRequestAsBinary(final RequestMessage requestMessage, final ByteBufAllocator allocator) throws SerializationException {
         throw new UnsupportedOperationException("text/plain does not produce binary");
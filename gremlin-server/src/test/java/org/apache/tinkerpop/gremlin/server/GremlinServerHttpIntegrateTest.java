@@ -24,6 +24,7 @@ import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpHeaders;
 import org.apache.tinkerpop.gremlin.util.message.ResponseMessage;
+import org.apache.tinkerpop.gremlin.util.message.ResponseStatusCode;
 import org.apache.tinkerpop.gremlin.util.ser.GraphBinaryMessageSerializerV1;
 import org.apache.tinkerpop.gremlin.util.Tokens;
 import org.apache.tinkerpop.gremlin.util.ser.GraphSONMessageSerializerV1;
@@ -70,6 +71,8 @@ import static org.hamcrest.core.StringContains.containsString;
 import static org.hamcrest.core.StringRegularExpression.matchesRegex;
 import static org.hamcrest.core.StringStartsWith.startsWith;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Integration tests for server-side settings and processing.
@@ -461,6 +464,81 @@ public class GremlinServerHttpIntegrateTest extends AbstractGremlinServerIntegra
         }
     }
 
+    @Test
+    public void should200OnPOSTWithChunkedResponseForResultLargerThanBatch() throws Exception {
+        final CloseableHttpClient httpclient = HttpClients.createDefault();
+        final HttpPost httppost = new HttpPost(TestClientFactory.createURLString());
+        httppost.addHeader("Content-Type", "application/json");
+        httppost.setEntity(new StringEntity("{\"gremlin\":\"(1..1000).collect{it}\", \"batchSize\":64}", Consts.UTF_8));
+
+        try (final CloseableHttpResponse response = httpclient.execute(httppost)) {
+            assertEquals(200, response.getStatusLine().getStatusCode());
+            assertEquals("application/json", response.getEntity().getContentType().getValue());
+            assertTrue(response.getEntity().isChunked());
+            final String json = EntityUtils.toString(response.getEntity());
+            final JsonNode node = mapper.readTree(json);
+            final JsonNode data = node.get("result").get("data").get(GraphSONTokens.VALUEPROP);
+            assertEquals(1000, data.size());
+            for (int i = 0; i < 1000; i++) {
+                assertEquals(i + 1, data.get(i).get(GraphSONTokens.VALUEPROP).intValue());
+            }
+            assertEquals(200, node.get("status").get("code").intValue());
+        }
+    }
+
+    @Test
+    public void should200OnPOSTWithChunkedTextPlainResponseForResultLargerThanBatch() throws Exception {
+        final CloseableHttpClient httpclient = HttpClients.createDefault();
+        final HttpPost httppost = new HttpPost(TestClientFactory.createURLString());
+        httppost.addHeader("Content-Type", "application/json");
+        httppost.addHeader("Accept", "text/plain");
+        httppost.setEntity(new StringEntity("{\"gremlin\":\"(1..100).collect{it}\", \"batchSize\":8}", Consts.UTF_8));
+
+        try (final CloseableHttpResponse response = httpclient.execute(httppost)) {
+            assertEquals(200, response.getStatusLine().getStatusCode());
+            assertTrue(response.getEntity().isChunked());
+            final String[] split = EntityUtils.toString(response.getEntity()).split(System.lineSeparator());
+            assertEquals(100, split.length);
+            for (int i = 0; i < 100; i++) {
+                assertEquals("==>" + (i + 1), split[i]);
+            }
+        }
+    }
+
+    @Test
+    public void should200OnPOSTWithFullGraphBinaryResponseForResultLargerThanBatch() throws Exception {
+        final CloseableHttpClient httpclient = HttpClients.createDefault();
+        final HttpPost httppost = new HttpPost(TestClientFactory.createURLString());
+        httppost.addHeader("Content-Type", "application/json");
+        httppost.addHeader("Accept", SerTokens.MIME_GRAPHBINARY_V1);
+        httppost.setEntity(new StringEntity("{\"gremlin\":\"(1..100).collect{it}\", \"batchSize\":8}", Consts.UTF_8));
+
+        try (final CloseableHttpResponse response = httpclient.execute(httppost)) {
+            assertEquals(200, response.getStatusLine().getStatusCode());
+            assertFalse(response.getEntity().isChunked());
+
+            final GraphBinaryMessageSerializerV1 serializer = new GraphBinaryMessageSerializerV1(TypeSerializerRegistry.INSTANCE);
+            final ResponseMessage msg = serializer.deserializeResponse(toByteBuf(response.getEntity()));
+            assertEquals(ResponseStatusCode.SUCCESS, msg.getStatus().getCode());
+            assertEquals(100, ((List<Object>) msg.getResult().getData()).size());
+        }
+    }
+
+    @Test
+    public void should200OnPOSTWithFullResponseForResultWithinBatch() throws Exception {
+        final CloseableHttpClient httpclient = HttpClients.createDefault();
+        final HttpPost httppost = new HttpPost(TestClientFactory.createURLString());
+        httppost.addHeader("Content-Type", "application/json");
+        httppost.setEntity(new StringEntity("{\"gremlin\":\"(1..10).collect{it}\"}", Consts.UTF_8));
+
+        try (final CloseableHttpResponse response = httpclient.execute(httppost)) {
+            assertEquals(200, response.getStatusLine().getStatusCode());
+            assertFalse(response.getEntity().isChunked());
+            final JsonNode node = mapper.readTree(EntityUtils.toString(response.getEntity()));
+            assertEquals(10, node.get("result").get("data").get(GraphSONTokens.VALUEPROP).size());
+        }
+    }
+
     @Test
     public void should200OnGETWithGremlinQueryStringArgument() throws Exception {
         final CloseableHttpClient httpclient = HttpClients.createDefault();
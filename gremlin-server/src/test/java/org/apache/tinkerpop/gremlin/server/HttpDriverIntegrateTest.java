@@ -23,6 +23,7 @@ import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.tinkerpop.gremlin.driver.Channelizer;
 import org.apache.tinkerpop.gremlin.driver.Client;
 import org.apache.tinkerpop.gremlin.driver.Cluster;
+import org.apache.tinkerpop.gremlin.driver.Result;
 import org.apache.tinkerpop.gremlin.driver.remote.DriverRemoteConnection;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.server.channel.HttpChannelizer;
@@ -30,6 +31,8 @@ import org.apache.tinkerpop.gremlin.structure.Transaction;
 import org.apache.tinkerpop.gremlin.util.ser.Serializers;
 import org.junit.Test;
 
+import java.util.List;
+
 import static org.apache.tinkerpop.gremlin.process.traversal.AnonymousTraversalSource.traversal;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.AllOf.allOf;
@@ -129,6 +132,35 @@ public class HttpDriverIntegrateTest extends AbstractGremlinServerIntegrationTes
         }
     }
 
+    @Test
+    public void shouldSubmitScriptWithResultLargerThanBatchWithGraphBinary() throws Exception {
+        assertResultLargerThanBatch(Serializers.GRAPHBINARY_V1);
+    }
+
+    @Test
+    public void shouldSubmitScriptWithResultLargerThanBatchWithGraphSON() throws Exception {
+        assertResultLargerThanBatch(Serializers.GRAPHSON_V3);
+    }
+
+    private void assertResultLargerThanBatch(final Serializers serializer) throws Exception {
+        final Cluster cluster = TestClientFactory.build()
+                .channelizer(Channelizer.HttpChannelizer.class)
+                .serializer(serializer)
+                .create();
+        try {
+            // larger than the resultIterationBatchSize of the server so that GraphSON is written in chunks and
+            // GraphBinary is buffered
+            final Client client = cluster.connect();
+            final List<Result> results = client.submit("(1..1000).collect{it}").all().get();
+            assertEquals(1000, results.size());
+            for (int ix = 0; ix < 1000; ix++) {
+                assertEquals(ix + 1, results.get(ix).getInt());
+            }
+        } finally {
+            cluster.close();
+        }
+    }
+
     @Test
     public void shouldSubmitMultipleRequestsOverSingleConnection() throws Exception {
         final Cluster cluster = TestClientFactory.build()
@@ -66,6 +66,7 @@ public class ProcessLimitedStandardSuite extends AbstractGremlinSuite {
 
             MatchTest.CountMatchTraversals.class,
             MatchTest.GreedyMatchTraversals.class,
+            MatchTest.CostMatchTraversals.class,
             ProfileTest.Traversals.class,
             WriteTest.Traversals.class,
             ExplainTest.Traversals.class,
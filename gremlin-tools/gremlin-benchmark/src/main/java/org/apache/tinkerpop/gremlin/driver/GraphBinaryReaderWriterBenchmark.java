@@ -24,9 +24,11 @@ import org.apache.tinkerpop.gremlin.util.ser.NettyBufferFactory;
 import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.io.Buffer;
 import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryReader;
 import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryWriter;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Level;
@@ -40,6 +42,7 @@ import java.io.IOException;
 import java.math.BigInteger;
 import java.net.InetAddress;
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
@@ -62,6 +65,8 @@ public class GraphBinaryReaderWriterBenchmark extends AbstractBenchmarkBase {
 
         public Bytecode bytecode2;
 
+        public List<Vertex> vertices;
+
         @Setup(Level.Trial)
         public void doSetup() throws IOException {
             bytecode1.addStep("V");
@@ -80,6 +85,8 @@ public class GraphBinaryReaderWriterBenchmark extends AbstractBenchmarkBase {
                     .property("name6", Instant.now())
                     .asAdmin().getBytecode();
 
+            vertices = TinkerFactory.createModern().traversal().V().toList();
+
             writer.writeValue(bytecode1, bytecodeBuffer1, false);
             writer.writeValue(bytecode2, bytecodeBuffer2, false);
             writer.writeValue(P.between(1, 2), pBuffer1, false);
@@ -112,6 +119,11 @@ public class GraphBinaryReaderWriterBenchmark extends AbstractBenchmarkBase {
         writer.writeValue(state.bytecode2, state.bufferWrite, false);
     }
 
+    @Benchmark
+    public void writeVertices(BenchmarkState state) throws IOException {
+        writer.writeValue(state.vertices, state.bufferWrite, false);
+    }
+
     @Benchmark
     public void readBytecode1(BenchmarkState state) throws IOException {
         reader.readValue(state.bytecodeBuffer1, Bytecode.class, false);
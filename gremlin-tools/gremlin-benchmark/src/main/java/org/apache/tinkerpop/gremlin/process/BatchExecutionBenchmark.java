@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process;
+
+import org.apache.tinkerpop.benchmark.util.AbstractGraphBenchmark;
+import org.apache.tinkerpop.gremlin.LoadGraphWith;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.BatchExecutionStrategy;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Runs deep traversal pipelines against a {@link TinkerGraph} loaded with the Grateful Dead data set with steps
+ * pulling one traverser at a time, for a {@code batchSize} of zero, and with {@link BatchExecutionStrategy}.
+ */
+@LoadGraphWith(LoadGraphWith.GraphData.GRATEFUL)
+public class BatchExecutionBenchmark extends AbstractGraphBenchmark {
+
+    @Param({"0", "256", "1024", "2048"})
+    public int batchSize;
+
+    private GraphTraversalSource gb;
+
+    @Setup
+    @Override
+    public void prepare() throws IOException {
+        super.prepare();
+        gb = batchSize == 0 ? g : g.withStrategies(new BatchExecutionStrategy(batchSize));
+    }
+
+    @Benchmark
+    public List<Object> g_V_out_out_hasXsongTypeX_valuesXnameX() {
+        return gb.V().out().out().has("songType", "original").values("name").toList();
+    }
+
+    @Benchmark
+    public List<Vertex> g_V_outE_inV_outE_inV_outE_inV() {
+        return gb.V().outE().inV().outE().inV().outE().inV().toList();
+    }
+
+    @Benchmark
+    public List<Object> g_V_out_out_out_id() {
+        return gb.V().out().out().out().id().toList();
+    }
+
+    @Benchmark
+    public Long g_V_hasLabelXsongX_outXfollowedByX_inXsungByX_count() {
+        return gb.V().hasLabel("song").out("followedBy").in("sungBy").count().next();
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process;
+
+import org.apache.tinkerpop.benchmark.util.AbstractGraphBenchmark;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.PartitionStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SeedStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.CountStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.ReadOnlyStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * Spawns a traversal source per invocation with the request-scoped decorations that clients commonly send, such as
+ * {@code with()} options, and constructs a short traversal from it, which is the work done for each request before
+ * any strategies are applied.
+ */
+public class TraversalSourceConstructionBenchmark extends AbstractGraphBenchmark {
+
+    private static final PartitionStrategy partition = PartitionStrategy.build().
+            partitionKey("_partition").writePartition("a").readPartitions("a").create();
+
+    @Benchmark
+    public GraphTraversalSource spawnWithOption() {
+        return g.with("evaluationTimeout", 1000L);
+    }
+
+    @Benchmark
+    public GraphTraversal constructShortWithOption() {
+        return g.with("evaluationTimeout", 1000L).V().out("knows");
+    }
+
+    @Benchmark
+    public GraphTraversal constructShortWithOptions() {
+        return g.with("evaluationTimeout", 1000L).with("batchSize", 64).with("requestId", "x").V().out("knows");
+    }
+
+    @Benchmark
+    public GraphTraversal constructShortWithStrategies() {
+        return g.withStrategies(ReadOnlyStrategy.instance(), new SeedStrategy(999999L)).V().out("knows");
+    }
+
+    @Benchmark
+    public GraphTraversal constructShortWithPartitionAndOption() {
+        return g.withStrategies(partition).with("evaluationTimeout", 1000L).V().out("knows");
+    }
+
+    @Benchmark
+    public GraphTraversal constructShortWithoutStrategies() {
+        return g.withoutStrategies(CountStrategy.class).V().out("knows");
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process;
+
+import org.apache.tinkerpop.benchmark.util.AbstractGraphBenchmark;
+import org.apache.tinkerpop.gremlin.LoadGraphWith;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.UnsynchronizedTraverserSet;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Compares the synchronized {@link TraverserSet} with the {@link UnsynchronizedTraverserSet} that backs the starts
+ * of OLTP steps. Each benchmark replays the traversers produced by a {@link GraphTraversalBenchmark} workload over a
+ * {@link TinkerGraph} loaded with the Grateful Dead data set through the set the way a step pipeline does.
+ */
+@LoadGraphWith(LoadGraphWith.GraphData.GRATEFUL)
+public class TraverserSetBenchmark extends AbstractGraphBenchmark {
+
+    @Param({"synchronized", "unsynchronized"})
+    public String traverserSet;
+
+    private Supplier<TraverserSet<Object>> traverserSetSupplier;
+    private List<Traverser.Admin<Object>> outOutOut;
+    private List<Traverser.Admin<Object>> repeatOutTimes2;
+
+    @Setup
+    @Override
+    public void prepare() throws IOException {
+        super.prepare();
+        traverserSetSupplier = traverserSet.equals("synchronized") ? TraverserSet::new : UnsynchronizedTraverserSet::new;
+        outOutOut = traversers(g.V().out().out().out().asAdmin());
+        repeatOutTimes2 = traversers(g.V().repeat(__.out()).times(2).asAdmin());
+    }
+
+    @Benchmark
+    public long g_V_out_out_out_addThenDrain() {
+        return addThenDrain(outOutOut);
+    }
+
+    @Benchmark
+    public long g_V_out_out_out_addAndPoll() {
+        return addAndPoll(outOutOut);
+    }
+
+    @Benchmark
+    public long g_V_repeatXoutX_timesX2X_addThenDrain() {
+        return addThenDrain(repeatOutTimes2);
+    }
+
+    @Benchmark
+    public long g_V_repeatXoutX_timesX2X_addAndPoll() {
+        return addAndPoll(repeatOutTimes2);
+    }
+
+    /**
+     * Fills the set with every traverser before draining it, as a step does when its previous step is a barrier.
+     */
+    private long addThenDrain(final List<Traverser.Admin<Object>> traversers) {
+        final TraverserSet<Object> set = traverserSetSupplier.get();
+        for (final Traverser.Admin<Object> traverser : traversers) {
+            set.add(traverser.split());
+        }
+        long bulk = 0L;
+        while (!set.isEmpty()) {
+            bulk = bulk + set.remove().bulk();
+        }
+        return bulk;
+    }
+
+    /**
+     * Adds a traverser and immediately pops one, as a step does when traversers are pushed to it one at a time.
+     */
+    private long addAndPoll(final List<Traverser.Admin<Object>> traversers) {
+        final TraverserSet<Object> set = traverserSetSupplier.get();
+        long bulk = 0L;
+        for (final Traverser.Admin<Object> traverser : traversers) {
+            set.add(traverser.split());
+            bulk = bulk + set.remove().bulk();
+        }
+        return bulk;
+    }
+
+    private static List<Traverser.Admin<Object>> traversers(final Traversal.Admin<Vertex, Vertex> traversal) {
+        traversal.applyStrategies();
+        final Step<?, Vertex> endStep = traversal.getEndStep();
+        final List<Traverser.Admin<Object>> traversers = new ArrayList<>();
+        while (endStep.hasNext()) {
+            traversers.add((Traverser.Admin) endStep.next());
+        }
+        return traversers;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph;
+
+import org.apache.commons.configuration2.BaseConfiguration;
+import org.apache.commons.configuration2.Configuration;
+import org.apache.tinkerpop.benchmark.util.AbstractBenchmarkBase;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Random;
+
+/**
+ * Compares the default {@code Map<String, Set<Edge>>} adjacency of {@link TinkerGraph} against the array-backed
+ * layout enabled by {@link TinkerGraph#GREMLIN_TINKERGRAPH_COMPACT_ADJACENCY}. Run with {@code -prof gc} to compare
+ * allocation rates, where the bytes allocated per operation of {@link #loadGraph()} compare the memory footprint of
+ * the two layouts.
+ */
+@State(Scope.Thread)
+public class TinkerGraphAdjacencyBenchmark extends AbstractBenchmarkBase {
+
+    private static final String[] LABELS = new String[]{"knows", "created", "likes", "follows"};
+
+    @Param({"false", "true"})
+    public boolean compactAdjacency;
+
+    @Param({"100000"})
+    public int vertexCount;
+
+    @Param({"10"})
+    public int averageDegree;
+
+    private TinkerGraph graph;
+    private GraphTraversalSource g;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+        graph = createGraph(compactAdjacency, vertexCount, averageDegree);
+        g = graph.traversal();
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws Exception {
+        graph.close();
+    }
+
+    @Benchmark
+    public TinkerGraph loadGraph() {
+        return createGraph(compactAdjacency, vertexCount / 10, averageDegree);
+    }
+
+    @Benchmark
+    public long g_V_out_count() {
+        return g.V().out().count().next();
+    }
+
+    @Benchmark
+    public long g_V_outXknowsX_inXknowsX_count() {
+        return g.V().out("knows").in("knows").count().next();
+    }
+
+    @Benchmark
+    public long g_V_bothE_count() {
+        return g.V().bothE().count().next();
+    }
+
+    private static TinkerGraph createGraph(final boolean compactAdjacency, final int vertexCount, final int averageDegree) {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_COMPACT_ADJACENCY, compactAdjacency);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_VERTEX_ID_MANAGER, "LONG");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_EDGE_ID_MANAGER, "LONG");
+        final TinkerGraph graph = TinkerGraph.open(conf);
+
+        final Vertex[] vertices = new Vertex[vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
+            vertices[i] = graph.addVertex();
+        }
+
+        final Random random = new Random(123456789L);
+        for (long i = 0; i < (long) vertexCount * averageDegree; i++) {
+            // skew the out-vertex selection so that the degree distribution is closer to a power law
+            final int out = (int) (vertexCount * Math.pow(random.nextDouble(), 2));
+            vertices[out].addEdge(LABELS[random.nextInt(LABELS.length)], vertices[random.nextInt(vertexCount)]);
+        }
+        return graph;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph;
+
+import org.apache.commons.configuration2.BaseConfiguration;
+import org.apache.commons.configuration2.Configuration;
+import org.apache.tinkerpop.benchmark.util.AbstractBenchmarkBase;
+import org.apache.tinkerpop.gremlin.process.computer.Computer;
+import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
+import org.apache.tinkerpop.gremlin.process.computer.ranking.pagerank.PageRankVertexProgram;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputer;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Random;
+
+/**
+ * Measures how {@link TinkerGraphComputer} scales with the number of workers on a graph with a power-law degree
+ * distribution, where a few vertices hold a large share of the edges. Worker counts above the number of available
+ * processors are capped to it, so run on a machine with as many cores as the largest worker count of interest.
+ */
+@State(Scope.Benchmark)
+public class TinkerGraphComputerBenchmark extends AbstractBenchmarkBase {
+
+    @Param({"1", "8", "64"})
+    public int workers;
+
+    @Param({"100000"})
+    public int vertexCount;
+
+    @Param({"10"})
+    public int averageDegree;
+
+    private TinkerGraph graph;
+    private GraphTraversalSource g;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+        workers = Math.min(workers, Runtime.getRuntime().availableProcessors());
+        graph = createGraph(vertexCount, averageDegree);
+        g = graph.traversal().withComputer(Computer.compute(TinkerGraphComputer.class).workers(workers));
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws Exception {
+        graph.close();
+    }
+
+    @Benchmark
+    public ComputerResult pageRank() throws Exception {
+        return graph.compute(TinkerGraphComputer.class).workers(workers).
+                program(PageRankVertexProgram.build().iterations(10).create(graph)).submit().get();
+    }
+
+    @Benchmark
+    public long g_V_out_out_count() {
+        return g.V().out().out().count().next();
+    }
+
+    @Benchmark
+    public int g_V_groupCount_byXoutE_countX() {
+        return g.V().groupCount().by(__.outE().count()).next().size();
+    }
+
+    private static TinkerGraph createGraph(final int vertexCount, final int averageDegree) {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_VERTEX_ID_MANAGER, "LONG");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_EDGE_ID_MANAGER, "LONG");
+        final TinkerGraph graph = TinkerGraph.open(conf);
+
+        final Vertex[] vertices = new Vertex[vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
+            vertices[i] = graph.addVertex();
+        }
+
+        // preferential attachment, where the end of an edge is drawn from the ends of all earlier edges, gives a
+        // power-law degree distribution
+        final Random random = new Random(123456789L);
+        final long edgeCount = (long) vertexCount * averageDegree;
+        final int[] ends = new int[(int) (2 * edgeCount)];
+        for (int i = 0; i < edgeCount; i++) {
+            final int out = random.nextInt(vertexCount);
+            final int in = i == 0 || random.nextInt(4) == 0 ? random.nextInt(vertexCount) : ends[random.nextInt(2 * i)];
+            vertices[out].addEdge("link", vertices[in]);
+            ends[2 * i] = out;
+            ends[2 * i + 1] = in;
+        }
+        return graph;
+    }
+}
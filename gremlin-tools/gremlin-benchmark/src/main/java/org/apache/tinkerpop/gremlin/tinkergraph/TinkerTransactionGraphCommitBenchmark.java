@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph;
+
+import org.apache.tinkerpop.benchmark.util.AbstractBenchmarkBase;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerTransactionGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures commit throughput of {@link TinkerTransactionGraph} with several concurrent writers on an indexed key. Each
+ * writer works on its own range of vertices so that transactions do not conflict and the numbers reflect the cost of
+ * the commit itself. The number of writers defaults to four and can be changed with the JMH {@code -t} option.
+ */
+@State(Scope.Benchmark)
+@Threads(4)
+public class TinkerTransactionGraphCommitBenchmark extends AbstractBenchmarkBase {
+
+    /**
+     * Upper bound for the number of writers that get a range of preloaded vertices to update.
+     */
+    private static final int MAX_WRITERS = 32;
+
+    @Param({"100", "10000"})
+    public int txSize;
+
+    private TinkerTransactionGraph graph;
+    private final AtomicInteger writers = new AtomicInteger();
+
+    @State(Scope.Thread)
+    public static class Writer {
+        private int first;
+        private int value;
+
+        @Setup(Level.Trial)
+        public void prepare(final TinkerTransactionGraphCommitBenchmark benchmark) {
+            first = (benchmark.writers.getAndIncrement() % MAX_WRITERS) * benchmark.txSize;
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void prepare() {
+        graph = TinkerTransactionGraph.open();
+        graph.createIndex("value", Vertex.class);
+
+        final GraphTraversalSource g = graph.tx().begin();
+        for (int i = 0; i < MAX_WRITERS * txSize; i++) {
+            g.addV().property(T.id, i).property("value", 0).iterate();
+        }
+        g.tx().commit();
+    }
+
+    @TearDown(Level.Iteration)
+    public void close() throws Exception {
+        graph.close();
+    }
+
+    @Benchmark
+    public void addVertices() {
+        final GraphTraversalSource g = graph.tx().begin();
+        for (int i = 0; i < txSize; i++) {
+            g.addV().property("value", i).iterate();
+        }
+        g.tx().commit();
+    }
+
+    @Benchmark
+    public void updateVertices(final Writer writer) {
+        writer.value++;
+        final GraphTraversalSource g = graph.tx().begin();
+        for (int i = writer.first; i < writer.first + txSize; i++) {
+            g.V(i).property("value", writer.value).iterate();
+        }
+        g.tx().commit();
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.jsr223;
+
+import org.apache.tinkerpop.benchmark.util.AbstractBenchmarkBase;
+import org.apache.tinkerpop.gremlin.language.grammar.GremlinAntlrToJava;
+import org.apache.tinkerpop.gremlin.language.grammar.GremlinFastPathParser;
+import org.apache.tinkerpop.gremlin.language.grammar.GremlinQueryParser;
+import org.apache.tinkerpop.gremlin.language.grammar.VariableResolver;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compares parsing scripts with the {@link GremlinFastPathParser} to parsing them with the ANTLR grammar, where both
+ * produce the same traversal.
+ */
+@State(Scope.Thread)
+public class GremlinFastPathParserBenchmark extends AbstractBenchmarkBase {
+    private final static GraphTraversalSource g = EmptyGraph.instance().traversal();
+    private final static String shortScript = "g.V(x).out('knows').has('age', gt(y)).values('name')";
+    private final static String longScript = "g.V().hasLabel('person').has('age', P.between(20, 40))" +
+            ".where(__.out('created').count().is(gt(1))).order().by('age', Order.desc)" +
+            ".project('name', 'software').by('name').by(__.out('created').values('name').fold()).limit(10)";
+    private final static VariableResolver resolver;
+
+    static {
+        final Map<String, Object> bindings = new HashMap<>();
+        bindings.put("x", 1);
+        bindings.put("y", 30);
+        resolver = new VariableResolver.DefaultVariableResolver(bindings);
+    }
+
+    @Benchmark
+    public Object testParseShortFastPath() {
+        return GremlinFastPathParser.parse(shortScript, g, resolver);
+    }
+
+    @Benchmark
+    public Object testParseShortGrammar() {
+        return GremlinQueryParser.parse(shortScript, new GremlinAntlrToJava(g, resolver));
+    }
+
+    @Benchmark
+    public Object testParseLongFastPath() {
+        return GremlinFastPathParser.parse(longScript, g, resolver);
+    }
+
+    @Benchmark
+    public Object testParseLongGrammar() {
+        return GremlinQueryParser.parse(longScript, new GremlinAntlrToJava(g, resolver));
+    }
+}
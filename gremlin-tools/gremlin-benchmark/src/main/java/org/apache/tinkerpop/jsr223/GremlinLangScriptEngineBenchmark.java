@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.jsr223;
+
+import org.apache.tinkerpop.benchmark.util.AbstractBenchmarkBase;
+import org.apache.tinkerpop.gremlin.jsr223.GremlinLangScriptEngine;
+import org.apache.tinkerpop.gremlin.language.grammar.GremlinAntlrToJava;
+import org.apache.tinkerpop.gremlin.language.grammar.GremlinQueryParser;
+import org.apache.tinkerpop.gremlin.language.grammar.VariableResolver;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import javax.script.Bindings;
+import javax.script.SimpleBindings;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Compares evaluation of parameterized scripts by the {@link GremlinLangScriptEngine}, which reuses parse trees from
+ * its cache, with parsing the same scripts on every evaluation.
+ */
+@State(Scope.Thread)
+public class GremlinLangScriptEngineBenchmark extends AbstractBenchmarkBase {
+    private final static GremlinLangScriptEngine scriptEngine = new GremlinLangScriptEngine();
+    private final static GraphTraversalSource g = EmptyGraph.instance().traversal();
+    private final static String shortScript = "g.V(x).out('knows').has('age', gt(y)).values('name')";
+    private final static String longScript = generateScript();
+    private final static Random rand = new Random(989023843L);
+
+    private Bindings bindings;
+
+    @Setup(Level.Invocation)
+    public void setupInvocation() {
+        bindings = new SimpleBindings();
+        bindings.put("g", g);
+        bindings.put("x", rand.nextInt());
+        bindings.put("y", rand.nextInt(100));
+    }
+
+    @Benchmark
+    public Object testEvalShortCached() throws Exception {
+        return scriptEngine.eval(shortScript, bindings);
+    }
+
+    @Benchmark
+    public Object testParseShortNoCache() {
+        return GremlinQueryParser.parse(shortScript, new GremlinAntlrToJava(g, new VariableResolver.DefaultVariableResolver(bindings)));
+    }
+
+    @Benchmark
+    public Object testEvalLongCached() throws Exception {
+        return scriptEngine.eval(longScript, bindings);
+    }
+
+    @Benchmark
+    public Object testParseLongNoCache() {
+        return GremlinQueryParser.parse(longScript, new GremlinAntlrToJava(g, new VariableResolver.DefaultVariableResolver(bindings)));
+    }
+
+    private static String generateScript() {
+        final StringBuilder b = new StringBuilder("g.addV('person').property(id, x)");
+        IntStream.range(0, 256).forEach(i -> b.append(".addV('person').property(id, ").append(i).append(")"));
+        return b.toString();
+    }
+}
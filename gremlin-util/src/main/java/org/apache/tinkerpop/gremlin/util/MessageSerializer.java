@@ -28,6 +28,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
 
@@ -59,6 +60,52 @@ public interface MessageSerializer<M> {
      */
     public ByteBuf serializeResponseAsBinary(final ResponseMessage responseMessage, final ByteBufAllocator allocator) throws SerializationException;
 
+    /**
+     * Determines if the serializer can write a single successful response in parts with
+     * {@link #serializeResponseHeaderAsBinary}, {@link #serializeResponseChunkAsBinary} and
+     * {@link #serializeResponseFooterAsBinary}, so that its results can be serialized a chunk at a time as they are
+     * produced. Formats that write the size of the results before them, such as GraphBinary, cannot.
+     */
+    public default boolean isResponseChunkable() {
+        return false;
+    }
+
+    /**
+     * Serializes the part of a successful response that comes before its results, for a response whose results are
+     * serialized a chunk at a time with {@link #serializeResponseChunkAsBinary} as they are produced and which is
+     * completed with {@link #serializeResponseFooterAsBinary}. Only supported if {@link #isResponseChunkable()}.
+     *
+     * @param responseMessage The response the results belong to, which gives the status and meta of the response and
+     *                        whose own result data is ignored.
+     * @param allocator       The Netty allocator for the {@code ByteBuf} to return back.
+     */
+    public default ByteBuf serializeResponseHeaderAsBinary(final ResponseMessage responseMessage, final ByteBufAllocator allocator) throws SerializationException {
+        throw new UnsupportedOperationException(String.format("%s cannot serialize a response in chunks", getClass().getSimpleName()));
+    }
+
+    /**
+     * Serializes a chunk of the results of a response begun with {@link #serializeResponseHeaderAsBinary}.
+     *
+     * @param responseMessage The response the results belong to.
+     * @param results         The results of the chunk.
+     * @param first           Whether this is the first chunk of the response.
+     * @param allocator       The Netty allocator for the {@code ByteBuf} to return back.
+     */
+    public default ByteBuf serializeResponseChunkAsBinary(final ResponseMessage responseMessage, final List<Object> results,
+                                                          final boolean first, final ByteBufAllocator allocator) throws SerializationException {
+        throw new UnsupportedOperationException(String.format("%s cannot serialize a response in chunks", getClass().getSimpleName()));
+    }
+
+    /**
+     * Serializes the part of a response begun with {@link #serializeResponseHeaderAsBinary} that follows its results.
+     *
+     * @param responseMessage The response the results belong to.
+     * @param allocator       The Netty allocator for the {@code ByteBuf} to return back.
+     */
+    public default ByteBuf serializeResponseFooterAsBinary(final ResponseMessage responseMessage, final ByteBufAllocator allocator) throws SerializationException {
+        throw new UnsupportedOperationException(String.format("%s cannot serialize a response in chunks", getClass().getSimpleName()));
+    }
+
     /**
      * Serialize a {@link ResponseMessage} to a Netty {@code ByteBuf}.
      *
@@ -43,6 +43,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -95,6 +96,44 @@ public abstract class AbstractGraphSONMessageSerializerV1 extends AbstractMessag
         }
     }
 
+    @Override
+    public boolean isResponseChunkable() {
+        return true;
+    }
+
+    @Override
+    public ByteBuf serializeResponseHeaderAsBinary(final ResponseMessage responseMessage, final ByteBufAllocator allocator) throws SerializationException {
+        return GraphSONResponseChunks.header(mapper, allocator, (g, p) -> {
+            ResponseMessageSerializer.writeHead(responseMessage, g, findTypeSerializer(p));
+            g.writeFieldName(SerTokens.TOKEN_DATA);
+        }, AbstractGraphSONMessageSerializerV1::writeData);
+    }
+
+    @Override
+    public ByteBuf serializeResponseChunkAsBinary(final ResponseMessage responseMessage, final List<Object> results,
+                                                  final boolean first, final ByteBufAllocator allocator) throws SerializationException {
+        return GraphSONResponseChunks.chunk(mapper, allocator, results, first, AbstractGraphSONMessageSerializerV1::writeData);
+    }
+
+    @Override
+    public ByteBuf serializeResponseFooterAsBinary(final ResponseMessage responseMessage, final ByteBufAllocator allocator) throws SerializationException {
+        return GraphSONResponseChunks.footer(mapper, allocator, AbstractGraphSONMessageSerializerV1::writeData,
+                SerTokens.TOKEN_RESULT, SerTokens.TOKEN_DATA, (g, p) -> ResponseMessageSerializer.writeTail(responseMessage, g));
+    }
+
+    private static void writeData(final Object data, final JsonGenerator jsonGenerator,
+                                  final SerializerProvider serializerProvider) throws IOException {
+        GraphSONUtil.writeWithType(data, jsonGenerator, serializerProvider, findTypeSerializer(serializerProvider));
+    }
+
+    /**
+     * Gets the {@code TypeSerializer} that the mapper gives a {@link ResponseMessage}, which is {@code null} unless
+     * types are embedded.
+     */
+    private static TypeSerializer findTypeSerializer(final SerializerProvider serializerProvider) throws IOException {
+        return serializerProvider.findTypeSerializer(serializerProvider.constructType(ResponseMessage.class));
+    }
+
     @Override
     public ByteBuf serializeRequestAsBinary(final RequestMessage requestMessage, final ByteBufAllocator allocator) throws SerializationException {
         ByteBuf encodedMessage = null;
@@ -202,6 +241,19 @@ public abstract class AbstractGraphSONMessageSerializerV1 extends AbstractMessag
         public void ser(final ResponseMessage responseMessage, final JsonGenerator jsonGenerator,
                         final SerializerProvider serializerProvider,
                         final TypeSerializer typeSerializer) throws IOException, JsonProcessingException {
+            writeHead(responseMessage, jsonGenerator, typeSerializer);
+            if (null == responseMessage.getResult().getData())
+                jsonGenerator.writeNullField(SerTokens.TOKEN_DATA);
+            else
+                GraphSONUtil.writeWithType(SerTokens.TOKEN_DATA, responseMessage.getResult().getData(), jsonGenerator, serializerProvider, typeSerializer);
+            writeTail(responseMessage, jsonGenerator);
+        }
+
+        /**
+         * Writes the response up to the data of its result object.
+         */
+        static void writeHead(final ResponseMessage responseMessage, final JsonGenerator jsonGenerator,
+                              final TypeSerializer typeSerializer) throws IOException {
             jsonGenerator.writeStartObject();
             if (typeSerializer != null) jsonGenerator.writeStringField(GraphSONTokens.CLASS, HashMap.class.getName());
 
@@ -216,10 +268,12 @@ public abstract class AbstractGraphSONMessageSerializerV1 extends AbstractMessag
 
             jsonGenerator.writeObjectFieldStart(SerTokens.TOKEN_RESULT);
             if (typeSerializer != null) jsonGenerator.writeStringField(GraphSONTokens.CLASS, HashMap.class.getName());
-            if (null == responseMessage.getResult().getData())
-                jsonGenerator.writeNullField(SerTokens.TOKEN_DATA);
-            else
-                GraphSONUtil.writeWithType(SerTokens.TOKEN_DATA, responseMessage.getResult().getData(), jsonGenerator, serializerProvider, typeSerializer);
+        }
+
+        /**
+         * Writes the response from after the data of its result object.
+         */
+        static void writeTail(final ResponseMessage responseMessage, final JsonGenerator jsonGenerator) throws IOException {
             jsonGenerator.writeObjectField(SerTokens.TOKEN_META, responseMessage.getResult().getMeta());
             jsonGenerator.writeEndObject();
 
@@ -40,6 +40,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -94,6 +95,31 @@ public abstract class AbstractGraphSONMessageSerializerV2 extends AbstractMessag
         }
     }
 
+    @Override
+    public boolean isResponseChunkable() {
+        return true;
+    }
+
+    @Override
+    public ByteBuf serializeResponseHeaderAsBinary(final ResponseMessage responseMessage, final ByteBufAllocator allocator) throws SerializationException {
+        return GraphSONResponseChunks.header(mapper, allocator, (g, p) -> {
+            ResponseMessageSerializer.writeHead(responseMessage, g, null);
+            g.writeFieldName(SerTokens.TOKEN_DATA);
+        }, ResponseMessageSerializer::writeData);
+    }
+
+    @Override
+    public ByteBuf serializeResponseChunkAsBinary(final ResponseMessage responseMessage, final List<Object> results,
+                                                  final boolean first, final ByteBufAllocator allocator) throws SerializationException {
+        return GraphSONResponseChunks.chunk(mapper, allocator, results, first, ResponseMessageSerializer::writeData);
+    }
+
+    @Override
+    public ByteBuf serializeResponseFooterAsBinary(final ResponseMessage responseMessage, final ByteBufAllocator allocator) throws SerializationException {
+        return GraphSONResponseChunks.footer(mapper, allocator, ResponseMessageSerializer::writeData,
+                SerTokens.TOKEN_RESULT, SerTokens.TOKEN_DATA, (g, p) -> ResponseMessageSerializer.writeTail(responseMessage, g, null));
+    }
+
     @Override
     public ByteBuf serializeRequestAsBinary(final RequestMessage requestMessage, final ByteBufAllocator allocator) throws SerializationException {
         ByteBuf encodedMessage = null;
@@ -255,6 +281,23 @@ public abstract class AbstractGraphSONMessageSerializerV2 extends AbstractMessag
         public void ser(final ResponseMessage responseMessage, final JsonGenerator jsonGenerator,
                         final SerializerProvider serializerProvider,
                         final TypeSerializer typeSerializer) throws IOException {
+            writeHead(responseMessage, jsonGenerator, typeSerializer);
+
+            if (null == responseMessage.getResult().getData()){
+                jsonGenerator.writeNullField(SerTokens.TOKEN_DATA);
+            } else {
+                jsonGenerator.writeFieldName(SerTokens.TOKEN_DATA);
+                writeData(responseMessage.getResult().getData(), jsonGenerator, serializerProvider);
+            }
+
+            writeTail(responseMessage, jsonGenerator, typeSerializer);
+        }
+
+        /**
+         * Writes the response up to the data of its result object.
+         */
+        static void writeHead(final ResponseMessage responseMessage, final JsonGenerator jsonGenerator,
+                              final TypeSerializer typeSerializer) throws IOException {
             GraphSONUtil.writeStartObject(responseMessage, jsonGenerator, typeSerializer);
 
             jsonGenerator.writeStringField(SerTokens.TOKEN_REQUEST, responseMessage.getRequestId() != null ? responseMessage.getRequestId().toString() : null);
@@ -269,15 +312,18 @@ public abstract class AbstractGraphSONMessageSerializerV2 extends AbstractMessag
             jsonGenerator.writeFieldName(SerTokens.TOKEN_RESULT);
 
             GraphSONUtil.writeStartObject(responseMessage, jsonGenerator, typeSerializer);
+        }
 
-            if (null == responseMessage.getResult().getData()){
-                jsonGenerator.writeNullField(SerTokens.TOKEN_DATA);
-            } else {
-                jsonGenerator.writeFieldName(SerTokens.TOKEN_DATA);
-                final Object result = responseMessage.getResult().getData();
-                serializerProvider.findTypedValueSerializer(result.getClass(), true, null).serialize(result, jsonGenerator, serializerProvider);
-            }
+        static void writeData(final Object data, final JsonGenerator jsonGenerator,
+                              final SerializerProvider serializerProvider) throws IOException {
+            serializerProvider.findTypedValueSerializer(data.getClass(), true, null).serialize(data, jsonGenerator, serializerProvider);
+        }
 
+        /**
+         * Writes the response from after the data of its result object.
+         */
+        static void writeTail(final ResponseMessage responseMessage, final JsonGenerator jsonGenerator,
+                              final TypeSerializer typeSerializer) throws IOException {
             jsonGenerator.writeObjectField(SerTokens.TOKEN_META, responseMessage.getResult().getMeta());
             GraphSONUtil.writeEndObject(responseMessage, jsonGenerator, typeSerializer);
 
@@ -27,6 +27,7 @@ import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryIo;
 import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryMapper;
 import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryReader;
 import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryWriter;
+import org.apache.tinkerpop.gremlin.util.ser.binary.LazyResponseMessageReader;
 import org.apache.tinkerpop.gremlin.util.ser.binary.RequestMessageSerializer;
 import org.apache.tinkerpop.gremlin.util.ser.binary.ResponseMessageSerializer;
 import org.apache.tinkerpop.gremlin.structure.io.binary.TypeSerializerRegistry;
@@ -63,6 +64,7 @@ public class GraphBinaryMessageSerializerV1 extends AbstractMessageSerializer<Gr
     private GraphBinaryWriter writer;
     private RequestMessageSerializer requestSerializer;
     private ResponseMessageSerializer responseSerializer;
+    private LazyResponseMessageReader lazyResponseReader;
     private GraphBinaryMapper mapper;
 
     /**
@@ -79,6 +81,7 @@ public class GraphBinaryMessageSerializerV1 extends AbstractMessageSerializer<Gr
 
         requestSerializer = new RequestMessageSerializer();
         responseSerializer = new ResponseMessageSerializer();
+        lazyResponseReader = new LazyResponseMessageReader(reader, registry);
     }
 
     public GraphBinaryMessageSerializerV1(final TypeSerializerRegistry.Builder builder) {
@@ -137,6 +140,7 @@ public class GraphBinaryMessageSerializerV1 extends AbstractMessageSerializer<Gr
 
         requestSerializer = new RequestMessageSerializer();
         responseSerializer = new ResponseMessageSerializer();
+        lazyResponseReader = new LazyResponseMessageReader(reader, registry);
     }
 
     @Override
@@ -185,6 +189,14 @@ public class GraphBinaryMessageSerializerV1 extends AbstractMessageSerializer<Gr
         return responseSerializer.readValue(msg, reader);
     }
 
+    /**
+     * Deserializes a response, leaving the items of a list result undecoded until they are read, as described in
+     * {@link LazyResponseMessageReader}.
+     */
+    public ResponseMessage deserializeResponseLazily(final ByteBuf msg) throws SerializationException {
+        return lazyResponseReader.readValue(msg);
+    }
+
     @Override
     public String[] mimeTypesSupported() {
         return new String[]{serializeToString ? MIME_TYPE_STRINGD : MIME_TYPE};
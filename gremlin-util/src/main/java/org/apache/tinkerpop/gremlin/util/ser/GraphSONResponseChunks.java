@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.util.ser;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import org.apache.tinkerpop.shaded.jackson.core.JsonGenerator;
+import org.apache.tinkerpop.shaded.jackson.databind.ObjectMapper;
+import org.apache.tinkerpop.shaded.jackson.databind.SerializerProvider;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Writes a GraphSON response message in parts for
+ * {@link org.apache.tinkerpop.gremlin.util.MessageSerializer#serializeResponseHeaderAsBinary}, so that the parts
+ * joined together are the document that the {@code ResponseMessageSerializer} of the mapper writes for the whole
+ * response. The header and footer are written by the same code as that serializer, and the list of results is
+ * written with the serializer for its data, split at the brackets of the array that holds the items.
+ */
+final class GraphSONResponseChunks {
+
+    /**
+     * Writes part of a document to a generator.
+     */
+    interface Part {
+        void write(final JsonGenerator jsonGenerator, final SerializerProvider serializerProvider) throws IOException;
+    }
+
+    /**
+     * Writes the data of a response to a generator.
+     */
+    interface Data {
+        void write(final Object data, final JsonGenerator jsonGenerator, final SerializerProvider serializerProvider) throws IOException;
+    }
+
+    private static final byte[] EMPTY_ARRAY = "[]".getBytes();
+
+    private GraphSONResponseChunks() {}
+
+    /**
+     * Writes the head of the response, which must end with the name of the data field, followed by the opening of
+     * the list of results.
+     */
+    static ByteBuf header(final ObjectMapper mapper, final ByteBufAllocator allocator, final Part head,
+                          final Data data) throws SerializationException {
+        try {
+            // the empty list is written as the data so that the head is followed by the opening of the list as it
+            // would be in the whole response
+            final int mark;
+            final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+            try (final JsonGenerator generator = createGenerator(mapper, stream)) {
+                final SerializerProvider provider = mapper.getSerializerProviderInstance();
+                head.write(generator, provider);
+                generator.flush();
+                mark = stream.size();
+                data.write(new ArrayList<>(), generator, provider);
+            }
+            final byte[] bytes = stream.toByteArray();
+            final int split = split(bytes, mark, bytes.length);
+            return allocator.buffer(split).writeBytes(bytes, 0, split);
+        } catch (IOException ioe) {
+            throw new SerializationException(ioe);
+        }
+    }
+
+    /**
+     * Writes the items of a chunk of results, preceded by a separator if they follow earlier ones.
+     */
+    static ByteBuf chunk(final ObjectMapper mapper, final ByteBufAllocator allocator, final List<Object> results,
+                         final boolean first, final Data data) throws SerializationException {
+        try {
+            final byte[] empty = write(mapper, (g, p) -> data.write(new ArrayList<>(), g, p));
+            final int split = split(empty);
+            final byte[] bytes = write(mapper, (g, p) -> data.write(new ArrayList<>(results), g, p));
+            final int length = bytes.length - empty.length;
+            if (length <= 0 || !Arrays.equals(Arrays.copyOfRange(bytes, 0, split), Arrays.copyOfRange(empty, 0, split)) ||
+                    !Arrays.equals(Arrays.copyOfRange(bytes, split + length, bytes.length), Arrays.copyOfRange(empty, split, empty.length)))
+                throw new SerializationException("The results were not written as the items of an array");
+
+            final ByteBuf buffer = allocator.buffer(length + 1);
+            if (!first) buffer.writeByte(',');
+            return buffer.writeBytes(bytes, split, length);
+        } catch (IOException ioe) {
+            throw new SerializationException(ioe);
+        }
+    }
+
+    /**
+     * Writes the closing of the list of results followed by the tail of the response, which must follow the data
+     * field of the result object.
+     */
+    static ByteBuf footer(final ObjectMapper mapper, final ByteBufAllocator allocator, final Data data,
+                          final String resultField, final String dataField, final Part tail) throws SerializationException {
+        try {
+            // the tail is written where it would be in a response, after an empty list as the data of the result
+            // object, and then cut away from what precedes the closing of that list
+            final int mark;
+            final int end;
+            final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+            try (final JsonGenerator generator = createGenerator(mapper, stream)) {
+                final SerializerProvider provider = mapper.getSerializerProviderInstance();
+                generator.writeStartObject();
+                generator.writeObjectFieldStart(resultField);
+                generator.writeFieldName(dataField);
+                generator.flush();
+                mark = stream.size();
+                data.write(new ArrayList<>(), generator, provider);
+                generator.flush();
+                end = stream.size();
+                tail.write(generator, provider);
+            }
+            final byte[] bytes = stream.toByteArray();
+            final int split = split(bytes, mark, end);
+            return allocator.buffer(bytes.length - split).writeBytes(bytes, split, bytes.length - split);
+        } catch (IOException ioe) {
+            throw new SerializationException(ioe);
+        }
+    }
+
+    private static byte[] write(final ObjectMapper mapper, final Part part) throws IOException {
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        try (final JsonGenerator generator = createGenerator(mapper, stream)) {
+            part.write(generator, mapper.getSerializerProviderInstance());
+        }
+        return stream.toByteArray();
+    }
+
+    private static JsonGenerator createGenerator(final ObjectMapper mapper, final ByteArrayOutputStream stream) throws IOException {
+        final JsonGenerator generator = mapper.getFactory().createGenerator(stream);
+        // the parts are fragments of a document so they must not be completed when the generator closes
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+        return generator;
+    }
+
+    /**
+     * Finds the position between the brackets of the array in a serialized empty list.
+     */
+    private static int split(final byte[] empty) throws SerializationException {
+        return split(empty, 0, empty.length);
+    }
+
+    /**
+     * Finds the position between the brackets of the array in a serialized empty list that lies between the
+     * specified positions.
+     */
+    private static int split(final byte[] bytes, final int from, final int to) throws SerializationException {
+        int found = -1;
+        for (int i = from; i < to - 1; i++) {
+            if (bytes[i] == EMPTY_ARRAY[0] && bytes[i + 1] == EMPTY_ARRAY[1]) {
+                if (found >= 0)
+                    throw new SerializationException("The empty list has more than one array");
+                found = i + 1;
+            }
+        }
+        if (found < 0)
+            throw new SerializationException("The empty list has no array");
+        return found;
+    }
+}
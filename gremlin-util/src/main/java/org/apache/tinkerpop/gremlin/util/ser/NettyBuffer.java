@@ -19,6 +19,7 @@
 package org.apache.tinkerpop.gremlin.util.ser;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import org.apache.tinkerpop.gremlin.structure.io.Buffer;
 
 import java.io.IOException;
@@ -211,6 +212,17 @@ final class NettyBuffer implements Buffer {
         return this;
     }
 
+    /**
+     * Encodes the string straight into the {@code ByteBuf}, without the array that {@code String.getBytes()} would
+     * allocate.
+     */
+    @Override
+    public Buffer writeLengthPrefixedUtf8(final String value) {
+        this.buffer.writeInt(ByteBufUtil.utf8Bytes(value));
+        ByteBufUtil.writeUtf8(this.buffer, value);
+        return this;
+    }
+
     @Override
     public boolean release() {
         return this.buffer.release();
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.util.ser.binary;
+
+import io.netty.buffer.ByteBuf;
+import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryReader;
+import org.apache.tinkerpop.gremlin.util.ser.NettyBufferFactory;
+
+import java.io.IOException;
+
+/**
+ * A fully-qualified GraphBinary value that is kept as bytes, in a retained slice of the response, until it is first
+ * asked for. The slice is released once the value is decoded or when {@link #release()} is called, whichever comes
+ * first.
+ */
+public final class LazyGraphBinaryValue {
+    private static final NettyBufferFactory bufferFactory = new NettyBufferFactory();
+
+    private final GraphBinaryReader reader;
+    private ByteBuf bytes;
+    private Object value;
+    private boolean decoded = false;
+
+    LazyGraphBinaryValue(final ByteBuf bytes, final GraphBinaryReader reader) {
+        this.bytes = bytes;
+        this.reader = reader;
+    }
+
+    /**
+     * Gets the value, decoding it on the first call.
+     *
+     * @throws IllegalStateException if the value cannot be decoded or was released before it was decoded
+     */
+    public synchronized Object get() {
+        if (decoded)
+            return value;
+        if (null == bytes)
+            throw new IllegalStateException("The value was released before it was read");
+
+        try {
+            value = reader.read(bufferFactory.create(bytes));
+            decoded = true;
+            return value;
+        } catch (IOException ex) {
+            throw new IllegalStateException("The value could not be deserialized", ex);
+        } finally {
+            bytes.release();
+            bytes = null;
+        }
+    }
+
+    /**
+     * Determines if the value has been decoded.
+     */
+    public synchronized boolean isDecoded() {
+        return decoded;
+    }
+
+    /**
+     * Releases the bytes of a value that has not been decoded, after which it can no longer be read. Returns
+     * {@code true} if there were bytes to release.
+     */
+    public synchronized boolean release() {
+        if (null == bytes)
+            return false;
+
+        bytes.release();
+        bytes = null;
+        return true;
+    }
+}
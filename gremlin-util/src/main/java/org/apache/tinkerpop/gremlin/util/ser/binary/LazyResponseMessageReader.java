@@ -0,0 +1,235 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.util.ser.binary;
+
+import io.netty.buffer.ByteBuf;
+import org.apache.tinkerpop.gremlin.structure.io.Buffer;
+import org.apache.tinkerpop.gremlin.structure.io.binary.DataType;
+import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryReader;
+import org.apache.tinkerpop.gremlin.structure.io.binary.TypeSerializerRegistry;
+import org.apache.tinkerpop.gremlin.util.message.ResponseMessage;
+import org.apache.tinkerpop.gremlin.util.message.ResponseStatusCode;
+import org.apache.tinkerpop.gremlin.util.ser.NettyBufferFactory;
+import org.apache.tinkerpop.gremlin.util.ser.SerializationException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Reads a GraphBinary {@link ResponseMessage} like the {@link ResponseMessageSerializer} does, except that when the
+ * result is a list its items are left undecoded as {@link LazyGraphBinaryValue} instances, so that a client only pays
+ * for the results it reads. Finding where each item ends means walking its bytes, which is possible without decoding
+ * for the core types written in their standard format. An item containing anything else, such as a custom type or a
+ * type whose serializer was replaced in the registry, is decoded straight away.
+ * <p/>
+ * The items hold retained slices of the response rather than copies of it, so the buffer of the response is only
+ * freed once every item has been read or released. The driver releases the items that are not read when their
+ * {@code ResultSet} is closed or the request fails.
+ */
+public class LazyResponseMessageReader {
+    private static final NettyBufferFactory bufferFactory = new NettyBufferFactory();
+
+    private static final Set<DataType> walkable = EnumSet.of(
+            DataType.INT, DataType.LONG, DataType.STRING, DataType.DATE, DataType.TIMESTAMP, DataType.CLASS,
+            DataType.DOUBLE, DataType.FLOAT, DataType.LIST, DataType.MAP, DataType.SET, DataType.UUID,
+            DataType.EDGE, DataType.PATH, DataType.PROPERTY, DataType.VERTEX, DataType.VERTEXPROPERTY,
+            DataType.BARRIER, DataType.CARDINALITY, DataType.COLUMN, DataType.DIRECTION, DataType.OPERATOR,
+            DataType.ORDER, DataType.PICK, DataType.POP, DataType.SCOPE, DataType.T, DataType.MERGE, DataType.DT,
+            DataType.BIGDECIMAL, DataType.BIGINTEGER, DataType.BYTE, DataType.BYTEBUFFER, DataType.SHORT,
+            DataType.BOOLEAN, DataType.BULKSET, DataType.CHAR, DataType.DURATION, DataType.TRAVERSER);
+
+    private final GraphBinaryReader reader;
+    private final Set<DataType> skippable = EnumSet.noneOf(DataType.class);
+
+    public LazyResponseMessageReader(final GraphBinaryReader reader, final TypeSerializerRegistry registry) {
+        this.reader = reader;
+
+        // only walk the types whose format is known, which is not the case once their serializer is replaced
+        for (final DataType type : walkable) {
+            try {
+                if (registry.getSerializer(type).getClass() == TypeSerializerRegistry.INSTANCE.getSerializer(type).getClass())
+                    skippable.add(type);
+            } catch (IOException ignored) {
+                // not registered so it can't be read anyway
+            }
+        }
+    }
+
+    public ResponseMessage readValue(final ByteBuf byteBuf) throws SerializationException {
+        final ByteBuf slice = byteBuf.retainedSlice();
+        try {
+            final Buffer buffer = bufferFactory.create(slice);
+            final int version = buffer.readByte() & 0xff;
+
+            if (version >>> 7 != 1) {
+                // This is an indication that the response buffer was incorrectly built
+                // Or the buffer offsets are wrong
+                throw new SerializationException("The most significant bit should be set according to the format");
+            }
+
+            final ResponseMessage responseMessage = ResponseMessage.build(reader.readValue(buffer, UUID.class, true))
+                    .code(ResponseStatusCode.getFromValue(reader.readValue(buffer, Integer.class, false)))
+                    .statusMessage(reader.readValue(buffer, String.class, true))
+                    .statusAttributes(reader.readValue(buffer, Map.class, false))
+                    .responseMetaData(reader.readValue(buffer, Map.class, false))
+                    .result(readResult(slice, buffer))
+                    .create();
+
+            // consume the message as the ResponseMessageSerializer does, in case others follow it
+            byteBuf.skipBytes(slice.readerIndex());
+            return responseMessage;
+        } catch (SerializationException ex) {
+            throw ex;
+        } catch (IOException | RuntimeException ex) {
+            throw new SerializationException(ex);
+        } finally {
+            // the lazy items hold their own references to the response
+            slice.release();
+        }
+    }
+
+    private Object readResult(final ByteBuf slice, final Buffer buffer) throws IOException {
+        final int start = slice.readerIndex();
+        if (slice.readableBytes() < 6 || slice.getByte(start) != DataType.LIST.getCodeByte() || (slice.getByte(start + 1) & 1) == 1)
+            return reader.read(buffer);
+
+        slice.skipBytes(2);
+        final int length = slice.readInt();
+        final List<Object> items = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            final int itemStart = slice.readerIndex();
+            if (skip(slice)) {
+                items.add(new LazyGraphBinaryValue(slice.retainedSlice(itemStart, slice.readerIndex() - itemStart), reader));
+            } else {
+                slice.readerIndex(itemStart);
+                items.add(reader.read(buffer));
+            }
+        }
+
+        return items;
+    }
+
+    /**
+     * Moves past a fully-qualified value, returning {@code false} if it contains a type that can't be walked, in
+     * which case the reader index is left somewhere within the value.
+     */
+    private boolean skip(final ByteBuf b) {
+        final DataType type = DataType.get(b.readUnsignedByte());
+        if (null == type || type == DataType.CUSTOM)
+            return false;
+
+        if ((b.readByte() & 1) == 1)
+            return true;
+
+        return skippable.contains(type) && skipValue(type, b);
+    }
+
+    private boolean skipValue(final DataType type, final ByteBuf b) {
+        switch (type) {
+            case BYTE:
+            case BOOLEAN:
+                b.skipBytes(1);
+                return true;
+            case SHORT:
+                b.skipBytes(2);
+                return true;
+            case INT:
+            case FLOAT:
+                b.skipBytes(4);
+                return true;
+            case LONG:
+            case DOUBLE:
+            case DATE:
+            case TIMESTAMP:
+                b.skipBytes(8);
+                return true;
+            case DURATION:
+                b.skipBytes(12);
+                return true;
+            case UUID:
+                b.skipBytes(16);
+                return true;
+            case STRING:
+            case CLASS:
+            case BIGINTEGER:
+            case BYTEBUFFER:
+                b.skipBytes(b.readInt());
+                return true;
+            case BIGDECIMAL:
+                b.skipBytes(4);
+                b.skipBytes(b.readInt());
+                return true;
+            case CHAR:
+                final int first = b.readUnsignedByte();
+                b.skipBytes((first & 0xf0) == 0xf0 ? 3 : (first & 0xe0) == 0xe0 ? 2 : (first & 0xc0) == 0xc0 ? 1 : 0);
+                return true;
+            case LIST:
+            case SET:
+                return skipAll(b, b.readInt());
+            case MAP:
+                return skipAll(b, b.readInt() * 2);
+            case BULKSET:
+                for (int i = b.readInt(); i > 0; i--) {
+                    if (!skip(b)) return false;
+                    b.skipBytes(8);
+                }
+                return true;
+            case VERTEX:
+                // id, label, properties
+                return skip(b) && skipString(b) && skip(b);
+            case EDGE:
+                // id, label, in vertex id and label, out vertex id and label, parent, properties
+                return skip(b) && skipString(b) && skip(b) && skipString(b) && skip(b) && skipString(b) &&
+                        skip(b) && skip(b);
+            case VERTEXPROPERTY:
+                // id, label, value, parent, properties
+                return skip(b) && skipString(b) && skip(b) && skip(b) && skip(b);
+            case PROPERTY:
+                // key, value, parent
+                return skipString(b) && skip(b) && skip(b);
+            case PATH:
+                // labels, objects
+                return skip(b) && skip(b);
+            case TRAVERSER:
+                // bulk, value
+                b.skipBytes(8);
+                return skip(b);
+            default:
+                // enums are written as a fully-qualified string
+                return skip(b);
+        }
+    }
+
+    private boolean skipAll(final ByteBuf b, final int count) {
+        for (int i = 0; i < count; i++) {
+            if (!skip(b)) return false;
+        }
+        return true;
+    }
+
+    private static boolean skipString(final ByteBuf b) {
+        b.skipBytes(b.readInt());
+        return true;
+    }
+}
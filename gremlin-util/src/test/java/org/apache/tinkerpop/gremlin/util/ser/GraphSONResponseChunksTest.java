@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.util.ser;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.apache.tinkerpop.gremlin.util.MessageSerializer;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.apache.tinkerpop.gremlin.util.message.ResponseMessage;
+import org.apache.tinkerpop.gremlin.util.message.ResponseStatusCode;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(Parameterized.class)
+public class GraphSONResponseChunksTest {
+
+    private static final ByteBufAllocator allocator = UnpooledByteBufAllocator.DEFAULT;
+    private static final Graph graph = TinkerFactory.createModern();
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Iterable<Object[]> data() {
+        return Arrays.asList(new Object[][]{
+                {"GraphSONMessageSerializerV1", new GraphSONMessageSerializerV1()},
+                {"GraphSONUntypedMessageSerializerV1", new GraphSONUntypedMessageSerializerV1()},
+                {"GraphSONMessageSerializerV2", new GraphSONMessageSerializerV2()},
+                {"GraphSONUntypedMessageSerializerV2", new GraphSONUntypedMessageSerializerV2()},
+                {"GraphSONMessageSerializerV3", new GraphSONMessageSerializerV3()},
+                {"GraphSONUntypedMessageSerializerV3", new GraphSONUntypedMessageSerializerV3()},
+        });
+    }
+
+    @Parameterized.Parameter(value = 0)
+    public String name;
+
+    @Parameterized.Parameter(value = 1)
+    public MessageSerializer<?> serializer;
+
+    @Test
+    public void shouldWriteChunksThatJoinToTheWholeResponse() throws Exception {
+        final List<Object> results = new ArrayList<>();
+        results.addAll(IteratorUtils.list(graph.vertices()));
+        results.add(1);
+        results.add(null);
+        results.add("marko");
+        results.add(Collections.singletonMap("x", 100L));
+
+        assertChunks(results, 1, 3, 6);
+    }
+
+    @Test
+    public void shouldWriteChunksThatJoinToTheWholeResponseForOneChunk() throws Exception {
+        assertChunks(new ArrayList<>(Arrays.asList(1, 2, 3)), 3);
+    }
+
+    private void assertChunks(final List<Object> results, final int... sizes) throws Exception {
+        final UUID requestId = UUID.randomUUID();
+        final ResponseMessage template = ResponseMessage.build(requestId).code(ResponseStatusCode.SUCCESS)
+                .statusAttributes(Collections.singletonMap("host", "localhost")).create();
+
+        final StringBuilder chunked = new StringBuilder(toString(serializer.serializeResponseHeaderAsBinary(template, allocator)));
+        int start = 0;
+        for (int size : sizes) {
+            chunked.append(toString(serializer.serializeResponseChunkAsBinary(template, results.subList(start, start + size), start == 0, allocator)));
+            start += size;
+        }
+        chunked.append(toString(serializer.serializeResponseFooterAsBinary(template, allocator)));
+
+        final ResponseMessage whole = ResponseMessage.build(requestId).code(ResponseStatusCode.SUCCESS)
+                .statusAttributes(Collections.singletonMap("host", "localhost")).result(results).create();
+        assertEquals(toString(serializer.serializeResponseAsBinary(whole, allocator)), chunked.toString());
+    }
+
+    private static String toString(final ByteBuf buffer) {
+        try {
+            return buffer.toString(StandardCharsets.UTF_8);
+        } finally {
+            buffer.release();
+        }
+    }
+}
@@ -29,9 +29,11 @@ import org.junit.Test;
 
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
@@ -89,6 +91,22 @@ public class NettyBufferFactoryTest {
         assertEquals(17, buffer.readerIndex());
     }
 
+    @Test
+    public void shouldWriteLengthPrefixedUtf8() {
+        final ByteBuf raw = getRaw();
+        final Buffer buffer = factory.create(raw);
+        final String value = "marko \u00e9\u4e2d\uD83D\uDE00";
+        final byte[] expected = value.getBytes(StandardCharsets.UTF_8);
+
+        buffer.writeLengthPrefixedUtf8(value);
+
+        assertEquals(4 + expected.length, buffer.writerIndex());
+        assertEquals(expected.length, buffer.readInt());
+        final byte[] actual = new byte[expected.length];
+        buffer.readBytes(actual);
+        assertArrayEquals(expected, actual);
+    }
+
     @Test
     public void readRawShouldAdvanceReaderIndexAndReleaseIt() {
         final int intValue = 5;
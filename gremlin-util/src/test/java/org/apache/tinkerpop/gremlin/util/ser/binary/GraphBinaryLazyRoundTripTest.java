@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.util.ser.binary;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import org.apache.tinkerpop.gremlin.util.message.ResponseMessage;
+import org.apache.tinkerpop.gremlin.util.message.ResponseStatusCode;
+import org.apache.tinkerpop.gremlin.util.ser.AbstractRoundTripTest;
+import org.apache.tinkerpop.gremlin.util.ser.GraphBinaryMessageSerializerV1;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that every value decodes the same when read lazily from a list result and that reading past it leaves the
+ * next item intact.
+ */
+public class GraphBinaryLazyRoundTripTest extends AbstractRoundTripTest {
+    private final GraphBinaryMessageSerializerV1 serializer = new GraphBinaryMessageSerializerV1();
+    private final ByteBufAllocator allocator = ByteBufAllocator.DEFAULT;
+
+    private static List<String> skippedTests
+            = Arrays.asList("ReferenceVertexProperty");
+
+    @Test
+    public void shouldWriteAndReadLazily() throws Exception {
+        // some tests are not valid for graphbinary
+        if (skippedTests.contains(name)) return;
+
+        final ResponseMessage response = ResponseMessage.build(UUID.randomUUID())
+                .code(ResponseStatusCode.SUCCESS)
+                .result(Arrays.asList(value, "next"))
+                .create();
+        final ByteBuf buffer = serializer.serializeResponseAsBinary(response, allocator);
+        try {
+            final List<?> items = (List<?>) serializer.deserializeResponseLazily(buffer).getResult().getData();
+            final Object result = items.get(0) instanceof LazyGraphBinaryValue ?
+                    ((LazyGraphBinaryValue) items.get(0)).get() : items.get(0);
+
+            Optional.ofNullable(assertion).orElse((Consumer) r -> assertEquals(value, r)).accept(result);
+            assertEquals("next", ((LazyGraphBinaryValue) items.get(1)).get());
+        } finally {
+            buffer.release();
+        }
+    }
+}
@@ -20,7 +20,9 @@ package org.apache.tinkerpop.gremlin.util.ser.binary;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
+import org.apache.tinkerpop.gremlin.process.remote.traversal.DefaultRemoteTraverser;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.util.Tokens;
 import org.apache.tinkerpop.gremlin.util.message.RequestMessage;
@@ -28,20 +30,27 @@ import org.apache.tinkerpop.gremlin.util.message.ResponseMessage;
 import org.apache.tinkerpop.gremlin.util.message.ResponseStatusCode;
 import org.apache.tinkerpop.gremlin.util.ser.GraphBinaryMessageSerializerV1;
 import org.apache.tinkerpop.gremlin.util.ser.SerializationException;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.io.binary.TypeSerializerRegistry;
+import org.apache.tinkerpop.gremlin.structure.io.binary.types.StringSerializer;
 import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
 import org.junit.Test;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.apache.tinkerpop.gremlin.util.MockitoHamcrestMatcherAdapter.reflectionEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.hasItemInArray;
 
 public class GraphBinaryMessageSerializerV1Test {
@@ -180,6 +189,108 @@ public class GraphBinaryMessageSerializerV1Test {
         assertResponseEquals(response, deserialized);
     }
 
+    @Test
+    public void shouldDeserializeListResultLazily() throws SerializationException {
+        final Vertex v = TinkerFactory.createModern().vertices(1).next();
+        final ResponseMessage response = ResponseMessage.build(UUID.randomUUID())
+                .code(ResponseStatusCode.SUCCESS)
+                .result(Arrays.asList("marko", Collections.singletonMap("age", Arrays.asList(29L, 30L)), 1, v))
+                .create();
+
+        final ByteBuf buffer = serializer.serializeResponseAsBinary(response, allocator);
+        final ResponseMessage deserialized = serializer.deserializeResponseLazily(buffer);
+        buffer.release();
+        assertEquals(response.getRequestId(), deserialized.getRequestId());
+        assertEquals(ResponseStatusCode.SUCCESS, deserialized.getStatus().getCode());
+
+        final List<LazyGraphBinaryValue> items = (List<LazyGraphBinaryValue>) deserialized.getResult().getData();
+        assertEquals(4, items.size());
+        assertThat(items.get(0).isDecoded(), is(false));
+        assertEquals(Collections.singletonMap("age", Arrays.asList(29L, 30L)), items.get(1).get());
+        assertThat(items.get(1).isDecoded(), is(true));
+        assertThat(items.get(1).release(), is(false));
+        assertEquals(Collections.singletonMap("age", Arrays.asList(29L, 30L)), items.get(1).get());
+
+        assertThat(items.get(0).release(), is(true));
+        try {
+            items.get(0).get();
+            fail("The value was released so it should not be readable");
+        } catch (IllegalStateException ignored) {
+        }
+        assertEquals(1, items.get(2).get());
+
+        final Vertex detached = (Vertex) items.get(3).get();
+        assertEquals(v, detached);
+        assertEquals("marko", detached.value("name"));
+    }
+
+    @Test
+    public void shouldDeserializeTraverserResultLazily() throws SerializationException {
+        final ResponseMessage response = ResponseMessage.build(UUID.randomUUID())
+                .code(ResponseStatusCode.SUCCESS)
+                .result(Arrays.asList(new DefaultRemoteTraverser<>("marko", 100), "next"))
+                .create();
+
+        final ByteBuf buffer = serializer.serializeResponseAsBinary(response, allocator);
+        final List<LazyGraphBinaryValue> items = (List<LazyGraphBinaryValue>) serializer.deserializeResponseLazily(buffer).getResult().getData();
+        buffer.release();
+
+        assertThat(items.get(0).isDecoded(), is(false));
+        final Traverser<?> traverser = (Traverser<?>) items.get(0).get();
+        assertEquals("marko", traverser.get());
+        assertEquals(100, traverser.bulk());
+        assertEquals("next", items.get(1).get());
+    }
+
+    @Test
+    public void shouldHoldResponseUntilLazyResultIsConsumed() throws SerializationException {
+        final ResponseMessage response = ResponseMessage.build(UUID.randomUUID())
+                .code(ResponseStatusCode.SUCCESS)
+                .result(Arrays.asList("marko", 1))
+                .create();
+
+        final ByteBuf buffer = serializer.serializeResponseAsBinary(response, allocator);
+        final List<LazyGraphBinaryValue> items = (List<LazyGraphBinaryValue>) serializer.deserializeResponseLazily(buffer).getResult().getData();
+        assertThat(buffer.isReadable(), is(false));
+        buffer.release();
+
+        // the items are slices of the response rather than copies of it
+        assertThat(buffer.refCnt() > 0, is(true));
+        assertEquals("marko", items.get(0).get());
+        assertThat(buffer.refCnt() > 0, is(true));
+        assertThat(items.get(1).release(), is(true));
+        assertEquals(0, buffer.refCnt());
+    }
+
+    @Test
+    public void shouldDecodeLazyResultWhenSerializerIsReplaced() throws SerializationException {
+        final GraphBinaryMessageSerializerV1 replaced = new GraphBinaryMessageSerializerV1(
+                TypeSerializerRegistry.build().add(String.class, new StringSerializer() {}).create());
+        final ResponseMessage response = ResponseMessage.build(UUID.randomUUID())
+                .code(ResponseStatusCode.SUCCESS)
+                .result(Arrays.asList("marko", 1))
+                .create();
+
+        final ByteBuf buffer = replaced.serializeResponseAsBinary(response, allocator);
+        final List<?> items = (List<?>) replaced.deserializeResponseLazily(buffer).getResult().getData();
+        buffer.release();
+        assertEquals("marko", items.get(0));
+        assertEquals(1, ((LazyGraphBinaryValue) items.get(1)).get());
+    }
+
+    @Test
+    public void shouldDeserializeNonListResultLazilyAsUsual() throws SerializationException {
+        final ResponseMessage response = ResponseMessage.build(UUID.randomUUID())
+                .code(ResponseStatusCode.SUCCESS)
+                .result("This is a fine message with a string")
+                .create();
+
+        final ByteBuf buffer = serializer.serializeResponseAsBinary(response, allocator);
+        final ResponseMessage deserialized = serializer.deserializeResponseLazily(buffer);
+        buffer.release();
+        assertResponseEquals(response, deserialized);
+    }
+
     @Test
     public void shouldSupportConfigurationOfRegistryBuilder() {
         final GraphBinaryMessageSerializerV1 serializer = new GraphBinaryMessageSerializerV1();
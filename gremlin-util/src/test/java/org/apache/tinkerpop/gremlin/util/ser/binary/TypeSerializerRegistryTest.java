@@ -117,6 +117,21 @@ public class TypeSerializerRegistryTest {
         assertSame(expected, serializer);
     }
 
+    @Test
+    public void shouldResolveEachClassOnce() throws IOException {
+        final TypeSerializer expected = new SamplePersonSerializer();
+        final int[] called = {0};
+        final TypeSerializerRegistry registry = TypeSerializerRegistry.build()
+                .withFallbackResolver(t -> {
+                    called[0]++;
+                    return expected;
+                }).create();
+
+        assertSame(expected, registry.getSerializer(SamplePerson.class));
+        assertSame(expected, registry.getSerializer(SamplePerson.class));
+        assertEquals(1, called[0]);
+    }
+
     private static class TestVertexPropertySerializer extends TestBaseTypeSerializer<VertexProperty> {
 
         @Override
@@ -42,10 +42,7 @@ import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
 
 import java.util.Collections;
 import java.util.HashSet;
-import java.util.Iterator;
-import java.util.Map;
 import java.util.Optional;
-import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -70,7 +67,6 @@ public final class TinkerGraphComputer implements GraphComputer {
     private VertexProgram<?> vertexProgram;
     private final AbstractTinkerGraph graph;
     private TinkerMemory memory;
-    private final TinkerMessageBoard messageBoard = new TinkerMessageBoard();
     private boolean executed = false;
     private final Set<MapReduce> mapReducers = new HashSet<>();
     private int workers = Runtime.getRuntime().availableProcessors();
@@ -168,26 +164,21 @@ public final class TinkerGraphComputer implements GraphComputer {
             final TinkerWorkerPool workers = new TinkerWorkerPool(this.graph, this.memory, this.workers);
             try {
                 if (null != this.vertexProgram) {
+                    final TinkerMessageBoard<?> messageBoard = new TinkerMessageBoard<>(this.graph, this.vertexProgram.getMessageCombiner());
                     // execute the vertex program
                     this.vertexProgram.setup(this.memory);
                     while (true) {
                         if (Thread.interrupted()) throw new TraversalInterruptedException();
                         this.memory.completeSubRound();
                         workers.setVertexProgram(this.vertexProgram);
-                        workers.executeVertexProgram((vertices, vertexProgram, workerMemory) -> {
-                            vertexProgram.workerIterationStart(workerMemory.asImmutable());
-                            while (vertices.hasNext()) {
-                                final Vertex vertex = vertices.next();
-                                if (Thread.interrupted()) throw new TraversalInterruptedException();
-                                vertexProgram.execute(
-                                        ComputerGraph.vertexProgram(vertex, vertexProgram),
-                                        new TinkerMessenger<>(vertex, this.messageBoard, vertexProgram.getMessageCombiner()),
-                                        workerMemory);
-                            }
-                            vertexProgram.workerIterationEnd(workerMemory.asImmutable());
-                            workerMemory.complete();
+                        workers.executeVertexProgram((vertex, vertexProgram, workerMemory) -> {
+                            if (Thread.interrupted()) throw new TraversalInterruptedException();
+                            vertexProgram.execute(
+                                    ComputerGraph.vertexProgram(vertex, vertexProgram),
+                                    new TinkerMessenger<>(vertex, messageBoard),
+                                    workerMemory);
                         });
-                        this.messageBoard.completeIteration();
+                        messageBoard.completeIteration();
                         this.memory.completeSubRound();
                         if (this.vertexProgram.terminate(this.memory)) {
                             this.memory.incrIteration();
@@ -202,17 +193,10 @@ public final class TinkerGraphComputer implements GraphComputer {
                 // execute mapreduce jobs
                 for (final MapReduce mapReduce : mapReducers) {
                     final TinkerMapEmitter<?, ?> mapEmitter = new TinkerMapEmitter<>(mapReduce.doStage(MapReduce.Stage.REDUCE));
-                    final SynchronizedIterator<Vertex> vertices = new SynchronizedIterator<>(this.graph.vertices());
                     workers.setMapReduce(mapReduce);
-                    workers.executeMapReduce(workerMapReduce -> {
-                        workerMapReduce.workerStart(MapReduce.Stage.MAP);
-                        while (true) {
-                            if (Thread.interrupted()) throw new TraversalInterruptedException();
-                            final Vertex vertex = vertices.next();
-                            if (null == vertex) break;
-                            workerMapReduce.map(ComputerGraph.mapReduce(vertex), mapEmitter);
-                        }
-                        workerMapReduce.workerEnd(MapReduce.Stage.MAP);
+                    workers.executeMap((vertex, workerMapReduce) -> {
+                        if (Thread.interrupted()) throw new TraversalInterruptedException();
+                        workerMapReduce.map(ComputerGraph.mapReduce(vertex), mapEmitter);
                     });
                     // sort results if a map output sort is defined
                     mapEmitter.complete(mapReduce);
@@ -220,16 +204,9 @@ public final class TinkerGraphComputer implements GraphComputer {
                     // no need to run combiners as this is single machine
                     if (mapReduce.doStage(MapReduce.Stage.REDUCE)) {
                         final TinkerReduceEmitter<?, ?> reduceEmitter = new TinkerReduceEmitter<>();
-                        final SynchronizedIterator<Map.Entry<?, Queue<?>>> keyValues = new SynchronizedIterator((Iterator) mapEmitter.reduceMap.entrySet().iterator());
-                        workers.executeMapReduce(workerMapReduce -> {
-                            workerMapReduce.workerStart(MapReduce.Stage.REDUCE);
-                            while (true) {
-                                if (Thread.interrupted()) throw new TraversalInterruptedException();
-                                final Map.Entry<?, Queue<?>> entry = keyValues.next();
-                                if (null == entry) break;
-                                workerMapReduce.reduce(entry.getKey(), entry.getValue().iterator(), reduceEmitter);
-                            }
-                            workerMapReduce.workerEnd(MapReduce.Stage.REDUCE);
+                        workers.executeReduce(mapEmitter.reduceMap, (entry, workerMapReduce) -> {
+                            if (Thread.interrupted()) throw new TraversalInterruptedException();
+                            workerMapReduce.reduce(entry.getKey(), entry.getValue().iterator(), reduceEmitter);
                         });
                         reduceEmitter.complete(mapReduce); // sort results if a reduce output sort is defined
                         mapReduce.addResultToMemory(this.memory, reduceEmitter.reduceQueue.iterator());
@@ -263,19 +240,6 @@ public final class TinkerGraphComputer implements GraphComputer {
         return StringFactory.graphComputerString(this);
     }
 
-    private static class SynchronizedIterator<V> {
-
-        private final Iterator<V> iterator;
-
-        public SynchronizedIterator(final Iterator<V> iterator) {
-            this.iterator = iterator;
-        }
-
-        public synchronized V next() {
-            return this.iterator.hasNext() ? this.iterator.next() : null;
-        }
-    }
-
     @Override
     public Features features() {
         return new Features() {
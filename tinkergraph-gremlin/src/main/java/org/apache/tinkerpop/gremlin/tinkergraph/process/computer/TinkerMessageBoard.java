@@ -18,29 +18,177 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
 
+import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
 import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.AbstractTinkerGraph;
 
-import java.util.HashSet;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Stream;
 
 /**
+ * Holds the messages sent during the current iteration of a {@link TinkerGraphComputer} and those sent during the
+ * previous iteration, which are the ones that are received.
+ * <p/>
+ * Without a {@link MessageCombiner} every message is queued for the vertex it is stored under. With a combiner the
+ * messages are combined as they are sent, so each vertex holds at most one message per {@link MessageScope} and memory
+ * scales with the number of vertices rather than the number of messages. Vertices are given dense indices in the
+ * order the workers are assigned vertices, every scope gets an array with a slot per vertex into which messages are
+ * combined lock-free with compare-and-set, and the arrays of the received messages are cleared and reused for sending
+ * once an iteration completes.
+ * <p/>
+ * Messages of a {@link MessageScope.Local} are stored under the sending vertex and read by its neighbors while those
+ * of a {@link MessageScope.Global} are stored under the receiving vertex.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 final class TinkerMessageBoard<M> {
 
-    public Map<MessageScope, Map<Vertex,Queue<M>>> sendMessages = new ConcurrentHashMap<>();
-    public Map<MessageScope, Map<Vertex, Queue<M>>> receiveMessages = new ConcurrentHashMap<>();
-    public Set<MessageScope> previousMessageScopes = new HashSet<>();
-    public Set<MessageScope> currentMessageScopes = new HashSet<>();
+    /**
+     * Number of scope instances that can be remembered as aliases of an equal scope, as {@link MessageScope.Local}
+     * is costly to compare and vertex program clones hold their own, equal, instances.
+     */
+    private static final int MAX_SCOPES = 64;
+
+    private final MessageCombiner<M> combiner;
+
+    // messages of vertex programs without a combiner
+    private Map<MessageScope, Map<Vertex, Queue<M>>> sendMessages = new ConcurrentHashMap<>();
+    private Map<MessageScope, Map<Vertex, Queue<M>>> receiveMessages = new ConcurrentHashMap<>();
+
+    // messages of vertex programs with a combiner
+    private final Map<Object, Integer> vertexIndices;
+    private volatile ScopedMessages<M>[] sendCombined = new ScopedMessages[0];
+    private ScopedMessages<M>[] receiveCombined = new ScopedMessages[0];
+    private final Deque<AtomicReferenceArray<M>> spareArrays = new ArrayDeque<>();
+
+    public TinkerMessageBoard(final AbstractTinkerGraph graph, final Optional<MessageCombiner<M>> combiner) {
+        this.combiner = combiner.orElse(null);
+        if (null == this.combiner) {
+            this.vertexIndices = null;
+        } else {
+            this.vertexIndices = new HashMap<>((int) (graph.getVerticesCount() / 0.75f) + 1);
+            final Iterator<Vertex> vertices = graph.vertices();
+            while (vertices.hasNext()) {
+                this.vertexIndices.put(vertices.next().id(), this.vertexIndices.size());
+            }
+        }
+    }
+
+    public void sendMessage(final MessageScope messageScope, final Vertex vertex, final M message) {
+        if (null == this.combiner) {
+            this.sendMessages.computeIfAbsent(messageScope, ms -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(vertex, v -> new ConcurrentLinkedQueue<>()).add(message);
+            return;
+        }
+
+        // a vertex outside of the computation never executes so it could not read the message
+        final Integer index = this.vertexIndices.get(vertex.id());
+        if (null == index) return;
+
+        final AtomicReferenceArray<M> messages = sendArray(messageScope);
+        M current;
+        do {
+            current = messages.get(index);
+        } while (!messages.compareAndSet(index, current, null == current ? message : this.combiner.combine(current, message)));
+    }
+
+    /**
+     * Gets the scopes that messages were received for.
+     */
+    public Set<MessageScope> receiveMessageScopes() {
+        if (null == this.combiner) return this.receiveMessages.keySet();
+
+        final Set<MessageScope> messageScopes = new LinkedHashSet<>();
+        for (ScopedMessages<M> scopedMessages : this.receiveCombined) {
+            if (!scopedMessages.alias) messageScopes.add(scopedMessages.messageScope);
+        }
+        return messageScopes;
+    }
+
+    /**
+     * Gets the messages received under the vertex for one of the {@link #receiveMessageScopes()}.
+     */
+    public Stream<M> receiveMessages(final MessageScope messageScope, final Vertex vertex) {
+        if (null == this.combiner) {
+            final Map<Vertex, Queue<M>> messages = this.receiveMessages.get(messageScope);
+            final Queue<M> queue = null == messages ? null : messages.get(vertex);
+            return null == queue ? Stream.empty() : queue.stream();
+        }
+
+        final Integer index = this.vertexIndices.get(vertex.id());
+        if (null == index) return Stream.empty();
+        for (ScopedMessages<M> scopedMessages : this.receiveCombined) {
+            if (scopedMessages.messageScope == messageScope) {
+                final M message = scopedMessages.messages.get(index);
+                return null == message ? Stream.empty() : Stream.of(message);
+            }
+        }
+        return Stream.empty();
+    }
 
     public void completeIteration() {
         this.receiveMessages = this.sendMessages;
         this.sendMessages = new ConcurrentHashMap<>();
-        this.previousMessageScopes = this.currentMessageScopes;
-        this.currentMessageScopes = new HashSet<>();
+
+        for (ScopedMessages<M> scopedMessages : this.receiveCombined) {
+            if (scopedMessages.alias) continue;
+            final AtomicReferenceArray<M> messages = scopedMessages.messages;
+            for (int i = 0; i < messages.length(); i++) {
+                messages.lazySet(i, null);
+            }
+            this.spareArrays.push(messages);
+        }
+        this.receiveCombined = this.sendCombined;
+        this.sendCombined = new ScopedMessages[0];
+    }
+
+    private AtomicReferenceArray<M> sendArray(final MessageScope messageScope) {
+        for (ScopedMessages<M> scopedMessages : this.sendCombined) {
+            if (scopedMessages.messageScope == messageScope) return scopedMessages.messages;
+        }
+
+        synchronized (this) {
+            final ScopedMessages<M>[] current = this.sendCombined;
+            AtomicReferenceArray<M> messages = null;
+            for (ScopedMessages<M> scopedMessages : current) {
+                if (scopedMessages.messageScope == messageScope) return scopedMessages.messages;
+                if (!scopedMessages.alias && scopedMessages.messageScope.equals(messageScope)) messages = scopedMessages.messages;
+            }
+
+            final boolean alias = null != messages;
+            if (alias && current.length >= MAX_SCOPES) return messages;
+            if (!alias) messages = this.spareArrays.isEmpty() ?
+                    new AtomicReferenceArray<>(this.vertexIndices.size()) : this.spareArrays.pop();
+
+            final ScopedMessages<M>[] updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = new ScopedMessages<>(messageScope, messages, alias);
+            this.sendCombined = updated;
+            return messages;
+        }
+    }
+
+    private static final class ScopedMessages<M> {
+        private final MessageScope messageScope;
+        private final AtomicReferenceArray<M> messages;
+        private final boolean alias;
+
+        private ScopedMessages(final MessageScope messageScope, final AtomicReferenceArray<M> messages, final boolean alias) {
+            this.messageScope = messageScope;
+            this.messages = messages;
+            this.alias = alias;
+        }
     }
 }
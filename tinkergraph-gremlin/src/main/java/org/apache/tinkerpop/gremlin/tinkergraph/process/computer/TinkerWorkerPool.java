@@ -18,71 +18,91 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
 
-import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.apache.tinkerpop.gremlin.process.computer.MapReduce;
 import org.apache.tinkerpop.gremlin.process.computer.VertexProgram;
 import org.apache.tinkerpop.gremlin.process.computer.util.MapReducePool;
 import org.apache.tinkerpop.gremlin.process.computer.util.VertexProgramPool;
+import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.AbstractTinkerGraph;
-import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
-import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
 import org.apache.tinkerpop.gremlin.util.function.TriConsumer;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
-import java.util.concurrent.CompletionService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.ExecutorCompletionService;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
+ * Executes vertex programs and map reduce jobs on a {@code ForkJoinPool}. Vertices are split once into chunks of
+ * about the same number of vertices plus incident edges, so that a few high degree vertices of a power-law graph do not
+ * leave one worker with most of the work, and there are several chunks per worker which idle workers steal from busy
+ * ones. A worker takes a {@link VertexProgram} or {@link MapReduce} clone and a {@link TinkerWorkerMemory} for itself
+ * when it processes its first chunk of a round and keeps them for all the chunks it processes in that round.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  * @author Stephen Mallette (http://stephen.genoprime.com)
  */
 public final class TinkerWorkerPool implements AutoCloseable {
 
-    private static final BasicThreadFactory THREAD_FACTORY_WORKER = new BasicThreadFactory.Builder().namingPattern("tinker-worker-%d").build();
+    private static final AtomicInteger WORKER_COUNTER = new AtomicInteger();
+
+    /**
+     * Number of chunks per worker that the vertices are split into, leaving room to even out the load by stealing.
+     */
+    private static final int CHUNKS_PER_WORKER = 8;
 
     private final int numberOfWorkers;
-    private final ExecutorService workerPool;
-    private final CompletionService<Object> completionService;
+    private final ForkJoinPool workerPool;
 
     private VertexProgramPool vertexProgramPool;
     private MapReducePool mapReducePool;
+    private final TinkerMemory memory;
     private final Queue<TinkerWorkerMemory> workerMemoryPool = new ConcurrentLinkedQueue<>();
-    private final List<List<Vertex>> workerVertices = new ArrayList<>();
+    private final List<List<Vertex>> vertexChunks = new ArrayList<>();
 
     public TinkerWorkerPool(final AbstractTinkerGraph graph, final TinkerMemory memory, final int numberOfWorkers) {
         this.numberOfWorkers = numberOfWorkers;
-        this.workerPool = Executors.newFixedThreadPool(numberOfWorkers, THREAD_FACTORY_WORKER);
-        this.completionService = new ExecutorCompletionService<>(this.workerPool);
-        for (int i = 0; i < this.numberOfWorkers; i++) {
-            this.workerMemoryPool.add(new TinkerWorkerMemory(memory));
-            this.workerVertices.add(new ArrayList<>());
+        this.memory = memory;
+        this.workerPool = new ForkJoinPool(numberOfWorkers, pool -> {
+            final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("tinker-worker-" + WORKER_COUNTER.getAndIncrement());
+            return thread;
+        }, null, false);
+
+        final List<Vertex> vertices = IteratorUtils.list(graph.vertices());
+        final int[] weights = new int[vertices.size()];
+        long totalWeight = 0;
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = 1 + (int) IteratorUtils.count(vertices.get(i).edges(Direction.BOTH));
+            totalWeight += weights[i];
         }
-        int batchSize = graph.getVerticesCount() / this.numberOfWorkers;
-        if (0 == batchSize)
-            batchSize = 1;
-        int counter = 0;
-        int index = 0;
-
-        List<Vertex> currentWorkerVertices = this.workerVertices.get(index);
-        final Iterator<Vertex> iterator = graph.vertices();
-        while (iterator.hasNext()) {
-            final Vertex vertex = iterator.next();
-            if (counter++ < batchSize || index == this.workerVertices.size() - 1) {
-                currentWorkerVertices.add(vertex);
-            } else {
-                currentWorkerVertices = this.workerVertices.get(++index);
-                currentWorkerVertices.add(vertex);
-                counter = 1;
+
+        final long chunkWeight = Math.max(1, totalWeight / ((long) numberOfWorkers * CHUNKS_PER_WORKER));
+        List<Vertex> chunk = new ArrayList<>();
+        long weight = 0;
+        for (int i = 0; i < vertices.size(); i++) {
+            chunk.add(vertices.get(i));
+            weight += weights[i];
+            if (weight >= chunkWeight) {
+                this.vertexChunks.add(chunk);
+                chunk = new ArrayList<>();
+                weight = 0;
             }
         }
+        if (!chunk.isEmpty()) this.vertexChunks.add(chunk);
     }
 
     public void setVertexProgram(final VertexProgram vertexProgram) {
@@ -93,50 +113,98 @@ public final class TinkerWorkerPool implements AutoCloseable {
         this.mapReducePool = new MapReducePool(mapReduce, this.numberOfWorkers);
     }
 
-    public void executeVertexProgram(final TriConsumer<Iterator<Vertex>, VertexProgram, TinkerWorkerMemory> worker) throws InterruptedException {
-        for (int i = 0; i < this.numberOfWorkers; i++) {
-            final int index = i;
-            this.completionService.submit(() -> {
-                final VertexProgram vp = this.vertexProgramPool.take();
-                final TinkerWorkerMemory workerMemory = this.workerMemoryPool.poll();
-                final List<Vertex> vertices = this.workerVertices.get(index);
-                worker.accept(vertices.iterator(), vp, workerMemory);
-                this.vertexProgramPool.offer(vp);
-                this.workerMemoryPool.offer(workerMemory);
-                return null;
-            });
-        }
-        for (int i = 0; i < this.numberOfWorkers; i++) {
-            try {
-                this.completionService.take().get();
-            } catch (InterruptedException ie) {
-                throw ie;
-            } catch (final Exception e) {
-                throw new IllegalStateException(e.getMessage(), e);
-            }
+    /**
+     * Executes the current {@link VertexProgram} for every vertex, bracketing the vertices processed by each worker
+     * with {@link VertexProgram#workerIterationStart} and {@link VertexProgram#workerIterationEnd}.
+     */
+    public void executeVertexProgram(final TriConsumer<Vertex, VertexProgram, TinkerWorkerMemory> worker) throws InterruptedException {
+        execute(this.vertexChunks, () -> {
+            final VertexProgram vp = this.vertexProgramPool.take();
+            final TinkerWorkerMemory workerMemory = takeWorkerMemory();
+            vp.workerIterationStart(workerMemory.asImmutable());
+            return new WorkerState<>(vp, workerMemory);
+        }, (state, vertex) -> worker.accept(vertex, state.program, state.workerMemory), state -> {
+            state.program.workerIterationEnd(state.workerMemory.asImmutable());
+            state.workerMemory.complete();
+            this.vertexProgramPool.offer(state.program);
+            this.workerMemoryPool.offer(state.workerMemory);
+        });
+    }
+
+    /**
+     * Executes the map stage of the current {@link MapReduce} for every vertex.
+     */
+    public void executeMap(final BiConsumer<Vertex, MapReduce> worker) throws InterruptedException {
+        execute(this.vertexChunks, () -> {
+            final MapReduce mr = this.mapReducePool.take();
+            mr.workerStart(MapReduce.Stage.MAP);
+            return mr;
+        }, (mr, vertex) -> worker.accept(vertex, mr), mr -> {
+            mr.workerEnd(MapReduce.Stage.MAP);
+            this.mapReducePool.offer(mr);
+        });
+    }
+
+    /**
+     * Executes the reduce stage of the current {@link MapReduce} for every key.
+     */
+    public <K, V> void executeReduce(final Map<K, V> keyValues, final BiConsumer<Map.Entry<K, V>, MapReduce> worker) throws InterruptedException {
+        final List<Map.Entry<K, V>> entries = new ArrayList<>(keyValues.entrySet());
+        final int chunkSize = Math.max(1, entries.size() / (this.numberOfWorkers * CHUNKS_PER_WORKER));
+        final List<List<Map.Entry<K, V>>> chunks = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i = i + chunkSize) {
+            chunks.add(entries.subList(i, Math.min(entries.size(), i + chunkSize)));
         }
+
+        execute(chunks, () -> {
+            final MapReduce mr = this.mapReducePool.take();
+            mr.workerStart(MapReduce.Stage.REDUCE);
+            return mr;
+        }, (mr, entry) -> worker.accept(entry, mr), mr -> {
+            mr.workerEnd(MapReduce.Stage.REDUCE);
+            this.mapReducePool.offer(mr);
+        });
     }
 
-    public void executeMapReduce(final Consumer<MapReduce> worker) throws InterruptedException {
-        for (int i = 0; i < this.numberOfWorkers; i++) {
-            this.completionService.submit(() -> {
-                final MapReduce mr = this.mapReducePool.take();
-                worker.accept(mr);
-                this.mapReducePool.offer(mr);
+    /**
+     * Processes the chunks with work stealing, starting a worker state on every thread that processes a chunk and
+     * ending all of them once every chunk is done.
+     */
+    private <S, T> void execute(final List<List<T>> chunks, final Supplier<S> start, final BiConsumer<S, T> work,
+                                final Consumer<S> end) throws InterruptedException {
+        final Map<Thread, S> states = new ConcurrentHashMap<>();
+        await(this.workerPool.submit(new ChunkTask<>(chunks, 0, chunks.size(), chunk -> {
+            final S state = states.computeIfAbsent(Thread.currentThread(), t -> start.get());
+            for (T item : chunk) {
+                work.accept(state, item);
+            }
+        })));
+
+        final List<Callable<Object>> ends = new ArrayList<>();
+        for (S state : states.values()) {
+            ends.add(() -> {
+                end.accept(state);
                 return null;
             });
         }
-        for (int i = 0; i < this.numberOfWorkers; i++) {
-            try {
-                this.completionService.take().get();
-            } catch (InterruptedException ie) {
-                throw ie;
-            } catch (final Exception e) {
-                throw new IllegalStateException(e.getMessage(), e);
-            }
+        for (Future<Object> future : this.workerPool.invokeAll(ends)) {
+            await(future);
         }
     }
 
+    private static void await(final Future<?> future) throws InterruptedException {
+        try {
+            future.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    private TinkerWorkerMemory takeWorkerMemory() {
+        final TinkerWorkerMemory workerMemory = this.workerMemoryPool.poll();
+        return null == workerMemory ? new TinkerWorkerMemory(this.memory) : workerMemory;
+    }
+
     public void closeNow() throws Exception {
         this.workerPool.shutdownNow();
     }
@@ -145,4 +213,42 @@ public final class TinkerWorkerPool implements AutoCloseable {
     public void close() throws Exception {
         this.workerPool.shutdown();
     }
-}
\ No newline at end of file
+
+    private static final class WorkerState<P> {
+        private final P program;
+        private final TinkerWorkerMemory workerMemory;
+
+        private WorkerState(final P program, final TinkerWorkerMemory workerMemory) {
+            this.program = program;
+            this.workerMemory = workerMemory;
+        }
+    }
+
+    /**
+     * Splits a range of chunks in halves until a single chunk is left, so that idle workers steal the larger halves
+     * that were forked first.
+     */
+    private static final class ChunkTask<T> extends RecursiveAction {
+        private final List<List<T>> chunks;
+        private final int from;
+        private final int to;
+        private final Consumer<List<T>> process;
+
+        private ChunkTask(final List<List<T>> chunks, final int from, final int to, final Consumer<List<T>> process) {
+            this.chunks = chunks;
+            this.from = from;
+            this.to = to;
+            this.process = process;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                process.accept(chunks.get(from));
+            } else if (to - from > 1) {
+                final int middle = (from + to) >>> 1;
+                invokeAll(new ChunkTask<>(chunks, from, middle, process), new ChunkTask<>(chunks, middle, to, process));
+            }
+        }
+    }
+}
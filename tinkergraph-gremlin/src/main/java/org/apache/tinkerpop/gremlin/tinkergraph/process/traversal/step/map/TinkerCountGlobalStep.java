@@ -19,18 +19,31 @@
 
 package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.map;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
 import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.AbstractTinkerGraph;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerIndexHelper;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.javatuples.Pair;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 
 /**
@@ -39,11 +52,21 @@ import java.util.NoSuchElementException;
 public final class TinkerCountGlobalStep<S extends Element> extends AbstractStep<S, Long> {
 
     private final Class<S> elementClass;
+    private final List<HasContainer> hasContainers;
     private boolean done = false;
 
     public TinkerCountGlobalStep(final Traversal.Admin traversal, final Class<S> elementClass) {
+        this(traversal, elementClass, Collections.emptyList());
+    }
+
+    /**
+     * Counts the elements that match the equality conditions which should be answered exactly by a single index
+     * entry as determined by {@link #getExactIndexEntry(AbstractTinkerGraph, Class, List)}.
+     */
+    public TinkerCountGlobalStep(final Traversal.Admin traversal, final Class<S> elementClass, final List<HasContainer> hasContainers) {
         super(traversal);
         this.elementClass = elementClass;
+        this.hasContainers = new ArrayList<>(hasContainers);
     }
 
     @Override
@@ -51,22 +74,69 @@ public final class TinkerCountGlobalStep<S extends Element> extends AbstractStep
         if (!this.done) {
             this.done = true;
             final AbstractTinkerGraph graph = (AbstractTinkerGraph) this.getTraversal().getGraph().get();
-            return this.getTraversal().getTraverserGenerator().generate(Vertex.class.isAssignableFrom(this.elementClass) ?
-                            (long) graph.getVerticesCount() :
-                            (long) graph.getEdgesCount(),
-                    (Step) this, 1L);
+            final long count;
+            if (this.hasContainers.isEmpty())
+                count = Vertex.class.isAssignableFrom(this.elementClass) ? graph.getVerticesCount() : graph.getEdgesCount();
+            else
+                count = this.countIndexed(graph);
+            return this.getTraversal().getTraverserGenerator().generate(count, (Step) this, 1L);
         } else
             throw FastNoSuchElementException.instance();
     }
 
+    private long countIndexed(final AbstractTinkerGraph graph) {
+        final Pair<String, Object> entry = getExactIndexEntry(graph, this.elementClass, this.hasContainers);
+        if (null != entry)
+            return Vertex.class.isAssignableFrom(this.elementClass) ?
+                    TinkerIndexHelper.countVertexIndex(graph, entry.getValue0(), entry.getValue1()) :
+                    TinkerIndexHelper.countEdgeIndex(graph, entry.getValue0(), entry.getValue1());
+
+        // the index was dropped after the strategies were applied so fall back to testing every element
+        final Iterator<? extends Element> elements = Vertex.class.isAssignableFrom(this.elementClass) ? graph.vertices() : graph.edges();
+        try {
+            return IteratorUtils.count(IteratorUtils.filter(elements, e -> HasContainer.testAll(e, this.hasContainers)));
+        } finally {
+            CloseableIterator.closeIterator(elements);
+        }
+    }
+
+    /**
+     * Finds the index entry that holds exactly the elements matching the {@link HasContainer} instances, which is
+     * only possible when they are all equalities on distinct keys.
+     *
+     * @return the index key and value of the entry or {@code null} if there is none
+     */
+    public static Pair<String, Object> getExactIndexEntry(final AbstractTinkerGraph graph, final Class<? extends Element> elementClass,
+                                                          final List<HasContainer> hasContainers) {
+        String label = null;
+        final Map<String, Object> values = new HashMap<>();
+        for (final HasContainer hasContainer : hasContainers) {
+            if (hasContainer.getBiPredicate() != Compare.eq || null == hasContainer.getValue())
+                return null;
+
+            if (T.label.getAccessor().equals(hasContainer.getKey())) {
+                if (null != label || !(hasContainer.getValue() instanceof String)) return null;
+                label = (String) hasContainer.getValue();
+            } else if (null != values.put(hasContainer.getKey(), hasContainer.getValue()))
+                return null;
+        }
+        return TinkerIndexHelper.getExactIndexEntry(graph, elementClass, label, values);
+    }
+
+    public List<HasContainer> getHasContainers() {
+        return Collections.unmodifiableList(this.hasContainers);
+    }
+
     @Override
     public String toString() {
-        return StringFactory.stepString(this, this.elementClass.getSimpleName().toLowerCase());
+        return this.hasContainers.isEmpty() ?
+                StringFactory.stepString(this, this.elementClass.getSimpleName().toLowerCase()) :
+                StringFactory.stepString(this, this.elementClass.getSimpleName().toLowerCase(), this.hasContainers);
     }
 
     @Override
     public int hashCode() {
-        return super.hashCode() ^ this.elementClass.hashCode();
+        return super.hashCode() ^ this.elementClass.hashCode() ^ this.hasContainers.hashCode();
     }
 
     @Override
@@ -20,28 +20,40 @@ package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.sideEffe
 
 import org.apache.tinkerpop.gremlin.process.traversal.Compare;
 import org.apache.tinkerpop.gremlin.process.traversal.GremlinTypeErrorException;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Text;
 import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Mutating;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.FilterStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.util.AndP;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.AbstractTinkerGraph;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.AbstractTinkerGraph.IndexType;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.AbstractTinkerIndex.CompositeIndex;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraphIterator;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerIndexHelper;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.BiPredicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -50,11 +62,26 @@ import java.util.stream.Collectors;
  */
 public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E> implements HasContainerHolder, AutoCloseable {
 
-    private final List<HasContainer> hasContainers = new ArrayList<>();
+    private static final String LABEL_KEY = org.apache.tinkerpop.gremlin.structure.T.label.getAccessor();
+
+    private List<HasContainer> hasContainers = new ArrayList<>();
     /**
      * List of iterators opened by this step.
      */
-    private final List<Iterator> iterators = new ArrayList<>();
+    private List<Iterator> iterators = new ArrayList<>();
+
+    /**
+     * Property key and direction of an {@code order().by(key)} folded into this step, along with the number of
+     * elements that are needed from the front of that order.
+     */
+    private String orderKey = null;
+    private Order order = null;
+    private long orderLimit = Long.MAX_VALUE;
+
+    /**
+     * Whether the root traversal has {@link Mutating} steps, determined on the first index lookup.
+     */
+    private Boolean mutatingTraversal = null;
 
     public TinkerGraphStep(final GraphStep<S, E> originalGraphStep) {
         super(originalGraphStep.getTraversal(), originalGraphStep.getReturnClass(), originalGraphStep.isStartStep(), originalGraphStep.getIds());
@@ -64,25 +91,34 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
         // but that allowed the filter in g.V(v).has('k','v') to be ignored.  this created problems for
         // PartitionStrategy which wants to prevent someone from passing "v" from one TraversalSource to
         // another TraversalSource using a different partition
-        this.setIteratorSupplier(() -> (Iterator<E>) (Vertex.class.isAssignableFrom(this.returnClass) ? this.vertices() : this.edges()));
+        this.setIteratorSupplier(this.elementSupplier());
+    }
+
+    private Supplier<Iterator<E>> elementSupplier() {
+        return () -> (Iterator<E>) (Vertex.class.isAssignableFrom(this.returnClass) ? this.vertices() : this.edges());
     }
 
     private Iterator<? extends Edge> edges() {
         final AbstractTinkerGraph graph = (AbstractTinkerGraph) this.getTraversal().getGraph().get();
-        final HasContainer indexedContainer = getIndexKey(Edge.class);
         Iterator<Edge> iterator;
         // ids are present, filter on them first
         if (null == this.ids)
             iterator = Collections.emptyIterator();
+        else if (null != this.orderKey)
+            iterator = this.orderedElements(graph, Edge.class);
         else if (this.ids.length > 0)
             iterator = this.iteratorList(graph.edges(this.ids));
-        else
-            iterator = null == indexedContainer ?
-                    this.iteratorList(graph.edges()) :
-                    TinkerIndexHelper.queryEdgeIndex(graph, indexedContainer.getKey(), indexedContainer.getPredicate().getValue()).stream()
-                                .filter(edge -> HasContainer.testAll(edge, this.hasContainers))
-                                .collect(Collectors.<Edge>toList()).iterator();
-
+        else {
+            final Iterator<? extends Edge> indexed = this.queryIndex(graph, Edge.class);
+            if (null != indexed)
+                iterator = IteratorUtils.filter((Iterator<Edge>) indexed, edge -> HasContainer.testAll(edge, this.hasContainers));
+            else {
+                final List<? extends Edge> ranged = this.queryRangeIndex(graph, Edge.class);
+                iterator = null == ranged ?
+                        this.iteratorList(graph.edges()) :
+                        this.iteratorList((Iterator<Edge>) ranged.iterator());
+            }
+        }
 
         iterators.add(iterator);
 
@@ -91,36 +127,238 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
 
     private Iterator<? extends Vertex> vertices() {
         final AbstractTinkerGraph graph = (AbstractTinkerGraph) this.getTraversal().getGraph().get();
-        final HasContainer indexedContainer = getIndexKey(Vertex.class);
         Iterator<? extends Vertex> iterator;
         // ids are present, filter on them first
         if (null == this.ids)
             iterator = Collections.emptyIterator();
+        else if (null != this.orderKey)
+            iterator = this.orderedElements(graph, Vertex.class);
         else if (this.ids.length > 0)
             iterator = this.iteratorList(graph.vertices(this.ids));
-        else
-            iterator = (null == indexedContainer ?
-                    this.iteratorList(graph.vertices()) :
-                    IteratorUtils.filter(TinkerIndexHelper.queryVertexIndex(graph, indexedContainer.getKey(), indexedContainer.getPredicate().getValue()).iterator(),
-                                         vertex -> HasContainer.testAll(vertex, this.hasContainers)));
+        else {
+            final Iterator<? extends Vertex> indexed = this.queryIndex(graph, Vertex.class);
+            if (null != indexed)
+                iterator = IteratorUtils.filter(indexed, vertex -> HasContainer.testAll(vertex, this.hasContainers));
+            else {
+                final List<? extends Vertex> ranged = this.queryRangeIndex(graph, Vertex.class);
+                iterator = null == ranged ?
+                        this.iteratorList(graph.vertices()) :
+                        this.iteratorList((Iterator<Vertex>) ranged.iterator());
+            }
+        }
 
         iterators.add(iterator);
 
         return iterator;
     }
 
-    private HasContainer getIndexKey(final Class<? extends Element> indexedClass) {
-        final Set<String> indexedKeys = ((AbstractTinkerGraph) this.getTraversal().getGraph().get()).getIndexedKeys(indexedClass);
+    /**
+     * Looks up candidate elements in a {@link IndexType#RANGE} index using the bounds of all the range predicates
+     * on the first range indexed key, returning {@code null} if no such index applies. The candidates still need to
+     * be tested against all {@link HasContainer} instances.
+     */
+    private <T extends Element> List<? extends T> queryRangeIndex(final AbstractTinkerGraph graph, final Class<T> indexedClass) {
+        final Set<String> rangeKeys = graph.getIndexedKeys(indexedClass, IndexType.RANGE);
+        if (rangeKeys.isEmpty()) return null;
+
+        for (final HasContainer hasContainer : this.hasContainers) {
+            final String key = hasContainer.getKey();
+            if (!rangeKeys.contains(key) || !isRangePredicate(hasContainer)) continue;
+
+            Object lower = null, upper = null;
+            boolean lowerInclusive = true, upperInclusive = true;
+            for (final HasContainer c : this.hasContainers) {
+                if (!key.equals(c.getKey()) || !isRangePredicate(c)) continue;
+
+                final BiPredicate<?, ?> biPredicate = c.getBiPredicate();
+                final Object value = c.getValue();
+                if (biPredicate == Compare.gt || biPredicate == Compare.gte) {
+                    final int cmp = null == lower ? 1 : Order.asc.compare(value, lower);
+                    if (cmp > 0 || (cmp == 0 && biPredicate == Compare.gt)) {
+                        lower = value;
+                        lowerInclusive = biPredicate == Compare.gte;
+                    }
+                } else if (biPredicate == Compare.lt || biPredicate == Compare.lte) {
+                    final int cmp = null == upper ? -1 : Order.asc.compare(value, upper);
+                    if (cmp < 0 || (cmp == 0 && biPredicate == Compare.lt)) {
+                        upper = value;
+                        upperInclusive = biPredicate == Compare.lte;
+                    }
+                } else if (biPredicate == Text.startingWith) {
+                    // a prefix spans from itself up to, but excluding, the next prefix of the same length
+                    final String prefix = (String) value;
+                    lower = prefix;
+                    lowerInclusive = true;
+                    upper = nextPrefix(prefix);
+                    upperInclusive = false;
+                }
+            }
+
+            return Vertex.class.isAssignableFrom(indexedClass) ?
+                    (List<? extends T>) TinkerIndexHelper.queryVertexIndex(graph, key, lower, lowerInclusive, upper, upperInclusive) :
+                    (List<? extends T>) TinkerIndexHelper.queryEdgeIndex(graph, key, lower, lowerInclusive, upper, upperInclusive);
+        }
+
+        return null;
+    }
+
+    private static boolean isRangePredicate(final HasContainer hasContainer) {
+        final BiPredicate<?, ?> biPredicate = hasContainer.getBiPredicate();
+        final Object value = hasContainer.getValue();
+        if (null == value) return false;
+        return biPredicate == Compare.gt || biPredicate == Compare.gte || biPredicate == Compare.lt || biPredicate == Compare.lte ||
+                (biPredicate == Text.startingWith && value instanceof String);
+    }
 
-        final Iterator<HasContainer> itty = IteratorUtils.filter(hasContainers.iterator(),
-                c -> c.getPredicate().getBiPredicate() == Compare.eq && indexedKeys.contains(c.getKey()));
-        return itty.hasNext() ? itty.next() : null;
+    /**
+     * Gets the smallest string greater than all strings starting with the prefix or {@code null} if there is none.
+     */
+    private static String nextPrefix(final String prefix) {
+        final StringBuilder next = new StringBuilder(prefix);
+        for (int i = next.length() - 1; i >= 0; i--) {
+            if (next.charAt(i) != Character.MAX_VALUE) {
+                next.setCharAt(i, (char) (next.charAt(i) + 1));
+                next.setLength(i + 1);
+                return next.toString();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Produces the elements in the order of the folded {@code order().by(key)} which comes straight from a
+     * {@link IndexType#RANGE} index when one exists for the key and otherwise falls back to sorting all matches.
+     * Elements without the key are filtered as {@code by(key)} would.
+     */
+    private <T extends Element> Iterator<T> orderedElements(final AbstractTinkerGraph graph, final Class<T> indexedClass) {
+        if (this.ids.length == 0 && graph.getIndexedKeys(indexedClass, IndexType.RANGE).contains(this.orderKey)) {
+            final List<? extends Element> ordered = Vertex.class.isAssignableFrom(indexedClass) ?
+                    TinkerIndexHelper.queryVertexIndexOrdered(graph, this.orderKey, this.order, this::testOrdered, this.orderLimit) :
+                    TinkerIndexHelper.queryEdgeIndexOrdered(graph, this.orderKey, this.order, this::testOrdered, this.orderLimit);
+            return new TinkerGraphIterator<>((Iterator<T>) ordered.iterator());
+        }
 
+        final Iterator<T> unordered = Vertex.class.isAssignableFrom(indexedClass) ?
+                (Iterator<T>) (this.ids.length > 0 ? graph.vertices(this.ids) : graph.vertices()) :
+                (Iterator<T>) (this.ids.length > 0 ? graph.edges(this.ids) : graph.edges());
+        final List<T> list = IteratorUtils.list(IteratorUtils.filter(this.iteratorList(unordered), e -> e.property(this.orderKey).isPresent()));
+        list.sort((a, b) -> this.order.compare(a.value(this.orderKey), b.value(this.orderKey)));
+        return new TinkerGraphIterator<>(list.iterator());
+    }
+
+    private boolean testOrdered(final Element element) {
+        // resolving the property raises the same error that by(key) would on a multi-property
+        return element.property(this.orderKey).isPresent() && this.test(element);
+    }
+
+    /**
+     * Folds {@code order().by(key)} into this step so that elements are produced in that order.
+     *
+     * @param key   the property key to order by
+     * @param order either {@link Order#asc} or {@link Order#desc}
+     * @param limit the number of elements needed from the front of the order
+     */
+    public void setOrder(final String key, final Order order, final long limit) {
+        if (order != Order.asc && order != Order.desc)
+            throw new IllegalArgumentException("Only Order.asc and Order.desc can be folded into " + getClass().getSimpleName());
+        this.orderKey = Objects.requireNonNull(key);
+        this.order = order;
+        this.orderLimit = limit;
+    }
+
+    /**
+     * Gets the property key of a folded {@code order().by(key)} or {@code null} if no order was folded.
+     */
+    public String getOrderKey() {
+        return this.orderKey;
+    }
+
+    /**
+     * Looks up candidate elements in the most selective index that can answer the equality predicates, returning
+     * {@code null} if no such index applies. Every single key index on an equality key and every composite index
+     * whose label and keys are all covered by equalities is a candidate, and the one holding the fewest elements for
+     * the values in question wins with ties going to composite indexes. The candidates are streamed from the index
+     * without being copied and still need to be tested against all {@link HasContainer} instances, unless the
+     * traversal has {@link Mutating} steps, in which case they are copied first so that its own writes to the index
+     * are not seen while iterating.
+     */
+    private <T extends Element> Iterator<? extends T> queryIndex(final AbstractTinkerGraph graph, final Class<T> indexedClass) {
+        final Set<String> indexedKeys = graph.getIndexedKeys(indexedClass);
+        final Collection<CompositeIndex> compositeIndexes = graph.getCompositeIndexes(indexedClass);
+        if (indexedKeys.isEmpty() && compositeIndexes.isEmpty() || !graph.isIndexCurrent()) return null;
+
+        final Map<String, Object> equalities = new HashMap<>();
+        for (final HasContainer hasContainer : this.hasContainers) {
+            if (hasContainer.getBiPredicate() == Compare.eq && !equalities.containsKey(hasContainer.getKey()))
+                equalities.put(hasContainer.getKey(), hasContainer.getValue());
+        }
+        if (equalities.isEmpty()) return null;
+
+        final boolean vertices = Vertex.class.isAssignableFrom(indexedClass);
+        String bestKey = null;
+        Object bestValue = null;
+        long bestCount = Long.MAX_VALUE;
+
+        final Object label = equalities.get(LABEL_KEY);
+        for (final CompositeIndex compositeIndex : compositeIndexes) {
+            if (null != compositeIndex.getLabel() && !compositeIndex.getLabel().equals(label)) continue;
+            if (!equalities.keySet().containsAll(compositeIndex.getKeys())) continue;
+
+            final Object value = compositeIndex.indexValue(compositeIndex.getKeys().stream().map(equalities::get).collect(Collectors.toList()));
+            final long count = vertices ?
+                    TinkerIndexHelper.countVertexIndex(graph, compositeIndex.getIndexKey(), value) :
+                    TinkerIndexHelper.countEdgeIndex(graph, compositeIndex.getIndexKey(), value);
+            if (count < bestCount) {
+                bestKey = compositeIndex.getIndexKey();
+                bestValue = value;
+                bestCount = count;
+            }
+        }
+
+        for (final Map.Entry<String, Object> equality : equalities.entrySet()) {
+            if (!indexedKeys.contains(equality.getKey())) continue;
+
+            final long count = vertices ?
+                    TinkerIndexHelper.countVertexIndex(graph, equality.getKey(), equality.getValue()) :
+                    TinkerIndexHelper.countEdgeIndex(graph, equality.getKey(), equality.getValue());
+            if (count < bestCount) {
+                bestKey = equality.getKey();
+                bestValue = equality.getValue();
+                bestCount = count;
+            }
+        }
+
+        if (null == bestKey) return null;
+        if (0 == bestCount) return Collections.emptyIterator();
+
+        if (isMutatingTraversal())
+            return vertices ?
+                    (Iterator<? extends T>) TinkerIndexHelper.queryVertexIndex(graph, bestKey, bestValue).iterator() :
+                    (Iterator<? extends T>) TinkerIndexHelper.queryEdgeIndex(graph, bestKey, bestValue).iterator();
+
+        return vertices ?
+                (Iterator<? extends T>) TinkerIndexHelper.iterateVertexIndex(graph, bestKey, bestValue) :
+                (Iterator<? extends T>) TinkerIndexHelper.iterateEdgeIndex(graph, bestKey, bestValue);
+    }
+
+    private boolean isMutatingTraversal() {
+        if (null == this.mutatingTraversal)
+            this.mutatingTraversal = TraversalHelper.hasStepOfAssignableClassRecursively(Mutating.class,
+                    TraversalHelper.getRootTraversal(this.getTraversal()));
+        return this.mutatingTraversal;
     }
 
     @Override
     public String toString() {
-        if (this.hasContainers.isEmpty())
+        if (null != this.orderKey) {
+            final List<Object> arguments = new ArrayList<>();
+            arguments.add(this.returnClass.getSimpleName().toLowerCase());
+            if (null != this.ids && this.ids.length > 0) arguments.add(Arrays.toString(this.ids));
+            if (!this.hasContainers.isEmpty()) arguments.add(this.hasContainers);
+            arguments.add(this.orderKey);
+            arguments.add(this.order);
+            return StringFactory.stepString(this, arguments.toArray());
+        } else if (this.hasContainers.isEmpty())
             return super.toString();
         else
             return (null == this.ids || 0 == this.ids.length) ?
@@ -134,21 +372,8 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
         try {
             while (iterator.hasNext()) {
                 final E e = iterator.next();
-                try {
-                    if (HasContainer.testAll(e, this.hasContainers))
-                        list.add(e);
-                } catch (GremlinTypeErrorException ex) {
-                    if (getTraversal().isRoot() || !(getTraversal().getParent() instanceof FilterStep)) {
-                        /*
-                         * Either we are at the top level of the query, or our parent query is not a FilterStep and thus
-                         * cannot handle a GremlinTypeErrorException. In any of these cases we do a binary reduction
-                         * from ERROR -> FALSE and filter the solution quietly.
-                         */
-                    } else {
-                        // not a ternary -> binary reducer, pass the ERROR on
-                        throw ex;
-                    }
-                }
+                if (this.test(e))
+                    list.add(e);
             }
         } finally {
             // close the old iterator to release resources since we are returning a new iterator (over list)
@@ -159,6 +384,24 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
         return new TinkerGraphIterator<>(list.iterator());
     }
 
+    private boolean test(final Element e) {
+        try {
+            return HasContainer.testAll(e, this.hasContainers);
+        } catch (GremlinTypeErrorException ex) {
+            if (getTraversal().isRoot() || !(getTraversal().getParent() instanceof FilterStep)) {
+                /*
+                 * Either we are at the top level of the query, or our parent query is not a FilterStep and thus
+                 * cannot handle a GremlinTypeErrorException. In any of these cases we do a binary reduction
+                 * from ERROR -> FALSE and filter the solution quietly.
+                 */
+                return false;
+            } else {
+                // not a ternary -> binary reducer, pass the ERROR on
+                throw ex;
+            }
+        }
+    }
+
     @Override
     public List<HasContainer> getHasContainers() {
         return Collections.unmodifiableList(this.hasContainers);
@@ -176,7 +419,22 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
 
     @Override
     public int hashCode() {
-        return super.hashCode() ^ this.hasContainers.hashCode();
+        return super.hashCode() ^ this.hasContainers.hashCode() ^ Objects.hashCode(this.orderKey) ^ Objects.hashCode(this.order);
+    }
+
+    /**
+     * Gives the clone its own filters, iterators and supplier so that a traversal that has had its strategies applied
+     * can be cloned and the clones iterated independently.
+     */
+    @Override
+    public TinkerGraphStep<S, E> clone() {
+        final TinkerGraphStep<S, E> clone = (TinkerGraphStep<S, E>) super.clone();
+        clone.hasContainers = new ArrayList<>(this.hasContainers.size());
+        this.hasContainers.forEach(hasContainer -> clone.hasContainers.add(hasContainer.clone()));
+        clone.iterators = new ArrayList<>();
+        clone.mutatingTraversal = null;
+        clone.setIteratorSupplier(clone.elementSupplier());
+        return clone;
     }
 
     @Override
@@ -29,10 +29,13 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.AggregateGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.IdentityStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.SideEffectStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.map.TinkerCountGlobalStep;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.sideEffect.TinkerGraphStep;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.AbstractTinkerGraph;
 
 import java.util.Collections;
 import java.util.List;
@@ -40,13 +43,15 @@ import java.util.Set;
 
 /**
  * This strategy will do a graph size call if the traversal is a count of the vertices and edges of the graph
- * or a one-to-one map chain thereof.
+ * or a one-to-one map chain thereof. A count of the elements matching equality filters is read from the size of an
+ * index entry when an index covers exactly those filters.
  *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  * @example <pre>
  * g.V().count()               // is replaced by TinkerCountGlobalStep
  * g.V().map(out()).count()    // is replaced by TinkerCountGlobalStep
  * g.E().label().count()       // is replaced by TinkerCountGlobalStep
+ * g.V().has("name", "marko").count()  // is replaced by TinkerCountGlobalStep if "name" is indexed
  * </pre>
  */
 public final class TinkerGraphCountStrategy extends AbstractTraversalStrategy<TraversalStrategy.ProviderOptimizationStrategy> implements TraversalStrategy.ProviderOptimizationStrategy {
@@ -63,6 +68,8 @@ public final class TinkerGraphCountStrategy extends AbstractTraversalStrategy<Tr
         final List<Step> steps = traversal.getSteps();
         if (steps.size() < 2 ||
                 !(steps.get(0) instanceof GraphStep) ||
+                // ids are null when the step has folded in an id filter that can never match
+                null == ((GraphStep) steps.get(0)).getIds() ||
                 0 != ((GraphStep) steps.get(0)).getIds().length ||
                 !(steps.get(steps.size() - 1) instanceof CountGlobalStep))
             return;
@@ -81,12 +88,30 @@ public final class TinkerGraphCountStrategy extends AbstractTraversalStrategy<Tr
                 return;
         }
         final Class<? extends Element> elementClass = ((GraphStep<?, ?>) steps.get(0)).getReturnClass();
+        final List<HasContainer> hasContainers;
+        if (steps.get(0) instanceof TinkerGraphStep) {
+            final TinkerGraphStep<?, ?> graphStep = (TinkerGraphStep<?, ?>) steps.get(0);
+            if (null != graphStep.getOrderKey())
+                return;
+            // filters can only be counted from an index entry that holds exactly the matching elements
+            hasContainers = graphStep.getHasContainers();
+            if (!hasContainers.isEmpty() && !isCountableFromIndex(traversal, elementClass, hasContainers))
+                return;
+        } else
+            hasContainers = Collections.emptyList();
+
         TraversalHelper.removeAllSteps(traversal);
-        traversal.addStep(new TinkerCountGlobalStep<>(traversal, elementClass));
+        traversal.addStep(new TinkerCountGlobalStep<>(traversal, elementClass, hasContainers));
+    }
+
+    private static boolean isCountableFromIndex(final Traversal.Admin<?, ?> traversal, final Class<? extends Element> elementClass,
+                                                final List<HasContainer> hasContainers) {
+        return traversal.getGraph().isPresent() && traversal.getGraph().get() instanceof AbstractTinkerGraph &&
+                null != TinkerCountGlobalStep.getExactIndexEntry((AbstractTinkerGraph) traversal.getGraph().get(), elementClass, hasContainers);
     }
 
     @Override
-    public Set<Class<? extends ProviderOptimizationStrategy>> applyPost() {
+    public Set<Class<? extends ProviderOptimizationStrategy>> applyPrior() {
         return Collections.singleton(TinkerGraphStepStrategy.class);
     }
 
@@ -18,17 +18,28 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.lambda.ValueTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.RangeGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.OrderGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.sideEffect.TinkerGraphStep;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.AbstractTinkerGraph;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.AbstractTinkerGraph.IndexType;
+import org.javatuples.Pair;
+
+import java.util.List;
+import java.util.Optional;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -60,9 +71,40 @@ public final class TinkerGraphStepStrategy extends AbstractTraversalStrategy<Tra
                 }
                 currentStep = currentStep.getNextStep();
             }
+
+            if (currentStep instanceof OrderGlobalStep && currentStep.getNextStep() instanceof RangeGlobalStep)
+                foldOrder(tinkerGraphStep, (OrderGlobalStep<?, ?>) currentStep, (RangeGlobalStep<?>) currentStep.getNextStep(), traversal);
         }
     }
 
+    /**
+     * Folds {@code order().by(key).range(low, high)} into the {@link TinkerGraphStep} when the key has a
+     * {@link IndexType#RANGE} index so that only the first {@code high} elements are read from the index rather
+     * than sorting everything.
+     */
+    private static void foldOrder(final TinkerGraphStep<?, ?> tinkerGraphStep, final OrderGlobalStep<?, ?> orderGlobalStep,
+                                  final RangeGlobalStep<?> rangeGlobalStep, final Traversal.Admin<?, ?> traversal) {
+        final List<? extends Pair<? extends Traversal.Admin<?, ?>, ?>> comparators = orderGlobalStep.getComparators();
+        if (comparators.size() != 1) return;
+
+        final Traversal.Admin<?, ?> by = comparators.get(0).getValue0();
+        final Object comparator = comparators.get(0).getValue1();
+        if (!(by instanceof ValueTraversal) || null != ((ValueTraversal<?, ?>) by).getBypassTraversal() ||
+                (comparator != Order.asc && comparator != Order.desc))
+            return;
+
+        final Optional<Graph> graph = traversal.getGraph();
+        final String key = ((ValueTraversal<?, ?>) by).getPropertyKey();
+        if (!graph.isPresent() || !(graph.get() instanceof AbstractTinkerGraph) ||
+                !((AbstractTinkerGraph) graph.get()).getIndexedKeys(tinkerGraphStep.getReturnClass(), IndexType.RANGE).contains(key))
+            return;
+
+        final long high = rangeGlobalStep.getHighRange();
+        tinkerGraphStep.setOrder(key, (Order) comparator, high < 0 ? Long.MAX_VALUE : high);
+        TraversalHelper.copyLabels(orderGlobalStep, orderGlobalStep.getPreviousStep(), false);
+        traversal.removeStep(orderGlobalStep);
+    }
+
     public static TinkerGraphStepStrategy instance() {
         return INSTANCE;
     }
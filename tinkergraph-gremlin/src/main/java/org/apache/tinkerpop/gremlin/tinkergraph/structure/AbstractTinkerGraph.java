@@ -23,6 +23,7 @@ import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.GraphStatistics;
 import org.apache.tinkerpop.gremlin.structure.Transaction;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
@@ -37,6 +38,9 @@ import org.apache.tinkerpop.gremlin.tinkergraph.services.TinkerServiceRegistry;
 
 import java.io.File;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.Set;
@@ -62,6 +66,10 @@ public abstract class AbstractTinkerGraph implements Graph {
     public static final String GREMLIN_TINKERGRAPH_GRAPH_FORMAT = "gremlin.tinkergraph.graphFormat";
     public static final String GREMLIN_TINKERGRAPH_ALLOW_NULL_PROPERTY_VALUES = "gremlin.tinkergraph.allowNullPropertyValues";
     public static final String GREMLIN_TINKERGRAPH_SERVICE = "gremlin.tinkergraph.service";
+    public static final String GREMLIN_TINKERGRAPH_COMPACT_ADJACENCY = "gremlin.tinkergraph.compactAdjacency";
+    public static final String GREMLIN_TINKERGRAPH_WAL_LOCATION = "gremlin.tinkergraph.walLocation";
+    public static final String GREMLIN_TINKERGRAPH_WAL_SYNC_INTERVAL = "gremlin.tinkergraph.walSyncInterval";
+    public static final String GREMLIN_TINKERGRAPH_WAL_CHECKPOINT_THRESHOLD = "gremlin.tinkergraph.walCheckpointThreshold";
 
 
     protected AtomicLong currentId = new AtomicLong(-1L);
@@ -82,6 +90,8 @@ public abstract class AbstractTinkerGraph implements Graph {
     protected Configuration configuration;
     protected String graphLocation;
     protected String graphFormat;
+    protected TinkerWriteAheadLog writeAheadLog = null;
+    private final GraphStatistics statistics = new TinkerGraphStatistics(this);
 
     /**
      * {@inheritDoc}
@@ -180,6 +190,8 @@ public abstract class AbstractTinkerGraph implements Graph {
                     io(IoCore.graphson()).readGraph(graphLocation);
                 } else if (graphFormat.equals("gryo")) {
                     io(IoCore.gryo()).readGraph(graphLocation);
+                } else if (graphFormat.equals(TinkerBinarySnapshot.FORMAT)) {
+                    TinkerBinarySnapshot.read(this, f);
                 } else {
                     io(IoCore.createIoBuilder(graphFormat)).readGraph(graphLocation);
                 }
@@ -189,29 +201,48 @@ public abstract class AbstractTinkerGraph implements Graph {
         }
     }
 
+    /**
+     * Opens the {@link TinkerWriteAheadLog} if {@link #GREMLIN_TINKERGRAPH_WAL_LOCATION} is configured and replays the
+     * changes it holds on top of the graph loaded from {@link #GREMLIN_TINKERGRAPH_GRAPH_LOCATION}.
+     */
+    protected void openWriteAheadLog() {
+        final String walLocation = configuration.getString(GREMLIN_TINKERGRAPH_WAL_LOCATION, null);
+        if (null == walLocation) return;
+
+        if (null == graphLocation)
+            throw new IllegalStateException(String.format("The %s must be specified if %s is present",
+                    GREMLIN_TINKERGRAPH_GRAPH_LOCATION, GREMLIN_TINKERGRAPH_WAL_LOCATION));
+
+        final TinkerWriteAheadLog log = new TinkerWriteAheadLog(this, new File(walLocation),
+                configuration.getLong(GREMLIN_TINKERGRAPH_WAL_SYNC_INTERVAL, 200L),
+                configuration.getLong(GREMLIN_TINKERGRAPH_WAL_CHECKPOINT_THRESHOLD, 100000L));
+        log.recover();
+        writeAheadLog = log;
+    }
+
     protected void saveGraph() {
         final File f = new File(graphLocation);
-        if (f.exists()) {
-            f.delete();
-        } else {
-            final File parent = f.getParentFile();
-
-            // the parent would be null in the case of an relative path if the graphLocation was simply: "f.gryo"
-            if (parent != null && !parent.exists()) {
-                parent.mkdirs();
-            }
+        final File parent = f.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists()) {
+            parent.mkdirs();
         }
 
+        // write to a temporary file first so that a crash while saving does not lose the previous graph
+        final File temp = new File(parent, f.getName() + ".tmp");
         try {
             if (graphFormat.equals("graphml")) {
-                io(IoCore.graphml()).writeGraph(graphLocation);
+                io(IoCore.graphml()).writeGraph(temp.getPath());
             } else if (graphFormat.equals("graphson")) {
-                io(IoCore.graphson()).writeGraph(graphLocation);
+                io(IoCore.graphson()).writeGraph(temp.getPath());
             } else if (graphFormat.equals("gryo")) {
-                io(IoCore.gryo()).writeGraph(graphLocation);
+                io(IoCore.gryo()).writeGraph(temp.getPath());
+            } else if (graphFormat.equals(TinkerBinarySnapshot.FORMAT)) {
+                TinkerBinarySnapshot.write(this, temp);
             } else {
-                io(IoCore.createIoBuilder(graphFormat)).writeGraph(graphLocation);
+                io(IoCore.createIoBuilder(graphFormat)).writeGraph(temp.getPath());
             }
+            if (temp.exists())
+                Files.move(temp.toPath(), f.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
         } catch (Exception ex) {
             throw new RuntimeException(String.format("Could not save graph at %s with %s", graphLocation, graphFormat), ex);
         }
@@ -252,6 +283,7 @@ public abstract class AbstractTinkerGraph implements Graph {
      * Clear internal graph data
      */
     public void clear() {
+        if (null != writeAheadLog && !TinkerHelper.inComputerMode(this)) writeAheadLog.clear();
         this.variables = null;
         this.currentId.set(-1L);
         this.vertexIndex = null;
@@ -262,11 +294,16 @@ public abstract class AbstractTinkerGraph implements Graph {
     /**
      * This method only has an effect if the {@link TinkerGraph#GREMLIN_TINKERGRAPH_GRAPH_LOCATION} is set, in which case the
      * data in the graph is persisted to that location. This method may be called multiple times and does not release
-     * resources.
+     * resources. When the {@link TinkerGraph#GREMLIN_TINKERGRAPH_WAL_LOCATION} is set the write-ahead log is emptied once
+     * the graph is saved.
      */
     @Override
     public void close() {
-        if (graphLocation != null) saveGraph();
+        if (graphLocation != null) {
+            if (null != writeAheadLog) writeAheadLog.sync();
+            saveGraph();
+            if (null != writeAheadLog) writeAheadLog.reset();
+        }
         // shutdown services
         serviceRegistry.close();
     }
@@ -276,6 +313,15 @@ public abstract class AbstractTinkerGraph implements Graph {
         return configuration;
     }
 
+    /**
+     * Gets statistics that estimate label counts from a periodically rebuilt histogram and property value counts
+     * from the indices of the graph.
+     */
+    @Override
+    public GraphStatistics getStatistics() {
+        return statistics;
+    }
+
     ///////////// Utility methods ///////////////
     protected abstract void addOutEdge(final TinkerVertex vertex, final String label, final Edge edge);
 
@@ -393,6 +439,70 @@ public abstract class AbstractTinkerGraph implements Graph {
         }
     }
 
+    /**
+     * Return all the keys currently being indexed for said element class ({@link Vertex} or {@link Edge}) with an
+     * index of the specified {@link IndexType}.
+     *
+     * @param elementClass the element class to get the indexed keys for
+     * @param indexType    the type of index to get the indexed keys for
+     * @param <E>          The type of the element class
+     * @return the set of keys currently being indexed with the specified type of index
+     */
+    public <E extends Element> Set<String> getIndexedKeys(final Class<E> elementClass, final IndexType indexType) {
+        final AbstractTinkerIndex<?> index;
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            index = this.vertexIndex;
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            index = this.edgeIndex;
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+
+        if (null == index) return Collections.emptySet();
+        return indexType == IndexType.RANGE ? index.getRangeIndexedKeys() : index.getHashIndexedKeys();
+    }
+
+    /**
+     * Return the composite indexes currently defined for said element class ({@link Vertex} or {@link Edge}).
+     *
+     * @param elementClass the element class to get the composite indexes for
+     * @param <E>          The type of the element class
+     * @return the composite indexes
+     */
+    public <E extends Element> Collection<AbstractTinkerIndex.CompositeIndex> getCompositeIndexes(final Class<E> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            return null == this.vertexIndex ? Collections.emptyList() : this.vertexIndex.getCompositeIndexes();
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            return null == this.edgeIndex ? Collections.emptyList() : this.edgeIndex.getCompositeIndexes();
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Determines if the indices hold exactly the elements visible to the current thread so that lookups can be
+     * answered from them, which is not the case for a read-only transaction once the indices moved past its snapshot.
+     */
+    public boolean isIndexCurrent() {
+        return true;
+    }
+
+    /**
+     * The types of index that can be created over a property key.
+     */
+    public enum IndexType {
+        /**
+         * A hash based index that supports lookups on equality only.
+         */
+        HASH,
+
+        /**
+         * A sorted index that supports equality as well as range lookups like {@code gt()}, {@code between()} and
+         * {@code startingWith()} and can feed {@code order().by(key).limit(n)} in index order.
+         */
+        RANGE
+    }
+
     ///////////// Id manager ///////////////
     /**
      * Construct an {@link IdManager} from the TinkerGraph {@code Configuration}.
@@ -19,11 +19,25 @@
 
 package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.AbstractTinkerGraph.IndexType;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 /**
  * Storage for indexes that can be used by different implementations of {@link AbstractTinkerGraph}.
@@ -37,6 +51,8 @@ public abstract class AbstractTinkerIndex<T extends Element> {
     protected final Class<T> indexClass;
     protected final AbstractTinkerGraph graph;
     protected final Set<String> indexedKeys = new HashSet<>();
+    protected final Set<String> rangeIndexedKeys = new HashSet<>();
+    protected final Map<String, CompositeIndex> compositeIndexes = new ConcurrentHashMap<>();
 
     protected AbstractTinkerIndex(final AbstractTinkerGraph graph, final Class<T> indexClass) {
         this.graph = graph;
@@ -51,6 +67,48 @@ public abstract class AbstractTinkerIndex<T extends Element> {
      */
     public abstract List<T> get(final String key, final Object value);
 
+    /**
+     * Get elements which have a property with the desired value without copying them out of the index first. The
+     * iterator may be weakly consistent so elements that are added to or removed from the index while iterating may
+     * or may not be returned.
+     * @param key property key
+     * @param value property value
+     * @return iterator of elements
+     */
+    public Iterator<T> iterator(final String key, final Object value) {
+        return get(key, value).iterator();
+    }
+
+    /**
+     * Get list of elements which have a property with a value between the specified bounds. Only available for keys
+     * indexed with {@link IndexType#RANGE}.
+     * @param key property key
+     * @param lower lower bound or {@code null} if unbounded
+     * @param lowerInclusive whether the lower bound is part of the range
+     * @param upper upper bound or {@code null} if unbounded
+     * @param upperInclusive whether the upper bound is part of the range
+     * @return list of elements
+     */
+    public List<T> getRange(final String key, final Object lower, final boolean lowerInclusive,
+                            final Object upper, final boolean upperInclusive) {
+        throw new UnsupportedOperationException(String.format("%s indices are not supported by %s",
+                IndexType.RANGE, getClass().getSimpleName()));
+    }
+
+    /**
+     * Get up to {@code limit} elements matching the {@code filter} in the order of their value for the key. Only
+     * available for keys indexed with {@link IndexType#RANGE}.
+     * @param key property key
+     * @param order either {@link Order#asc} or {@link Order#desc}
+     * @param filter elements that do not match are skipped and do not count toward the limit
+     * @param limit maximum number of elements to return
+     * @return list of elements
+     */
+    public List<T> getOrdered(final String key, final Order order, final Predicate<T> filter, final long limit) {
+        throw new UnsupportedOperationException(String.format("%s indices are not supported by %s",
+                IndexType.RANGE, getClass().getSimpleName()));
+    }
+
     /**
      * Get count of elements which have a property with the desired value.
      * @param key property key
@@ -90,12 +148,76 @@ public abstract class AbstractTinkerIndex<T extends Element> {
      */
     public abstract void createKeyIndex(final String key);
 
+    /**
+     * Create new index of the specified type
+     * @param key property key
+     * @param indexType type of index
+     */
+    public void createKeyIndex(final String key, final IndexType indexType) {
+        if (indexType != IndexType.HASH)
+            throw new UnsupportedOperationException(String.format("%s indices are not supported by %s",
+                    indexType, getClass().getSimpleName()));
+        createKeyIndex(key);
+    }
+
     /**
      * Drop index
      * @param key property key
      */
     public abstract void dropKeyIndex(final String key);
 
+    /**
+     * Create new composite index over the values of several property keys of elements with the specified label. The
+     * composite index is stored under {@link CompositeIndex#getIndexKey()} so {@link #get(String, Object)} and
+     * {@link #count(String, Object)} can query it with the list of values in the order of the keys.
+     * @param label element label or {@code null} to index elements of any label
+     * @param keys property keys
+     */
+    public void createCompositeIndex(final String label, final List<String> keys) {
+        throw new UnsupportedOperationException(String.format("Composite indices are not supported by %s",
+                getClass().getSimpleName()));
+    }
+
+    /**
+     * Drop composite index
+     * @param label element label or {@code null}
+     * @param keys property keys
+     */
+    public void dropCompositeIndex(final String label, final List<String> keys) {
+        throw new UnsupportedOperationException(String.format("Composite indices are not supported by %s",
+                getClass().getSimpleName()));
+    }
+
+    /**
+     * Get all composite indexes for Graph
+     * @return collection of composite indexes
+     */
+    public Collection<CompositeIndex> getCompositeIndexes() {
+        return compositeIndexes.values();
+    }
+
+    /**
+     * Validates the definition of a composite index and registers it if it does not exist yet.
+     * @return the new composite index or {@code null} if it already exists
+     */
+    protected CompositeIndex addCompositeIndex(final String label, final List<String> keys) {
+        if (null == keys)
+            throw Graph.Exceptions.argumentCanNotBeNull("keys");
+        if (keys.isEmpty())
+            throw new IllegalArgumentException("The keys for the composite index cannot be empty");
+        for (String key : keys) {
+            if (null == key)
+                throw Graph.Exceptions.argumentCanNotBeNull("key");
+            if (key.isEmpty())
+                throw new IllegalArgumentException("The key for the index cannot be an empty string");
+        }
+        if (new HashSet<>(keys).size() != keys.size())
+            throw new IllegalArgumentException("The keys for the composite index must be unique: " + keys);
+
+        final CompositeIndex compositeIndex = new CompositeIndex(label, keys);
+        return null == compositeIndexes.putIfAbsent(compositeIndex.getIndexKey(), compositeIndex) ? compositeIndex : null;
+    }
+
     /**
      * Get all index keys for Graph
      * @return set of index keys
@@ -104,6 +226,24 @@ public abstract class AbstractTinkerIndex<T extends Element> {
         return indexedKeys;
     }
 
+    /**
+     * Get index keys that have an index of {@link IndexType#HASH}
+     * @return set of index keys
+     */
+    public Set<String> getHashIndexedKeys() {
+        return rangeIndexedKeys.isEmpty() ?
+                indexedKeys :
+                indexedKeys.stream().filter(k -> !rangeIndexedKeys.contains(k)).collect(Collectors.toSet());
+    }
+
+    /**
+     * Get index keys that have an index of {@link IndexType#RANGE}
+     * @return set of index keys
+     */
+    public Set<String> getRangeIndexedKeys() {
+        return rangeIndexedKeys;
+    }
+
     /**
      * Provides a way for an index to have a {@code null} value as {@code ConcurrentHashMap} will not allow a
      * {@code null} key.
@@ -112,6 +252,125 @@ public abstract class AbstractTinkerIndex<T extends Element> {
         return null == obj ? IndexedNull.instance() : obj;
     }
 
+    /**
+     * Definition of an index over the combined values of several property keys, optionally restricted to a single
+     * label. An element is indexed under every combination of its values for the keys, so elements that do not have
+     * all of the keys are not part of the index.
+     */
+    public static final class CompositeIndex {
+        private final String label;
+        private final List<String> keys;
+        private final String indexKey;
+
+        CompositeIndex(final String label, final List<String> keys) {
+            this.label = label;
+            this.keys = Collections.unmodifiableList(new ArrayList<>(keys));
+            // a hidden key can not clash with the key of a property
+            this.indexKey = Graph.Hidden.hide("composite[" + (null == label ? "" : label) + ":" + String.join(",", keys) + "]");
+        }
+
+        /**
+         * The label of the indexed elements or {@code null} if elements of any label are indexed.
+         */
+        public String getLabel() {
+            return label;
+        }
+
+        public List<String> getKeys() {
+            return keys;
+        }
+
+        /**
+         * The key under which the composite index is stored.
+         */
+        public String getIndexKey() {
+            return indexKey;
+        }
+
+        /**
+         * Determines if the index applies to elements with the specified label.
+         */
+        public boolean covers(final String elementLabel) {
+            return null == label || label.equals(elementLabel);
+        }
+
+        /**
+         * Gets the value to query the index with for the specified property values given in the order of the keys.
+         */
+        public Object indexValue(final List<Object> values) {
+            final Object[] indexValue = new Object[values.size()];
+            for (int i = 0; i < indexValue.length; i++) {
+                indexValue[i] = indexable(values.get(i));
+            }
+            return Arrays.asList(indexValue);
+        }
+
+        /**
+         * Gets the index values of the element for all combinations of its values for the keys.
+         */
+        public List<Object> indexValues(final Element element) {
+            return indexValues(element, null, null);
+        }
+
+        /**
+         * Gets the index values of the element where the values for {@code key} are replaced by {@code value} so
+         * that an index entry can be computed before or after a property is changed. A {@code null} value means the
+         * property is absent.
+         */
+        public List<Object> indexValues(final Element element, final String key, final Object value) {
+            if (!covers(element.label()) || (null != key && null == value)) return Collections.emptyList();
+
+            List<Object[]> combinations = Collections.singletonList(new Object[keys.size()]);
+            for (int i = 0; i < keys.size(); i++) {
+                final List<Object> values = new ArrayList<>(1);
+                if (keys.get(i).equals(key)) {
+                    values.add(indexable(value));
+                } else {
+                    final Iterator<? extends Property<Object>> properties = element.properties(keys.get(i));
+                    while (properties.hasNext()) {
+                        values.add(indexable(properties.next().value()));
+                    }
+                }
+                if (values.isEmpty()) return Collections.emptyList();
+
+                if (values.size() == 1) {
+                    for (Object[] combination : combinations) combination[i] = values.get(0);
+                } else {
+                    final List<Object[]> expanded = new ArrayList<>(combinations.size() * values.size());
+                    for (Object[] combination : combinations) {
+                        for (Object v : values) {
+                            final Object[] copy = combination.clone();
+                            copy[i] = v;
+                            expanded.add(copy);
+                        }
+                    }
+                    combinations = expanded;
+                }
+            }
+
+            final List<Object> indexValues = new ArrayList<>(combinations.size());
+            for (Object[] combination : combinations) indexValues.add(Arrays.asList(combination));
+            return indexValues;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof CompositeIndex)) return false;
+            return indexKey.equals(((CompositeIndex) o).indexKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return indexKey.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return Objects.toString(label, "") + keys;
+        }
+    }
+
     public static final class IndexedNull {
         private static final IndexedNull inst = new IndexedNull();
 
@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compact, array-backed adjacency list for one direction of a {@link TinkerVertex}. Edges are kept in a single
+ * array grouped into contiguous segments by interned edge label id, in the manner of a compressed sparse row layout,
+ * so that the per-edge cost is a single array slot instead of a hash node in a {@code Map<String, Set<Edge>>}.
+ * <p/>
+ * Adding or removing an edge moves at most one edge per label segment that follows the affected one, so mutations
+ * cost {@code O(labels)} rather than {@code O(degree)}. Instances are not thread-safe which matches the guarantees of
+ * the non-transactional {@link TinkerGraph}.
+ */
+final class TinkerAdjacency {
+
+    private static final int[] EMPTY_INTS = new int[0];
+    private static final Edge[] EMPTY_EDGES = new Edge[0];
+
+    /**
+     * Interned label ids of the segments held by this adjacency.
+     */
+    private int[] labelIds = EMPTY_INTS;
+
+    /**
+     * Segment boundaries where segment {@code i} spans {@code [offsets[i], offsets[i + 1])} of {@link #edges}. The
+     * last entry is the total number of edges.
+     */
+    private int[] offsets = new int[]{0};
+
+    private Edge[] edges = EMPTY_EDGES;
+
+    int size() {
+        return offsets[labelIds.length];
+    }
+
+    void add(final int labelId, final Edge edge) {
+        int segment = indexOf(labelId);
+        if (segment < 0) segment = addSegment(labelId);
+
+        final int size = size();
+        if (size == edges.length)
+            edges = Arrays.copyOf(edges, Math.max(4, size + (size >> 1)));
+
+        // shift every following segment right by one slot, moving its first edge to the free slot at its end
+        for (int i = labelIds.length - 1; i > segment; i--) {
+            edges[offsets[i + 1]] = edges[offsets[i]];
+            offsets[i + 1]++;
+        }
+        edges[offsets[segment + 1]] = edge;
+        offsets[segment + 1]++;
+    }
+
+    boolean remove(final int labelId, final Object edgeId) {
+        final int segment = indexOf(labelId);
+        if (segment < 0) return false;
+
+        int hole = -1;
+        for (int i = offsets[segment]; i < offsets[segment + 1]; i++) {
+            if (edges[i].id().equals(edgeId)) {
+                hole = i;
+                break;
+            }
+        }
+        if (hole < 0) return false;
+
+        // fill the hole with the last edge of its segment and then pull every following segment left by one slot,
+        // moving its last edge into the slot vacated at its start
+        int last = offsets[segment + 1] - 1;
+        edges[hole] = edges[last];
+        hole = last;
+        for (int i = segment + 1; i < labelIds.length; i++) {
+            offsets[i]--;
+            last = offsets[i + 1] - 1;
+            edges[hole] = edges[last];
+            hole = last;
+        }
+        offsets[labelIds.length]--;
+        edges[hole] = null;
+        return true;
+    }
+
+    /**
+     * Copies the edges with the specified label into the supplied list.
+     */
+    void addEdges(final int labelId, final List<Edge> into) {
+        final int segment = indexOf(labelId);
+        if (segment >= 0)
+            into.addAll(Arrays.asList(edges).subList(offsets[segment], offsets[segment + 1]));
+    }
+
+    /**
+     * Copies all edges into the supplied list.
+     */
+    void addEdges(final List<Edge> into) {
+        into.addAll(Arrays.asList(edges).subList(0, size()));
+    }
+
+    /**
+     * Adds the vertices adjacent through the edges with the specified label to the supplied list, where the
+     * {@code direction} is the one this adjacency was stored for.
+     */
+    void addVertices(final int labelId, final Direction direction, final List<Vertex> into) {
+        final int segment = indexOf(labelId);
+        if (segment >= 0)
+            addVertices(offsets[segment], offsets[segment + 1], direction, into);
+    }
+
+    /**
+     * Adds all adjacent vertices to the supplied list, where the {@code direction} is the one this adjacency was
+     * stored for.
+     */
+    void addVertices(final Direction direction, final List<Vertex> into) {
+        addVertices(0, size(), direction, into);
+    }
+
+    private void addVertices(final int from, final int to, final Direction direction, final List<Vertex> into) {
+        for (int i = from; i < to; i++) {
+            final TinkerEdge edge = (TinkerEdge) edges[i];
+            into.add(direction == Direction.OUT ? edge.inVertex : edge.outVertex);
+        }
+    }
+
+    private int indexOf(final int labelId) {
+        for (int i = 0; i < labelIds.length; i++) {
+            if (labelIds[i] == labelId) return i;
+        }
+        return -1;
+    }
+
+    private int addSegment(final int labelId) {
+        final int segment = labelIds.length;
+        labelIds = Arrays.copyOf(labelIds, segment + 1);
+        labelIds[segment] = labelId;
+        offsets = Arrays.copyOf(offsets, segment + 2);
+        offsets[segment + 1] = offsets[segment];
+        return segment;
+    }
+}
@@ -0,0 +1,549 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoVersion;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Native binary format for persisting a graph to {@link AbstractTinkerGraph#GREMLIN_TINKERGRAPH_GRAPH_LOCATION},
+ * selected by setting {@link AbstractTinkerGraph#GREMLIN_TINKERGRAPH_GRAPH_FORMAT} to {@link #FORMAT}. Unlike the
+ * {@code GraphReader} based formats, which parse every element into a detached form and then attach it through the
+ * structure API, the snapshot is memory-mapped and {@link TinkerGraph} elements are built directly from its columns.
+ * <p/>
+ * The file starts with a versioned header holding the element counts and the position of each section, followed by
+ * the sections themselves: a dictionary of the labels and property keys, one column per attribute of vertices,
+ * vertex properties, meta-properties, edges and edge properties, and the outgoing and incoming adjacency of every
+ * vertex in compressed sparse row form. Labels and keys are stored as indices into the dictionary, the properties of
+ * an element as a range given by an offsets column and the endpoints of an edge as vertex positions, so loading needs
+ * no lookup by identifier. The adjacency of each vertex is grouped by edge label which lets the edges of a vertex be
+ * appended to its adjacency in order.
+ */
+final class TinkerBinarySnapshot {
+
+    /**
+     * The value of {@link AbstractTinkerGraph#GREMLIN_TINKERGRAPH_GRAPH_FORMAT} that selects this format.
+     */
+    static final String FORMAT = "snapshot";
+
+    private static final int MAGIC = 0x54474253;
+    private static final int VERSION = 1;
+
+    private static final int STRINGS = 0;
+    private static final int VERTEX_IDS = 1;
+    private static final int VERTEX_LABELS = 2;
+    private static final int VERTEX_PROPERTY_OFFSETS = 3;
+    private static final int VERTEX_PROPERTY_IDS = 4;
+    private static final int VERTEX_PROPERTY_KEYS = 5;
+    private static final int VERTEX_PROPERTY_VALUES = 6;
+    private static final int META_PROPERTY_OFFSETS = 7;
+    private static final int META_PROPERTY_KEYS = 8;
+    private static final int META_PROPERTY_VALUES = 9;
+    private static final int EDGE_IDS = 10;
+    private static final int EDGE_LABELS = 11;
+    private static final int EDGE_OUT_VERTICES = 12;
+    private static final int EDGE_IN_VERTICES = 13;
+    private static final int EDGE_PROPERTY_OFFSETS = 14;
+    private static final int EDGE_PROPERTY_KEYS = 15;
+    private static final int EDGE_PROPERTY_VALUES = 16;
+    private static final int OUT_OFFSETS = 17;
+    private static final int OUT_EDGES = 18;
+    private static final int IN_OFFSETS = 19;
+    private static final int IN_EDGES = 20;
+    private static final int SECTIONS = 21;
+
+    private static final int HEADER_SIZE = 4 + 4 + 5 * 4 + SECTIONS * 16;
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte INTEGER = 2;
+    private static final byte LONG = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte FLOAT = 5;
+    private static final byte BOOLEAN = 6;
+    private static final byte OBJECT = 7;
+
+    /**
+     * Created on first use as most graphs hold only values that have a native encoding.
+     */
+    private Kryo kryo = null;
+
+    private TinkerBinarySnapshot() {
+    }
+
+    /**
+     * Writes all elements of the graph to the file.
+     */
+    static void write(final AbstractTinkerGraph graph, final File file) throws IOException {
+        new TinkerBinarySnapshot().writeGraph(graph, file);
+    }
+
+    /**
+     * Loads all elements from the file into the graph.
+     */
+    static void read(final AbstractTinkerGraph graph, final File file) throws IOException {
+        new TinkerBinarySnapshot().readGraph(graph, file);
+    }
+
+    ////////////// WRITING //////////////////
+
+    private void writeGraph(final AbstractTinkerGraph graph, final File file) throws IOException {
+        final List<Vertex> vertices = IteratorUtils.list(graph.vertices());
+        final List<Edge> edges = IteratorUtils.list(graph.edges());
+        final Map<String, Integer> strings = new LinkedHashMap<>();
+
+        final Map<Object, Integer> vertexPositions = new HashMap<>((int) (vertices.size() / 0.75f) + 1);
+        final int[] vertexLabels = new int[vertices.size()];
+        final int[] vertexPropertyOffsets = new int[vertices.size() + 1];
+        final List<VertexProperty<?>> vertexProperties = new ArrayList<>();
+        final List<Integer> metaPropertyOffsets = new ArrayList<>();
+        final List<Property<?>> metaProperties = new ArrayList<>();
+        for (int i = 0; i < vertices.size(); i++) {
+            final Vertex vertex = vertices.get(i);
+            vertexPositions.put(vertex.id(), i);
+            vertexLabels[i] = intern(strings, vertex.label());
+            final Iterator<VertexProperty<Object>> properties = vertex.properties();
+            while (properties.hasNext()) {
+                final VertexProperty<?> vertexProperty = properties.next();
+                intern(strings, vertexProperty.key());
+                vertexProperties.add(vertexProperty);
+                metaPropertyOffsets.add(metaProperties.size());
+                vertexProperty.properties().forEachRemaining(p -> {
+                    intern(strings, p.key());
+                    metaProperties.add(p);
+                });
+            }
+            vertexPropertyOffsets[i + 1] = vertexProperties.size();
+        }
+        metaPropertyOffsets.add(metaProperties.size());
+
+        final int[] edgeLabels = new int[edges.size()];
+        final int[] edgeOutVertices = new int[edges.size()];
+        final int[] edgeInVertices = new int[edges.size()];
+        final int[] edgePropertyOffsets = new int[edges.size() + 1];
+        final List<Property<?>> edgeProperties = new ArrayList<>();
+        for (int i = 0; i < edges.size(); i++) {
+            final Edge edge = edges.get(i);
+            edgeLabels[i] = intern(strings, edge.label());
+            edgeOutVertices[i] = vertexPositions.get(edge.outVertex().id());
+            edgeInVertices[i] = vertexPositions.get(edge.inVertex().id());
+            edge.properties().forEachRemaining(p -> {
+                intern(strings, p.key());
+                edgeProperties.add(p);
+            });
+            edgePropertyOffsets[i + 1] = edgeProperties.size();
+        }
+
+        final int[][] outAdjacency = adjacency(edgeOutVertices, edgeLabels, vertices.size(), strings.size());
+        final int[][] inAdjacency = adjacency(edgeInVertices, edgeLabels, vertices.size(), strings.size());
+
+        try (final RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(0);
+            final FileChannel channel = raf.getChannel();
+            channel.position(HEADER_SIZE);
+            final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 65536));
+            final long[] offsets = new long[SECTIONS + 1];
+
+            offsets[STRINGS] = HEADER_SIZE;
+            for (String string : strings.keySet()) {
+                writeString(output, string);
+            }
+            offsets[VERTEX_IDS] = position(output, channel);
+            for (Vertex vertex : vertices) {
+                writeValue(output, vertex.id());
+            }
+            offsets[VERTEX_LABELS] = position(output, channel);
+            writeInts(output, vertexLabels);
+            offsets[VERTEX_PROPERTY_OFFSETS] = position(output, channel);
+            writeInts(output, vertexPropertyOffsets);
+            offsets[VERTEX_PROPERTY_IDS] = position(output, channel);
+            for (VertexProperty<?> vertexProperty : vertexProperties) {
+                writeValue(output, vertexProperty.id());
+            }
+            offsets[VERTEX_PROPERTY_KEYS] = position(output, channel);
+            for (VertexProperty<?> vertexProperty : vertexProperties) {
+                output.writeInt(strings.get(vertexProperty.key()));
+            }
+            offsets[VERTEX_PROPERTY_VALUES] = position(output, channel);
+            for (VertexProperty<?> vertexProperty : vertexProperties) {
+                writeValue(output, vertexProperty.value());
+            }
+            offsets[META_PROPERTY_OFFSETS] = position(output, channel);
+            for (Integer offset : metaPropertyOffsets) {
+                output.writeInt(offset);
+            }
+            offsets[META_PROPERTY_KEYS] = position(output, channel);
+            for (Property<?> property : metaProperties) {
+                output.writeInt(strings.get(property.key()));
+            }
+            offsets[META_PROPERTY_VALUES] = position(output, channel);
+            for (Property<?> property : metaProperties) {
+                writeValue(output, property.value());
+            }
+            offsets[EDGE_IDS] = position(output, channel);
+            for (Edge edge : edges) {
+                writeValue(output, edge.id());
+            }
+            offsets[EDGE_LABELS] = position(output, channel);
+            writeInts(output, edgeLabels);
+            offsets[EDGE_OUT_VERTICES] = position(output, channel);
+            writeInts(output, edgeOutVertices);
+            offsets[EDGE_IN_VERTICES] = position(output, channel);
+            writeInts(output, edgeInVertices);
+            offsets[EDGE_PROPERTY_OFFSETS] = position(output, channel);
+            writeInts(output, edgePropertyOffsets);
+            offsets[EDGE_PROPERTY_KEYS] = position(output, channel);
+            for (Property<?> property : edgeProperties) {
+                output.writeInt(strings.get(property.key()));
+            }
+            offsets[EDGE_PROPERTY_VALUES] = position(output, channel);
+            for (Property<?> property : edgeProperties) {
+                writeValue(output, property.value());
+            }
+            offsets[OUT_OFFSETS] = position(output, channel);
+            writeInts(output, outAdjacency[0]);
+            offsets[OUT_EDGES] = position(output, channel);
+            writeInts(output, outAdjacency[1]);
+            offsets[IN_OFFSETS] = position(output, channel);
+            writeInts(output, inAdjacency[0]);
+            offsets[IN_EDGES] = position(output, channel);
+            writeInts(output, inAdjacency[1]);
+            offsets[SECTIONS] = position(output, channel);
+
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC);
+            header.putInt(VERSION);
+            header.putInt(strings.size());
+            header.putInt(vertices.size());
+            header.putInt(vertexProperties.size());
+            header.putInt(metaProperties.size());
+            header.putInt(edges.size());
+            for (int i = 0; i < SECTIONS; i++) {
+                header.putLong(offsets[i]);
+                header.putLong(offsets[i + 1] - offsets[i]);
+            }
+            header.flip();
+            channel.write(header, 0);
+        }
+    }
+
+    /**
+     * Builds the compressed sparse row adjacency of the edges, where the first array holds the offsets of the edges of
+     * each vertex into the second. The edges of a vertex are ordered by label through two stable counting sorts.
+     */
+    private static int[][] adjacency(final int[] edgeVertices, final int[] edgeLabels, final int vertexCount, final int labelCount) {
+        final int[] labelOffsets = new int[labelCount + 1];
+        for (int label : edgeLabels) labelOffsets[label + 1]++;
+        for (int i = 0; i < labelCount; i++) labelOffsets[i + 1] += labelOffsets[i];
+        final int[] byLabel = new int[edgeLabels.length];
+        for (int i = 0; i < edgeLabels.length; i++) byLabel[labelOffsets[edgeLabels[i]]++] = i;
+
+        final int[] offsets = new int[vertexCount + 1];
+        for (int vertex : edgeVertices) offsets[vertex + 1]++;
+        for (int i = 0; i < vertexCount; i++) offsets[i + 1] += offsets[i];
+        final int[] next = offsets.clone();
+        final int[] edges = new int[edgeVertices.length];
+        for (int edge : byLabel) edges[next[edgeVertices[edge]]++] = edge;
+        return new int[][]{offsets, edges};
+    }
+
+    private static int intern(final Map<String, Integer> strings, final String string) {
+        Integer index = strings.get(string);
+        if (null == index) {
+            index = strings.size();
+            strings.put(string, index);
+        }
+        return index;
+    }
+
+    private static long position(final DataOutputStream output, final FileChannel channel) throws IOException {
+        output.flush();
+        return channel.position();
+    }
+
+    private static void writeInts(final DataOutputStream output, final int[] values) throws IOException {
+        for (int value : values) output.writeInt(value);
+    }
+
+    private static void writeString(final DataOutputStream output, final String string) throws IOException {
+        final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private void writeValue(final DataOutputStream output, final Object value) throws IOException {
+        if (null == value) {
+            output.writeByte(NULL);
+        } else if (value instanceof String) {
+            output.writeByte(STRING);
+            writeString(output, (String) value);
+        } else if (value instanceof Integer) {
+            output.writeByte(INTEGER);
+            output.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            output.writeByte(LONG);
+            output.writeLong((Long) value);
+        } else if (value instanceof Double) {
+            output.writeByte(DOUBLE);
+            output.writeDouble((Double) value);
+        } else if (value instanceof Float) {
+            output.writeByte(FLOAT);
+            output.writeFloat((Float) value);
+        } else if (value instanceof Boolean) {
+            output.writeByte(BOOLEAN);
+            output.writeBoolean((Boolean) value);
+        } else {
+            final Output object = new Output(256, -1);
+            kryo().writeClassAndObject(object, value);
+            output.writeByte(OBJECT);
+            output.writeInt(object.position());
+            output.write(object.getBuffer(), 0, object.position());
+        }
+    }
+
+    ////////////// READING //////////////////
+
+    private void readGraph(final AbstractTinkerGraph graph, final File file) throws IOException {
+        final ByteBuffer[] sections = new ByteBuffer[SECTIONS];
+        final int stringCount;
+        final int vertexCount;
+        final int vertexPropertyCount;
+        final int metaPropertyCount;
+        final int edgeCount;
+        try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC)
+                throw new IllegalStateException(String.format("%s is not a TinkerGraph %s", file, FORMAT));
+            final int version = header.getInt();
+            if (version != VERSION)
+                throw new IllegalStateException(String.format("%s has version %s of the %s format but only version %s is supported",
+                        file, version, FORMAT, VERSION));
+
+            stringCount = header.getInt();
+            vertexCount = header.getInt();
+            vertexPropertyCount = header.getInt();
+            metaPropertyCount = header.getInt();
+            edgeCount = header.getInt();
+            for (int i = 0; i < SECTIONS; i++) {
+                final long offset = header.getLong();
+                final long length = header.getLong();
+                sections[i] = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+            }
+        }
+
+        final String[] strings = new String[stringCount];
+        for (int i = 0; i < stringCount; i++) {
+            strings[i] = readString(sections[STRINGS]);
+        }
+
+        if (graph instanceof TinkerGraph)
+            materialize((TinkerGraph) graph, sections, strings, vertexCount, vertexPropertyCount, metaPropertyCount, edgeCount);
+        else
+            attach(graph, sections, strings, vertexCount, edgeCount);
+    }
+
+    /**
+     * Builds the elements of a {@link TinkerGraph} directly from the columns, bypassing the validation and index
+     * maintenance of the structure API which do not apply to a graph that is being loaded.
+     */
+    private void materialize(final TinkerGraph graph, final ByteBuffer[] sections, final String[] strings,
+                             final int vertexCount, final int vertexPropertyCount, final int metaPropertyCount,
+                             final int edgeCount) {
+        if (graph.vertices.isEmpty()) graph.vertices = new ConcurrentHashMap<>(vertexCount);
+        if (graph.edges.isEmpty()) graph.edges = new ConcurrentHashMap<>(edgeCount);
+
+        final IntBuffer vertexPropertyOffsets = sections[VERTEX_PROPERTY_OFFSETS].asIntBuffer();
+        final IntBuffer metaPropertyOffsets = sections[META_PROPERTY_OFFSETS].asIntBuffer();
+        final TinkerVertex[] vertices = new TinkerVertex[vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
+            final Object id = graph.vertexIdManager.convert(readValue(sections[VERTEX_IDS]));
+            final TinkerVertex vertex = graph.createTinkerVertex(id, strings[sections[VERTEX_LABELS].getInt()], graph);
+
+            final int firstProperty = vertexPropertyOffsets.get(i);
+            final int lastProperty = vertexPropertyOffsets.get(i + 1);
+            if (lastProperty > firstProperty) vertex.properties = new ConcurrentHashMap<>();
+            for (int j = firstProperty; j < lastProperty; j++) {
+                final Object vertexPropertyId = graph.vertexPropertyIdManager.convert(readValue(sections[VERTEX_PROPERTY_IDS]));
+                final String key = strings[sections[VERTEX_PROPERTY_KEYS].getInt()];
+                final TinkerVertexProperty<?> vertexProperty = new TinkerVertexProperty<>(vertexPropertyId, vertex, key,
+                        readValue(sections[VERTEX_PROPERTY_VALUES]));
+
+                final int firstMeta = metaPropertyOffsets.get(j);
+                final int lastMeta = metaPropertyOffsets.get(j + 1);
+                if (lastMeta > firstMeta) vertexProperty.properties = new HashMap<>();
+                for (int k = firstMeta; k < lastMeta; k++) {
+                    final String metaKey = strings[sections[META_PROPERTY_KEYS].getInt()];
+                    vertexProperty.properties.put(metaKey, new TinkerProperty<>(vertexProperty, metaKey,
+                            readValue(sections[META_PROPERTY_VALUES])));
+                }
+                vertex.properties.computeIfAbsent(key, k -> new ArrayList<>()).add(vertexProperty);
+            }
+
+            vertices[i] = vertex;
+            graph.vertices.put(id, vertex);
+        }
+
+        final IntBuffer edgePropertyOffsets = sections[EDGE_PROPERTY_OFFSETS].asIntBuffer();
+        final TinkerEdge[] edges = new TinkerEdge[edgeCount];
+        for (int i = 0; i < edgeCount; i++) {
+            final Object id = graph.edgeIdManager.convert(readValue(sections[EDGE_IDS]));
+            final String label = strings[sections[EDGE_LABELS].getInt()];
+            final TinkerEdge edge = new TinkerEdge(id, vertices[sections[EDGE_OUT_VERTICES].getInt()], label,
+                    vertices[sections[EDGE_IN_VERTICES].getInt()]);
+
+            final int firstProperty = edgePropertyOffsets.get(i);
+            final int lastProperty = edgePropertyOffsets.get(i + 1);
+            if (lastProperty > firstProperty) edge.properties = new ConcurrentHashMap<>();
+            for (int j = firstProperty; j < lastProperty; j++) {
+                final String key = strings[sections[EDGE_PROPERTY_KEYS].getInt()];
+                edge.properties.put(key, new TinkerProperty<>(edge, key, readValue(sections[EDGE_PROPERTY_VALUES])));
+            }
+
+            edges[i] = edge;
+            graph.edges.put(id, edge);
+        }
+
+        final IntBuffer outOffsets = sections[OUT_OFFSETS].asIntBuffer();
+        final IntBuffer outEdges = sections[OUT_EDGES].asIntBuffer();
+        final IntBuffer inOffsets = sections[IN_OFFSETS].asIntBuffer();
+        final IntBuffer inEdges = sections[IN_EDGES].asIntBuffer();
+        for (int i = 0; i < vertexCount; i++) {
+            for (int j = outOffsets.get(i); j < outOffsets.get(i + 1); j++) {
+                final TinkerEdge edge = edges[outEdges.get(j)];
+                graph.addOutEdge(vertices[i], edge.label(), edge);
+            }
+            for (int j = inOffsets.get(i); j < inOffsets.get(i + 1); j++) {
+                final TinkerEdge edge = edges[inEdges.get(j)];
+                graph.addInEdge(vertices[i], edge.label(), edge);
+            }
+        }
+    }
+
+    /**
+     * Adds the elements to a {@link TinkerTransactionGraph} through the structure API and commits them at once.
+     */
+    private void attach(final AbstractTinkerGraph graph, final ByteBuffer[] sections, final String[] strings,
+                        final int vertexCount, final int edgeCount) {
+        final IntBuffer vertexPropertyOffsets = sections[VERTEX_PROPERTY_OFFSETS].asIntBuffer();
+        final IntBuffer metaPropertyOffsets = sections[META_PROPERTY_OFFSETS].asIntBuffer();
+        final Vertex[] vertices = new Vertex[vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
+            final Object id = readValue(sections[VERTEX_IDS]);
+            final Vertex vertex = graph.addVertex(T.id, id, T.label, strings[sections[VERTEX_LABELS].getInt()]);
+            for (int j = vertexPropertyOffsets.get(i); j < vertexPropertyOffsets.get(i + 1); j++) {
+                final Object vertexPropertyId = readValue(sections[VERTEX_PROPERTY_IDS]);
+                final String key = strings[sections[VERTEX_PROPERTY_KEYS].getInt()];
+                final Object value = readValue(sections[VERTEX_PROPERTY_VALUES]);
+                final List<Object> keyValues = new ArrayList<>();
+                keyValues.add(T.id);
+                keyValues.add(vertexPropertyId);
+                for (int k = metaPropertyOffsets.get(j); k < metaPropertyOffsets.get(j + 1); k++) {
+                    keyValues.add(strings[sections[META_PROPERTY_KEYS].getInt()]);
+                    keyValues.add(readValue(sections[META_PROPERTY_VALUES]));
+                }
+                vertex.property(VertexProperty.Cardinality.list, key, value, keyValues.toArray());
+            }
+            vertices[i] = vertex;
+        }
+
+        final IntBuffer edgePropertyOffsets = sections[EDGE_PROPERTY_OFFSETS].asIntBuffer();
+        for (int i = 0; i < edgeCount; i++) {
+            final Object id = readValue(sections[EDGE_IDS]);
+            final String label = strings[sections[EDGE_LABELS].getInt()];
+            final Vertex outVertex = vertices[sections[EDGE_OUT_VERTICES].getInt()];
+            final Vertex inVertex = vertices[sections[EDGE_IN_VERTICES].getInt()];
+            final List<Object> keyValues = new ArrayList<>();
+            keyValues.add(T.id);
+            keyValues.add(id);
+            for (int j = edgePropertyOffsets.get(i); j < edgePropertyOffsets.get(i + 1); j++) {
+                keyValues.add(strings[sections[EDGE_PROPERTY_KEYS].getInt()]);
+                keyValues.add(readValue(sections[EDGE_PROPERTY_VALUES]));
+            }
+            outVertex.addEdge(label, inVertex, keyValues.toArray());
+        }
+
+        if (graph.features().graph().supportsTransactions()) graph.tx().commit();
+    }
+
+    private static String readString(final ByteBuffer buffer) {
+        final byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private Object readValue(final ByteBuffer buffer) {
+        final byte type = buffer.get();
+        switch (type) {
+            case NULL:
+                return null;
+            case STRING:
+                return readString(buffer);
+            case INTEGER:
+                return buffer.getInt();
+            case LONG:
+                return buffer.getLong();
+            case DOUBLE:
+                return buffer.getDouble();
+            case FLOAT:
+                return buffer.getFloat();
+            case BOOLEAN:
+                return buffer.get() != 0;
+            case OBJECT:
+                final byte[] bytes = new byte[buffer.getInt()];
+                buffer.get(bytes);
+                return kryo().readClassAndObject(new Input(bytes));
+            default:
+                throw new IllegalStateException(String.format("Unknown value type %s in TinkerGraph %s", type, FORMAT));
+        }
+    }
+
+    private Kryo kryo() {
+        if (null == kryo)
+            kryo = GryoMapper.build().version(GryoVersion.V3_0).addRegistry(TinkerIoRegistryV3.instance()).create().createMapper();
+        return kryo;
+    }
+}
@@ -39,6 +39,11 @@ final class TinkerElementContainer<T extends TinkerElement> {
      * Used to separate deleted elements from {@code null} ones.
      */
     private boolean isDeleted = false;
+    /**
+     * Committed values of element, newest first, as seen by read-only transactions. Older values are only retained
+     * while a read-only transaction that started before they were replaced is open.
+     */
+    private volatile Version<T> versions = null;
     /**
      * Value of elements updated in current transaction.
      */
@@ -104,6 +109,18 @@ final class TinkerElementContainer<T extends TinkerElement> {
         return cloned;
     }
 
+    /**
+     * Get committed value of stored element as of the specified commit version. The element is neither copied nor
+     * recorded as read, so it must not be modified.
+     * @param commitVersion version of the commit to read
+     */
+    public T getCommitted(final long commitVersion) {
+        Version<T> version = versions;
+        while (version != null && version.commitVersion > commitVersion)
+            version = version.previous;
+        return null == version ? null : version.element;
+    }
+
     /**
      * Get current committed value of stored element.
      */
@@ -188,22 +205,42 @@ final class TinkerElementContainer<T extends TinkerElement> {
     /**
      * Commit changes for the stored element.
      * @param txVersion version of transaction
+     * @param commitVersion version under which the change is published to read-only transactions
+     * @param oldestSnapshot oldest commit version that an open read-only transaction reads or {@code commitVersion}
+     *                       if there is none
      */
-    public void commit(final long txVersion) {
+    public void commit(final long txVersion, final long commitVersion, final long oldestSnapshot) {
         updateUsesCount();
         if (isDeletedInTx.get()) {
-            // created and deleted in same tx
-            if (null != element)
+            versions = new Version<>(null, commitVersion, retained(commitVersion, oldestSnapshot));
+            // created and deleted in same tx, the element can only be flagged if no snapshot still reads it
+            if (null != element && null == versions.previous)
                 element.removed = true;
             element = null;
             isDeleted = true;
         } else {
             element = transactionUpdatedValue.get();
             element.currentVersion = txVersion;
+            isDeleted = false;
+            versions = new Version<>(element, commitVersion, retained(commitVersion, oldestSnapshot));
         }
         reset();
     }
 
+    /**
+     * Drops the committed values that no read-only transaction can read anymore once a value is committed under the
+     * specified version, keeping only those needed by transactions that started at or after the oldest snapshot.
+     */
+    private Version<T> retained(final long commitVersion, final long oldestSnapshot) {
+        if (oldestSnapshot >= commitVersion) return null;
+
+        Version<T> version = versions;
+        while (version != null && version.commitVersion > oldestSnapshot)
+            version = version.previous;
+        if (version != null) version.previous = null;
+        return versions;
+    }
+
     /**
      * Rollback changes for the stored element.
      */
@@ -257,4 +294,16 @@ final class TinkerElementContainer<T extends TinkerElement> {
         if (lock.isHeldByCurrentThread())
             lock.unlock();
     }
+
+    private static final class Version<T> {
+        private final T element;
+        private final long commitVersion;
+        private Version<T> previous;
+
+        private Version(final T element, final long commitVersion, final Version<T> previous) {
+            this.element = element;
+            this.commitVersion = commitVersion;
+            this.previous = previous;
+        }
+    }
 }
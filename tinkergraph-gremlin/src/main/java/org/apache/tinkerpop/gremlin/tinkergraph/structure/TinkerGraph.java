@@ -45,6 +45,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * An in-memory (with optional persistence on calls to {@link #close()}), reference implementation of the property
@@ -76,6 +77,10 @@ public class TinkerGraph extends AbstractTinkerGraph {
     protected Map<Object, Vertex> vertices = new ConcurrentHashMap<>();
     protected Map<Object, Edge> edges = new ConcurrentHashMap<>();
 
+    protected final boolean compactAdjacency;
+    private final Map<String, Integer> edgeLabelIds = new ConcurrentHashMap<>();
+    private final AtomicInteger nextEdgeLabelId = new AtomicInteger();
+
     /**
      * An empty private constructor that initializes {@link TinkerGraph}.
      */
@@ -87,6 +92,7 @@ public class TinkerGraph extends AbstractTinkerGraph {
         defaultVertexPropertyCardinality = VertexProperty.Cardinality.valueOf(
                 configuration.getString(GREMLIN_TINKERGRAPH_DEFAULT_VERTEX_PROPERTY_CARDINALITY, VertexProperty.Cardinality.single.name()));
         allowNullPropertyValues = configuration.getBoolean(GREMLIN_TINKERGRAPH_ALLOW_NULL_PROPERTY_VALUES, false);
+        compactAdjacency = configuration.getBoolean(GREMLIN_TINKERGRAPH_COMPACT_ADJACENCY, false);
 
         graphLocation = configuration.getString(GREMLIN_TINKERGRAPH_GRAPH_LOCATION, null);
         graphFormat = configuration.getString(GREMLIN_TINKERGRAPH_GRAPH_FORMAT, null);
@@ -96,6 +102,7 @@ public class TinkerGraph extends AbstractTinkerGraph {
                     GREMLIN_TINKERGRAPH_GRAPH_LOCATION, GREMLIN_TINKERGRAPH_GRAPH_FORMAT));
 
         if (graphLocation != null) loadGraph();
+        openWriteAheadLog();
 
         serviceRegistry = new TinkerServiceRegistry(this);
         configuration.getList(String.class, GREMLIN_TINKERGRAPH_SERVICE, Collections.emptyList()).forEach(serviceClass ->
@@ -149,6 +156,7 @@ public class TinkerGraph extends AbstractTinkerGraph {
         final Vertex vertex = createTinkerVertex(idValue, label, this);
         ElementHelper.attachProperties(vertex, VertexProperty.Cardinality.list, keyValues);
         this.vertices.put(vertex.id(), vertex);
+        TinkerWriteAheadLog.vertexAdded((TinkerVertex) vertex);
 
         return vertex;
     }
@@ -156,7 +164,8 @@ public class TinkerGraph extends AbstractTinkerGraph {
     @Override
     public void removeVertex(final Object vertexId)
     {
-        this.vertices.remove(vertexId);
+        if (null != this.vertices.remove(vertexId))
+            TinkerWriteAheadLog.vertexRemoved(this, vertexId);
     }
 
     @Override
@@ -179,6 +188,7 @@ public class TinkerGraph extends AbstractTinkerGraph {
         edges.put(edge.id(), edge);
         addOutEdge(outVertex, label, edge);
         addInEdge(inVertex, label, edge);
+        TinkerWriteAheadLog.edgeAdded((TinkerEdge) edge);
         return edge;
     }
 
@@ -191,6 +201,14 @@ public class TinkerGraph extends AbstractTinkerGraph {
         final TinkerVertex outVertex = (TinkerVertex) edge.outVertex();
         final TinkerVertex inVertex = (TinkerVertex) edge.inVertex();
 
+        if (compactAdjacency) {
+            final int labelId = edgeLabelId(edge.label());
+            if (null != outVertex && null != outVertex.outAdjacency)
+                outVertex.outAdjacency.remove(labelId, edgeId);
+            if (null != inVertex && null != inVertex.inAdjacency)
+                inVertex.inAdjacency.remove(labelId, edgeId);
+        }
+
         if (null != outVertex && null != outVertex.outEdges) {
             final Set<Edge> edges = outVertex.outEdges.get(edge.label());
             if (null != edges)
@@ -203,6 +221,7 @@ public class TinkerGraph extends AbstractTinkerGraph {
         }
 
         this.edges.remove(edgeId);
+        TinkerWriteAheadLog.edgeRemoved(this, edgeId);
     }
 
     @Override
@@ -282,8 +301,29 @@ public class TinkerGraph extends AbstractTinkerGraph {
                 iterator;
     }
 
+    /**
+     * Gets the interned identifier for an edge label used by the compact adjacency storage, assigning the next one
+     * if the label has not been seen before.
+     */
+    int edgeLabelId(final String label) {
+        return edgeLabelIds.computeIfAbsent(label, k -> nextEdgeLabelId.getAndIncrement());
+    }
+
+    /**
+     * Gets the interned identifier for an edge label or {@code -1} if no edge with that label was ever added.
+     */
+    int existingEdgeLabelId(final String label) {
+        return edgeLabelIds.getOrDefault(label, -1);
+    }
+
     @Override
     protected void addOutEdge(final TinkerVertex vertex, final String label, final Edge edge) {
+        if (compactAdjacency) {
+            if (null == vertex.outAdjacency) vertex.outAdjacency = new TinkerAdjacency();
+            vertex.outAdjacency.add(edgeLabelId(label), edge);
+            return;
+        }
+
         if (null == vertex.outEdges) vertex.outEdges = new HashMap<>();
         Set<Edge> edges = vertex.outEdges.get(label);
         if (null == edges) {
@@ -295,6 +335,12 @@ public class TinkerGraph extends AbstractTinkerGraph {
 
     @Override
     protected void addInEdge(final TinkerVertex vertex, final String label, final Edge edge) {
+        if (compactAdjacency) {
+            if (null == vertex.inAdjacency) vertex.inAdjacency = new TinkerAdjacency();
+            vertex.inAdjacency.add(edgeLabelId(label), edge);
+            return;
+        }
+
         if (null == vertex.inEdges) vertex.inEdges = new HashMap<>();
         Set<Edge> edges = vertex.inEdges.get(label);
         if (null == edges) {
@@ -386,12 +432,25 @@ public class TinkerGraph extends AbstractTinkerGraph {
      * @param <E>          The type of the element class
      */
     public <E extends Element> void createIndex(final String key, final Class<E> elementClass) {
+        createIndex(key, elementClass, IndexType.HASH);
+    }
+
+    /**
+     * Create an index of the specified {@link IndexType} for said element class ({@link Vertex} or {@link Edge}) and
+     * said property key. If the key is already indexed with a different type of index, that index is replaced.
+     *
+     * @param key          the property key to index
+     * @param elementClass the element class to index
+     * @param indexType    the type of index to create
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createIndex(final String key, final Class<E> elementClass, final IndexType indexType) {
         if (Vertex.class.isAssignableFrom(elementClass)) {
             if (null == this.vertexIndex) this.vertexIndex = new TinkerIndex<>(this, TinkerVertex.class);
-            this.vertexIndex.createKeyIndex(key);
+            this.vertexIndex.createKeyIndex(key, indexType);
         } else if (Edge.class.isAssignableFrom(elementClass)) {
             if (null == this.edgeIndex) this.edgeIndex = new TinkerIndex<>(this, TinkerEdge.class);
-            this.edgeIndex.createKeyIndex(key);
+            this.edgeIndex.createKeyIndex(key, indexType);
         } else {
             throw new IllegalArgumentException("Class is not indexable: " + elementClass);
         }
@@ -413,4 +472,44 @@ public class TinkerGraph extends AbstractTinkerGraph {
             throw new IllegalArgumentException("Class is not indexable: " + elementClass);
         }
     }
+
+    /**
+     * Create a composite index for said element class ({@link Vertex} or {@link Edge}) over the combined values of
+     * the specified property keys of elements with said label. Lookups that have equality conditions on the label
+     * and all of the keys can then be answered from a single index entry.
+     *
+     * @param label        the label of the elements to index or {@code null} to index elements of any label
+     * @param elementClass the element class to index
+     * @param keys         the property keys to index
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createCompositeIndex(final String label, final Class<E> elementClass, final String... keys) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            if (null == this.vertexIndex) this.vertexIndex = new TinkerIndex<>(this, TinkerVertex.class);
+            this.vertexIndex.createCompositeIndex(label, Arrays.asList(keys));
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            if (null == this.edgeIndex) this.edgeIndex = new TinkerIndex<>(this, TinkerEdge.class);
+            this.edgeIndex.createCompositeIndex(label, Arrays.asList(keys));
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Drop the composite index for the specified element class ({@link Vertex} or {@link Edge}), label and keys.
+     *
+     * @param label        the label of the indexed elements or {@code null}
+     * @param elementClass the element class of the index to drop
+     * @param keys         the property keys of the index to drop
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void dropCompositeIndex(final String label, final Class<E> elementClass, final String... keys) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            if (null != this.vertexIndex) this.vertexIndex.dropCompositeIndex(label, Arrays.asList(keys));
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            if (null != this.edgeIndex) this.edgeIndex.dropCompositeIndex(label, Arrays.asList(keys));
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
 }
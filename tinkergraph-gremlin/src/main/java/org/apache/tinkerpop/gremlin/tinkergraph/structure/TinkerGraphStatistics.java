@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.GraphStatistics;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * The {@link GraphStatistics} of an {@link AbstractTinkerGraph}. Element counts are exact, property value counts are
+ * answered by {@link AbstractTinkerIndex#count(String, Object)} for indexed keys and label counts come from a
+ * histogram built by scanning the graph. The histogram is rebuilt once the number of vertices or edges has moved by
+ * more than a tenth from the number it was built for, so it costs little for a graph that is mostly read.
+ */
+final class TinkerGraphStatistics implements GraphStatistics {
+
+    private final AbstractTinkerGraph graph;
+    private volatile LabelCounts vertexLabels = LabelCounts.EMPTY;
+    private volatile LabelCounts edgeLabels = LabelCounts.EMPTY;
+
+    TinkerGraphStatistics(final AbstractTinkerGraph graph) {
+        this.graph = graph;
+    }
+
+    @Override
+    public long count(final Class<? extends Element> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass))
+            return this.graph.getVerticesCount();
+        else if (Edge.class.isAssignableFrom(elementClass))
+            return this.graph.getEdgesCount();
+        return UNKNOWN;
+    }
+
+    @Override
+    public long count(final Class<? extends Element> elementClass, final String label) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            LabelCounts counts = this.vertexLabels;
+            if (counts.isStale(this.graph.getVerticesCount())) {
+                counts = LabelCounts.of(this.graph.getVerticesCount(), this.graph.vertices());
+                this.vertexLabels = counts;
+            }
+            return counts.get(label);
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            LabelCounts counts = this.edgeLabels;
+            if (counts.isStale(this.graph.getEdgesCount())) {
+                counts = LabelCounts.of(this.graph.getEdgesCount(), this.graph.edges());
+                this.edgeLabels = counts;
+            }
+            return counts.get(label);
+        }
+        return UNKNOWN;
+    }
+
+    @Override
+    public long count(final Class<? extends Element> elementClass, final String key, final Object value) {
+        if (Vertex.class.isAssignableFrom(elementClass))
+            return count(this.graph.vertexIndex, key, value);
+        else if (Edge.class.isAssignableFrom(elementClass))
+            return count(this.graph.edgeIndex, key, value);
+        return UNKNOWN;
+    }
+
+    private static long count(final AbstractTinkerIndex<?> index, final String key, final Object value) {
+        return null != index && index.getIndexedKeys().contains(key) ? index.count(key, value) : UNKNOWN;
+    }
+
+    private static final class LabelCounts {
+        private static final LabelCounts EMPTY = new LabelCounts(-1, Collections.emptyMap());
+
+        private final long size;
+        private final Map<String, Long> counts;
+
+        private LabelCounts(final long size, final Map<String, Long> counts) {
+            this.size = size;
+            this.counts = counts;
+        }
+
+        private static LabelCounts of(final long size, final Iterator<? extends Element> elements) {
+            final Map<String, Long> counts = new HashMap<>();
+            while (elements.hasNext()) {
+                counts.merge(elements.next().label(), 1L, Long::sum);
+            }
+            return new LabelCounts(size, counts);
+        }
+
+        private boolean isStale(final long currentSize) {
+            return this.size < 0 || Math.abs(currentSize - this.size) > this.size / 10;
+        }
+
+        private long get(final String label) {
+            return this.counts.getOrDefault(label, 0L);
+        }
+    }
+}
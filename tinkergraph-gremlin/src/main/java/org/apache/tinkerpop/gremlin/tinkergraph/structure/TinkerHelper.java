@@ -72,6 +72,14 @@ public final class TinkerHelper {
 
     public static Iterator<TinkerEdge> getEdges(final TinkerVertex vertex, final Direction direction, final String... edgeLabels) {
         final List<Edge> edges = new ArrayList<>();
+        if (vertex.outAdjacency != null || vertex.inAdjacency != null) {
+            if (direction.equals(Direction.OUT) || direction.equals(Direction.BOTH))
+                addAdjacentEdges((TinkerGraph) vertex.graph, vertex.outAdjacency, edges, edgeLabels);
+            if (direction.equals(Direction.IN) || direction.equals(Direction.BOTH))
+                addAdjacentEdges((TinkerGraph) vertex.graph, vertex.inAdjacency, edges, edgeLabels);
+            return (Iterator) edges.iterator();
+        }
+
         if (direction.equals(Direction.OUT) || direction.equals(Direction.BOTH)) {
             if (vertex.outEdges != null) {
                 if (edgeLabels.length == 0)
@@ -130,6 +138,14 @@ public final class TinkerHelper {
 
     public static Iterator<TinkerVertex> getVertices(final TinkerVertex vertex, final Direction direction, final String... edgeLabels) {
         final List<Vertex> vertices = new ArrayList<>();
+        if (vertex.outAdjacency != null || vertex.inAdjacency != null) {
+            if (direction.equals(Direction.OUT) || direction.equals(Direction.BOTH))
+                addAdjacentVertices((TinkerGraph) vertex.graph, vertex.outAdjacency, Direction.OUT, vertices, edgeLabels);
+            if (direction.equals(Direction.IN) || direction.equals(Direction.BOTH))
+                addAdjacentVertices((TinkerGraph) vertex.graph, vertex.inAdjacency, Direction.IN, vertices, edgeLabels);
+            return (Iterator) vertices.iterator();
+        }
+
         if (direction.equals(Direction.OUT) || direction.equals(Direction.BOTH)) {
             if (vertex.outEdges != null) {
                 if (edgeLabels.length == 0)
@@ -153,6 +169,32 @@ public final class TinkerHelper {
         return (Iterator) vertices.iterator();
     }
 
+    private static void addAdjacentEdges(final TinkerGraph graph, final TinkerAdjacency adjacency,
+                                         final List<Edge> edges, final String... edgeLabels) {
+        if (null == adjacency) return;
+        if (edgeLabels.length == 0)
+            adjacency.addEdges(edges);
+        else {
+            for (String edgeLabel : edgeLabels) {
+                final int labelId = graph.existingEdgeLabelId(edgeLabel);
+                if (labelId >= 0) adjacency.addEdges(labelId, edges);
+            }
+        }
+    }
+
+    private static void addAdjacentVertices(final TinkerGraph graph, final TinkerAdjacency adjacency, final Direction direction,
+                                            final List<Vertex> vertices, final String... edgeLabels) {
+        if (null == adjacency) return;
+        if (edgeLabels.length == 0)
+            adjacency.addVertices(direction, vertices);
+        else {
+            for (String edgeLabel : edgeLabels) {
+                final int labelId = graph.existingEdgeLabelId(edgeLabel);
+                if (labelId >= 0) adjacency.addVertices(labelId, direction, vertices);
+            }
+        }
+    }
+
     public static Iterator<TinkerVertex> getVerticesTx(final TinkerVertex vertex, final Direction direction, final String... edgeLabels) {
         final Set<Object> inEdgesIds = new HashSet<>();
         if (direction.equals(Direction.OUT) || direction.equals(Direction.BOTH)) {
@@ -18,23 +18,38 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.AbstractTinkerGraph.IndexType;
+import org.apache.tinkerpop.gremlin.util.GremlinValueComparator;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 final class TinkerIndex<T extends Element> extends AbstractTinkerIndex<T> {
 
+    /**
+     * Orders the values of a {@link IndexType#RANGE} index by Gremlin orderability so that values of different types
+     * are grouped together and numbers of different types compare by value.
+     */
+    private static final Comparator<Object> RANGE_COMPARATOR = (a, b) ->
+            GremlinValueComparator.ORDERABILITY.compare(a instanceof IndexedNull ? null : a, b instanceof IndexedNull ? null : b);
+
     protected Map<String, Map<Object, Set<T>>> index = new ConcurrentHashMap<>();
 
     public TinkerIndex(final TinkerGraph graph, final Class<T> indexClass) {
@@ -44,7 +59,8 @@ final class TinkerIndex<T extends Element> extends AbstractTinkerIndex<T> {
     protected void put(final String key, final Object value, final T element) {
         Map<Object, Set<T>> keyMap = this.index.get(key);
         if (null == keyMap) {
-            this.index.putIfAbsent(key, new ConcurrentHashMap<>());
+            this.index.putIfAbsent(key, this.rangeIndexedKeys.contains(key) ?
+                    new ConcurrentSkipListMap<>(RANGE_COMPARATOR) : new ConcurrentHashMap<>());
             keyMap = this.index.get(key);
         }
         final Object indexableValue = indexable(value);
@@ -70,6 +86,52 @@ final class TinkerIndex<T extends Element> extends AbstractTinkerIndex<T> {
         }
     }
 
+    @Override
+    public Iterator<T> iterator(final String key, final Object value) {
+        final Map<Object, Set<T>> keyMap = this.index.get(key);
+        if (null == keyMap)
+            return Collections.emptyIterator();
+
+        // the sets are concurrent so their iterators are weakly consistent and tolerate changes to the index
+        final Set<T> set = keyMap.get(indexable(value));
+        return null == set ? Collections.emptyIterator() : set.iterator();
+    }
+
+    @Override
+    public List<T> getRange(final String key, final Object lower, final boolean lowerInclusive,
+                            final Object upper, final boolean upperInclusive) {
+        NavigableMap<Object, Set<T>> range = getRangeIndex(key);
+        if (null == range) return Collections.emptyList();
+
+        if (null != lower) range = range.tailMap(indexable(lower), lowerInclusive);
+        if (null != upper) range = range.headMap(indexable(upper), upperInclusive);
+
+        final List<T> list = new ArrayList<>();
+        range.values().forEach(list::addAll);
+        return list;
+    }
+
+    @Override
+    public List<T> getOrdered(final String key, final Order order, final Predicate<T> filter, final long limit) {
+        final NavigableMap<Object, Set<T>> range = getRangeIndex(key);
+        if (null == range) return Collections.emptyList();
+
+        final List<T> list = new ArrayList<>();
+        for (Set<T> elements : (order == Order.desc ? range.descendingMap() : range).values()) {
+            for (T element : elements) {
+                if (list.size() >= limit) return list;
+                if (filter.test(element)) list.add(element);
+            }
+        }
+        return list;
+    }
+
+    private NavigableMap<Object, Set<T>> getRangeIndex(final String key) {
+        if (!this.rangeIndexedKeys.contains(key))
+            throw new IllegalArgumentException(String.format("The key %s does not have a %s index", key, IndexType.RANGE));
+        return (NavigableMap<Object, Set<T>>) this.index.get(key);
+    }
+
     @Override
     public long count(final String key, final Object value) {
         final Map<Object, Set<T>> keyMap = this.index.get(key);
@@ -86,13 +148,23 @@ final class TinkerIndex<T extends Element> extends AbstractTinkerIndex<T> {
 
     @Override
     public void remove(final String key, final Object value, final T element) {
+        removeEntry(key, value, element);
+        for (CompositeIndex compositeIndex : this.compositeIndexes.values()) {
+            if (compositeIndex.getKeys().contains(key)) {
+                for (Object indexValue : compositeIndex.indexValues(element, key, value))
+                    removeEntry(compositeIndex.getIndexKey(), indexValue, element);
+            }
+        }
+    }
+
+    private void removeEntry(final String key, final Object value, final T element) {
         final Map<Object, Set<T>> keyMap = this.index.get(key);
         if (null != keyMap) {
             final Set<T> objects = keyMap.get(indexable(value));
             if (null != objects) {
                 objects.remove(element);
                 if (objects.size() == 0) {
-                    keyMap.remove(value);
+                    keyMap.remove(indexable(value));
                 }
             }
         }
@@ -112,21 +184,40 @@ final class TinkerIndex<T extends Element> extends AbstractTinkerIndex<T> {
     @Override
     public void autoUpdate(final String key, final Object newValue, final Object oldValue, final T element) {
         if (this.indexedKeys.contains(key)) {
-            this.remove(key, oldValue, element);
+            this.removeEntry(key, oldValue, element);
             this.put(key, newValue, element);
         }
+        for (CompositeIndex compositeIndex : this.compositeIndexes.values()) {
+            if (compositeIndex.getKeys().contains(key)) {
+                for (Object indexValue : compositeIndex.indexValues(element, key, oldValue))
+                    this.removeEntry(compositeIndex.getIndexKey(), indexValue, element);
+                for (Object indexValue : compositeIndex.indexValues(element, key, newValue))
+                    this.put(compositeIndex.getIndexKey(), indexValue, element);
+            }
+        }
     }
 
     @Override
     public void createKeyIndex(final String key) {
+        createKeyIndex(key, IndexType.HASH);
+    }
+
+    @Override
+    public void createKeyIndex(final String key, final IndexType indexType) {
         if (null == key)
             throw Graph.Exceptions.argumentCanNotBeNull("key");
         if (key.isEmpty())
             throw new IllegalArgumentException("The key for the index cannot be an empty string");
 
-        if (this.indexedKeys.contains(key))
-            return;
+        if (this.indexedKeys.contains(key)) {
+            if ((indexType == IndexType.RANGE) == this.rangeIndexedKeys.contains(key))
+                return;
+
+            // the key is indexed with a different type of index so rebuild it
+            this.dropKeyIndex(key);
+        }
         this.indexedKeys.add(key);
+        if (indexType == IndexType.RANGE) this.rangeIndexedKeys.add(key);
 
         (Vertex.class.isAssignableFrom(this.indexClass) ?
                 // cleaner to use graph.vertices(), but graph.vertices is quicker
@@ -143,5 +234,24 @@ final class TinkerIndex<T extends Element> extends AbstractTinkerIndex<T> {
             this.index.remove(key).clear();
 
         this.indexedKeys.remove(key);
+        this.rangeIndexedKeys.remove(key);
+    }
+
+    @Override
+    public void createCompositeIndex(final String label, final List<String> keys) {
+        final CompositeIndex compositeIndex = addCompositeIndex(label, keys);
+        if (null == compositeIndex) return;
+
+        (Vertex.class.isAssignableFrom(this.indexClass) ?
+                ((TinkerGraph)this.graph).vertices.values().parallelStream() :
+                ((TinkerGraph)this.graph).edges.values().parallelStream())
+                .forEach(e -> compositeIndex.indexValues(e).forEach(v -> this.put(compositeIndex.getIndexKey(), v, (T) e)));
+    }
+
+    @Override
+    public void dropCompositeIndex(final String label, final List<String> keys) {
+        final CompositeIndex compositeIndex = this.compositeIndexes.remove(new CompositeIndex(label, keys).getIndexKey());
+        if (null != compositeIndex && this.index.containsKey(compositeIndex.getIndexKey()))
+            this.index.remove(compositeIndex.getIndexKey()).clear();
     }
 }
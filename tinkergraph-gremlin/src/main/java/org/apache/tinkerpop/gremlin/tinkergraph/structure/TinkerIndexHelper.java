@@ -18,8 +18,17 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.javatuples.Pair;
+
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
 
 public final class TinkerIndexHelper {
 
@@ -34,6 +43,76 @@ public final class TinkerIndexHelper {
         return null == graph.edgeIndex ? Collections.emptyList() : graph.edgeIndex.get(key, value);
     }
 
+    public static Iterator<TinkerVertex> iterateVertexIndex(final AbstractTinkerGraph graph, final String key, final Object value) {
+        return null == graph.vertexIndex ? Collections.emptyIterator() : graph.vertexIndex.iterator(key, value);
+    }
+
+    public static Iterator<TinkerEdge> iterateEdgeIndex(final AbstractTinkerGraph graph, final String key, final Object value) {
+        return null == graph.edgeIndex ? Collections.emptyIterator() : graph.edgeIndex.iterator(key, value);
+    }
+
+    /**
+     * Finds an index entry that holds exactly the elements with the specified values for the keys, and the specified
+     * label if one is given, so that the size of the entry is the number of such elements.
+     *
+     * @return the index key and value of the entry or {@code null} if no current index covers exactly those conditions
+     */
+    public static Pair<String, Object> getExactIndexEntry(final AbstractTinkerGraph graph, final Class<? extends Element> elementClass,
+                                                          final String label, final Map<String, Object> values) {
+        if (values.isEmpty() || !graph.isIndexCurrent()) return null;
+
+        if (null == label && 1 == values.size()) {
+            final Map.Entry<String, Object> entry = values.entrySet().iterator().next();
+            if (graph.getIndexedKeys(elementClass).contains(entry.getKey()))
+                return Pair.with(entry.getKey(), entry.getValue());
+        }
+
+        for (AbstractTinkerIndex.CompositeIndex compositeIndex : graph.getCompositeIndexes(elementClass)) {
+            if (Objects.equals(label, compositeIndex.getLabel()) && compositeIndex.getKeys().size() == values.size() &&
+                    values.keySet().containsAll(compositeIndex.getKeys())) {
+                final List<Object> keyValues = new ArrayList<>(values.size());
+                compositeIndex.getKeys().forEach(k -> keyValues.add(values.get(k)));
+                return Pair.with(compositeIndex.getIndexKey(), compositeIndex.indexValue(keyValues));
+            }
+        }
+
+        return null;
+    }
+
+    public static long countVertexIndex(final AbstractTinkerGraph graph, final String key, final Object value) {
+        return null == graph.vertexIndex ? 0 : graph.vertexIndex.count(key, value);
+    }
+
+    public static long countEdgeIndex(final AbstractTinkerGraph graph, final String key, final Object value) {
+        return null == graph.edgeIndex ? 0 : graph.edgeIndex.count(key, value);
+    }
+
+    public static List<TinkerVertex> queryVertexIndex(final AbstractTinkerGraph graph, final String key,
+                                                      final Object lower, final boolean lowerInclusive,
+                                                      final Object upper, final boolean upperInclusive) {
+        return null == graph.vertexIndex ?
+                Collections.emptyList() :
+                graph.vertexIndex.getRange(key, lower, lowerInclusive, upper, upperInclusive);
+    }
+
+    public static List<TinkerEdge> queryEdgeIndex(final AbstractTinkerGraph graph, final String key,
+                                                  final Object lower, final boolean lowerInclusive,
+                                                  final Object upper, final boolean upperInclusive) {
+        return null == graph.edgeIndex ?
+                Collections.emptyList() :
+                graph.edgeIndex.getRange(key, lower, lowerInclusive, upper, upperInclusive);
+    }
+
+    public static List<TinkerVertex> queryVertexIndexOrdered(final AbstractTinkerGraph graph, final String key, final Order order,
+                                                             final Predicate<TinkerVertex> filter, final long limit) {
+        return null == graph.vertexIndex ? Collections.emptyList() : graph.vertexIndex.getOrdered(key, order, filter, limit);
+    }
+
+    public static List<TinkerEdge> queryEdgeIndexOrdered(final AbstractTinkerGraph graph, final String key, final Order order,
+                                                         final Predicate<TinkerEdge> filter, final long limit) {
+        return null == graph.edgeIndex ? Collections.emptyList() : graph.edgeIndex.getOrdered(key, order, filter, limit);
+    }
+
     public static void autoUpdateIndex(final TinkerEdge edge, final String key, final Object newValue, final Object oldValue) {
         final AbstractTinkerGraph graph = (AbstractTinkerGraph) edge.graph();
         if (graph.edgeIndex != null)
@@ -22,10 +22,18 @@ import org.apache.tinkerpop.gremlin.process.traversal.TraversalSource;
 import org.apache.tinkerpop.gremlin.structure.Transaction;
 import org.apache.tinkerpop.gremlin.structure.util.AbstractThreadLocalTransaction;
 import org.apache.tinkerpop.gremlin.structure.util.TransactionException;
+import org.javatuples.Pair;
 
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
@@ -35,6 +43,8 @@ final class TinkerTransaction extends AbstractThreadLocalTransaction {
 
     private static final String TX_CONFLICT = "Conflict: element modified in another transaction";
 
+    private static final String READ_ONLY = "Read-only transaction can not modify the graph";
+
     /**
      * Initial value of transaction number.
      */
@@ -65,6 +75,42 @@ final class TinkerTransaction extends AbstractThreadLocalTransaction {
      */
     private final ThreadLocal<Set<TinkerElementContainer>> txReadElements = new ThreadLocal<>();
 
+    /**
+     * Snapshot read by the read-only transaction of current thread, if there is one.
+     */
+    private final ThreadLocal<Snapshot> txSnapshot = new ThreadLocal<>();
+
+    /**
+     * Guards the publication of commits to read-only transactions and the registration of their snapshots.
+     */
+    private final Object commitLock = new Object();
+
+    /**
+     * Version of the last commit published to read-only transactions.
+     */
+    private long commitVersion = 0;
+
+    /**
+     * Number of commits that started to update the indices and are not yet published.
+     */
+    private int pendingCommits = 0;
+
+    /**
+     * Number of commits that started to update the indices, used to find out if the indices moved past a snapshot.
+     */
+    private volatile long indexUpdates = 0;
+
+    /**
+     * Commit versions read by open read-only transactions mapped to the number of such transactions.
+     */
+    private final TreeMap<Long, Integer> snapshots = new TreeMap<>();
+
+    /**
+     * Removals of containers of deleted elements deferred until no open read-only transaction reads a version older
+     * than the one of the deletion.
+     */
+    private final Deque<Pair<Long, Runnable>> deferredRemovals = new ArrayDeque<>();
+
     private final TinkerTransactionGraph graph;
 
     static {
@@ -87,6 +133,55 @@ final class TinkerTransaction extends AbstractThreadLocalTransaction {
         return super.begin();
     }
 
+    /**
+     * Opens a read-only transaction that reads the graph as of the last commit for its whole lifetime. Elements are
+     * neither copied nor tracked as read and any attempt to modify the graph fails.
+     */
+    public <T extends TraversalSource> T beginReadOnly() {
+        if (isOpen()) throw Transaction.Exceptions.transactionAlreadyOpen();
+
+        doOpen();
+        synchronized (commitLock) {
+            snapshots.merge(commitVersion, 1, Integer::sum);
+            txSnapshot.set(new Snapshot(commitVersion, 0 == pendingCommits ? indexUpdates : NOT_STARTED));
+        }
+        return super.begin();
+    }
+
+    /**
+     * Determines if the current transaction is read-only.
+     */
+    boolean isReadOnly() {
+        return txSnapshot.get() != null;
+    }
+
+    /**
+     * Gets the value of the element stored in the container as visible to the current transaction. A read-only
+     * transaction gets the committed value of its snapshot, otherwise the value is copied for the transaction if
+     * {@code copy} is set.
+     */
+    <T extends TinkerElement> T read(final TinkerElementContainer<T> container, final boolean copy) {
+        final Snapshot snapshot = txSnapshot.get();
+        if (snapshot != null) return container.getCommitted(snapshot.commitVersion);
+        return copy ? container.getWithClone(this) : container.get();
+    }
+
+    /**
+     * Determines if the indices hold exactly the elements visible to the current transaction, which is not the case
+     * for a read-only transaction once a commit updated the indices after its snapshot was taken.
+     */
+    boolean isIndexCurrent() {
+        final Snapshot snapshot = txSnapshot.get();
+        return null == snapshot || snapshot.indexUpdates == indexUpdates;
+    }
+
+    /**
+     * Fails if the current transaction is read-only.
+     */
+    void verifyWritable() {
+        if (isReadOnly()) throw new IllegalStateException(READ_ONLY);
+    }
+
     @Override
     protected void doOpen() {
         txNumber.set(openedTx.getAndIncrement());
@@ -131,49 +226,60 @@ final class TinkerTransaction extends AbstractThreadLocalTransaction {
     /**
      * Try to commit all changes made in current transaction.
      * Workflow:
-     * 1. collect all changes
-     * 2. verify if any elements already changed, throw {@link TransactionException} if any
-     * 3. try to lock all containers to prevent other tx from making changes
-     * 4. one more time verify elements versions
-     * 5. update indices
-     * 6. commit all changes
+     * 1. collect all changes and sort them by element id
+     * 2. lock the containers in that order and verify the version of each once it is locked, throw
+     *    {@link TransactionException} if any is locked by another tx or was already changed
+     * 3. write the changes to the write-ahead log, if any, throw {@link TransactionException} if that fails
+     * 4. update indices
+     * 5. commit all changes and publish them under a new commit version to read-only transactions
      * On {@link TransactionException}:
      *  rollback all changes
      * Lastly:
      *  cleanup transaction intermediate variables.
+     * <p/>
+     * Locks are only ever tried, so there is no deadlock to avoid, but taking them in a stable order means two
+     * overlapping transactions conflict on their first shared element rather than each locking part of the other.
+     * <p/>
+     * Committing a read-only transaction just releases its snapshot.
      *
      * @throws TransactionException
      */
     @Override
     protected void doCommit() throws TransactionException {
+        if (isReadOnly()) {
+            closeSnapshot();
+            return;
+        }
+
         final long txVersion = txNumber.get();
 
         // collect all changes
-        Set<TinkerElementContainer<TinkerVertex>> changedVertices = txChangedVertices.get();
-        if (null == changedVertices) changedVertices = Collections.emptySet();
-        Set<TinkerElementContainer<TinkerEdge>> changedEdges = txChangedEdges.get();
-        if (null == changedEdges) changedEdges = Collections.emptySet();
+        final List<TinkerElementContainer<TinkerVertex>> changedVertices = sortForLocking(txChangedVertices.get());
+        final List<TinkerElementContainer<TinkerEdge>> changedEdges = sortForLocking(txChangedEdges.get());
 
+        boolean pending = false;
+        boolean logged = false;
         try {
-            // Double-checked locking to reduce lock time
-            if (changedVertices.stream().anyMatch(v -> v.updatedOutsideTransaction()) ||
-                    changedEdges.stream().anyMatch(v -> v.updatedOutsideTransaction()))
-                throw new TransactionException(TX_CONFLICT);
-
-            // try to lock all element containers, throw exception if any element already locked by other tx
-            changedVertices.forEach(v -> {
-                if (!v.tryLock())
-                    throw new TransactionException(TX_CONFLICT);
-            });
-            changedEdges.forEach(e -> {
-                if (!e.tryLock())
-                    throw new TransactionException(TX_CONFLICT);
-            });
-
-            // verify versions of all elements to be sure no element changes during setting lock
-            if (changedVertices.stream().anyMatch(v -> v.updatedOutsideTransaction()) ||
-                    changedEdges.stream().anyMatch(e -> e.updatedOutsideTransaction()))
-                throw new TransactionException(TX_CONFLICT);
+            // a version checked after taking the lock can not change anymore
+            lockAndVerify(changedVertices);
+            lockAndVerify(changedEdges);
+
+            // log the changes before anything is updated, so that a failure can still be rolled back, and outside of
+            // the commit lock so that starting a read-only transaction does not wait for the disk
+            if (null != graph.writeAheadLog) {
+                try {
+                    graph.writeAheadLog.committing(changedVertices, changedEdges);
+                } catch (IOException ex) {
+                    throw new TransactionException("Could not write the transaction to the write-ahead log", ex);
+                }
+                logged = true;
+            }
+
+            synchronized (commitLock) {
+                pendingCommits++;
+                indexUpdates++;
+            }
+            pending = true;
 
             // update indices
             final TinkerTransactionalIndex vertexIndex = (TinkerTransactionalIndex) graph.vertexIndex;
@@ -181,9 +287,16 @@ final class TinkerTransaction extends AbstractThreadLocalTransaction {
             final TinkerTransactionalIndex edgeIndex = (TinkerTransactionalIndex) graph.edgeIndex;
             if (edgeIndex != null) edgeIndex.commit(changedEdges);
 
-            // commit all changes
-            changedVertices.forEach(v -> v.commit(txVersion));
-            changedEdges.forEach(e -> e.commit(txVersion));
+            // commit all changes and publish them at once to read-only transactions
+            synchronized (commitLock) {
+                final long published = commitVersion + 1;
+                final long oldestSnapshot = snapshots.isEmpty() ? published : snapshots.firstKey();
+                changedVertices.forEach(v -> v.commit(txVersion, published, oldestSnapshot));
+                changedEdges.forEach(e -> e.commit(txVersion, published, oldestSnapshot));
+                commitVersion = published;
+                pendingCommits--;
+                pending = false;
+            }
         } catch (TransactionException ex) {
             // rollback on error
             changedVertices.forEach(v -> v.rollback());
@@ -197,9 +310,12 @@ final class TinkerTransaction extends AbstractThreadLocalTransaction {
 
             throw ex;
         } finally {
-            // remove elements from graph if not used in other tx's
-            changedVertices.stream().filter(v -> v.canBeRemoved()).forEach(v -> graph.getVertices().remove(v.getElementId()));
-            changedEdges.stream().filter(e -> e.canBeRemoved()).forEach(e -> graph.getEdges().remove(e.getElementId()));
+            if (pending) {
+                synchronized (commitLock) {
+                    pendingCommits--;
+                }
+            }
+            if (logged) graph.writeAheadLog.published();
 
             final Set<TinkerElementContainer> readElements = txReadElements.get();
             if (readElements != null)
@@ -209,13 +325,79 @@ final class TinkerTransaction extends AbstractThreadLocalTransaction {
             txChangedEdges.remove();
             txReadElements.remove();
 
-            changedVertices.forEach(v -> v.releaseLock());
-            changedEdges.forEach(e -> e.releaseLock());
+            // remove elements from graph if not used in other tx's
+            for (TinkerElementContainer<TinkerVertex> v : changedVertices) {
+                if (v.canBeRemoved()) removeContainer(graph.getVertices(), v);
+                v.releaseLock();
+            }
+            for (TinkerElementContainer<TinkerEdge> e : changedEdges) {
+                if (e.canBeRemoved()) removeContainer(graph.getEdges(), e);
+                e.releaseLock();
+            }
 
             txNumber.set(NOT_STARTED);
         }
     }
 
+    /**
+     * Removes the container from the graph unless a read-only transaction is open, in which case the removal is
+     * deferred until all read-only transactions that may still read older versions of the element are closed.
+     */
+    private <T extends TinkerElement> void removeContainer(final Map<Object, TinkerElementContainer<T>> elements,
+                                                           final TinkerElementContainer<T> container) {
+        synchronized (commitLock) {
+            if (snapshots.isEmpty())
+                elements.remove(container.getElementId());
+            else
+                deferredRemovals.add(Pair.with(commitVersion, () -> {
+                    if (container.canBeRemoved()) elements.remove(container.getElementId(), container);
+                }));
+        }
+    }
+
+    /**
+     * Closes the read-only transaction of current thread and applies the removals that no open read-only
+     * transaction needs to be deferred anymore.
+     */
+    private void closeSnapshot() {
+        final Snapshot snapshot = txSnapshot.get();
+        synchronized (commitLock) {
+            snapshots.computeIfPresent(snapshot.commitVersion, (version, count) -> count > 1 ? count - 1 : null);
+            while (!deferredRemovals.isEmpty() &&
+                    (snapshots.isEmpty() || deferredRemovals.peek().getValue0() <= snapshots.firstKey()))
+                deferredRemovals.poll().getValue1().run();
+        }
+        txSnapshot.remove();
+        txNumber.set(NOT_STARTED);
+    }
+
+    private static <T extends TinkerElement> List<TinkerElementContainer<T>> sortForLocking(final Set<TinkerElementContainer<T>> containers) {
+        if (null == containers) return Collections.emptyList();
+
+        final List<TinkerElementContainer<T>> sorted = new ArrayList<>(containers);
+        sorted.sort((a, b) -> compareIds(a.getElementId(), b.getElementId()));
+        return sorted;
+    }
+
+    private static <T extends TinkerElement> void lockAndVerify(final List<TinkerElementContainer<T>> containers) {
+        for (TinkerElementContainer<T> container : containers) {
+            if (!container.tryLock() || container.updatedOutsideTransaction())
+                throw new TransactionException(TX_CONFLICT);
+        }
+    }
+
+    /**
+     * Orders ids of the same comparable type naturally and everything else by type and then hash which is stable
+     * enough for lock ordering.
+     */
+    static int compareIds(final Object a, final Object b) {
+        if (a.getClass() == b.getClass() && a instanceof Comparable)
+            return ((Comparable) a).compareTo(b);
+
+        final int byType = a.getClass().getName().compareTo(b.getClass().getName());
+        return 0 != byType ? byType : Integer.compare(a.hashCode(), b.hashCode());
+    }
+
     /**
      * Rollback all changes made in current transaction.
      * Workflow:
@@ -227,6 +409,11 @@ final class TinkerTransaction extends AbstractThreadLocalTransaction {
      */
     @Override
     protected void doRollback() throws TransactionException {
+        if (isReadOnly()) {
+            closeSnapshot();
+            return;
+        }
+
         // rollback for all changed elements
         Set<TinkerElementContainer<TinkerVertex>> changedVertices = txChangedVertices.get();
         if (null != changedVertices) changedVertices.forEach(v -> v.rollback());
@@ -237,13 +424,13 @@ final class TinkerTransaction extends AbstractThreadLocalTransaction {
         final TinkerTransactionalIndex vertexIndex = (TinkerTransactionalIndex) graph.vertexIndex;
         if (vertexIndex != null) vertexIndex.rollback();
         final TinkerTransactionalIndex edgeIndex = (TinkerTransactionalIndex) graph.edgeIndex;
-        if (vertexIndex != null) edgeIndex.rollback();
+        if (edgeIndex != null) edgeIndex.rollback();
 
         // cleanup unused containers
         if (null != changedVertices)
-            changedVertices.stream().filter(v -> v.canBeRemoved()).forEach(v -> graph.getVertices().remove(v.getElementId()));
+            changedVertices.stream().filter(v -> v.canBeRemoved()).forEach(v -> removeContainer(graph.getVertices(), v));
         if (null != changedEdges)
-            changedEdges.stream().filter(e -> e.canBeRemoved()).forEach(e -> graph.getEdges().remove(e.getElementId()));
+            changedEdges.stream().filter(e -> e.canBeRemoved()).forEach(e -> removeContainer(graph.getEdges(), e));
 
         final Set<TinkerElementContainer> readElements = txReadElements.get();
         if (readElements != null)
@@ -255,4 +442,21 @@ final class TinkerTransaction extends AbstractThreadLocalTransaction {
 
         txNumber.set(NOT_STARTED);
     }
+
+    private static final class Snapshot {
+        /**
+         * Version of the last commit visible to the read-only transaction.
+         */
+        private final long commitVersion;
+
+        /**
+         * Number of index updates when the snapshot was taken or {@code -1} if the indices were already ahead of it.
+         */
+        private final long indexUpdates;
+
+        private Snapshot(final long commitVersion, final long indexUpdates) {
+            this.commitVersion = commitVersion;
+            this.indexUpdates = indexUpdates;
+        }
+    }
 }
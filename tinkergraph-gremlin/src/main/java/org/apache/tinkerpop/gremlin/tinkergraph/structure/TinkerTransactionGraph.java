@@ -20,6 +20,7 @@ package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
 import org.apache.commons.configuration2.BaseConfiguration;
 import org.apache.commons.configuration2.Configuration;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
@@ -95,6 +96,7 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
                     GREMLIN_TINKERGRAPH_GRAPH_LOCATION, GREMLIN_TINKERGRAPH_GRAPH_FORMAT));
 
         if (graphLocation != null) loadGraph();
+        openWriteAheadLog();
 
         serviceRegistry = new TinkerServiceRegistry(this);
         configuration.getList(String.class, GREMLIN_TINKERGRAPH_SERVICE, Collections.emptyList()).forEach(serviceClass ->
@@ -141,6 +143,7 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
             idValue = vertexIdManager.getNextId(this);
         final String label = ElementHelper.getLabelValue(keyValues).orElse(Vertex.DEFAULT_LABEL);
 
+        transaction.verifyWritable();
         this.tx().readWrite();
         final long txNumber = transaction.getTxNumber();
 
@@ -165,6 +168,7 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
 
     @Override
     public void removeVertex(final Object vertexId) {
+        transaction.verifyWritable();
         if (!vertices.containsKey(vertexId)) return;
 
         // vertex can be deleted in other thread, so need to double-check
@@ -175,6 +179,7 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
 
     @Override
     public void touch(final TinkerVertex vertex) {
+        transaction.verifyWritable();
         // already removed, so skip
         if (null == vertex || !vertices.containsKey(vertex.id())) return;
 
@@ -188,6 +193,7 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
 
     @Override
     public void touch(final TinkerEdge edge) {
+        transaction.verifyWritable();
         // already removed, so skip
         if (null == edge || !edges.containsKey(edge.id())) return;
 
@@ -208,6 +214,7 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
         if (null == idValue)
             idValue = edgeIdManager.getNextId(this);
 
+        transaction.verifyWritable();
         this.tx().readWrite();
         final long txNumber = transaction.getTxNumber();
 
@@ -235,6 +242,7 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
 
     @Override
     public void removeEdge(final Object edgeId) {
+        transaction.verifyWritable();
         if (!edges.containsKey(edgeId)) return;
 
         final TinkerElementContainer<TinkerEdge> container = edges.get(edgeId);
@@ -278,9 +286,26 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
         return transaction;
     }
 
+    /**
+     * Opens a read-only transaction for the current thread that reads the graph as of the last commit for its whole
+     * lifetime, which ends with {@link Transaction#commit()} or {@link Transaction#rollback()} like for any other
+     * transaction. Elements are read without being copied or tracked, so large scans cost about the same as on
+     * {@link TinkerGraph}, and any attempt to modify the graph throws an {@link IllegalStateException}.
+     *
+     * @return a traversal source bound to the read-only transaction
+     */
+    public <T extends TraversalSource> T beginReadOnly() {
+        return transaction.beginReadOnly();
+    }
+
+    @Override
+    public boolean isIndexCurrent() {
+        return transaction.isIndexCurrent();
+    }
+
     @Override
     public int getVerticesCount() {
-        return (int) vertices.entrySet().stream().filter(v -> v.getValue().get() != null).count();
+        return (int) vertices.entrySet().stream().filter(v -> transaction.read(v.getValue(), false) != null).count();
     }
 
     @Override
@@ -292,7 +317,7 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
 
     @Override
     public int getEdgesCount() {
-        return (int) edges.entrySet().stream().filter(v -> v.getValue().get() != null).count();
+        return (int) edges.entrySet().stream().filter(v -> transaction.read(v.getValue(), false) != null).count();
     }
 
     @Override
@@ -310,7 +335,7 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
     @Override
     public Vertex vertex(final Object vertexId) {
         final TinkerElementContainer<TinkerVertex> container = vertices.get(vertexIdManager.convert(vertexId));
-        return container == null ? null : container.getWithClone((TinkerTransaction) tx());
+        return container == null ? null : transaction.read(container, true);
     }
 
     @Override
@@ -321,7 +346,7 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
     @Override
     public Edge edge(final Object edgeId) {
         final TinkerElementContainer<TinkerEdge> container = edges.get(edgeIdManager.convert(edgeId));
-        return container == null ? null : container.getWithClone((TinkerTransaction) tx());
+        return container == null ? null : transaction.read(container, true);
     }
 
     @Override
@@ -340,7 +365,7 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
         if (0 == ids.length) {
             iterator = new TinkerGraphIterator<>(
                     // todo: clone only if traversal contains mutating steps
-                    elements.values().stream().map(c -> (T) c.getWithClone((TinkerTransaction) tx())).filter(e -> e != null).iterator());
+                    elements.values().stream().map(c -> (T) transaction.read(c, true)).filter(e -> e != null).iterator());
         } else {
             final List<Object> idList = Arrays.asList(ids);
 
@@ -353,7 +378,7 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
                 if (null == id) return null;
                 final Object iid = clazz.isAssignableFrom(id.getClass()) ? clazz.cast(id).id() : idManager.convert(id);
                 final TinkerElementContainer<C> container = elements.get(iid);
-                return container == null ? null : (T) container.getWithClone((TinkerTransaction) tx());
+                return container == null ? null : (T) transaction.read(container, true);
             }).iterator(), Objects::nonNull));
         }
         return TinkerHelper.inComputerMode(this) ?
@@ -468,12 +493,25 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
      * @param <E>          The type of the element class
      */
     public <E extends Element> void createIndex(final String key, final Class<E> elementClass) {
+        createIndex(key, elementClass, IndexType.HASH);
+    }
+
+    /**
+     * Create an index of the specified {@link IndexType} for said element class ({@link Vertex} or {@link Edge}) and
+     * said property key. If the key is already indexed with a different type of index, that index is replaced.
+     *
+     * @param key          the property key to index
+     * @param elementClass the element class to index
+     * @param indexType    the type of index to create
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createIndex(final String key, final Class<E> elementClass, final IndexType indexType) {
         if (Vertex.class.isAssignableFrom(elementClass)) {
             if (null == this.vertexIndex) this.vertexIndex = new TinkerTransactionalIndex<>(this, TinkerVertex.class);
-            this.vertexIndex.createKeyIndex(key);
+            this.vertexIndex.createKeyIndex(key, indexType);
         } else if (Edge.class.isAssignableFrom(elementClass)) {
             if (null == this.edgeIndex) this.edgeIndex = new TinkerTransactionalIndex<>(this, TinkerEdge.class);
-            this.edgeIndex.createKeyIndex(key);
+            this.edgeIndex.createKeyIndex(key, indexType);
         } else {
             throw new IllegalArgumentException("Class is not indexable: " + elementClass);
         }
@@ -495,4 +533,44 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
             throw new IllegalArgumentException("Class is not indexable: " + elementClass);
         }
     }
+
+    /**
+     * Create a composite index for said element class ({@link Vertex} or {@link Edge}) over the combined values of
+     * the specified property keys of elements with said label. Lookups that have equality conditions on the label
+     * and all of the keys can then be answered from a single index entry.
+     *
+     * @param label        the label of the elements to index or {@code null} to index elements of any label
+     * @param elementClass the element class to index
+     * @param keys         the property keys to index
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createCompositeIndex(final String label, final Class<E> elementClass, final String... keys) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            if (null == this.vertexIndex) this.vertexIndex = new TinkerTransactionalIndex<>(this, TinkerVertex.class);
+            this.vertexIndex.createCompositeIndex(label, Arrays.asList(keys));
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            if (null == this.edgeIndex) this.edgeIndex = new TinkerTransactionalIndex<>(this, TinkerEdge.class);
+            this.edgeIndex.createCompositeIndex(label, Arrays.asList(keys));
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Drop the composite index for the specified element class ({@link Vertex} or {@link Edge}), label and keys.
+     *
+     * @param label        the label of the indexed elements or {@code null}
+     * @param elementClass the element class of the index to drop
+     * @param keys         the property keys of the index to drop
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void dropCompositeIndex(final String label, final Class<E> elementClass, final String... keys) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            if (null != this.vertexIndex) this.vertexIndex.dropCompositeIndex(label, Arrays.asList(keys));
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            if (null != this.edgeIndex) this.edgeIndex.dropCompositeIndex(label, Arrays.asList(keys));
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
 }
@@ -20,8 +20,11 @@ package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.javatuples.Triplet;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -34,6 +37,11 @@ import java.util.stream.Collectors;
  */
 final class TinkerTransactionalIndex<T extends TinkerElement> extends AbstractTinkerIndex<T> {
 
+    /**
+     * Number of changed elements from which a commit updates the index in parallel.
+     */
+    static final int PARALLEL_COMMIT_THRESHOLD = 1024;
+
     protected Map<String, Map<Object, Set<TinkerElementContainer<T>>>> index = new ConcurrentHashMap<>();
     protected ThreadLocal<Map<String, Map<Object, Set<T>>>> txIndex =
             ThreadLocal.withInitial(() -> new ConcurrentHashMap<>());
@@ -72,9 +80,12 @@ final class TinkerTransactionalIndex<T extends TinkerElement> extends AbstractTi
         if (null == set)
             return new ArrayList<>();
 
+        // hand out transaction copies like graph.vertices() does so that changes do not leak into committed elements
+        final TinkerTransaction tx = (TinkerTransaction) graph.tx();
         return set.stream().
-                filter(e -> !e.isChanged() && e.get() != null).
-                map(e -> e.get()).collect(Collectors.toList());
+                filter(e -> !e.isChanged()).
+                map(e -> tx.read(e, true)).
+                filter(e -> e != null).collect(Collectors.toList());
     }
 
     private Set<T> getModifiedElements(final String key, final Object value) {
@@ -101,13 +112,42 @@ final class TinkerTransactionalIndex<T extends TinkerElement> extends AbstractTi
         return notModifiedElements;
     }
 
+    /**
+     * Counts the elements visible to the current transaction from the size of the index entries without copying the
+     * elements or recording them as read.
+     */
     @Override
     public long count(final String key, final Object value) {
-        return get(key, value).size();
+        final Set<T> modifiedElements = getModifiedElements(key, value);
+        final Set<Object> modifiedIds = null == modifiedElements ? Collections.emptySet() :
+                modifiedElements.stream().map(T::id).collect(Collectors.toSet());
+        long count = modifiedIds.size();
+
+        final Map<Object, Set<TinkerElementContainer<T>>> keyMap = index.get(key);
+        final Set<TinkerElementContainer<T>> set = null == keyMap ? null : keyMap.get(indexable(value));
+        if (null == set)
+            return count;
+
+        final TinkerTransaction tx = (TinkerTransaction) graph.tx();
+        for (final TinkerElementContainer<T> container : set) {
+            if (!container.isChanged() && !modifiedIds.contains(container.getElementId()) && null != tx.read(container, false))
+                count++;
+        }
+        return count;
     }
 
     @Override
     public void remove(final String key, final Object value, final T element) {
+        removeTxElement(key, value, element);
+        for (CompositeIndex compositeIndex : compositeIndexes.values()) {
+            if (compositeIndex.getKeys().contains(key)) {
+                for (Object indexValue : compositeIndex.indexValues(element, key, value))
+                    removeTxElement(compositeIndex.getIndexKey(), indexValue, element);
+            }
+        }
+    }
+
+    private void removeTxElement(final String key, final Object value, final T element) {
         final Map<String, Map<Object, Set<T>>> index = txIndex.get();
         if (null == index) return;
 
@@ -127,10 +167,14 @@ final class TinkerTransactionalIndex<T extends TinkerElement> extends AbstractTi
         if (indexClass.isAssignableFrom(element.getClass())) {
             element.properties().forEachRemaining(p -> {
                         if (p.isPresent() && indexedKeys.contains(p.key())) {
-                            remove(p.key(), p.value(), element);
+                            removeTxElement(p.key(), p.value(), element);
                         }
                     }
             );
+            for (CompositeIndex compositeIndex : compositeIndexes.values()) {
+                for (Object indexValue : compositeIndex.indexValues(element))
+                    removeTxElement(compositeIndex.getIndexKey(), indexValue, element);
+            }
         }
     }
 
@@ -140,18 +184,20 @@ final class TinkerTransactionalIndex<T extends TinkerElement> extends AbstractTi
             index.putIfAbsent(key, new ConcurrentHashMap<>());
             keyMap = index.get(key);
         }
-        final Object indexableValue = indexable(value);
-        Set<TinkerElementContainer<T>> objects = keyMap.get(indexableValue);
-        if (null == objects) {
-            keyMap.putIfAbsent(indexableValue, ConcurrentHashMap.newKeySet());
-            objects = keyMap.get(indexableValue);
-        }
-        objects.add(container);
+        // add within compute() so that a concurrent removal can not drop the set once it became empty
+        keyMap.compute(indexable(value), (k, objects) -> {
+            final Set<TinkerElementContainer<T>> set = null == objects ? ConcurrentHashMap.newKeySet() : objects;
+            set.add(container);
+            return set;
+        });
     }
 
     private void addContainer(final TinkerElementContainer<T> container) {
-        final T element = container.get();
-        if (!indexClass.isAssignableFrom(element.getClass()) || !element.properties().hasNext())
+        addContainer(container, container.get());
+    }
+
+    private void addContainer(final TinkerElementContainer<T> container, final T element) {
+        if (null == element || !indexClass.isAssignableFrom(element.getClass()) || !element.properties().hasNext())
             return;
 
         element.properties().forEachRemaining(p -> {
@@ -160,14 +206,26 @@ final class TinkerTransactionalIndex<T extends TinkerElement> extends AbstractTi
                     }
                 }
         );
+        for (CompositeIndex compositeIndex : compositeIndexes.values()) {
+            for (Object indexValue : compositeIndex.indexValues(element))
+                put(compositeIndex.getIndexKey(), indexValue, container);
+        }
     }
 
     @Override
     public void autoUpdate(final String key, final Object newValue, final Object oldValue, final T element) {
         if (indexedKeys.contains(key)) {
-            remove(key, oldValue, element);
+            removeTxElement(key, oldValue, element);
             putTxElement(key, newValue, element);
         }
+        for (CompositeIndex compositeIndex : compositeIndexes.values()) {
+            if (compositeIndex.getKeys().contains(key)) {
+                for (Object indexValue : compositeIndex.indexValues(element, key, oldValue))
+                    removeTxElement(compositeIndex.getIndexKey(), indexValue, element);
+                for (Object indexValue : compositeIndex.indexValues(element, key, newValue))
+                    putTxElement(compositeIndex.getIndexKey(), indexValue, element);
+            }
+        }
     }
 
     @Override
@@ -203,33 +261,75 @@ final class TinkerTransactionalIndex<T extends TinkerElement> extends AbstractTi
         indexedKeys.remove(key);
     }
 
-    private void removeContainer(TinkerElementContainer<T> container) {
-        final T element = container.getUnmodified();
+    @Override
+    public void createCompositeIndex(final String label, final List<String> keys) {
+        final CompositeIndex compositeIndex = addCompositeIndex(label, keys);
+        if (null == compositeIndex) return;
+
+        final Map<Object, TinkerElementContainer<T>> elements =
+                Vertex.class.isAssignableFrom(indexClass) ?
+                        (Map) ((TinkerTransactionGraph) graph).getVertices() :
+                        (Map) ((TinkerTransactionGraph) graph).getEdges();
+
+        for (TinkerElementContainer<T> container : elements.values()) {
+            final T element = container.get();
+            if (null == element) continue;
+            for (Object indexValue : compositeIndex.indexValues(element))
+                put(compositeIndex.getIndexKey(), indexValue, container);
+        }
+    }
+
+    @Override
+    public void dropCompositeIndex(final String label, final List<String> keys) {
+        final CompositeIndex compositeIndex = compositeIndexes.remove(new CompositeIndex(label, keys).getIndexKey());
+        if (null == compositeIndex) return;
+
+        if (index.containsKey(compositeIndex.getIndexKey()))
+            index.remove(compositeIndex.getIndexKey()).clear();
+
+        final Map<String, Map<Object, Set<T>>> index = txIndex.get();
+        if (index != null && index.containsKey(compositeIndex.getIndexKey()))
+            index.remove(compositeIndex.getIndexKey()).clear();
+    }
+
+    private void removeContainer(final TinkerElementContainer<T> container, final T element) {
         if (element == null || !indexClass.isAssignableFrom(element.getClass()) || !element.properties().hasNext())
             return;
 
-        element.properties().forEachRemaining(p -> {
-            final Map<Object, Set<TinkerElementContainer<T>>> keyMap = index.get(p.key());
-            final Object indexableValue = indexable(p.value());
-            if (null != keyMap) {
-                final Set<TinkerElementContainer<T>> objects = keyMap.get(indexableValue);
-                if (null != objects) {
-                    objects.remove(container);
-                    if (objects.isEmpty())
-                        keyMap.remove(indexableValue);
-                }
-            }
-        });
+        element.properties().forEachRemaining(p -> removeContainer(p.key(), p.value(), container));
+        for (CompositeIndex compositeIndex : compositeIndexes.values()) {
+            for (Object indexValue : compositeIndex.indexValues(element))
+                removeContainer(compositeIndex.getIndexKey(), indexValue, container);
+        }
+    }
+
+    private void removeContainer(final String key, final Object value, final TinkerElementContainer<T> container) {
+        final Map<Object, Set<TinkerElementContainer<T>>> keyMap = index.get(key);
+        if (null != keyMap) {
+            keyMap.computeIfPresent(indexable(value), (k, objects) -> {
+                objects.remove(container);
+                return objects.isEmpty() ? null : objects;
+            });
+        }
     }
 
-    public void commit(final Set<TinkerElementContainer<T>> updatedElements) {
-        for (final TinkerElementContainer<T> element : updatedElements) {
-            removeContainer(element);
-            if (!element.isDeleted())
-                // todo: compare and update only changed properties
-                addContainer(element);
+    /**
+     * Applies the changes of the committing transaction to the index. The values the transaction holds for each
+     * container are captured on the committing thread, as they are thread-local, after which large batches are
+     * applied in parallel on the common fork-join pool.
+     */
+    public void commit(final Collection<TinkerElementContainer<T>> updatedElements) {
+        final List<Triplet<TinkerElementContainer<T>, T, T>> changes = new ArrayList<>(updatedElements.size());
+        for (final TinkerElementContainer<T> container : updatedElements) {
+            changes.add(Triplet.with(container, container.getUnmodified(), container.isDeleted() ? null : container.get()));
         }
 
+        // todo: compare and update only changed properties
+        (changes.size() < PARALLEL_COMMIT_THRESHOLD ? changes.stream() : changes.parallelStream()).forEach(change -> {
+            removeContainer(change.getValue0(), change.getValue1());
+            addContainer(change.getValue0(), change.getValue2());
+        });
+
         txIndex.remove();
     }
 
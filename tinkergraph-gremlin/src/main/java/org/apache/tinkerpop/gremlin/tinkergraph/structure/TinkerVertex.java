@@ -47,6 +47,9 @@ public class TinkerVertex extends TinkerElement implements Vertex {
     // Edges should be used by non-transaction Graph due to performance
     protected Map<String, Set<Edge>> outEdges;
     protected Map<String, Set<Edge>> inEdges;
+    // Compact adjacency used in place of outEdges/inEdges when the non-transaction Graph is configured for it
+    protected TinkerAdjacency outAdjacency;
+    protected TinkerAdjacency inAdjacency;
     // Edge ids are for transactional Graph
     protected Map<String, Set<Object>> outEdgesId;
     protected Map<String, Set<Object>> inEdgesId;
@@ -167,6 +170,7 @@ public class TinkerVertex extends TinkerElement implements Vertex {
             list.add(vertexProperty);
             this.properties.put(key, list);
             TinkerIndexHelper.autoUpdateIndex(this, key, value, null);
+            TinkerWriteAheadLog.vertexPropertyAdded(this, vertexProperty);
             ElementHelper.attachProperties(vertexProperty, keyValues);
             return vertexProperty;
         }
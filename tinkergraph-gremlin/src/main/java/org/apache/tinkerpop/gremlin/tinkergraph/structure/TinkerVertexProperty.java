@@ -149,6 +149,7 @@ public class TinkerVertexProperty<V> extends TinkerElement implements VertexProp
         final Property<U> property = new TinkerProperty<>(this, key, value);
         if (this.properties == null) this.properties = new HashMap<>();
         this.properties.put(key, property);
+        TinkerWriteAheadLog.metaPropertySet(vertex, this, key, value);
         return property;
     }
 
@@ -174,6 +175,7 @@ public class TinkerVertexProperty<V> extends TinkerElement implements VertexProp
                     delete.set(false);
             });
             if (delete.get()) TinkerIndexHelper.removeIndex(this.vertex, this.key, this.value);
+            TinkerWriteAheadLog.vertexPropertyRemoved(this.vertex, this);
             this.properties = null;
             this.removed = true;
         }
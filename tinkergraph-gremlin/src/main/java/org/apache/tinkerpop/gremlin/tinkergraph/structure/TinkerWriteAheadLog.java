@@ -0,0 +1,1008 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoVersion;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of the changes made to a graph that is persisted to
+ * {@link AbstractTinkerGraph#GREMLIN_TINKERGRAPH_GRAPH_LOCATION}, so that changes made since the graph was last saved
+ * survive a crash. {@link TinkerGraph} logs each mutation as it happens while {@link TinkerTransactionGraph} logs the
+ * elements changed by a transaction when it commits.
+ * <p/>
+ * Records are buffered and forced to disk every {@link AbstractTinkerGraph#GREMLIN_TINKERGRAPH_WAL_SYNC_INTERVAL}
+ * milliseconds or on every write if that interval is {@code 0}. Once
+ * {@link AbstractTinkerGraph#GREMLIN_TINKERGRAPH_WAL_CHECKPOINT_THRESHOLD} records were written, the current state of
+ * the elements changed since the previous checkpoint is captured and a new log segment is started. The captured state
+ * is written to a checkpoint file in the background, after which the log segments it covers are deleted, so a
+ * checkpoint costs as much as the elements changed rather than the whole graph and does not hold up later writes.
+ * Once the checkpoints written since the oldest one outgrow the graph location and that oldest checkpoint together,
+ * all checkpoints are compacted into one that holds the latest state of each element, which keeps the time to
+ * recover bounded by the size of the graph rather than by how long it has been open. Recovery loads the graph from
+ * its location and replays the checkpoints and log segments in the order they were written, after which closing the
+ * graph folds all of them into the graph location and deletes them.
+ * <p/>
+ * Every record is framed by its length and CRC32 checksum so that a record torn by a crash ends the replay of the last
+ * segment, which is then truncated to its last complete record.
+ */
+final class TinkerWriteAheadLog {
+
+    private static final byte VERTEX = 1;
+    private static final byte EDGE = 2;
+    private static final byte REMOVE_VERTEX = 3;
+    private static final byte REMOVE_EDGE = 4;
+    private static final byte VERTEX_PROPERTY = 5;
+    private static final byte REMOVE_VERTEX_PROPERTY = 6;
+    private static final byte EDGE_PROPERTY = 7;
+    private static final byte REMOVE_EDGE_PROPERTY = 8;
+    private static final byte META_PROPERTY = 9;
+    private static final byte REMOVE_META_PROPERTY = 10;
+    private static final byte CLEAR = 11;
+
+    private static final String LOG_PREFIX = "wal-";
+    private static final String CHECKPOINT_PREFIX = "checkpoint-";
+    private static final String SUFFIX = ".log";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private static final ScheduledExecutorService SYNC_EXECUTOR = Executors.newSingleThreadScheduledExecutor(
+            new BasicThreadFactory.Builder().namingPattern("tinkergraph-wal-sync").daemon(true).build());
+    private static final ExecutorService CHECKPOINT_EXECUTOR = Executors.newSingleThreadExecutor(
+            new BasicThreadFactory.Builder().namingPattern("tinkergraph-wal-checkpoint").daemon(true).build());
+
+    private final AbstractTinkerGraph graph;
+    private final File directory;
+    private final long syncInterval;
+    private final long checkpointThreshold;
+
+    private final Kryo kryo = GryoMapper.build().version(GryoVersion.V3_0).
+            addRegistry(TinkerIoRegistryV3.instance()).create().createMapper();
+    private final Output record = new Output(4096, -1);
+    private final CRC32 checksum = new CRC32();
+
+    /**
+     * Used by the checkpoint thread only, as {@link Kryo} is not thread-safe.
+     */
+    private final Kryo compactionKryo = GryoMapper.build().version(GryoVersion.V3_0).
+            addRegistry(TinkerIoRegistryV3.instance()).create().createMapper();
+    private final CRC32 compactionChecksum = new CRC32();
+
+    /**
+     * Sequence number of the current log segment. Checkpoints take the number following the segments they cover.
+     */
+    private long sequence = 0;
+    private FileOutputStream segment = null;
+    private DataOutputStream segmentOutput = null;
+    private boolean unsynced = false;
+    private ScheduledFuture<?> syncTask = null;
+
+    /**
+     * Number of records logged since the last checkpoint.
+     */
+    private long records = 0;
+
+    /**
+     * Ids of the elements changed since the last checkpoint.
+     */
+    private Set<Object> changedVertices = new HashSet<>();
+    private Set<Object> changedEdges = new HashSet<>();
+    private boolean cleared = false;
+
+    /**
+     * Number of transactions whose changes were logged but are not yet published. Checkpoints capture the committed
+     * state of the elements, so they are only taken while there is none.
+     */
+    private int unpublished = 0;
+
+    /**
+     * The checkpoint that is being written in the background, if any.
+     */
+    private PendingCheckpoint pendingCheckpoint = null;
+
+    TinkerWriteAheadLog(final AbstractTinkerGraph graph, final File directory, final long syncInterval,
+                        final long checkpointThreshold) {
+        this.graph = graph;
+        this.directory = directory;
+        this.syncInterval = syncInterval;
+        this.checkpointThreshold = checkpointThreshold;
+    }
+
+    ////////////// MUTATIONS OF NON-TRANSACTIONAL GRAPHS //////////////////
+
+    static void vertexAdded(final TinkerVertex vertex) {
+        final TinkerWriteAheadLog log = mutationLog(vertex);
+        if (null != log) log.append(VERTEX, vertex.id(), null, o -> log.writeVertex(o, vertex));
+    }
+
+    static void vertexRemoved(final AbstractTinkerGraph graph, final Object vertexId) {
+        final TinkerWriteAheadLog log = mutationLog(graph);
+        if (null != log) log.append(REMOVE_VERTEX, vertexId, null, o -> log.kryo.writeClassAndObject(o, vertexId));
+    }
+
+    static void edgeAdded(final TinkerEdge edge) {
+        final TinkerWriteAheadLog log = mutationLog(edge);
+        if (null != log) log.append(EDGE, null, edge.id(), o -> log.writeEdge(o, edge));
+    }
+
+    static void edgeRemoved(final AbstractTinkerGraph graph, final Object edgeId) {
+        final TinkerWriteAheadLog log = mutationLog(graph);
+        if (null != log) log.append(REMOVE_EDGE, null, edgeId, o -> log.kryo.writeClassAndObject(o, edgeId));
+    }
+
+    static void vertexPropertyAdded(final TinkerVertex vertex, final VertexProperty<?> vertexProperty) {
+        final TinkerWriteAheadLog log = mutationLog(vertex);
+        if (null != log) log.append(VERTEX_PROPERTY, vertex.id(), null, o -> {
+            log.kryo.writeClassAndObject(o, vertex.id());
+            log.writeVertexProperty(o, vertexProperty);
+        });
+    }
+
+    static void vertexPropertyRemoved(final TinkerVertex vertex, final VertexProperty<?> vertexProperty) {
+        final TinkerWriteAheadLog log = mutationLog(vertex);
+        if (null != log) log.append(REMOVE_VERTEX_PROPERTY, vertex.id(), null, o -> {
+            log.kryo.writeClassAndObject(o, vertex.id());
+            log.kryo.writeClassAndObject(o, vertexProperty.id());
+        });
+    }
+
+    static void edgePropertySet(final TinkerEdge edge, final String key, final Object value) {
+        final TinkerWriteAheadLog log = mutationLog(edge);
+        if (null != log) log.append(EDGE_PROPERTY, null, edge.id(), o -> {
+            log.kryo.writeClassAndObject(o, edge.id());
+            o.writeString(key);
+            log.kryo.writeClassAndObject(o, value);
+        });
+    }
+
+    static void edgePropertyRemoved(final TinkerEdge edge, final String key) {
+        final TinkerWriteAheadLog log = mutationLog(edge);
+        if (null != log) log.append(REMOVE_EDGE_PROPERTY, null, edge.id(), o -> {
+            log.kryo.writeClassAndObject(o, edge.id());
+            o.writeString(key);
+        });
+    }
+
+    static void metaPropertySet(final TinkerVertex vertex, final VertexProperty<?> vertexProperty, final String key, final Object value) {
+        final TinkerWriteAheadLog log = mutationLog(vertex);
+        if (null != log) log.append(META_PROPERTY, vertex.id(), null, o -> {
+            log.kryo.writeClassAndObject(o, vertex.id());
+            log.kryo.writeClassAndObject(o, vertexProperty.id());
+            o.writeString(key);
+            log.kryo.writeClassAndObject(o, value);
+        });
+    }
+
+    static void metaPropertyRemoved(final TinkerVertex vertex, final VertexProperty<?> vertexProperty, final String key) {
+        final TinkerWriteAheadLog log = mutationLog(vertex);
+        if (null != log) log.append(REMOVE_META_PROPERTY, vertex.id(), null, o -> {
+            log.kryo.writeClassAndObject(o, vertex.id());
+            log.kryo.writeClassAndObject(o, vertexProperty.id());
+            o.writeString(key);
+        });
+    }
+
+    /**
+     * Gets the log of a non-transactional graph that records each mutation, which does not apply to the views of a
+     * {@link TinkerGraphComputer} run.
+     */
+    private static TinkerWriteAheadLog mutationLog(final AbstractTinkerGraph graph) {
+        if (null == graph.writeAheadLog || !(graph instanceof TinkerGraph) || TinkerHelper.inComputerMode(graph))
+            return null;
+        return graph.writeAheadLog;
+    }
+
+    /**
+     * Gets the log for a mutation of the vertex, skipping vertices that are still being built as they are logged as a
+     * whole once they are added to the graph.
+     */
+    private static TinkerWriteAheadLog mutationLog(final TinkerVertex vertex) {
+        final TinkerWriteAheadLog log = mutationLog(vertex.graph);
+        return null != log && ((TinkerGraph) vertex.graph).vertices.get(vertex.id()) == vertex ? log : null;
+    }
+
+    /**
+     * Gets the log for a mutation of the edge, skipping edges that are still being built as they are logged as a
+     * whole once they are added to the graph.
+     */
+    private static TinkerWriteAheadLog mutationLog(final TinkerEdge edge) {
+        final TinkerWriteAheadLog log = mutationLog((AbstractTinkerGraph) edge.graph());
+        return null != log && ((TinkerGraph) edge.graph()).edges.get(edge.id()) == edge ? log : null;
+    }
+
+    ////////////// COMMITS OF TRANSACTIONAL GRAPHS //////////////////
+
+    /**
+     * Logs the state of the elements changed by a transaction before its changes are published, forcing the records
+     * to disk if {@link AbstractTinkerGraph#GREMLIN_TINKERGRAPH_WAL_SYNC_INTERVAL} is {@code 0}. Must be called while
+     * the transaction holds the locks of the elements it changed, so that the changes of an element are logged in the
+     * order they are applied, and must be followed by {@link #published()} once the changes are visible. If the
+     * records can not be written, those already written are truncated from the log and the transaction must be
+     * rolled back.
+     */
+    synchronized void committing(final List<TinkerElementContainer<TinkerVertex>> vertices,
+                                 final List<TinkerElementContainer<TinkerEdge>> edges) throws IOException {
+        if (vertices.isEmpty() && edges.isEmpty()) return;
+
+        // a checkpoint that failed after an earlier commit was published is retried before anything else is logged
+        if (checkpointDue()) checkpoint();
+
+        if (null == segment) openSegment();
+        segmentOutput.flush();
+        final long length = segment.getChannel().size();
+        final long logged = records;
+        try {
+            for (TinkerElementContainer<TinkerVertex> container : vertices) {
+                final TinkerVertex vertex = container.get();
+                if (null != vertex) write(VERTEX, vertex.id(), null, o -> writeVertex(o, vertex));
+            }
+            for (TinkerElementContainer<TinkerEdge> container : edges) {
+                final TinkerEdge edge = container.get();
+                if (null != edge) write(EDGE, null, edge.id(), o -> writeEdge(o, edge));
+            }
+            for (TinkerElementContainer<TinkerEdge> container : edges) {
+                final Object edgeId = container.getElementId();
+                if (null == container.get()) write(REMOVE_EDGE, null, edgeId, o -> kryo.writeClassAndObject(o, edgeId));
+            }
+            for (TinkerElementContainer<TinkerVertex> container : vertices) {
+                final Object vertexId = container.getElementId();
+                if (null == container.get()) write(REMOVE_VERTEX, vertexId, null, o -> kryo.writeClassAndObject(o, vertexId));
+            }
+            if (0 == syncInterval) force();
+        } catch (IOException ex) {
+            records = logged;
+            discardFrom(length, ex);
+            throw ex;
+        }
+        unpublished++;
+    }
+
+    /**
+     * Marks the changes logged by {@link #committing(List, List)} as published, after which a checkpoint that is due
+     * can capture them. A checkpoint that fails here is retried when the next transaction commits, as the records it
+     * would have replaced are still in the log.
+     */
+    synchronized void published() {
+        unpublished--;
+        try {
+            if (checkpointDue()) checkpoint();
+        } catch (IOException ignored) {
+        }
+    }
+
+    /**
+     * Logs that all elements of the graph were removed.
+     */
+    synchronized void clear() {
+        cleared = true;
+        changedVertices.clear();
+        changedEdges.clear();
+        append(CLEAR, null, null, o -> {});
+    }
+
+    ////////////// LIFECYCLE //////////////////
+
+    /**
+     * Replays the checkpoints and log segments left by a previous instance of the graph, which must already hold
+     * the data from its location. The changes are not logged again as the log is only set on the graph afterwards.
+     */
+    synchronized void recover() {
+        if (!directory.exists() && !directory.mkdirs())
+            throw new IllegalStateException(String.format("Could not create the write-ahead log directory %s", directory));
+
+        final File[] temporary = directory.listFiles((dir, name) -> name.endsWith(TEMP_SUFFIX));
+        if (null != temporary) {
+            for (File file : temporary) file.delete();
+        }
+
+        final List<File> files = listFiles();
+        for (int i = 0; i < files.size(); i++) {
+            final File file = files.get(i);
+            final boolean isLog = file.getName().startsWith(LOG_PREFIX);
+            try {
+                replay(file, isLog, i == files.size() - 1);
+            } catch (IOException ex) {
+                throw new RuntimeException(String.format("Could not replay the write-ahead log at %s", file), ex);
+            }
+            sequence = sequenceOf(file) + 1;
+        }
+    }
+
+    /**
+     * Forces all records written so far to disk.
+     */
+    synchronized void sync() {
+        try {
+            force();
+        } catch (IOException ex) {
+            throw new RuntimeException(String.format("Could not sync the write-ahead log at %s", directory), ex);
+        }
+    }
+
+    /**
+     * Deletes all checkpoints and log segments once the graph was saved to its location and releases the resources
+     * held by the log. Later changes start a new log segment.
+     */
+    synchronized void reset() {
+        try {
+            // everything is deleted below so a failed checkpoint does not matter anymore
+            awaitCheckpoint();
+        } catch (IOException ignored) {
+        }
+        try {
+            closeSegment();
+        } catch (IOException ex) {
+            throw new RuntimeException(String.format("Could not close the write-ahead log at %s", directory), ex);
+        }
+        if (null != syncTask) {
+            syncTask.cancel(false);
+            syncTask = null;
+        }
+
+        // oldest first so that whatever is left after a crash is a suffix of the history
+        for (File file : listFiles()) {
+            file.delete();
+        }
+        records = 0;
+        cleared = false;
+        changedVertices = new HashSet<>();
+        changedEdges = new HashSet<>();
+    }
+
+    ////////////// WRITING //////////////////
+
+    private synchronized void append(final byte type, final Object vertexId, final Object edgeId, final Consumer<Output> body) {
+        try {
+            write(type, vertexId, edgeId, body);
+            written();
+        } catch (IOException ex) {
+            throw new RuntimeException(String.format("Could not write to the write-ahead log at %s", directory), ex);
+        }
+    }
+
+    private void write(final byte type, final Object vertexId, final Object edgeId, final Consumer<Output> body) throws IOException {
+        if (null == segment) openSegment();
+
+        record.clear();
+        record.writeByte(type);
+        body.accept(record);
+        writeFrame(segmentOutput, record);
+
+        unsynced = true;
+        records++;
+        if (null != vertexId) changedVertices.add(vertexId);
+        if (null != edgeId) changedEdges.add(edgeId);
+    }
+
+    private void written() throws IOException {
+        if (checkpointDue())
+            checkpoint();
+        else if (0 == syncInterval)
+            force();
+    }
+
+    private boolean checkpointDue() {
+        return checkpointThreshold > 0 && records >= checkpointThreshold && 0 == unpublished;
+    }
+
+    private void force() throws IOException {
+        if (null != segment && unsynced) {
+            segmentOutput.flush();
+            segment.getChannel().force(false);
+            unsynced = false;
+        }
+    }
+
+    /**
+     * Truncates the current segment to the specified length, dropping whatever is still buffered, and closes it so
+     * that the next write reopens it. The records it keeps are forced to disk as they would have been by the next sync.
+     */
+    private void discardFrom(final long length, final IOException failure) {
+        try {
+            segment.getChannel().truncate(length);
+            segment.getChannel().force(false);
+        } catch (IOException ex) {
+            failure.addSuppressed(ex);
+        }
+        try {
+            segment.close();
+        } catch (IOException ex) {
+            failure.addSuppressed(ex);
+        }
+        segment = null;
+        segmentOutput = null;
+        unsynced = false;
+    }
+
+    private void writeFrame(final DataOutputStream output, final Output frame) throws IOException {
+        checksum.reset();
+        checksum.update(frame.getBuffer(), 0, frame.position());
+        output.writeInt(frame.position());
+        output.writeInt((int) checksum.getValue());
+        output.write(frame.getBuffer(), 0, frame.position());
+    }
+
+    private void openSegment() throws IOException {
+        segment = new FileOutputStream(new File(directory, fileName(LOG_PREFIX, sequence)), true);
+        segmentOutput = new DataOutputStream(new BufferedOutputStream(segment, 65536));
+        if (syncInterval > 0 && null == syncTask)
+            syncTask = SYNC_EXECUTOR.scheduleWithFixedDelay(this::sync, syncInterval, syncInterval, TimeUnit.MILLISECONDS);
+    }
+
+    private void closeSegment() throws IOException {
+        if (null == segment) return;
+
+        force();
+        segmentOutput.close();
+        segment = null;
+        segmentOutput = null;
+    }
+
+    /**
+     * Captures the current state of every element changed since the previous checkpoint and hands it to the
+     * checkpoint thread, which writes it to a new checkpoint and then deletes the log segments it covers. Vertices
+     * come first so that edges can be attached to them on replay. A checkpoint that is still being written when the
+     * next one is due is waited for so that they are written in order and at most one is held in memory.
+     */
+    private void checkpoint() throws IOException {
+        awaitCheckpoint();
+        closeSegment();
+
+        final long checkpointSequence = sequence + 1;
+        final ByteArrayOutputStream contents = new ByteArrayOutputStream();
+        final DataOutputStream output = new DataOutputStream(contents);
+        if (cleared) writeCheckpointRecord(output, CLEAR, o -> {});
+
+        final List<Object> removedVertices = new ArrayList<>();
+        final List<Object> removedEdges = new ArrayList<>();
+        for (Object vertexId : changedVertices) {
+            final TinkerVertex vertex = committedVertex(vertexId);
+            if (null == vertex)
+                removedVertices.add(vertexId);
+            else
+                writeCheckpointRecord(output, VERTEX, o -> writeVertex(o, vertex));
+        }
+        for (Object edgeId : changedEdges) {
+            final TinkerEdge edge = committedEdge(edgeId);
+            if (null == edge)
+                removedEdges.add(edgeId);
+            else
+                writeCheckpointRecord(output, EDGE, o -> writeEdge(o, edge));
+        }
+        for (Object edgeId : removedEdges) {
+            writeCheckpointRecord(output, REMOVE_EDGE, o -> kryo.writeClassAndObject(o, edgeId));
+        }
+        for (Object vertexId : removedVertices) {
+            writeCheckpointRecord(output, REMOVE_VERTEX, o -> kryo.writeClassAndObject(o, vertexId));
+        }
+        output.flush();
+
+        final byte[] bytes = contents.toByteArray();
+        pendingCheckpoint = new PendingCheckpoint(CHECKPOINT_EXECUTOR.submit(() -> {
+            writeCheckpoint(checkpointSequence, bytes);
+            compactCheckpoints();
+            return null;
+        }), changedVertices, changedEdges, cleared);
+
+        sequence = checkpointSequence + 1;
+        records = 0;
+        cleared = false;
+        changedVertices = new HashSet<>();
+        changedEdges = new HashSet<>();
+    }
+
+    /**
+     * Waits for the checkpoint that is being written in the background. If it failed, the elements it held are
+     * marked as changed again so that the next checkpoint covers them, as the log segments it would have replaced
+     * were not deleted.
+     */
+    private void awaitCheckpoint() throws IOException {
+        if (null == pendingCheckpoint) return;
+
+        final PendingCheckpoint pending = pendingCheckpoint;
+        pendingCheckpoint = null;
+        try {
+            pending.future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            pendingCheckpoint = pending;
+            throw new InterruptedIOException("Interrupted while waiting for a write-ahead log checkpoint");
+        } catch (ExecutionException ex) {
+            changedVertices.addAll(pending.vertices);
+            changedEdges.addAll(pending.edges);
+            cleared = cleared || pending.cleared;
+            throw new IOException(String.format("Could not write a checkpoint of the write-ahead log at %s", directory), ex.getCause());
+        }
+    }
+
+    /**
+     * Waits for the checkpoint that is being written in the background, if any, to complete.
+     */
+    synchronized void awaitPendingCheckpoint() {
+        try {
+            awaitCheckpoint();
+        } catch (IOException ex) {
+            throw new RuntimeException(ex.getMessage(), ex.getCause());
+        }
+    }
+
+    /**
+     * Runs on the checkpoint thread.
+     */
+    private void writeCheckpoint(final long checkpointSequence, final byte[] contents) throws IOException {
+        final File temporary = new File(directory, fileName(CHECKPOINT_PREFIX, checkpointSequence) + TEMP_SUFFIX);
+        try (final FileOutputStream file = new FileOutputStream(temporary)) {
+            file.write(contents);
+            file.getChannel().force(false);
+        }
+        Files.move(temporary.toPath(), new File(directory, fileName(CHECKPOINT_PREFIX, checkpointSequence)).toPath(),
+                StandardCopyOption.ATOMIC_MOVE);
+
+        for (File file : listFiles()) {
+            if (file.getName().startsWith(LOG_PREFIX) && sequenceOf(file) < checkpointSequence) file.delete();
+        }
+    }
+
+    /**
+     * Runs on the checkpoint thread. Replaces all checkpoints with one that holds the last record of each element
+     * once the checkpoints written after the oldest one are larger than the graph location and the oldest checkpoint
+     * together. The oldest checkpoint is usually the result of the previous compaction, so the size compacted grows
+     * geometrically and each record is rewritten a bounded number of times on average. The compacted checkpoint
+     * replaces the newest one so that a crash before the older ones are deleted leaves a history that replays to the
+     * same graph.
+     */
+    private void compactCheckpoints() throws IOException {
+        final List<File> checkpoints = new ArrayList<>();
+        for (File file : listFiles()) {
+            if (file.getName().startsWith(CHECKPOINT_PREFIX)) checkpoints.add(file);
+        }
+        if (checkpoints.size() < 2) return;
+
+        long newer = 0;
+        for (int i = 1; i < checkpoints.size(); i++) {
+            newer += checkpoints.get(i).length();
+        }
+        final File graphFile = new File(graph.graphLocation);
+        if (newer <= checkpoints.get(0).length() + (graphFile.isFile() ? graphFile.length() : 0)) return;
+
+        boolean compactedClear = false;
+        final Map<Object, byte[]> vertices = new LinkedHashMap<>();
+        final Map<Object, byte[]> edges = new LinkedHashMap<>();
+        for (File checkpoint : checkpoints) {
+            try (final DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(checkpoint), 65536))) {
+                while (true) {
+                    final int length;
+                    try {
+                        length = input.readInt();
+                    } catch (EOFException ex) {
+                        break;
+                    }
+                    final int expected = input.readInt();
+                    final byte[] bytes = new byte[length];
+                    input.readFully(bytes);
+                    compactionChecksum.reset();
+                    compactionChecksum.update(bytes, 0, length);
+                    if ((int) compactionChecksum.getValue() != expected)
+                        throw new IOException(String.format("The write-ahead log checkpoint at %s is corrupt", checkpoint));
+
+                    final byte type = bytes[0];
+                    if (CLEAR == type) {
+                        compactedClear = true;
+                        vertices.clear();
+                        edges.clear();
+                    } else {
+                        final Object id = compactionKryo.readClassAndObject(new Input(bytes, 1, length - 1));
+                        final Map<Object, byte[]> records = VERTEX == type || REMOVE_VERTEX == type ? vertices : edges;
+                        // reinsert so that the order of the map follows the last change of each element
+                        records.remove(id);
+                        records.put(id, bytes);
+                    }
+                }
+            }
+        }
+
+        final File newest = checkpoints.get(checkpoints.size() - 1);
+        final File temporary = new File(directory, newest.getName() + TEMP_SUFFIX);
+        try (final FileOutputStream file = new FileOutputStream(temporary);
+             final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(file, 65536))) {
+            if (compactedClear) writeCompactedRecord(output, new byte[]{CLEAR});
+            for (byte[] bytes : vertices.values()) {
+                if (VERTEX == bytes[0]) writeCompactedRecord(output, bytes);
+            }
+            for (byte[] bytes : edges.values()) {
+                if (EDGE == bytes[0]) writeCompactedRecord(output, bytes);
+            }
+            for (byte[] bytes : edges.values()) {
+                if (REMOVE_EDGE == bytes[0]) writeCompactedRecord(output, bytes);
+            }
+            for (byte[] bytes : vertices.values()) {
+                if (REMOVE_VERTEX == bytes[0]) writeCompactedRecord(output, bytes);
+            }
+            output.flush();
+            file.getChannel().force(false);
+        }
+        Files.move(temporary.toPath(), newest.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        for (int i = 0; i < checkpoints.size() - 1; i++) {
+            checkpoints.get(i).delete();
+        }
+    }
+
+    private void writeCompactedRecord(final DataOutputStream output, final byte[] bytes) throws IOException {
+        compactionChecksum.reset();
+        compactionChecksum.update(bytes, 0, bytes.length);
+        output.writeInt(bytes.length);
+        output.writeInt((int) compactionChecksum.getValue());
+        output.write(bytes);
+    }
+
+    private void writeCheckpointRecord(final DataOutputStream output, final byte type, final Consumer<Output> body) throws IOException {
+        record.clear();
+        record.writeByte(type);
+        body.accept(record);
+        writeFrame(output, record);
+    }
+
+    private TinkerVertex committedVertex(final Object vertexId) {
+        if (graph instanceof TinkerTransactionGraph) {
+            final TinkerElementContainer<TinkerVertex> container = ((TinkerTransactionGraph) graph).getVertices().get(vertexId);
+            return null == container ? null : container.getUnmodified();
+        }
+        return (TinkerVertex) ((TinkerGraph) graph).vertices.get(vertexId);
+    }
+
+    private TinkerEdge committedEdge(final Object edgeId) {
+        if (graph instanceof TinkerTransactionGraph) {
+            final TinkerElementContainer<TinkerEdge> container = ((TinkerTransactionGraph) graph).getEdges().get(edgeId);
+            return null == container ? null : container.getUnmodified();
+        }
+        return (TinkerEdge) ((TinkerGraph) graph).edges.get(edgeId);
+    }
+
+    private void writeVertex(final Output output, final TinkerVertex vertex) {
+        kryo.writeClassAndObject(output, vertex.id());
+        output.writeString(vertex.label());
+        if (null != vertex.properties) {
+            for (List<VertexProperty> vertexProperties : vertex.properties.values()) {
+                for (VertexProperty<?> vertexProperty : vertexProperties) {
+                    output.writeBoolean(true);
+                    writeVertexProperty(output, vertexProperty);
+                }
+            }
+        }
+        output.writeBoolean(false);
+    }
+
+    private void writeVertexProperty(final Output output, final VertexProperty<?> vertexProperty) {
+        kryo.writeClassAndObject(output, vertexProperty.id());
+        output.writeString(vertexProperty.key());
+        kryo.writeClassAndObject(output, vertexProperty.value());
+        final Map<String, Property> metaProperties = ((TinkerVertexProperty<?>) vertexProperty).properties;
+        if (null != metaProperties) {
+            for (Property<?> property : metaProperties.values()) {
+                output.writeBoolean(true);
+                output.writeString(property.key());
+                kryo.writeClassAndObject(output, property.value());
+            }
+        }
+        output.writeBoolean(false);
+    }
+
+    private void writeEdge(final Output output, final TinkerEdge edge) {
+        kryo.writeClassAndObject(output, edge.id());
+        output.writeString(edge.label());
+        kryo.writeClassAndObject(output, null != edge.outVertex ? edge.outVertex.id() : edge.outVertexId);
+        kryo.writeClassAndObject(output, null != edge.inVertex ? edge.inVertex.id() : edge.inVertexId);
+        if (null != edge.properties) {
+            for (Property<?> property : edge.properties.values()) {
+                output.writeBoolean(true);
+                output.writeString(property.key());
+                kryo.writeClassAndObject(output, property.value());
+            }
+        }
+        output.writeBoolean(false);
+    }
+
+    ////////////// REPLAY //////////////////
+
+    /**
+     * Applies the records of the file to the graph. Each record is applied so that replaying it on a graph that
+     * already reflects it changes nothing, which makes recovery safe after a crash between saving the graph and
+     * deleting the log.
+     */
+    private void replay(final File file, final boolean isLog, final boolean isLast) throws IOException {
+        long validLength = 0;
+        boolean torn = false;
+        try (final DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 65536))) {
+            while (true) {
+                final byte[] bytes;
+                try {
+                    final int length = input.readInt();
+                    final int expected = input.readInt();
+                    if (length < 0 || length > file.length()) {
+                        torn = true;
+                        break;
+                    }
+                    bytes = new byte[length];
+                    input.readFully(bytes);
+                    checksum.reset();
+                    checksum.update(bytes, 0, length);
+                    if ((int) checksum.getValue() != expected) {
+                        torn = true;
+                        break;
+                    }
+                } catch (EOFException ex) {
+                    torn = validLength < file.length();
+                    break;
+                }
+
+                apply(new Input(bytes), isLog);
+                validLength += 8 + bytes.length;
+            }
+        }
+
+        if (graph instanceof TinkerTransactionGraph) graph.tx().commit();
+
+        if (torn) {
+            if (!isLast)
+                throw new IllegalStateException(String.format("The write-ahead log at %s is corrupt and later changes can not be replayed", file));
+
+            // the last record was torn by a crash while it was written
+            try (final RandomAccessFile truncate = new RandomAccessFile(file, "rw")) {
+                truncate.setLength(validLength);
+            }
+        }
+    }
+
+    private void apply(final Input input, final boolean isLog) {
+        final byte type = input.readByte();
+        switch (type) {
+            case VERTEX: {
+                final Object id = kryo.readClassAndObject(input);
+                final String label = input.readString();
+                Vertex vertex = graph.vertex(id);
+                if (null != vertex && !vertex.label().equals(label)) {
+                    vertex.remove();
+                    vertex = null;
+                }
+                if (null == vertex)
+                    vertex = graph.addVertex(T.id, id, T.label, label);
+                else
+                    IteratorUtils.list(vertex.properties()).forEach(VertexProperty::remove);
+                while (input.readBoolean()) {
+                    readVertexProperty(input, vertex);
+                }
+                if (isLog) changedVertices.add(id);
+                break;
+            }
+            case EDGE: {
+                final Object id = kryo.readClassAndObject(input);
+                final String label = input.readString();
+                final Object outVertexId = kryo.readClassAndObject(input);
+                final Object inVertexId = kryo.readClassAndObject(input);
+                Edge edge = graph.edge(id);
+                if (null != edge && (!edge.label().equals(label) || !edge.outVertex().id().equals(outVertexId) ||
+                        !edge.inVertex().id().equals(inVertexId))) {
+                    edge.remove();
+                    edge = null;
+                }
+                if (null == edge) {
+                    final Vertex outVertex = graph.vertex(outVertexId);
+                    final Vertex inVertex = graph.vertex(inVertexId);
+                    if (null != outVertex && null != inVertex)
+                        edge = outVertex.addEdge(label, inVertex, T.id, id);
+                } else {
+                    IteratorUtils.list(edge.properties()).forEach(Property::remove);
+                }
+                while (input.readBoolean()) {
+                    final String key = input.readString();
+                    final Object value = kryo.readClassAndObject(input);
+                    if (null != edge) edge.property(key, value);
+                }
+                if (isLog) changedEdges.add(id);
+                break;
+            }
+            case REMOVE_VERTEX: {
+                final Object id = kryo.readClassAndObject(input);
+                final Vertex vertex = graph.vertex(id);
+                if (null != vertex) vertex.remove();
+                if (isLog) changedVertices.add(id);
+                break;
+            }
+            case REMOVE_EDGE: {
+                final Object id = kryo.readClassAndObject(input);
+                final Edge edge = graph.edge(id);
+                if (null != edge) edge.remove();
+                if (isLog) changedEdges.add(id);
+                break;
+            }
+            case VERTEX_PROPERTY: {
+                final Object id = kryo.readClassAndObject(input);
+                final Vertex vertex = graph.vertex(id);
+                readVertexProperty(input, vertex);
+                if (isLog) changedVertices.add(id);
+                break;
+            }
+            case REMOVE_VERTEX_PROPERTY: {
+                final Object id = kryo.readClassAndObject(input);
+                final VertexProperty<?> vertexProperty = findVertexProperty(graph.vertex(id), kryo.readClassAndObject(input));
+                if (null != vertexProperty) vertexProperty.remove();
+                if (isLog) changedVertices.add(id);
+                break;
+            }
+            case EDGE_PROPERTY: {
+                final Object id = kryo.readClassAndObject(input);
+                final String key = input.readString();
+                final Object value = kryo.readClassAndObject(input);
+                final Edge edge = graph.edge(id);
+                if (null != edge) edge.property(key, value);
+                if (isLog) changedEdges.add(id);
+                break;
+            }
+            case REMOVE_EDGE_PROPERTY: {
+                final Object id = kryo.readClassAndObject(input);
+                final String key = input.readString();
+                final Edge edge = graph.edge(id);
+                if (null != edge) edge.property(key).remove();
+                if (isLog) changedEdges.add(id);
+                break;
+            }
+            case META_PROPERTY: {
+                final Object id = kryo.readClassAndObject(input);
+                final VertexProperty<?> vertexProperty = findVertexProperty(graph.vertex(id), kryo.readClassAndObject(input));
+                final String key = input.readString();
+                final Object value = kryo.readClassAndObject(input);
+                if (null != vertexProperty) vertexProperty.property(key, value);
+                if (isLog) changedVertices.add(id);
+                break;
+            }
+            case REMOVE_META_PROPERTY: {
+                final Object id = kryo.readClassAndObject(input);
+                final VertexProperty<?> vertexProperty = findVertexProperty(graph.vertex(id), kryo.readClassAndObject(input));
+                final String key = input.readString();
+                if (null != vertexProperty) vertexProperty.property(key).remove();
+                if (isLog) changedVertices.add(id);
+                break;
+            }
+            case CLEAR:
+                IteratorUtils.list(graph.vertices()).forEach(Vertex::remove);
+                if (isLog) {
+                    cleared = true;
+                    changedVertices.clear();
+                    changedEdges.clear();
+                }
+                break;
+            default:
+                throw new IllegalStateException(String.format("Unknown record type %s in the write-ahead log at %s", type, directory));
+        }
+        if (isLog) records++;
+    }
+
+    /**
+     * Reads a vertex property and adds it to the vertex, replacing a property with the same id. Cardinality was
+     * already taken care of when the property was logged as any property it replaced was logged as removed.
+     */
+    private void readVertexProperty(final Input input, final Vertex vertex) {
+        final Object id = kryo.readClassAndObject(input);
+        final String key = input.readString();
+        final Object value = kryo.readClassAndObject(input);
+        final List<Object> metaProperties = new ArrayList<>();
+        while (input.readBoolean()) {
+            metaProperties.add(input.readString());
+            metaProperties.add(kryo.readClassAndObject(input));
+        }
+        if (null == vertex) return;
+
+        final VertexProperty<?> existing = findVertexProperty(vertex, id);
+        if (null != existing) existing.remove();
+        final VertexProperty<?> vertexProperty = vertex.property(VertexProperty.Cardinality.list, key, value, T.id, id);
+        for (int i = 0; i < metaProperties.size(); i = i + 2) {
+            vertexProperty.property((String) metaProperties.get(i), metaProperties.get(i + 1));
+        }
+    }
+
+    private static VertexProperty<?> findVertexProperty(final Vertex vertex, final Object id) {
+        if (null == vertex) return null;
+        final Iterator<VertexProperty<Object>> vertexProperties = vertex.properties();
+        while (vertexProperties.hasNext()) {
+            final VertexProperty<?> vertexProperty = vertexProperties.next();
+            if (vertexProperty.id().equals(id)) return vertexProperty;
+        }
+        return null;
+    }
+
+    ////////////// FILES //////////////////
+
+    private List<File> listFiles() {
+        final File[] files = directory.listFiles((dir, name) ->
+                (name.startsWith(LOG_PREFIX) || name.startsWith(CHECKPOINT_PREFIX)) && name.endsWith(SUFFIX));
+        final List<File> sorted = new ArrayList<>();
+        if (null != files) {
+            for (File file : files) sorted.add(file);
+        }
+        sorted.sort(Comparator.comparingLong(TinkerWriteAheadLog::sequenceOf));
+        return sorted;
+    }
+
+    private static String fileName(final String prefix, final long sequence) {
+        return String.format("%s%020d%s", prefix, sequence, SUFFIX);
+    }
+
+    private static long sequenceOf(final File file) {
+        final String name = file.getName();
+        final String prefix = name.startsWith(LOG_PREFIX) ? LOG_PREFIX : CHECKPOINT_PREFIX;
+        return Long.parseLong(name.substring(prefix.length(), name.length() - SUFFIX.length()));
+    }
+
+    private static final class PendingCheckpoint {
+        private final Future<?> future;
+        private final Set<Object> vertices;
+        private final Set<Object> edges;
+        private final boolean cleared;
+
+        private PendingCheckpoint(final Future<?> future, final Set<Object> vertices, final Set<Object> edges,
+                                  final boolean cleared) {
+            this.future = future;
+            this.vertices = vertices;
+            this.edges = edges;
+            this.cleared = cleared;
+        }
+    }
+}
@@ -27,6 +27,7 @@ import org.apache.tinkerpop.gremlin.TestHelper;
 import org.apache.tinkerpop.gremlin.features.World;
 import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
 import org.apache.tinkerpop.gremlin.process.computer.traversal.strategy.decoration.VertexProgramStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.BatchExecutionStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputer;
@@ -334,4 +335,41 @@ public abstract class TinkerWorld implements World {
             return this.world.convertIdToScript(id, type);
         }
     }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Enables testing of steps that exchange batches of traversers. The batch size is kept small so that scenarios
+     * cross batch boundaries.
+     */
+    public static class BatchExecutionWorld implements World {
+        private World world;
+
+        public BatchExecutionWorld(World world) { this.world = world; }
+
+        @Override
+        public GraphTraversalSource getGraphTraversalSource(final LoadGraphWith.GraphData graphData) {
+            return this.world.getGraphTraversalSource(graphData).withStrategies(new BatchExecutionStrategy(3));
+        }
+
+        @Override
+        public void beforeEachScenario(final Scenario scenario) {
+            this.world.beforeEachScenario(scenario);
+        }
+
+        @Override
+        public void afterEachScenario() {
+            this.world.afterEachScenario();
+        }
+
+        @Override
+        public String changePathToDataFile(final String pathToFileFromGremlin) {
+            return this.world.changePathToDataFile(pathToFileFromGremlin);
+        }
+
+        @Override
+        public String convertIdToScript(final Object id, final Class<? extends Element> type) {
+            return this.world.convertIdToScript(id, type);
+        }
+    }
 }
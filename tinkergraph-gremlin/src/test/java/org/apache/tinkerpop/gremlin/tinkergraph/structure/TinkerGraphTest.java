@@ -20,20 +20,32 @@ package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
 import org.apache.commons.configuration2.BaseConfiguration;
 import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.io.FileUtils;
 import org.apache.tinkerpop.gremlin.GraphHelper;
 import org.apache.tinkerpop.gremlin.TestHelper;
 import org.apache.tinkerpop.gremlin.process.computer.Computer;
+import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.TextP;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.branch.RepeatStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.MatchStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.OrderGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.MatchAlgorithmStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.IdentityRemovalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.ReservedKeysVerificationStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSpill;
 import org.apache.tinkerpop.gremlin.process.traversal.util.Metrics;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalMetrics;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalPlanCache;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.GraphStatistics;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
@@ -50,6 +62,8 @@ import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoClassResolverV1;
 import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
 import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoVersion;
 import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoWriter;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.map.TinkerCountGlobalStep;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.sideEffect.TinkerGraphStep;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.apache.tinkerpop.shaded.jackson.databind.ObjectMapper;
 import org.apache.tinkerpop.shaded.kryo.ClassResolver;
@@ -69,6 +83,7 @@ import java.io.FileOutputStream;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -77,16 +92,21 @@ import java.util.Random;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 import static org.apache.tinkerpop.gremlin.process.traversal.AnonymousTraversalSource.traversal;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
 import static org.hamcrest.core.StringContains.containsString;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.junit.Assume.assumeThat;
@@ -192,6 +212,323 @@ public class TinkerGraphTest {
         }, 35)).has("name", "stephen").count().next());
     }
 
+    @Test
+    public void shouldManageRangeIndices() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("name", Vertex.class);
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.RANGE);
+
+        assertEquals(new HashSet<>(Arrays.asList("name", "age")), g.getIndexedKeys(Vertex.class));
+        assertEquals(new HashSet<>(Arrays.asList("name")), g.getIndexedKeys(Vertex.class, TinkerGraph.IndexType.HASH));
+        assertEquals(new HashSet<>(Arrays.asList("age")), g.getIndexedKeys(Vertex.class, TinkerGraph.IndexType.RANGE));
+
+        // replaces the hash index
+        g.createIndex("name", Vertex.class, TinkerGraph.IndexType.RANGE);
+        assertEquals(0, g.getIndexedKeys(Vertex.class, TinkerGraph.IndexType.HASH).size());
+        assertEquals(new HashSet<>(Arrays.asList("name", "age")), g.getIndexedKeys(Vertex.class, TinkerGraph.IndexType.RANGE));
+
+        g.dropIndex("age", Vertex.class);
+        assertEquals(new HashSet<>(Arrays.asList("name")), g.getIndexedKeys(Vertex.class));
+        assertEquals(new HashSet<>(Arrays.asList("name")), g.getIndexedKeys(Vertex.class, TinkerGraph.IndexType.RANGE));
+    }
+
+    @Test
+    public void shouldUseRangeIndexForRangePredicates() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.RANGE);
+        g.createIndex("name", Vertex.class, TinkerGraph.IndexType.RANGE);
+
+        g.addVertex("name", "marko", "age", 29);
+        g.addVertex("name", "vadas", "age", 27L);
+        g.addVertex("name", "josh", "age", 32);
+        g.addVertex("name", "peter", "age", 35.0d);
+        g.addVertex("name", "stephen", "age", "unknown");
+        g.addVertex("name", "daniel");
+
+        // the spy only sees the candidates that came out of the range index lookup on "age"
+        final Set<String> seen = new HashSet<>();
+        assertEquals(2, g.traversal().V().has("name", P.test((t, u) -> seen.add((String) t), null)).
+                has("age", P.between(28, 35)).count().next().intValue());
+        assertEquals(new HashSet<>(Arrays.asList("marko", "josh")), seen);
+
+        assertEquals(new HashSet<>(Arrays.asList("josh", "peter")), g.traversal().V().has("age", P.gt(29)).values("name").toSet());
+        assertEquals(new HashSet<>(Arrays.asList("marko", "josh")), g.traversal().V().has("age", P.gte(29)).has("age", P.lt(35)).values("name").toSet());
+        assertEquals(new HashSet<>(Arrays.asList("vadas", "marko")), g.traversal().V().has("age", P.lte(29)).values("name").toSet());
+        assertEquals(new HashSet<>(Arrays.asList("marko")), g.traversal().V().has("age", 29L).values("name").toSet());
+        assertEquals(new HashSet<>(Arrays.asList("peter")), g.traversal().V().has("age", P.inside(32, 40)).values("name").toSet());
+        assertEquals(new HashSet<>(Arrays.asList("stephen")), g.traversal().V().has("name", TextP.startingWith("s")).values("name").toSet());
+        assertEquals(new HashSet<>(Arrays.asList("daniel")), g.traversal().V().has("name", TextP.startingWith("dan")).values("name").toSet());
+        assertEquals(0, g.traversal().V().has("name", TextP.startingWith("z")).count().next().intValue());
+
+        // index is maintained on update and removal
+        g.traversal().V().has("name", "josh").property("age", 50).iterate();
+        g.traversal().V().has("name", "marko").drop().iterate();
+        assertEquals(new HashSet<>(Arrays.asList("peter", "josh")), g.traversal().V().has("age", P.gt(29)).values("name").toSet());
+        assertEquals(new HashSet<>(Arrays.asList("vadas")), g.traversal().V().has("age", P.lte(29)).values("name").toSet());
+    }
+
+    @Test
+    public void shouldFoldOrderLimitIntoRangeIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.RANGE);
+        for (int i = 0; i < 100; i++) {
+            g.addVertex("name", "v" + i, "age", (i * 37) % 100, "even", i % 2 == 0);
+        }
+        g.addVertex("name", "none");
+
+        final GraphTraversalSource gts = g.traversal();
+        final Traversal.Admin<?, ?> t = gts.V().order().by("age").limit(3).asAdmin();
+        t.applyStrategies();
+        assertEquals(0, TraversalHelper.getStepsOfClass(OrderGlobalStep.class, t).size());
+
+        assertEquals(Arrays.asList(0, 1, 2), gts.V().order().by("age").limit(3).values("age").toList());
+        assertEquals(Arrays.asList(99, 98, 97), gts.V().order().by("age", Order.desc).limit(3).values("age").toList());
+        assertEquals(Arrays.asList(2, 3), gts.V().order().by("age").range(2, 4).values("age").toList());
+        assertEquals(Arrays.asList(98, 96), gts.V().has("even", true).order().by("age", Order.desc).limit(2).values("age").toList());
+        assertEquals(100, gts.V().order().by("age").limit(1000).count().next().intValue());
+
+        // once the index is gone the folded order still holds by sorting
+        final Traversal.Admin<Vertex, Object> folded = gts.V().order().by("age").limit(3).values("age").asAdmin();
+        folded.applyStrategies();
+        g.dropIndex("age", Vertex.class);
+        assertEquals(Arrays.asList(0, 1, 2), folded.toList());
+    }
+
+    @Test
+    public void shouldManageCompositeIndices() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createCompositeIndex("person", Vertex.class, "tenant", "status");
+        g.createCompositeIndex(null, Edge.class, "weight", "since");
+
+        assertEquals(1, g.getCompositeIndexes(Vertex.class).size());
+        final AbstractTinkerIndex.CompositeIndex compositeIndex = g.getCompositeIndexes(Vertex.class).iterator().next();
+        assertEquals("person", compositeIndex.getLabel());
+        assertEquals(Arrays.asList("tenant", "status"), compositeIndex.getKeys());
+        assertNull(g.getCompositeIndexes(Edge.class).iterator().next().getLabel());
+
+        // composite indexes are not single key indexes
+        assertEquals(0, g.getIndexedKeys(Vertex.class).size());
+
+        g.dropCompositeIndex("person", Vertex.class, "tenant", "status");
+        assertEquals(0, g.getCompositeIndexes(Vertex.class).size());
+        assertEquals(1, g.getCompositeIndexes(Edge.class).size());
+
+        try {
+            g.createCompositeIndex("person", Vertex.class, "tenant", "tenant");
+            fail("Should not allow repeated keys");
+        } catch (IllegalArgumentException ignored) {
+        }
+
+        try {
+            g.createCompositeIndex("person", Vertex.class);
+            fail("Should not allow an index without keys");
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    @Test
+    public void shouldUseCompositeIndexForEqualities() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createCompositeIndex("person", Vertex.class, "tenant", "status");
+
+        final Vertex marko = g.addVertex(T.label, "person", "name", "marko", "tenant", "a", "status", "active");
+        g.addVertex(T.label, "person", "name", "vadas", "tenant", "a", "status", "inactive");
+        g.addVertex(T.label, "person", "name", "josh", "tenant", "b", "status", "active");
+        g.addVertex(T.label, "software", "name", "lop", "tenant", "a", "status", "active");
+        final Vertex peter = g.addVertex(T.label, "person", "name", "peter", "tenant", "a");
+
+        // the spy only sees the candidates that came out of the composite index lookup
+        final Set<String> seen = new HashSet<>();
+        assertEquals(Collections.singletonList("marko"), g.traversal().V().hasLabel("person").
+                has("tenant", "a").has("status", "active").
+                has("name", P.test((t, u) -> seen.add((String) t), null)).values("name").toList());
+        assertEquals(Collections.singleton("marko"), seen);
+
+        // without the label the index does not apply
+        assertEquals(new HashSet<>(Arrays.asList("marko", "lop")),
+                g.traversal().V().has("tenant", "a").has("status", "active").values("name").toSet());
+
+        peter.property("status", "active");
+        marko.property("status", "inactive");
+        assertEquals(Collections.singletonList("peter"), g.traversal().V().hasLabel("person").
+                has("tenant", "a").has("status", "active").values("name").toList());
+
+        peter.property("status").remove();
+        assertEquals(0, g.traversal().V().hasLabel("person").has("tenant", "a").has("status", "active").count().next().intValue());
+
+        marko.remove();
+        assertEquals(Collections.singletonList("vadas"), g.traversal().V().hasLabel("person").
+                has("tenant", "a").has("status", "inactive").values("name").toList());
+    }
+
+    @Test
+    public void shouldChooseMostSelectiveIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("status", Vertex.class);
+        g.createIndex("name", Vertex.class);
+
+        for (int i = 0; i < 100; i++) {
+            g.addVertex("name", "v" + i, "status", "active");
+        }
+
+        // "name" is far more selective than "status" so it drives the lookup whatever the order of the filters
+        final Set<Object> seen = new HashSet<>();
+        assertEquals(1, g.traversal().V().has("status", "active").has("name", "v1").
+                has("status", P.test((t, u) -> seen.add(t), null)).count().next().intValue());
+        assertEquals(1, seen.size());
+
+        g.createCompositeIndex(null, Vertex.class, "status", "name");
+        assertEquals(1, g.traversal().V().has("status", "active").has("name", "v1").count().next().intValue());
+        assertEquals(0, g.traversal().V().has("status", "active").has("name", "v100").count().next().intValue());
+    }
+
+    @Test
+    public void shouldCountFromIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("status", Vertex.class);
+        g.createCompositeIndex("person", Vertex.class, "tenant", "status");
+
+        for (int i = 0; i < 10; i++) {
+            g.addVertex(T.label, "person", "tenant", i % 2 == 0 ? "a" : "b", "status", i < 6 ? "active" : "inactive");
+        }
+
+        final GraphTraversalSource gts = g.traversal();
+        final Traversal.Admin<Vertex, Long> indexed = gts.V().has("status", "active").count().asAdmin();
+        indexed.applyStrategies();
+        assertTrue(indexed.getStartStep() instanceof TinkerCountGlobalStep);
+        assertEquals(6L, indexed.next().longValue());
+
+        final Traversal.Admin<Vertex, Long> composite = gts.V().hasLabel("person").has("tenant", "a").has("status", "active").count().asAdmin();
+        composite.applyStrategies();
+        assertTrue(composite.getStartStep() instanceof TinkerCountGlobalStep);
+        assertEquals(3L, composite.next().longValue());
+
+        // only some of the filters are indexed so the matches need to be tested
+        final Traversal.Admin<Vertex, Long> partial = gts.V().has("tenant", "a").has("status", "active").count().asAdmin();
+        partial.applyStrategies();
+        assertTrue(partial.getStartStep() instanceof TinkerGraphStep);
+        assertEquals(3L, partial.next().longValue());
+
+        // once the index is gone the count falls back to testing every vertex
+        final Traversal.Admin<Vertex, Long> dropped = gts.V().has("status", "inactive").count().asAdmin();
+        dropped.applyStrategies();
+        g.dropIndex("status", Vertex.class);
+        assertEquals(4L, dropped.next().longValue());
+    }
+
+    @Test
+    public void shouldNotSeeOwnIndexWritesWhenMutating() {
+        final TinkerGraph graph = TinkerGraph.open();
+        graph.createIndex("name", Vertex.class);
+        for (int i = 0; i < 100; i++) {
+            graph.addVertex("name", "x");
+        }
+
+        final GraphTraversalSource g = graph.traversal();
+        assertEquals(100L, g.V().has("name", "x").addV().property("name", "x").count().next().longValue());
+        assertEquals(200L, g.V().has("name", "x").count().next().longValue());
+    }
+
+    @Test
+    public void shouldEstimateCountsForPlanners() {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        graph.createIndex("name", Vertex.class);
+        final GraphStatistics statistics = graph.getStatistics();
+        assertEquals(6L, statistics.count(Vertex.class));
+        assertEquals(6L, statistics.count(Edge.class));
+        assertEquals(4L, statistics.count(Vertex.class, "person"));
+        assertEquals(2L, statistics.count(Vertex.class, "software"));
+        assertEquals(4L, statistics.count(Edge.class, "created"));
+        assertEquals(0L, statistics.count(Edge.class, "likes"));
+        assertEquals(1L, statistics.count(Vertex.class, "name", "marko"));
+        assertEquals(GraphStatistics.UNKNOWN, statistics.count(Vertex.class, "age", 29));
+
+        // the label histogram is rebuilt once the graph has grown enough
+        graph.addVertex(T.label, "person", "name", "stephen");
+        assertEquals(5L, statistics.count(Vertex.class, "person"));
+        assertEquals(1L, statistics.count(Vertex.class, "name", "stephen"));
+
+        final GraphTraversalSource g = graph.traversal();
+        final GraphTraversalSource gCost = g.withStrategies(MatchAlgorithmStrategy.build().algorithm(MatchStep.CostMatchAlgorithm.class).create());
+        assertEquals(g.V().match(__.as("a").out("created").as("b"), __.as("b").in("created").as("c"), __.as("c").has("age", P.gt(30))).count().next(),
+                gCost.V().match(__.as("a").out("created").as("b"), __.as("b").in("created").as("c"), __.as("c").has("age", P.gt(30))).count().next());
+    }
+
+    @Test
+    public void shouldHashJoinPatternsThatDoNotDependOnTheStart() {
+        final GraphTraversalSource g = TinkerFactory.createModern().traversal();
+        final GraphTraversalSource gJoin = g.withStrategies(MatchAlgorithmStrategy.build().create());
+        final GraphTraversalSource gLoop = g.withStrategies(MatchAlgorithmStrategy.build().hashJoin(false).create());
+
+        final AtomicInteger tested = new AtomicInteger();
+        final P<Object> lang = P.test((t, u) -> tested.incrementAndGet() > 0 && "java".equals(t), null);
+        final List<Map<String, Object>> joined = gJoin.V().match(
+                __.as("a").out("created").as("b"),
+                __.as("a").V().has("lang", lang).as("b")).select("a", "b").by("name").toList();
+        assertEquals(2, tested.get());
+        tested.set(0);
+        final List<Map<String, Object>> looped = gLoop.V().match(
+                __.as("a").out("created").as("b"),
+                __.as("a").V().has("lang", lang).as("b")).select("a", "b").by("name").toList();
+        assertThat(tested.get(), greaterThan(2));
+        assertEquals(new HashSet<>(looped), new HashSet<>(joined));
+        assertEquals(4, joined.size());
+
+        // the label is not bound yet so every result continues, with bulks multiplied
+        assertEquals(g.V().match(__.as("a").has("name", "marko"), __.as("a").V().out().as("b")).count().next(),
+                gJoin.V().match(__.as("a").has("name", "marko"), __.as("a").V().out().as("b")).count().next());
+        assertEquals(g.V().as("a").out().as("b").where(__.as("a").V().has("name", "josh").out().as("b")).select("a", "b").by("name").toList(),
+                gJoin.V().as("a").out().as("b").where(__.as("a").V().has("name", "josh").out().as("b")).select("a", "b").by("name").toList());
+    }
+
+    @Test
+    public void shouldExpandEachVertexOnceWithDedupFrontier() {
+        final GraphTraversalSource g = TinkerFactory.createModern().traversal().with(RepeatStep.DEDUP_FRONTIER, true);
+
+        // without the option both() would loop forever
+        assertEquals(Arrays.asList("josh", "lop", "peter", "ripple", "vadas"),
+                g.V(1).repeat(__.both()).emit().values("name").order().toList());
+        assertEquals(Arrays.asList("lop", "ripple"), g.V(1).repeat(__.both()).until(__.hasLabel("software")).values("name").order().toList());
+        assertEquals(Arrays.asList("peter", "ripple"), g.V(1).repeat(__.both()).times(2).values("name").order().toList());
+
+        // the starts are visited, so only lop and ripple are emitted, lop with the bulk of the three edges to it
+        assertEquals(4L, g.V().hasLabel("person").repeat(__.out()).emit().count().next().longValue());
+        assertEquals(Arrays.asList("lop", "ripple"), g.V().hasLabel("person").repeat(__.out()).emit().dedup().values("name").order().toList());
+    }
+
+    @Test
+    public void shouldRebuildHashJoinTableWhenRootTraversalIsReset() {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        final GraphTraversalSource g = graph.traversal().withStrategies(MatchAlgorithmStrategy.build().create());
+        final Traversal.Admin<Vertex, Object> traversal = g.V().as("a").
+                where(__.as("a").V().has("age", P.gt(30)).as("a")).<Object>values("name").asAdmin();
+        assertEquals(new HashSet<>(Arrays.asList("josh", "peter")), new HashSet<>(traversal.toList()));
+
+        g.V().has("name", "marko").property("age", 40).iterate();
+        traversal.reset();
+        assertEquals(new HashSet<>(Arrays.asList("marko", "josh", "peter")), new HashSet<>(traversal.toList()));
+    }
+
+    @Test
+    public void shouldStreamIndexLookups() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("status", Vertex.class);
+        for (int i = 0; i < 100; i++) {
+            g.addVertex("status", "active", "i", i);
+        }
+
+        // the lookup is not copied out of the index so only about as many vertices as limit() needs are tested
+        final AtomicInteger tested = new AtomicInteger();
+        assertEquals(2, g.traversal().V().has("status", "active").has("i", P.test((t, u) -> tested.incrementAndGet() > 0, null)).
+                limit(2).toList().size());
+        assertThat(tested.get(), lessThan(5));
+
+        // vertices can be changed while the lookup is being iterated
+        g.traversal().V().has("status", "active").property("status", "inactive").iterate();
+        assertEquals(0, g.traversal().V().has("status", "active").count().next().intValue());
+        assertEquals(100, g.traversal().V().has("status", "inactive").count().next().intValue());
+    }
+
     @Test
     public void shouldRemoveAVertexFromAnIndex() {
         final TinkerGraph g = TinkerGraph.open();
@@ -385,6 +722,65 @@ public class TinkerGraphTest {
         }
     }
 
+    @Test
+    public void shouldTraverseWithCompactAdjacency() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_COMPACT_ADJACENCY, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        final GraphTraversalSource g = graph.traversal();
+
+        final TinkerVertex marko = (TinkerVertex) g.V().has("name", "marko").next();
+        assertEquals(null, marko.outEdges);
+        assertEquals(3, marko.outAdjacency.size());
+
+        assertEquals(new HashSet<>(Arrays.asList("vadas", "josh", "lop")), g.V(marko).out().values("name").toSet());
+        assertEquals(new HashSet<>(Arrays.asList("vadas", "josh")), g.V(marko).out("knows").values("name").toSet());
+        assertEquals(3, g.V(marko).out("knows", "created").count().next().intValue());
+        assertEquals(0, g.V(marko).out("uses").count().next().intValue());
+        assertEquals(0, g.V(marko).in().count().next().intValue());
+        assertEquals(3, g.V().has("name", "lop").in("created").count().next().intValue());
+        assertEquals(3, g.V().has("name", "josh").both().count().next().intValue());
+        assertEquals(6, g.V().outE().count().next().intValue());
+        assertEquals(6, g.V().inE().count().next().intValue());
+        IoTest.assertModernGraph(graph, true, false);
+    }
+
+    @Test
+    public void shouldRemoveEdgesWithCompactAdjacency() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_COMPACT_ADJACENCY, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        final GraphTraversalSource g = graph.traversal();
+
+        final Vertex a = graph.addVertex();
+        final Vertex b = graph.addVertex();
+        final List<Edge> edges = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            edges.add(a.addEdge("l" + (i % 3), b, "i", i));
+        }
+
+        // remove every other edge so that holes appear in each label segment
+        for (int i = 0; i < 30; i += 2) {
+            edges.get(i).remove();
+        }
+
+        assertEquals(15, g.V(a).outE().count().next().intValue());
+        assertEquals(15, g.V(b).inE().count().next().intValue());
+        assertEquals(5, g.V(a).out("l0").count().next().intValue());
+        assertEquals(new HashSet<>(Arrays.asList(3, 9, 15, 21, 27)), g.V(a).outE("l0").values("i").toSet());
+        assertEquals(new HashSet<>(Arrays.asList(1, 7, 13, 19, 25)), g.V(b).inE("l1").values("i").toSet());
+        assertEquals(new HashSet<>(Arrays.asList(5, 11, 17, 23, 29)), g.V(a).outE("l2").values("i").toSet());
+
+        g.V(a).outE("l1").drop().iterate();
+        assertEquals(0, g.V(a).outE("l1").count().next().intValue());
+        assertEquals(10, g.V(b).inE("l0", "l2").count().next().intValue());
+
+        a.remove();
+        assertEquals(0, g.V(b).inE().count().next().intValue());
+        assertEquals(0, g.E().count().next().intValue());
+    }
+
     @Test(expected = IllegalStateException.class)
     public void shouldRequireGraphLocationIfFormatIsSet() {
         final Configuration conf = new BaseConfiguration();
@@ -506,6 +902,71 @@ public class TinkerGraphTest {
         reloadedGraph.close();
     }
 
+    @Test
+    public void shouldPersistToSnapshot() {
+        final String graphLocation = TestHelper.makeTestDataFile(TinkerGraphTest.class, "shouldPersistToSnapshot.tgs");
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "snapshot");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        graph.close();
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        IoTest.assertModernGraph(reloadedGraph, true, false);
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldPersistToSnapshotAndHandleMultiProperties() {
+        final String graphLocation = TestHelper.makeTestDataFile(TinkerGraphTest.class, "shouldPersistToSnapshotMulti.tgs");
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "snapshot");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateTheCrew(graph);
+        graph.close();
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        IoTest.assertCrewGraph(reloadedGraph, false);
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldPersistToSnapshotWithCompactAdjacencyAndAnyValue() {
+        final String graphLocation = TestHelper.makeTestDataFile(TinkerGraphTest.class, "shouldPersistToSnapshotCompact.tgs");
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "snapshot");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_COMPACT_ADJACENCY, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        final UUID uuid = UUID.randomUUID();
+        graph.traversal().V(1).property("uuid", uuid).property("tags", Arrays.asList("a", "b")).
+                outE("created").property("flag", true).iterate();
+        graph.close();
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        final GraphTraversalSource g = reloadedGraph.traversal();
+        assertEquals(6L, (long) g.V().count().next());
+        assertEquals(6L, (long) g.E().count().next());
+        assertEquals(uuid, g.V(1).values("uuid").next());
+        assertEquals(Arrays.asList("a", "b"), g.V(1).values("tags").next());
+        assertEquals(true, g.V(1).outE("created").values("flag").next());
+        assertEquals(Arrays.asList("josh", "vadas"), g.V(1).out("knows").order().by("name").values("name").toList());
+        assertEquals(Arrays.asList("josh", "marko", "peter"), g.V(3).in().order().by("name").values("name").toList());
+        reloadedGraph.close();
+    }
+
     @Test
     public void shouldPersistWithRelativePath() {
         final String graphLocation = TestHelper.convertToRelative(TinkerGraphTest.class,
@@ -557,6 +1018,140 @@ public class TinkerGraphTest {
         assertEquals(TestIoBuilder.calledCreate, 1);
     }
 
+    @Test(expected = IllegalStateException.class)
+    public void shouldRequireGraphLocationIfWriteAheadLogIsSet() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WAL_LOCATION, TestHelper.makeTestDataDirectory(TinkerGraphTest.class));
+        TinkerGraph.open(conf);
+    }
+
+    @Test
+    public void shouldRecoverChangesFromWriteAheadLog() throws Exception {
+        final Configuration conf = writeAheadLogConfiguration("shouldRecoverChangesFromWriteAheadLog", 100000);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        graph.close();
+
+        // changes made after the graph was saved are only in the log as the graph is never closed
+        final GraphTraversalSource g = TinkerGraph.open(conf).traversal();
+        g.V(1).property("name", "marko a. rodriguez").iterate();
+        g.V(1).property(VertexProperty.Cardinality.list, "location", "santa fe", "startTime", 2005).iterate();
+        g.V(2).drop().iterate();
+        g.E(9).property("weight", 0.5d).iterate();
+        g.addV("person").property(T.id, 100).property("name", "stephen").as("s").
+                V(1).addE("knows").to("s").property(T.id, 101).iterate();
+        g.V(4).properties("age").drop().iterate();
+
+        final TinkerGraph recovered = TinkerGraph.open(conf);
+        assertRecoveredChanges(recovered.traversal());
+
+        // closing folds the log into the graph and empties it
+        recovered.close();
+        assertEquals(0, new File(conf.getString(TinkerGraph.GREMLIN_TINKERGRAPH_WAL_LOCATION)).list().length);
+        final TinkerGraph reloaded = TinkerGraph.open(conf);
+        assertRecoveredChanges(reloaded.traversal());
+        reloaded.close();
+    }
+
+    @Test
+    public void shouldRecoverChangesFromWriteAheadLogCheckpoints() throws Exception {
+        final Configuration conf = writeAheadLogConfiguration("shouldRecoverChangesFromWriteAheadLogCheckpoints", 10);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        final GraphTraversalSource g = graph.traversal();
+        for (int i = 0; i < 100; i++) {
+            g.addV("person").property(T.id, i).property("value", i).iterate();
+        }
+        for (int i = 1; i < 100; i++) {
+            g.V(i - 1).addE("next").to(__.V(i)).property(T.id, i).iterate();
+        }
+        g.V().has("value", P.lt(10)).drop().iterate();
+        g.V().property("value", 0).iterate();
+        graph.writeAheadLog.awaitPendingCheckpoint();
+
+        final File[] checkpoints = new File(conf.getString(TinkerGraph.GREMLIN_TINKERGRAPH_WAL_LOCATION)).
+                listFiles((dir, name) -> name.startsWith("checkpoint-"));
+        assertTrue(checkpoints.length > 0);
+
+        final TinkerGraph recovered = TinkerGraph.open(conf);
+        assertEquals(90L, (long) recovered.traversal().V().count().next());
+        assertEquals(89L, (long) recovered.traversal().E().count().next());
+        assertEquals(90L, (long) recovered.traversal().V().has("value", 0).count().next());
+        recovered.close();
+    }
+
+    @Test
+    public void shouldCompactWriteAheadLogCheckpoints() throws Exception {
+        final Configuration conf = writeAheadLogConfiguration("shouldCompactWriteAheadLogCheckpoints", 10);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        final GraphTraversalSource g = graph.traversal();
+        for (int i = 0; i < 10; i++) {
+            g.addV("person").property(T.id, i).property("value", -1).iterate();
+        }
+        for (int i = 0; i < 2000; i++) {
+            g.V(i % 10).property("value", i).iterate();
+        }
+        graph.writeAheadLog.awaitPendingCheckpoint();
+
+        // the same few vertices are checkpointed over and over, so compaction keeps the number of checkpoints small
+        final File[] checkpoints = new File(conf.getString(TinkerGraph.GREMLIN_TINKERGRAPH_WAL_LOCATION)).
+                listFiles((dir, name) -> name.startsWith("checkpoint-"));
+        assertThat(checkpoints.length, lessThan(4));
+
+        final TinkerGraph recovered = TinkerGraph.open(conf);
+        assertEquals(10L, (long) recovered.traversal().V().count().next());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(1990 + i, recovered.traversal().V(i).values("value").next());
+        }
+        recovered.close();
+    }
+
+    @Test
+    public void shouldRecoverFromTornWriteAheadLogRecord() throws Exception {
+        final Configuration conf = writeAheadLogConfiguration("shouldRecoverFromTornWriteAheadLogRecord", 100000);
+        final GraphTraversalSource g = TinkerGraph.open(conf).traversal();
+        g.addV("person").property(T.id, 1).property("name", "marko").iterate();
+        g.addV("person").property(T.id, 2).property("name", "vadas").iterate();
+
+        // simulate a crash in the middle of writing a record
+        final File log = new File(conf.getString(TinkerGraph.GREMLIN_TINKERGRAPH_WAL_LOCATION)).
+                listFiles((dir, name) -> name.startsWith("wal-"))[0];
+        final long length = log.length();
+        try (final FileOutputStream os = new FileOutputStream(log, true)) {
+            os.write(new byte[]{0, 0, 0, 100, 1, 2, 3});
+        }
+
+        final TinkerGraph recovered = TinkerGraph.open(conf);
+        assertEquals(length, log.length());
+        assertEquals(Arrays.asList("marko", "vadas"), recovered.traversal().V().order().by(T.id).values("name").toList());
+        recovered.close();
+    }
+
+    private static void assertRecoveredChanges(final GraphTraversalSource g) {
+        assertEquals(6L, (long) g.V().count().next());
+        assertEquals(6L, (long) g.E().count().next());
+        assertEquals("marko a. rodriguez", g.V(1).values("name").next());
+        assertEquals(2005, g.V(1).properties("location").has("startTime").values("startTime").next());
+        assertEquals(0.5d, g.E(9).values("weight").next());
+        assertEquals("stephen", g.E(101).inV().values("name").next());
+        assertFalse(g.V(4).has("age").hasNext());
+    }
+
+    private static Configuration writeAheadLogConfiguration(final String name, final long checkpointThreshold) throws Exception {
+        final String graphLocation = TestHelper.makeTestDataFile(TinkerGraphTest.class, name + ".kryo");
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+        final File walLocation = new File(TestHelper.makeTestDataDirectory(TinkerGraphTest.class, name + "-wal"));
+        FileUtils.deleteDirectory(walLocation);
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "gryo");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WAL_LOCATION, walLocation.getAbsolutePath());
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WAL_SYNC_INTERVAL, 0);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WAL_CHECKPOINT_THRESHOLD, checkpointThreshold);
+        return conf;
+    }
+
     @Test
     public void shouldSerializeWithColorClassResolverToTinkerGraph() throws Exception {
         final Map<String,Color> colors = new HashMap<>();
@@ -923,6 +1518,69 @@ public class TinkerGraphTest {
         assertEquals(3, g.V(100, "1000", uuid).count().next().intValue());
     }
 
+    @Test
+    public void shouldReattachVerticesSpilledByOrder() {
+        final GraphTraversalSource g = TinkerFactory.createModern().traversal();
+        final GraphTraversalSource spilling = g.with(TraverserSpill.SPILL_THRESHOLD, 2);
+
+        assertEquals(g.V().order().by("name").values("name").toList(),
+                spilling.V().order().by("name").values("name").toList());
+        assertEquals(g.V().out().order().by("name", Order.desc).values("name").toList(),
+                spilling.V().out().order().by("name", Order.desc).values("name").toList());
+        assertEquals(g.E().order().by("weight").by(T.id).id().toList(),
+                spilling.E().order().by("weight").by(T.id).id().toList());
+    }
+
+    @Test
+    public void shouldIterateCachedPlansIndependently() {
+        final GraphTraversalSource g = TinkerFactory.createModern().traversal();
+        final TraversalPlanCache cache = new TraversalPlanCache(10);
+        final Bytecode bytecode = g.V().has("name", "marko").out().order().by("name").values("name").asAdmin().getBytecode();
+
+        assertEquals(Arrays.asList("josh", "lop", "vadas"), cache.compile(g, bytecode).toList());
+        final Traversal.Admin<?, ?> first = cache.compile(g, bytecode);
+        final Traversal.Admin<?, ?> second = cache.compile(g, bytecode);
+        assertEquals("josh", first.next());
+        assertEquals(Arrays.asList("josh", "lop", "vadas"), second.toList());
+        assertEquals(Arrays.asList("lop", "vadas"), first.toList());
+        assertEquals(2L, cache.getHitCount());
+    }
+
+    @Test
+    public void shouldSubstituteBindingsIntoCachedPlans() {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        graph.createIndex("name", Vertex.class);
+        final GraphTraversalSource g = graph.traversal();
+        final TraversalPlanCache cache = new TraversalPlanCache(10);
+        final Function<String, Bytecode> outNames = name -> {
+            final Bytecode bytecode = new Bytecode();
+            bytecode.addStep("V");
+            bytecode.addStep("has", "name", new Bytecode.Binding<>("x", name));
+            bytecode.addStep("out");
+            bytecode.addStep("order");
+            bytecode.addStep("by", "name");
+            bytecode.addStep("values", "name");
+            return bytecode;
+        };
+
+        assertEquals(Arrays.asList("josh", "lop", "vadas"), cache.compile(g, outNames.apply("marko")).toList());
+        assertEquals(Arrays.asList("lop", "ripple"), cache.compile(g, outNames.apply("josh")).toList());
+        assertEquals(Collections.singletonList("lop"), cache.compile(g, outNames.apply("peter")).toList());
+        assertEquals(Arrays.asList("josh", "lop", "vadas"), cache.compile(g, outNames.apply("marko")).toList());
+        assertEquals(3L, cache.getHitCount());
+        assertEquals(1, cache.size());
+
+        final Bytecode byId = new Bytecode();
+        byId.addStep("V", new Bytecode.Binding<>("x", 1));
+        byId.addStep("values", "name");
+        assertEquals("marko", cache.compile(g, byId).next());
+        final Bytecode byOtherId = new Bytecode();
+        byOtherId.addStep("V", new Bytecode.Binding<>("x", 2));
+        byOtherId.addStep("values", "name");
+        assertEquals("vadas", cache.compile(g, byOtherId).next());
+        assertEquals(4L, cache.getHitCount());
+    }
+
     /**
      * Coerces a {@code Color} to a {@link TinkerGraph} during serialization.  Demonstrates how custom serializers
      * can be developed that can coerce one value to another during serialization.
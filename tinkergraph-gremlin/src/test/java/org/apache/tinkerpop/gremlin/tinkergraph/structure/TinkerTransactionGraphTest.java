@@ -18,20 +18,30 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
+import org.apache.commons.configuration2.BaseConfiguration;
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.io.FileUtils;
+import org.apache.tinkerpop.gremlin.TestHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.util.TransactionException;
 import org.junit.Test;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
@@ -393,6 +403,308 @@ public class TinkerTransactionGraphTest {
         assertEquals(vid, index.get(1).iterator().next().get().id());
     }
 
+    @Test
+    public void shouldUseCompositeIndexForVertex() throws InterruptedException {
+        final TinkerTransactionGraph g = TinkerTransactionGraph.open();
+        g.createCompositeIndex("person", Vertex.class, "tenant", "status");
+
+        final GraphTraversalSource gtx = g.tx().begin();
+
+        gtx.addV("person").property(T.id, vid).property("tenant", "a").property("status", "active").iterate();
+        gtx.addV("person").property("tenant", "a").property("status", "inactive").iterate();
+        gtx.addV("software").property("tenant", "a").property("status", "active").iterate();
+
+        assertEquals(vid, gtx.V().hasLabel("person").has("tenant", "a").has("status", "active").id().next());
+
+        final Thread thread = new Thread(() -> {
+            final GraphTraversalSource gtx2 = g.tx().begin();
+            assertEquals(0L, (long) gtx2.V().hasLabel("person").has("tenant", "a").has("status", "active").count().next());
+        });
+        thread.start();
+        thread.join();
+
+        gtx.tx().commit();
+
+        final GraphTraversalSource gtx3 = g.tx().begin();
+        assertEquals(1L, (long) gtx3.V().hasLabel("person").has("tenant", "a").has("status", "active").count().next());
+        gtx3.V(vid).property("status", "inactive").iterate();
+        assertEquals(0L, (long) gtx3.V().hasLabel("person").has("tenant", "a").has("status", "active").count().next());
+        assertEquals(2L, (long) gtx3.V().hasLabel("person").has("tenant", "a").has("status", "inactive").count().next());
+        gtx3.tx().commit();
+
+        final AbstractTinkerIndex.CompositeIndex compositeIndex = g.getCompositeIndexes(Vertex.class).iterator().next();
+        final Map<Object, Set<TinkerElementContainer<?>>> index = (Map<Object, Set<TinkerElementContainer<?>>>)
+                ((TinkerTransactionalIndex) g.vertexIndex).index.get(compositeIndex.getIndexKey());
+        assertNotNull(index);
+        assertEquals(1, index.size());
+        assertEquals(2, index.get(Arrays.asList("a", "inactive")).size());
+    }
+
+    @Test
+    public void shouldUpdateIndexForLargeCommit() throws InterruptedException {
+        final TinkerTransactionGraph g = TinkerTransactionGraph.open();
+        g.createIndex("test-property", Vertex.class);
+        final int count = TinkerTransactionalIndex.PARALLEL_COMMIT_THRESHOLD * 2;
+
+        final GraphTraversalSource gtx = g.tx().begin();
+        for (int i = 0; i < count; i++) {
+            gtx.addV().property(T.id, i).property("test-property", i % 2).iterate();
+        }
+        gtx.tx().commit();
+
+        countElementsInNewThreadTx(g, count, 0);
+
+        final GraphTraversalSource gtx2 = g.tx().begin();
+        assertEquals(count / 2, (long) gtx2.V().has("test-property", 0).count().next());
+        gtx2.V().has("test-property", 0).property("test-property", 1).iterate();
+        gtx2.tx().commit();
+
+        final GraphTraversalSource gtx3 = g.tx().begin();
+        assertEquals(0L, (long) gtx3.V().has("test-property", 0).count().next());
+        assertEquals(count, (long) gtx3.V().has("test-property", 1).count().next());
+
+        final Map<Object, Set<TinkerElementContainer<?>>> index =
+                (Map<Object, Set<TinkerElementContainer<?>>>) ((TinkerTransactionalIndex) g.vertexIndex).index.get("test-property");
+        assertEquals(1, index.size());
+        assertEquals(count, index.get(1).size());
+    }
+
+    @Test
+    public void shouldCountIndexWithChangesInTransaction() {
+        final TinkerTransactionGraph g = TinkerTransactionGraph.open();
+        g.createIndex("test-property", Vertex.class);
+
+        final GraphTraversalSource gtx = g.tx().begin();
+        for (int i = 0; i < 4; i++) {
+            gtx.addV().property(T.id, i).property("test-property", 0).iterate();
+        }
+        gtx.tx().commit();
+
+        final GraphTraversalSource gtx2 = g.tx().begin();
+        gtx2.addV().property(T.id, 10).property("test-property", 0).iterate();
+        gtx2.V(1).property("test-property", 1).iterate();
+        gtx2.V(2).drop().iterate();
+
+        assertEquals(3L, g.vertexIndex.count("test-property", 0));
+        assertEquals(1L, g.vertexIndex.count("test-property", 1));
+        assertEquals(g.vertexIndex.get("test-property", 0).size(), g.vertexIndex.count("test-property", 0));
+        assertEquals(3L, (long) gtx2.V().has("test-property", 0).count().next());
+        gtx2.tx().rollback();
+    }
+
+    @Test
+    public void shouldOrderIdsForLocking() {
+        final List<Object> ids = new ArrayList<>(Arrays.asList(3L, "b", 1L, "a", 2, 1));
+        ids.sort(TinkerTransaction::compareIds);
+        assertEquals(Arrays.asList(1, 2, 1L, 3L, "a", "b"), ids);
+    }
+
+    @Test
+    public void shouldReadSnapshotInReadOnlyTransaction() throws InterruptedException {
+        final TinkerTransactionGraph g = TinkerTransactionGraph.open();
+        g.createIndex("test-property", Vertex.class);
+
+        final GraphTraversalSource gtx = g.tx().begin();
+        final Vertex v1 = gtx.addV().property(T.id, vid).property("test-property", 1).next();
+        final Vertex v2 = gtx.addV().property("test-property", 2).next();
+        gtx.addE("knows").from(v1).to(v2).property(T.id, 200).iterate();
+        gtx.tx().commit();
+
+        final GraphTraversalSource rtx = g.beginReadOnly();
+        assertTrue(g.isIndexCurrent());
+        assertEquals(1L, (long) rtx.V().has("test-property", 1).count().next());
+
+        final Thread thread = new Thread(() -> {
+            final GraphTraversalSource gtx2 = g.tx().begin();
+            gtx2.V(vid).property("test-property", 10).iterate();
+            gtx2.V(v2.id()).drop().iterate();
+            gtx2.addV().property("test-property", 1).iterate();
+            gtx2.tx().commit();
+        });
+        thread.start();
+        thread.join();
+
+        // the read-only transaction still sees the graph as it was when it started
+        assertFalse(g.isIndexCurrent());
+        assertEquals(2L, (long) rtx.V().count().next());
+        assertEquals(1L, (long) rtx.E().count().next());
+        assertEquals(1, rtx.V(vid).values("test-property").next());
+        assertEquals(1L, (long) rtx.V().has("test-property", 1).count().next());
+        assertEquals(v2.id(), rtx.V(vid).out("knows").id().next());
+        assertTrue(g.getVertices().containsKey(v2.id()));
+        assertTrue(g.getEdges().containsKey(200));
+        rtx.tx().commit();
+
+        // containers of deleted elements are removed once no snapshot reads them
+        assertFalse(g.getVertices().containsKey(v2.id()));
+        assertFalse(g.getEdges().containsKey(200));
+
+        final GraphTraversalSource gtx3 = g.tx().begin();
+        assertEquals(2L, (long) gtx3.V().count().next());
+        assertEquals(0L, (long) gtx3.E().count().next());
+        assertEquals(10, gtx3.V(vid).values("test-property").next());
+        assertEquals(1L, (long) gtx3.V().has("test-property", 1).count().next());
+        gtx3.tx().rollback();
+    }
+
+    @Test
+    public void shouldNotModifyGraphInReadOnlyTransaction() {
+        final TinkerTransactionGraph g = TinkerTransactionGraph.open();
+
+        final GraphTraversalSource gtx = g.tx().begin();
+        gtx.addV().property(T.id, vid).property("test-property", 1).iterate();
+        gtx.tx().commit();
+
+        final GraphTraversalSource rtx = g.beginReadOnly();
+        try {
+            rtx.addV().iterate();
+            fail("should throw IllegalStateException");
+        } catch (IllegalStateException e) {
+
+        }
+        try {
+            rtx.V(vid).property("test-property", 2).iterate();
+            fail("should throw IllegalStateException");
+        } catch (IllegalStateException e) {
+
+        }
+        try {
+            rtx.V(vid).drop().iterate();
+            fail("should throw IllegalStateException");
+        } catch (IllegalStateException e) {
+
+        }
+        try {
+            g.beginReadOnly();
+            fail("should throw IllegalStateException");
+        } catch (IllegalStateException e) {
+
+        }
+        rtx.tx().rollback();
+
+        final GraphTraversalSource gtx2 = g.tx().begin();
+        assertEquals(1, gtx2.V(vid).values("test-property").next());
+        gtx2.V(vid).property("test-property", 2).iterate();
+        gtx2.tx().commit();
+
+        final GraphTraversalSource rtx2 = g.beginReadOnly();
+        assertEquals(2, rtx2.V(vid).values("test-property").next());
+        rtx2.tx().commit();
+    }
+
+    @Test
+    public void shouldRecoverCommittedTransactionsFromWriteAheadLog() throws Exception {
+        final String graphLocation = TestHelper.makeTestDataFile(TinkerTransactionGraphTest.class, "shouldRecoverCommittedTransactionsFromWriteAheadLog.kryo");
+        new File(graphLocation).delete();
+        final File walLocation = new File(TestHelper.makeTestDataDirectory(TinkerTransactionGraphTest.class, "shouldRecoverCommittedTransactionsFromWriteAheadLog-wal"));
+        FileUtils.deleteDirectory(walLocation);
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerTransactionGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "gryo");
+        conf.setProperty(TinkerTransactionGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerTransactionGraph.GREMLIN_TINKERGRAPH_WAL_LOCATION, walLocation.getAbsolutePath());
+        conf.setProperty(TinkerTransactionGraph.GREMLIN_TINKERGRAPH_WAL_SYNC_INTERVAL, 0);
+        conf.setProperty(TinkerTransactionGraph.GREMLIN_TINKERGRAPH_WAL_CHECKPOINT_THRESHOLD, 5);
+
+        final TinkerTransactionGraph g = TinkerTransactionGraph.open(conf);
+        for (int i = 0; i < 10; i++) {
+            final GraphTraversalSource gtx = g.tx().begin();
+            gtx.addV().property(T.id, i).property("test-property", i).iterate();
+            if (i > 0) gtx.V(i - 1).addE("next").to(__.V(i)).property(T.id, i).iterate();
+            gtx.tx().commit();
+        }
+        final GraphTraversalSource gtx = g.tx().begin();
+        gtx.V(0).drop().iterate();
+        gtx.V(1).property("test-property", 100).iterate();
+        gtx.tx().commit();
+
+        // changes that were not committed are not recovered
+        final GraphTraversalSource uncommitted = g.tx().begin();
+        uncommitted.V(2).drop().iterate();
+        g.writeAheadLog.awaitPendingCheckpoint();
+
+        final TinkerTransactionGraph recovered = TinkerTransactionGraph.open(conf);
+        final GraphTraversalSource rtx = recovered.tx().begin();
+        assertEquals(9L, (long) rtx.V().count().next());
+        assertEquals(8L, (long) rtx.E().count().next());
+        assertEquals(100, rtx.V(1).values("test-property").next());
+        assertEquals(2, rtx.V(1).out("next").values("test-property").next());
+        rtx.tx().commit();
+        recovered.close();
+
+        uncommitted.tx().rollback();
+    }
+
+    @Test
+    public void shouldRollbackTransactionThatCouldNotBeWrittenToWriteAheadLog() throws Exception {
+        final String graphLocation = TestHelper.makeTestDataFile(TinkerTransactionGraphTest.class, "shouldRollbackTransactionThatCouldNotBeWrittenToWriteAheadLog.kryo");
+        new File(graphLocation).delete();
+        final File walLocation = new File(TestHelper.makeTestDataDirectory(TinkerTransactionGraphTest.class, "shouldRollbackTransactionThatCouldNotBeWrittenToWriteAheadLog-wal"));
+        FileUtils.deleteDirectory(walLocation);
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerTransactionGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "gryo");
+        conf.setProperty(TinkerTransactionGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerTransactionGraph.GREMLIN_TINKERGRAPH_WAL_LOCATION, walLocation.getAbsolutePath());
+        conf.setProperty(TinkerTransactionGraph.GREMLIN_TINKERGRAPH_WAL_SYNC_INTERVAL, 0);
+
+        final TinkerTransactionGraph g = TinkerTransactionGraph.open(conf);
+        g.createIndex("test-property", Vertex.class);
+
+        // the log segment can not be created without its directory
+        FileUtils.deleteDirectory(walLocation);
+        final GraphTraversalSource gtx = g.tx().begin();
+        gtx.addV().property(T.id, 1).property("test-property", 1).iterate();
+        try {
+            gtx.tx().commit();
+            fail("should throw TransactionException");
+        } catch (TransactionException ex) {
+            assertTrue(ex.getCause() instanceof IOException);
+        }
+
+        final GraphTraversalSource rtx = g.beginReadOnly();
+        assertEquals(0L, (long) rtx.V().count().next());
+        assertEquals(0L, (long) rtx.V().has("test-property", 1).count().next());
+        rtx.tx().commit();
+
+        assertTrue(walLocation.mkdirs());
+        final GraphTraversalSource gtx2 = g.tx().begin();
+        gtx2.addV().property(T.id, 2).property("test-property", 2).iterate();
+        gtx2.tx().commit();
+
+        final TinkerTransactionGraph recovered = TinkerTransactionGraph.open(conf);
+        final GraphTraversalSource rtx2 = recovered.tx().begin();
+        assertEquals(1L, (long) rtx2.V().count().next());
+        assertEquals(2, rtx2.V(2).values("test-property").next());
+        rtx2.tx().commit();
+        recovered.close();
+    }
+
+    @Test
+    public void shouldPersistToSnapshot() {
+        final String graphLocation = TestHelper.makeTestDataFile(TinkerTransactionGraphTest.class, "shouldPersistToSnapshot.tgs");
+        new File(graphLocation).delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerTransactionGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "snapshot");
+        conf.setProperty(TinkerTransactionGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        final TinkerTransactionGraph g = TinkerTransactionGraph.open(conf);
+        final GraphTraversalSource gtx = g.tx().begin();
+        gtx.addV("person").property(T.id, 1).property("name", "marko").as("a").
+                addV("person").property(T.id, 2).property("name", "vadas").as("b").
+                addE("knows").from("a").to("b").property(T.id, 3).property("weight", 0.5d).iterate();
+        gtx.tx().commit();
+        g.close();
+
+        final TinkerTransactionGraph reloaded = TinkerTransactionGraph.open(conf);
+        final GraphTraversalSource rtx = reloaded.tx().begin();
+        assertEquals(2L, (long) rtx.V().count().next());
+        assertEquals("vadas", rtx.V(1).out("knows").values("name").next());
+        assertEquals(0.5d, rtx.E(3).values("weight").next());
+        rtx.tx().commit();
+        reloaded.close();
+    }
+
     @Test
     public void shouldCreateIndexForNullVertexProperty() throws InterruptedException {
         final TinkerTransactionGraph g = TinkerTransactionGraph.open();